@@ -98,6 +98,7 @@ public class ApplicationConstants {
 
     // Application Management Service Configurations.
     public static final String ENABLE_APPLICATION_ROLE_VALIDATION_PROPERTY = "ApplicationMgt.EnableRoleValidation";
+    public static final String ENABLE_APPLICATION_LIST_CACHE_PROPERTY = "ApplicationMgt.ApplicationListCache.Enable";
 
     /**
      * Grouping of constants related to database table names.
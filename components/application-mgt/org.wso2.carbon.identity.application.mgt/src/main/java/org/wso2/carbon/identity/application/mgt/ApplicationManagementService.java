@@ -196,18 +196,61 @@ public abstract class ApplicationManagementService implements ApplicationPaginat
             tenantDomain)
             throws IdentityApplicationManagementException;
 
+    /**
+     * Get the claim mappings of a service provider, from the service provider claims to the local claims. The
+     * returned map is not modifiable, and may be shared with the other callers.
+     *
+     * @param serviceProviderName Name of the service provider.
+     * @param tenantDomain        Tenant domain of the service provider.
+     * @return Unmodifiable map of [sp-claim-uri,local-idp-claim-uri].
+     * @throws IdentityApplicationManagementException If the claim mappings could not be retrieved.
+     */
     public abstract Map<String, String> getServiceProviderToLocalIdPClaimMapping(String serviceProviderName,
                                                                           String tenantDomain)
             throws IdentityApplicationManagementException;
 
+    /**
+     * Get the claim mappings of a service provider, from the local claims to the service provider claims. The
+     * returned map is not modifiable, and may be shared with the other callers.
+     *
+     * @param serviceProviderName Name of the service provider.
+     * @param tenantDomain        Tenant domain of the service provider.
+     * @return Unmodifiable map of [local-idp-claim-uri,sp-claim-uri].
+     * @throws IdentityApplicationManagementException If the claim mappings could not be retrieved.
+     */
     public abstract Map<String, String> getLocalIdPToServiceProviderClaimMapping(String serviceProviderName,
                                                                           String tenantDomain)
             throws IdentityApplicationManagementException;
 
+    /**
+     * Get the local claims requested by a service provider. The returned list is not modifiable, and may be shared
+     * with the other callers.
+     *
+     * @param serviceProviderName Name of the service provider.
+     * @param tenantDomain        Tenant domain of the service provider.
+     * @return Unmodifiable list of the requested local claim uris.
+     * @throws IdentityApplicationManagementException If the requested claims could not be retrieved.
+     */
     public abstract List<String> getAllRequestedClaimsByServiceProvider(String serviceProviderName,
                                                                  String tenantDomain)
             throws IdentityApplicationManagementException;
 
+    /**
+     * Get the local claims which need to be retrieved for the users of a service provider, i.e. its requested,
+     * mandatory, subject and role claims. The returned set is not modifiable, and may be shared with the other
+     * callers.
+     *
+     * @param serviceProviderName Name of the service provider.
+     * @param tenantDomain        Tenant domain of the service provider.
+     * @return Unmodifiable set of the required local claim uris, or null if they could not be resolved.
+     * @throws IdentityApplicationManagementException If the required claims could not be retrieved.
+     */
+    public Set<String> getRequiredLocalClaims(String serviceProviderName, String tenantDomain)
+            throws IdentityApplicationManagementException {
+
+        return null;
+    }
+
     /**
      * Get application data for given client Id and type
      *
@@ -60,6 +60,7 @@ import org.wso2.carbon.identity.application.mgt.dao.ApplicationTemplateDAO;
 import org.wso2.carbon.identity.application.mgt.dao.IdentityProviderDAO;
 import org.wso2.carbon.identity.application.mgt.dao.PaginatableFilterableApplicationDAO;
 import org.wso2.carbon.identity.application.mgt.dao.impl.AbstractApplicationDAOImpl;
+import org.wso2.carbon.identity.application.mgt.dao.impl.CacheBackedApplicationDAO;
 import org.wso2.carbon.identity.application.mgt.dao.impl.FileBasedApplicationDAO;
 import org.wso2.carbon.identity.application.mgt.defaultsequence.DefaultAuthSeqMgtException;
 import org.wso2.carbon.identity.application.mgt.defaultsequence.DefaultAuthSeqMgtService;
@@ -67,6 +68,7 @@ import org.wso2.carbon.identity.application.mgt.defaultsequence.DefaultAuthSeqMg
 import org.wso2.carbon.identity.application.mgt.internal.ApplicationManagementServiceComponent;
 import org.wso2.carbon.identity.application.mgt.internal.ApplicationManagementServiceComponentHolder;
 import org.wso2.carbon.identity.application.mgt.internal.ApplicationMgtListenerServiceComponent;
+import org.wso2.carbon.identity.application.mgt.internal.cache.ServiceProviderByInboundAuthCache;
 import org.wso2.carbon.identity.application.mgt.listener.AbstractApplicationMgtListener;
 import org.wso2.carbon.identity.application.mgt.listener.ApplicationMgtListener;
 import org.wso2.carbon.identity.application.mgt.listener.ApplicationResourceManagementListener;
@@ -809,6 +811,7 @@ public class ApplicationManagementServiceImpl extends ApplicationManagementServi
             IdentityServiceProviderCache.getInstance().clearCacheEntry(
                     new IdentityServiceProviderCacheKey(applicationBasicInfo.getApplicationName()), tenantDomain);
         }
+        ServiceProviderByInboundAuthCache.getInstance().clear(tenantDomain);
     }
 
     @Override
@@ -977,8 +980,8 @@ public class ApplicationManagementServiceImpl extends ApplicationManagementServi
                 || claimMap.isEmpty()
                 && ApplicationManagementServiceComponent.getFileBasedSPs().containsKey(
                 serviceProviderName)) {
-            return new FileBasedApplicationDAO().getServiceProviderToLocalIdPClaimMapping(
-                    serviceProviderName, tenantDomain);
+            return Collections.unmodifiableMap(new FileBasedApplicationDAO().getServiceProviderToLocalIdPClaimMapping(
+                    serviceProviderName, tenantDomain));
         }
 
         return claimMap;
@@ -1005,8 +1008,8 @@ public class ApplicationManagementServiceImpl extends ApplicationManagementServi
                 || claimMap.isEmpty()
                 && ApplicationManagementServiceComponent.getFileBasedSPs().containsKey(
                 serviceProviderName)) {
-            return new FileBasedApplicationDAO().getLocalIdPToServiceProviderClaimMapping(
-                    serviceProviderName, tenantDomain);
+            return Collections.unmodifiableMap(new FileBasedApplicationDAO().getLocalIdPToServiceProviderClaimMapping(
+                    serviceProviderName, tenantDomain));
         }
         return claimMap;
 
@@ -1034,13 +1037,24 @@ public class ApplicationManagementServiceImpl extends ApplicationManagementServi
                 || reqClaims.isEmpty()
                 && ApplicationManagementServiceComponent.getFileBasedSPs().containsKey(
                 serviceProviderName)) {
-            return new FileBasedApplicationDAO().getAllRequestedClaimsByServiceProvider(
-                    serviceProviderName, tenantDomain);
+            return Collections.unmodifiableList(new FileBasedApplicationDAO().getAllRequestedClaimsByServiceProvider(
+                    serviceProviderName, tenantDomain));
         }
 
         return reqClaims;
     }
 
+    @Override
+    public Set<String> getRequiredLocalClaims(String serviceProviderName, String tenantDomain)
+            throws IdentityApplicationManagementException {
+
+        ApplicationDAO appDAO = ApplicationMgtSystemConfig.getInstance().getApplicationDAO();
+        if (appDAO instanceof CacheBackedApplicationDAO) {
+            return ((CacheBackedApplicationDAO) appDAO).getRequiredLocalClaims(serviceProviderName, tenantDomain);
+        }
+        return null;
+    }
+
     /**
      * @param clientId
      * @param clientType
@@ -1052,7 +1066,23 @@ public class ApplicationManagementServiceImpl extends ApplicationManagementServi
     public String getServiceProviderNameByClientId(String clientId, String clientType,
                                                    String tenantDomain) throws IdentityApplicationManagementException {
 
-        String name = null;
+        return getServiceProviderNameByClientId(clientId, clientType, tenantDomain, null);
+    }
+
+    /**
+     * Resolve the name of the service provider of the given client id through the listeners.
+     *
+     * @param clientId     Client id.
+     * @param clientType   Inbound authentication type.
+     * @param tenantDomain Tenant domain.
+     * @param cachedName   Name of the application already resolved for the client id, or null to look it up.
+     * @return Name of the service provider.
+     * @throws IdentityApplicationManagementException If the name could not be resolved.
+     */
+    private String getServiceProviderNameByClientId(String clientId, String clientType, String tenantDomain,
+                                                    String cachedName) throws IdentityApplicationManagementException {
+
+        String name = cachedName;
 
         // invoking the listeners
         Collection<ApplicationMgtListener> listeners = getApplicationMgtListeners();
@@ -1063,7 +1093,7 @@ public class ApplicationManagementServiceImpl extends ApplicationManagementServi
             }
         }
 
-        if (StringUtils.isNotEmpty(clientId)) {
+        if (name == null && StringUtils.isNotEmpty(clientId)) {
             ApplicationDAO appDAO = ApplicationMgtSystemConfig.getInstance().getApplicationDAO();
             name = appDAO.getServiceProviderNameByClientId(clientId, clientType, tenantDomain);
 
@@ -1189,12 +1219,24 @@ public class ApplicationManagementServiceImpl extends ApplicationManagementServi
         String serviceProviderName;
         ServiceProvider serviceProvider = null;
 
-        serviceProviderName = getServiceProviderNameByClientId(clientId, clientType, tenantDomain);
+        ApplicationDAO appDAO = ApplicationMgtSystemConfig.getInstance().getApplicationDAO();
+        ServiceProvider cachedServiceProvider = null;
+        if (appDAO instanceof CacheBackedApplicationDAO) {
+            cachedServiceProvider = ((CacheBackedApplicationDAO) appDAO).getApplicationFromCacheByClientId(clientId,
+                    clientType, tenantDomain);
+        }
+        serviceProviderName = getServiceProviderNameByClientId(clientId, clientType, tenantDomain,
+                cachedServiceProvider == null ? null : cachedServiceProvider.getApplicationName());
 
         try {
             startTenantFlow(tenantDomain);
-            ApplicationDAO appDAO = ApplicationMgtSystemConfig.getInstance().getApplicationDAO();
-            serviceProvider = appDAO.getApplication(serviceProviderName, tenantDomain);
+            // The listeners may have resolved a different application for the client id.
+            if (cachedServiceProvider != null && StringUtils.equals(cachedServiceProvider.getApplicationName(),
+                    serviceProviderName)) {
+                serviceProvider = cachedServiceProvider;
+            } else {
+                serviceProvider = appDAO.getApplication(serviceProviderName, tenantDomain);
+            }
 
             if (serviceProvider != null) {
                 // if "Authentication Type" is "Default" we must get the steps from the default SP
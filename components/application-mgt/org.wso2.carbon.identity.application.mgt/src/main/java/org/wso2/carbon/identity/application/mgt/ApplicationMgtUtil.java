@@ -71,6 +71,7 @@ import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 
+import static org.wso2.carbon.identity.application.mgt.ApplicationConstants.ENABLE_APPLICATION_LIST_CACHE_PROPERTY;
 import static org.wso2.carbon.identity.application.mgt.ApplicationConstants.ENABLE_APPLICATION_ROLE_VALIDATION_PROPERTY;
 import static org.wso2.carbon.user.core.constants.UserCoreErrorConstants.ErrorMessages.ERROR_CODE_ROLE_ALREADY_EXISTS;
 
@@ -131,6 +132,17 @@ public class ApplicationMgtUtil {
         return Boolean.parseBoolean(allowRoleValidationProperty);
     }
 
+    /**
+     * Check whether the application listings are served from the per tenant application list cache via
+     * ApplicationMgt.ApplicationListCache.Enable configuration in the identity.xml.
+     *
+     * @return True if the config is set to true.
+     */
+    public static boolean isApplicationListCacheEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(ENABLE_APPLICATION_LIST_CACHE_PROPERTY));
+    }
+
     public static boolean isUserAuthorized(String applicationName, String username, int applicationID)
             throws IdentityApplicationManagementException {
 
@@ -19,6 +19,7 @@
 
 package org.wso2.carbon.identity.application.mgt.cache;
 
+import org.wso2.carbon.identity.application.mgt.internal.cache.ServiceProviderByInboundAuthCache;
 import org.wso2.carbon.identity.core.cache.BaseCache;
 
 /**
@@ -45,4 +46,28 @@ public class IdentityServiceProviderCache extends
         }
         return instance;
     }
+
+    /**
+     * Remove all the applications of the tenant, including the ones cached by their inbound authentication keys.
+     *
+     * @param tenantDomain The tenant domain where the cache is maintained.
+     */
+    @Override
+    public void clear(String tenantDomain) {
+
+        super.clear(tenantDomain);
+        ServiceProviderByInboundAuthCache.getInstance().clear(tenantDomain);
+    }
+
+    /**
+     * Remove all the applications of the tenant, including the ones cached by their inbound authentication keys.
+     *
+     * @param tenantId The tenant Id where the cache is maintained.
+     */
+    @Override
+    public void clear(int tenantId) {
+
+        super.clear(tenantId);
+        ServiceProviderByInboundAuthCache.getInstance().clear(tenantId);
+    }
 }
@@ -18,21 +18,41 @@
 
 package org.wso2.carbon.identity.application.mgt.cache;
 
+import org.wso2.carbon.identity.application.common.model.ClaimConfig;
+import org.apache.commons.lang.ArrayUtils;
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.application.common.model.LocalAndOutboundAuthenticationConfig;
 import org.wso2.carbon.identity.application.common.model.ServiceProvider;
 import org.wso2.carbon.identity.core.cache.CacheEntry;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Cache entry whioch is kept in the Application (aka. Service Provider) cache.
+ * <p>
+ * The claim mapping views of the service provider are resolved once when the entry is created and shared among the
+ * callers, hence they are not modifiable.
  */
 public class IdentityServiceProviderCacheEntry extends CacheEntry {
 
-    private static final long serialVersionUID = 3112605038259278777L;
+    private static final long serialVersionUID = -6815163542291574072L;
 
     private ServiceProvider serviceProvider;
+    private Map<String, String> spToLocalClaimMappings;
+    private Map<String, String> localToSPClaimMappings;
+    private List<String> requestedLocalClaims;
+    private Set<String> requiredLocalClaims;
 
     public IdentityServiceProviderCacheEntry(ServiceProvider serviceProvider) {
 
-        this.serviceProvider = serviceProvider;
+        setServiceProvider(serviceProvider);
     }
 
     public ServiceProvider getServiceProvider() {
@@ -43,6 +63,103 @@ public class IdentityServiceProviderCacheEntry extends CacheEntry {
     public void setServiceProvider(ServiceProvider serviceProvider) {
 
         this.serviceProvider = serviceProvider;
+        resolveClaimMappings(serviceProvider);
+    }
+
+    /**
+     * [sp-claim-uri,local-idp-claim-uri]
+     *
+     * @return Unmodifiable map of service provider claims to local claims.
+     */
+    public Map<String, String> getSPToLocalClaimMappings() {
+
+        return spToLocalClaimMappings;
+    }
+
+    /**
+     * [local-idp-claim-uri,sp-claim-uri]
+     *
+     * @return Unmodifiable map of local claims to service provider claims.
+     */
+    public Map<String, String> getLocalToSPClaimMappings() {
+
+        return localToSPClaimMappings;
+    }
+
+    /**
+     * @return Unmodifiable list of local claims requested by the service provider.
+     */
+    public List<String> getRequestedLocalClaims() {
+
+        return requestedLocalClaims;
+    }
+
+    /**
+     * Get the local claims which need to be retrieved for the users of the service provider. These are the
+     * requested and mandatory claims, along with the subject and role claims of the service provider.
+     *
+     * @return Unmodifiable set of the required local claims, or null if the service provider uses claim dialects,
+     * as the claims of a dialect can not be resolved from the service provider.
+     */
+    public Set<String> getRequiredLocalClaims() {
+
+        return requiredLocalClaims;
+    }
+
+    private void resolveClaimMappings(ServiceProvider serviceProvider) {
+
+        Map<String, String> spToLocal = new HashMap<>();
+        Map<String, String> localToSP = new HashMap<>();
+        List<String> requested = new ArrayList<>();
+        Set<String> mandatory = new HashSet<>();
+        ClaimConfig claimConfig = serviceProvider == null ? null : serviceProvider.getClaimConfig();
+        if (claimConfig != null && claimConfig.getClaimMappings() != null) {
+            for (ClaimMapping claimMapping : claimConfig.getClaimMappings()) {
+                String localClaimUri = claimMapping.getLocalClaim().getClaimUri();
+                String remoteClaimUri = claimMapping.getRemoteClaim().getClaimUri();
+                spToLocal.put(remoteClaimUri, localClaimUri);
+                localToSP.put(localClaimUri, remoteClaimUri);
+                if (claimMapping.isRequested()) {
+                    requested.add(localClaimUri);
+                }
+                if (claimMapping.isMandatory()) {
+                    mandatory.add(localClaimUri);
+                }
+            }
+        }
+        spToLocalClaimMappings = Collections.unmodifiableMap(spToLocal);
+        localToSPClaimMappings = Collections.unmodifiableMap(localToSP);
+        requestedLocalClaims = Collections.unmodifiableList(requested);
+        requiredLocalClaims = resolveRequiredLocalClaims(serviceProvider, claimConfig, mandatory);
+    }
+
+    private Set<String> resolveRequiredLocalClaims(ServiceProvider serviceProvider, ClaimConfig claimConfig,
+                                                   Set<String> mandatoryLocalClaims) {
+
+        if (claimConfig != null && ArrayUtils.isNotEmpty(claimConfig.getSpClaimDialects())) {
+            return null;
+        }
+        Set<String> required = new HashSet<>(requestedLocalClaims);
+        required.addAll(mandatoryLocalClaims);
+        addLocalClaim(required, claimConfig == null ? null : claimConfig.getRoleClaimURI());
+        LocalAndOutboundAuthenticationConfig outboundAuthConfig = serviceProvider == null ? null :
+                serviceProvider.getLocalAndOutBoundAuthenticationConfig();
+        if (outboundAuthConfig != null) {
+            addLocalClaim(required, outboundAuthConfig.getSubjectClaimUri());
+        }
+        return Collections.unmodifiableSet(required);
+    }
+
+    private void addLocalClaim(Set<String> localClaims, String claimUri) {
+
+        if (StringUtils.isBlank(claimUri)) {
+            return;
+        }
+        // The claim could either be a local claim or a service provider claim.
+        localClaims.add(claimUri);
+        if (spToLocalClaimMappings.get(claimUri) != null) {
+            localClaims.add(spToLocalClaimMappings.get(claimUri));
+        }
     }
 
 }
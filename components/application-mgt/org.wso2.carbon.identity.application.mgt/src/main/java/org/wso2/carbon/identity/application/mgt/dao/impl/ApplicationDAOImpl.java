@@ -4687,7 +4687,8 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
      * @param limit  Count value.
      * @throws IdentityApplicationManagementException
      */
-    private void validateAttributesForPagination(int offset, int limit) throws IdentityApplicationManagementException {
+    protected void validateAttributesForPagination(int offset, int limit)
+            throws IdentityApplicationManagementException {
 
         if (offset < 0) {
             throw new IdentityApplicationManagementClientException(INVALID_OFFSET.getCode(),
@@ -4706,7 +4707,7 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
      * @param pageNumber Page number.
      * @throws IdentityApplicationManagementException
      */
-    private void validateRequestedPageNumber(int pageNumber) throws IdentityApplicationManagementException {
+    protected void validateRequestedPageNumber(int pageNumber) throws IdentityApplicationManagementException {
 
         // Validate whether the page number is not zero or a negative number.
         if (pageNumber < 1) {
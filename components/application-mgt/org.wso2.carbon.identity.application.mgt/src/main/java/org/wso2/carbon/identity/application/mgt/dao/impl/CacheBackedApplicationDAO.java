@@ -24,10 +24,10 @@ import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
 import org.wso2.carbon.identity.application.common.model.ApplicationBasicInfo;
-import org.wso2.carbon.identity.application.common.model.ClaimConfig;
-import org.wso2.carbon.identity.application.common.model.ClaimMapping;
 import org.wso2.carbon.identity.application.common.model.InboundAuthenticationRequestConfig;
 import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.common.model.User;
+import org.wso2.carbon.identity.application.mgt.ApplicationMgtUtil;
 import org.wso2.carbon.identity.application.mgt.cache.IdentityServiceProviderCache;
 import org.wso2.carbon.identity.application.mgt.cache.IdentityServiceProviderCacheEntry;
 import org.wso2.carbon.identity.application.mgt.cache.IdentityServiceProviderCacheKey;
@@ -36,6 +36,9 @@ import org.wso2.carbon.identity.application.mgt.dao.PaginatableFilterableApplica
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationBasicInfoByNameCache;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationBasicInfoByResourceIdCache;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationBasicInfoCacheEntry;
+import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationBasicInfoListCache;
+import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationBasicInfoListCacheEntry;
+import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationBasicInfoListCacheKey;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationBasicInfoNameCacheKey;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ApplicationBasicInfoResourceIdCacheKey;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ServiceProviderByIDCache;
@@ -47,11 +50,14 @@ import org.wso2.carbon.identity.application.mgt.internal.cache.ServiceProviderID
 import org.wso2.carbon.identity.application.mgt.internal.cache.ServiceProviderIDCacheKey;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ServiceProviderResourceIdCacheEntry;
 import org.wso2.carbon.identity.application.mgt.internal.cache.ServiceProviderResourceIdCacheKey;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Cached DAO layer for the application management. All the DAO access has to be happen through this layer to ensure
@@ -69,6 +75,7 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
     private static ServiceProviderByResourceIdCache appCacheByResourceId = null;
     private static ApplicationBasicInfoByResourceIdCache appBasicInfoCacheByResourceId = null;
     private static ApplicationBasicInfoByNameCache appBasicInfoCacheByName = null;
+    private static ApplicationBasicInfoListCache appBasicInfoListCache = null;
 
     public CacheBackedApplicationDAO(ApplicationDAO appDAO) {
 
@@ -79,6 +86,7 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
         appCacheByResourceId = ServiceProviderByResourceIdCache.getInstance();
         appBasicInfoCacheByResourceId = ApplicationBasicInfoByResourceIdCache.getInstance();
         appBasicInfoCacheByName = ApplicationBasicInfoByNameCache.getInstance();
+        appBasicInfoListCache = ApplicationBasicInfoListCache.getInstance();
     }
 
     public ServiceProvider getApplication(String applicationName, String tenantDomain) throws
@@ -160,6 +168,35 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
         return appName;
     }
 
+    /**
+     * Get the cached application which owns the given inbound authentication key, e.g. an OAuth client id. The
+     * application is cached against its inbound authentication keys whenever it is cached by name and id, and is
+     * cleared from all of them together, hence a protocol endpoint can resolve it with a single lookup.
+     *
+     * @param clientId     Inbound authentication key.
+     * @param type         Inbound authentication type.
+     * @param tenantDomain Tenant domain of the application.
+     * @return Cached application, or null if the application is not cached.
+     */
+    public ServiceProvider getApplicationFromCacheByClientId(String clientId, String type, String tenantDomain) {
+
+        if (StringUtils.isEmpty(clientId) || tenantDomain == null) {
+            return null;
+        }
+        ServiceProviderCacheInboundAuthKey cacheKey = new ServiceProviderCacheInboundAuthKey(clientId, type);
+        ServiceProviderCacheInboundAuthEntry entry = appCacheByInboundAuth.getValueFromCache(cacheKey, tenantDomain);
+        if (entry == null || entry.getServiceProvider() == null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache missing for the application of the inbound key " + clientId + "@" + tenantDomain);
+            }
+            return null;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Cache is present for the application of the inbound key " + clientId + "@" + tenantDomain);
+        }
+        return entry.getServiceProvider();
+    }
+
     public boolean isApplicationExists(String applicationName, String tenantDomain) throws
             IdentityApplicationManagementException {
 
@@ -174,7 +211,9 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
     public int createApplication(ServiceProvider application, String tenantDomain) throws
             IdentityApplicationManagementException {
 
-        return appDAO.createApplication(application, tenantDomain);
+        int applicationId = appDAO.createApplication(application, tenantDomain);
+        clearAppBasicInfoListCache(tenantDomain);
+        return applicationId;
     }
 
     public void updateApplication(ServiceProvider serviceProvider, String tenantDomain) throws
@@ -183,6 +222,7 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
         ServiceProvider storedApp = getApplication(serviceProvider.getApplicationID());
         clearAllAppCache(storedApp, tenantDomain);
         appDAO.updateApplication(serviceProvider, tenantDomain);
+        clearAppBasicInfoListCache(tenantDomain);
     }
 
     public void clearApplicationFromCache(ServiceProvider serviceProvider, String tenantDomain) {
@@ -196,6 +236,14 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
         ServiceProvider serviceProvider = getApplication(applicationName, tenantDomain);
         clearAllAppCache(serviceProvider, tenantDomain);
         appDAO.deleteApplication(applicationName);
+        clearAppBasicInfoListCache(tenantDomain);
+    }
+
+    @Override
+    public void deleteApplications(int tenantId) throws IdentityApplicationManagementException {
+
+        super.deleteApplications(tenantId);
+        clearAppBasicInfoListCache(IdentityTenantUtil.getTenantDomain(tenantId));
     }
 
     public ApplicationBasicInfo[] getAllApplicationBasicInfo() throws IdentityApplicationManagementException {
@@ -216,7 +264,11 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
     public ApplicationBasicInfo[] getAllPaginatedApplicationBasicInfo(int pageNumber)
             throws IdentityApplicationManagementException {
 
-        if (appDAO instanceof PaginatableFilterableApplicationDAO) {
+        if (isAppBasicInfoListCacheable()) {
+            validateRequestedPageNumber(pageNumber);
+            int limit = ApplicationMgtUtil.getItemsPerPage();
+            return getApplicationBasicInfo((pageNumber - 1) * limit, limit);
+        } else if (appDAO instanceof PaginatableFilterableApplicationDAO) {
             // No need to cache the returned list.
             return ((PaginatableFilterableApplicationDAO) appDAO).getAllPaginatedApplicationBasicInfo(pageNumber);
         } else {
@@ -229,7 +281,10 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
     public ApplicationBasicInfo[] getApplicationBasicInfo(int offset, int limit)
             throws IdentityApplicationManagementException {
 
-        if (appDAO instanceof PaginatableFilterableApplicationDAO) {
+        if (isAppBasicInfoListCacheable()) {
+            validateAttributesForPagination(offset, limit);
+            return getPage(getAppBasicInfoListFromCache(getTenantDomain(), false), offset, limit);
+        } else if (appDAO instanceof PaginatableFilterableApplicationDAO) {
             // No need to cache the returned list.
             return ((PaginatableFilterableApplicationDAO) appDAO).getApplicationBasicInfo(offset, limit);
         } else {
@@ -241,7 +296,9 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
     public ApplicationBasicInfo[] getPaginatedApplicationBasicInfo(int pageNumber, String filter)
             throws IdentityApplicationManagementException {
 
-        if (appDAO instanceof PaginatableFilterableApplicationDAO) {
+        if (isMatchAllFilter(filter)) {
+            return getAllPaginatedApplicationBasicInfo(pageNumber);
+        } else if (appDAO instanceof PaginatableFilterableApplicationDAO) {
             // No need to cache the returned list.
             return ((PaginatableFilterableApplicationDAO) appDAO).getPaginatedApplicationBasicInfo(pageNumber, filter);
         } else {
@@ -254,7 +311,9 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
     public ApplicationBasicInfo[] getApplicationBasicInfo(String filter, int offset, int limit)
             throws IdentityApplicationManagementException {
 
-        if (appDAO instanceof PaginatableFilterableApplicationDAO) {
+        if (isMatchAllFilter(filter)) {
+            return getApplicationBasicInfo(offset, limit);
+        } else if (appDAO instanceof PaginatableFilterableApplicationDAO) {
             // No need to cache the returned list.
             return ((PaginatableFilterableApplicationDAO) appDAO).getApplicationBasicInfo(filter, offset, limit);
         } else {
@@ -265,7 +324,9 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
 
     public int getCountOfAllApplications() throws IdentityApplicationManagementException {
 
-        if (appDAO instanceof PaginatableFilterableApplicationDAO) {
+        if (isAppBasicInfoListCacheable()) {
+            return getAppBasicInfoListFromCache(getTenantDomain(), false).size();
+        } else if (appDAO instanceof PaginatableFilterableApplicationDAO) {
             return ((PaginatableFilterableApplicationDAO) appDAO).getCountOfAllApplications();
         } else {
             throw new UnsupportedOperationException("This operation only supported in" +
@@ -275,7 +336,9 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
 
     public int getCountOfApplications(String filter) throws IdentityApplicationManagementException {
 
-        if (appDAO instanceof PaginatableFilterableApplicationDAO) {
+        if (isMatchAllFilter(filter)) {
+            return getCountOfAllApplications();
+        } else if (appDAO instanceof PaginatableFilterableApplicationDAO) {
             return ((PaginatableFilterableApplicationDAO) appDAO).getCountOfApplications(filter);
         } else {
             throw new UnsupportedOperationException("This operation only supported in" +
@@ -286,53 +349,47 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
     public Map<String, String> getServiceProviderToLocalIdPClaimMapping(String serviceProviderName, String
             tenantDomain) throws IdentityApplicationManagementException {
 
-        ServiceProvider applicationFromCache = getApplicationFromCache(serviceProviderName, tenantDomain);
-        if (applicationFromCache != null) {
-            Map<String, String> localIdPToSPClaimMapping = new HashMap<>();
-            ClaimConfig claimConfig = applicationFromCache.getClaimConfig();
-            ClaimMapping[] claimMappings = claimConfig.getClaimMappings();
-            for (ClaimMapping claimMapping : claimMappings) {
-                localIdPToSPClaimMapping.put(claimMapping.getRemoteClaim().getClaimUri(),
-                        claimMapping.getLocalClaim().getClaimUri());
-            }
-            return localIdPToSPClaimMapping;
+        IdentityServiceProviderCacheEntry entry = getApplicationCacheEntry(serviceProviderName, tenantDomain);
+        if (entry != null) {
+            return entry.getSPToLocalClaimMappings();
         }
-        return appDAO.getServiceProviderToLocalIdPClaimMapping(serviceProviderName, tenantDomain);
+        return unmodifiableMap(appDAO.getServiceProviderToLocalIdPClaimMapping(serviceProviderName, tenantDomain));
     }
 
     public Map<String, String> getLocalIdPToServiceProviderClaimMapping(String serviceProviderName, String
             tenantDomain) throws IdentityApplicationManagementException {
 
-        ServiceProvider applicationFromCache = getApplicationFromCache(serviceProviderName, tenantDomain);
-        if (applicationFromCache != null) {
-            Map<String, String> localIdPToSPClaimMapping = new HashMap<>();
-            ClaimConfig claimConfig = applicationFromCache.getClaimConfig();
-            ClaimMapping[] claimMappings = claimConfig.getClaimMappings();
-            for (ClaimMapping claimMapping : claimMappings) {
-                localIdPToSPClaimMapping.put(claimMapping.getLocalClaim().getClaimUri(),
-                        claimMapping.getRemoteClaim().getClaimUri());
-            }
-            return localIdPToSPClaimMapping;
+        IdentityServiceProviderCacheEntry entry = getApplicationCacheEntry(serviceProviderName, tenantDomain);
+        if (entry != null) {
+            return entry.getLocalToSPClaimMappings();
         }
-        return appDAO.getLocalIdPToServiceProviderClaimMapping(serviceProviderName, tenantDomain);
+        return unmodifiableMap(appDAO.getLocalIdPToServiceProviderClaimMapping(serviceProviderName, tenantDomain));
     }
 
     public List<String> getAllRequestedClaimsByServiceProvider(String serviceProviderName, String tenantDomain)
             throws IdentityApplicationManagementException {
 
-        ServiceProvider applicationFromCache = getApplicationFromCache(serviceProviderName, tenantDomain);
-        if (applicationFromCache != null) {
-            List<String> requestedLocalClaims = new ArrayList<>();
-            ClaimConfig claimConfig = applicationFromCache.getClaimConfig();
-            ClaimMapping[] claimMappings = claimConfig.getClaimMappings();
-            for (ClaimMapping claimMapping : claimMappings) {
-                if (claimMapping.isRequested()) {
-                    requestedLocalClaims.add(claimMapping.getLocalClaim().getClaimUri());
-                }
-            }
-            return requestedLocalClaims;
+        IdentityServiceProviderCacheEntry entry = getApplicationCacheEntry(serviceProviderName, tenantDomain);
+        if (entry != null) {
+            return entry.getRequestedLocalClaims();
         }
-        return appDAO.getAllRequestedClaimsByServiceProvider(serviceProviderName, tenantDomain);
+        List<String> requestedClaims = appDAO.getAllRequestedClaimsByServiceProvider(serviceProviderName,
+                tenantDomain);
+        return requestedClaims == null ? null : Collections.unmodifiableList(requestedClaims);
+    }
+
+    /**
+     * Get the local claims required by a service provider from the application cache.
+     *
+     * @param serviceProviderName Name of the service provider.
+     * @param tenantDomain        Tenant domain of the service provider.
+     * @return Unmodifiable set of the required local claims, or null if the application is not cached or its
+     * required claims can not be resolved.
+     */
+    public Set<String> getRequiredLocalClaims(String serviceProviderName, String tenantDomain) {
+
+        IdentityServiceProviderCacheEntry entry = getApplicationCacheEntry(serviceProviderName, tenantDomain);
+        return entry == null ? null : entry.getRequiredLocalClaims();
     }
 
     @Override
@@ -384,7 +441,9 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
     public String addApplication(ServiceProvider application,
                                       String tenantDomain) throws IdentityApplicationManagementException {
 
-        return appDAO.addApplication(application, tenantDomain);
+        String resourceId = appDAO.addApplication(application, tenantDomain);
+        clearAppBasicInfoListCache(tenantDomain);
+        return resourceId;
     }
 
     @Override
@@ -397,6 +456,7 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
         clearAllAppCache(storedApp, tenantDomain);
 
         appDAO.updateApplicationByResourceId(resourceId, tenantDomain, updatedApp);
+        clearAppBasicInfoListCache(tenantDomain);
     }
 
     @Override
@@ -407,6 +467,7 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
         clearAllAppCache(serviceProvider, tenantDomain);
 
         appDAO.deleteApplicationByResourceId(resourceId, tenantDomain);
+        clearAppBasicInfoListCache(tenantDomain);
     }
 
     @Override
@@ -415,6 +476,11 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
                                                                                   tenantDomain) throws
             IdentityApplicationManagementException {
 
+        if (isMatchAllFilter(filter) && StringUtils.isBlank(sortOrder) && StringUtils.isBlank(sortBy)) {
+            validateAttributesForPagination(offset, limit);
+            return Collections.unmodifiableList(Arrays.asList(
+                    getPage(getAppBasicInfoListFromCache(tenantDomain, true), offset, limit)));
+        }
         return appDAO.getDiscoverableApplicationBasicInfo(limit, offset, filter, sortOrder, sortBy, tenantDomain);
     }
 
@@ -422,6 +488,9 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
     public int getCountOfDiscoverableApplications(String filter, String tenantDomain) throws
             IdentityApplicationManagementException {
 
+        if (isMatchAllFilter(filter)) {
+            return getAppBasicInfoListFromCache(tenantDomain, true).size();
+        }
         return appDAO.getCountOfDiscoverableApplications(filter, tenantDomain);
     }
 
@@ -468,7 +537,7 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
                     ServiceProviderCacheInboundAuthKey clientKey = new ServiceProviderCacheInboundAuthKey(
                             config.getInboundAuthKey(), config.getInboundAuthType());
                     ServiceProviderCacheInboundAuthEntry clientEntry = new ServiceProviderCacheInboundAuthEntry(
-                            serviceProvider.getApplicationName(), tenantDomain);
+                            serviceProvider, tenantDomain);
                     appCacheByInboundAuth.addToCache(clientKey, clientEntry, tenantDomain);
                 }
             }
@@ -490,6 +559,125 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
         appBasicInfoCacheByName.addToCache(nameKey, entry, tenantDomain);
     }
 
+    /**
+     * Get the basic information of all the applications, or all the discoverable applications, of a tenant, in the
+     * order of the listings. The list is loaded with a single query on a cache miss, hence every page and the count
+     * of the listing is served from it until an application of the tenant is created, updated or deleted.
+     * <p>
+     * A marker is added to the cache before the list is loaded, and the loaded list is only cached if the marker is
+     * still there. Changing an application clears the marker, both in this node and, through the cache invalidation
+     * of the cluster, in the other nodes. Hence a list loaded while an application was changed in any node is not
+     * cached, as it may not reflect the change.
+     *
+     * @param tenantDomain     Tenant domain.
+     * @param discoverableOnly Whether to get only the discoverable applications.
+     * @return Basic information of the applications of the tenant, which must not be modified.
+     * @throws IdentityApplicationManagementException Error in retrieving basic application information.
+     */
+    private List<ApplicationBasicInfo> getAppBasicInfoListFromCache(String tenantDomain, boolean discoverableOnly)
+            throws IdentityApplicationManagementException {
+
+        ApplicationBasicInfoListCacheKey cacheKey = new ApplicationBasicInfoListCacheKey(tenantDomain,
+                discoverableOnly);
+        ApplicationBasicInfoListCacheEntry entry = appBasicInfoListCache.getValueFromCache(cacheKey, tenantDomain);
+        if (entry != null && !entry.isLoading()) {
+            return entry.getApplications();
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Cache missing for the application list of the tenant: " + tenantDomain +
+                    ", discoverable only: " + discoverableOnly);
+        }
+        // A marker left by another load is replaced, hence an abandoned load does not keep the list out of the cache.
+        String loadId = UUID.randomUUID().toString();
+        appBasicInfoListCache.addToCache(cacheKey, new ApplicationBasicInfoListCacheEntry(loadId), tenantDomain);
+        ApplicationBasicInfo[] applications;
+        if (discoverableOnly) {
+            applications = appDAO.getDiscoverableApplicationBasicInfo(Integer.MAX_VALUE, 0, null, null, null,
+                    tenantDomain).toArray(new ApplicationBasicInfo[0]);
+        } else {
+            applications = ((PaginatableFilterableApplicationDAO) appDAO).getApplicationBasicInfo(0,
+                    Integer.MAX_VALUE);
+        }
+        entry = new ApplicationBasicInfoListCacheEntry(applications);
+
+        ApplicationBasicInfoListCacheEntry marker = appBasicInfoListCache.getValueFromCache(cacheKey, tenantDomain);
+        if (marker != null && marker.isLoading() && loadId.equals(marker.getLoadId())) {
+            appBasicInfoListCache.addToCache(cacheKey, entry, tenantDomain);
+        } else if (log.isDebugEnabled()) {
+            log.debug("Skipped caching the application list of the tenant: " + tenantDomain + " as an " +
+                    "application was changed while it was loaded.");
+        }
+        return entry.getApplications();
+    }
+
+    /**
+     * Get a page of the cached application list. The elements are copied, hence the callers may modify them without
+     * changing the cached list.
+     *
+     * @param applications Cached application list.
+     * @param offset       Index of the first application of the page.
+     * @param limit        Maximum number of applications of the page.
+     * @return Copies of the applications of the page.
+     */
+    private static ApplicationBasicInfo[] getPage(List<ApplicationBasicInfo> applications, int offset, int limit) {
+
+        if (offset >= applications.size()) {
+            return new ApplicationBasicInfo[0];
+        }
+        int end = (int) Math.min((long) offset + limit, applications.size());
+        ApplicationBasicInfo[] page = new ApplicationBasicInfo[end - offset];
+        for (int i = offset; i < end; i++) {
+            page[i - offset] = copyOf(applications.get(i));
+        }
+        return page;
+    }
+
+    private static ApplicationBasicInfo copyOf(ApplicationBasicInfo application) {
+
+        ApplicationBasicInfo copy = new ApplicationBasicInfo();
+        copy.setApplicationId(application.getApplicationId());
+        copy.setApplicationName(application.getApplicationName());
+        copy.setDescription(application.getDescription());
+        copy.setApplicationResourceId(application.getApplicationResourceId());
+        copy.setImageUrl(application.getImageUrl());
+        copy.setAccessUrl(application.getAccessUrl());
+        if (application.getAppOwner() != null) {
+            User appOwner = new User();
+            appOwner.setUserName(application.getAppOwner().getUserName());
+            appOwner.setUserStoreDomain(application.getAppOwner().getUserStoreDomain());
+            appOwner.setTenantDomain(application.getAppOwner().getTenantDomain());
+            copy.setAppOwner(appOwner);
+        }
+        return copy;
+    }
+
+    private static String getTenantDomain() {
+
+        return CarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+    }
+
+    private boolean isAppBasicInfoListCacheable() {
+
+        return appDAO instanceof PaginatableFilterableApplicationDAO &&
+                ApplicationMgtUtil.isApplicationListCacheEnabled();
+    }
+
+    private boolean isMatchAllFilter(String filter) {
+
+        return isAppBasicInfoListCacheable() && (StringUtils.isBlank(filter) || "*".equals(filter.trim()));
+    }
+
+    private static void clearAppBasicInfoListCache(String tenantDomain) {
+
+        if (tenantDomain != null) {
+            appBasicInfoListCache.clearCacheEntry(new ApplicationBasicInfoListCacheKey(tenantDomain, false),
+                    tenantDomain);
+            appBasicInfoListCache.clearCacheEntry(new ApplicationBasicInfoListCacheKey(tenantDomain, true),
+                    tenantDomain);
+        }
+    }
+
     private ServiceProvider getApplicationFromCache(int appId, String tenantDomain) {
 
         ServiceProvider serviceProvider = null;
@@ -587,22 +775,34 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
         return applicationBasicInfo;
     }
 
-    private ServiceProvider getApplicationFromCache(String applicationName, String tenantDomain) throws
-            IdentityApplicationManagementException {
+    private static Map<String, String> unmodifiableMap(Map<String, String> claimMappings) {
 
-        ServiceProvider serviceProvider = null;
-        if (StringUtils.isNotBlank(applicationName)) {
-            IdentityServiceProviderCacheKey cacheKey = new IdentityServiceProviderCacheKey(
-                    applicationName);
-            IdentityServiceProviderCacheEntry entry = appCacheByName.getValueFromCache(cacheKey, tenantDomain);
+        return claimMappings == null ? null : Collections.unmodifiableMap(claimMappings);
+    }
 
-            if (entry != null) {
-                serviceProvider = entry.getServiceProvider();
-            }
-        } else {
+    private IdentityServiceProviderCacheEntry getApplicationCacheEntry(String applicationName, String tenantDomain) {
+
+        if (StringUtils.isBlank(applicationName)) {
             if (log.isDebugEnabled()) {
                 log.debug("Provided application name is empty");
             }
+            return null;
+        }
+        IdentityServiceProviderCacheEntry entry = appCacheByName.getValueFromCache(
+                new IdentityServiceProviderCacheKey(applicationName), tenantDomain);
+        if (entry != null && entry.getServiceProvider() == null) {
+            return null;
+        }
+        return entry;
+    }
+
+    private ServiceProvider getApplicationFromCache(String applicationName, String tenantDomain) throws
+            IdentityApplicationManagementException {
+
+        ServiceProvider serviceProvider = null;
+        IdentityServiceProviderCacheEntry entry = getApplicationCacheEntry(applicationName, tenantDomain);
+        if (entry != null) {
+            serviceProvider = entry.getServiceProvider();
         }
         if (serviceProvider == null) {
             if (log.isDebugEnabled()) {
@@ -642,6 +842,7 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
         appBasicInfoCacheByName.clearCacheEntry(basicInfoNameKey, tenantDomain);
 
         clearAppCacheByInboundKey(serviceProvider, tenantDomain);
+        clearAppBasicInfoListCache(tenantDomain);
     }
 
     private void clearAllAppCache(ServiceProvider serviceProvider, String updatedName, String tenantDomain) throws
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.identity.application.mgt.internal.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Cache for the basic information of all the applications, and all the discoverable applications, of a tenant, which
+ * backs the application listings.
+ */
+public class ApplicationBasicInfoListCache extends
+        BaseCache<ApplicationBasicInfoListCacheKey, ApplicationBasicInfoListCacheEntry> {
+
+    private static final String CACHE_NAME = "ApplicationBasicInfoCache.List";
+    private static volatile ApplicationBasicInfoListCache instance;
+
+    private ApplicationBasicInfoListCache() {
+
+        super(CACHE_NAME);
+    }
+
+    public static ApplicationBasicInfoListCache getInstance() {
+
+        if (instance == null) {
+            synchronized (ApplicationBasicInfoListCache.class) {
+                if (instance == null) {
+                    instance = new ApplicationBasicInfoListCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.identity.application.mgt.internal.cache;
+
+import org.wso2.carbon.identity.application.common.model.ApplicationBasicInfo;
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cache entry for the basic information of all the applications of a tenant, in the order of the listings.
+ * <p>
+ * An entry without applications marks a list being loaded. The loaded list is only cached if the marker is still in
+ * the cache, as the marker is removed when the list is invalidated in this node or in any other node of the cluster.
+ */
+public class ApplicationBasicInfoListCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = 2984067358914737016L;
+    private final List<ApplicationBasicInfo> applications;
+    private final String loadId;
+
+    public ApplicationBasicInfoListCacheEntry(ApplicationBasicInfo[] applications) {
+
+        this.applications = Collections.unmodifiableList(Arrays.asList(applications));
+        this.loadId = null;
+    }
+
+    /**
+     * Create a marker of a list being loaded.
+     *
+     * @param loadId Unique identifier of the load.
+     */
+    public ApplicationBasicInfoListCacheEntry(String loadId) {
+
+        this.applications = null;
+        this.loadId = loadId;
+    }
+
+    /**
+     * @return Applications of the list, or null if this entry marks a list being loaded.
+     */
+    public List<ApplicationBasicInfo> getApplications() {
+
+        return applications;
+    }
+
+    public boolean isLoading() {
+
+        return applications == null;
+    }
+
+    public String getLoadId() {
+
+        return loadId;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.identity.application.mgt.internal.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+/**
+ * Cache key used to access the basic information of all the applications, or all the discoverable applications, of a
+ * tenant.
+ */
+public class ApplicationBasicInfoListCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = -6179215317364519422L;
+    private final String tenantDomain;
+    private final boolean discoverableOnly;
+
+    public ApplicationBasicInfoListCacheKey(String tenantDomain, boolean discoverableOnly) {
+
+        this.tenantDomain = tenantDomain;
+        this.discoverableOnly = discoverableOnly;
+    }
+
+    public String getTenantDomain() {
+
+        return tenantDomain;
+    }
+
+    public boolean isDiscoverableOnly() {
+
+        return discoverableOnly;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        ApplicationBasicInfoListCacheKey that = (ApplicationBasicInfoListCacheKey) o;
+        return discoverableOnly == that.discoverableOnly && tenantDomain.equals(that.tenantDomain);
+    }
+
+    @Override
+    public int hashCode() {
+
+        int result = super.hashCode();
+        result = 31 * result + tenantDomain.hashCode();
+        result = 31 * result + (discoverableOnly ? 1 : 0);
+        return result;
+    }
+}
@@ -21,7 +21,7 @@ package org.wso2.carbon.identity.application.mgt.internal.cache;
 import org.wso2.carbon.identity.core.cache.BaseCache;
 
 /**
- * Cache to maintain the inbound auth key - service provider name.
+ * Cache to maintain the inbound auth key - service provider name and service provider.
  */
 public class ServiceProviderByInboundAuthCache extends
         BaseCache<ServiceProviderCacheInboundAuthKey, ServiceProviderCacheInboundAuthEntry> {
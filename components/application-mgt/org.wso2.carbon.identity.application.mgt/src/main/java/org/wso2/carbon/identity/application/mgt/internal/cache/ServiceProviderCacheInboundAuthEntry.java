@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.identity.application.mgt.internal.cache;
 
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
 import org.wso2.carbon.identity.core.cache.CacheEntry;
 
 /**
@@ -28,6 +29,9 @@ public class ServiceProviderCacheInboundAuthEntry extends CacheEntry {
     private static final long serialVersionUID = 6136546313282431483L;
     private String serviceProviderName;
     private String tenantName;
+    // Same instance as cached by name and id. It is not serialized with the entry, hence an entry read back from a
+    // distributed cache only carries the name, and the application is then resolved by name.
+    private transient ServiceProvider serviceProvider;
 
     public ServiceProviderCacheInboundAuthEntry(String serviceProviderName, String tenantName) {
 
@@ -35,6 +39,12 @@ public class ServiceProviderCacheInboundAuthEntry extends CacheEntry {
         this.tenantName = tenantName;
     }
 
+    public ServiceProviderCacheInboundAuthEntry(ServiceProvider serviceProvider, String tenantName) {
+
+        this(serviceProvider.getApplicationName(), tenantName);
+        this.serviceProvider = serviceProvider;
+    }
+
     public String getServiceProviderName() {
 
         return serviceProviderName;
@@ -54,4 +64,19 @@ public class ServiceProviderCacheInboundAuthEntry extends CacheEntry {
 
         this.tenantName = tenantName;
     }
+
+    /**
+     * Get the service provider which is cached by name and id along with this entry.
+     *
+     * @return Service provider, or null if only the name of the service provider is resolved.
+     */
+    public ServiceProvider getServiceProvider() {
+
+        return serviceProvider;
+    }
+
+    public void setServiceProvider(ServiceProvider serviceProvider) {
+
+        this.serviceProvider = serviceProvider;
+    }
 }
@@ -19,6 +19,7 @@
 package org.wso2.carbon.identity.application.mgt;
 
 import org.powermock.modules.testng.PowerMockTestCase;
+import org.powermock.reflect.Whitebox;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
@@ -50,12 +51,18 @@ import org.wso2.carbon.identity.application.common.model.ProvisioningConnectorCo
 import org.wso2.carbon.identity.application.common.model.RequestPathAuthenticatorConfig;
 import org.wso2.carbon.identity.application.common.model.RoleMapping;
 import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.mgt.cache.IdentityServiceProviderCache;
+import org.wso2.carbon.identity.application.mgt.cache.IdentityServiceProviderCacheEntry;
+import org.wso2.carbon.identity.application.mgt.dao.impl.ApplicationDAOImpl;
+import org.wso2.carbon.identity.application.mgt.dao.impl.CacheBackedApplicationDAO;
 import org.wso2.carbon.identity.application.mgt.internal.ApplicationManagementServiceComponentHolder;
+import org.wso2.carbon.identity.application.mgt.internal.impl.DiscoverableApplicationManagerImpl;
 import org.wso2.carbon.identity.common.testng.WithH2Database;
 import org.wso2.carbon.identity.common.testng.realm.InMemoryRealmService;
 import org.wso2.carbon.identity.common.testng.realm.MockUserStoreManager;
 import org.wso2.carbon.identity.core.internal.IdentityCoreServiceDataHolder;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
 import org.wso2.carbon.idp.mgt.dao.IdPManagementDAO;
 import org.wso2.carbon.registry.core.Collection;
@@ -69,6 +76,12 @@ import org.wso2.carbon.user.core.service.RealmService;
 
 import java.lang.reflect.Field;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
@@ -90,6 +103,7 @@ public class ApplicationManagementServiceImplTest extends PowerMockTestCase {
     private static final String SAMPLE_TENANT_DOMAIN = "tenant domain";
     private static final String APPLICATION_NAME_1 = "Test application 1";
     private static final String APPLICATION_NAME_2 = "Test application 2";
+    private static final String APPLICATION_NAME_3 = "Test application 3";
     private static final String IDP_NAME_1 = "Test IdP 1";
     private static final String IDP_NAME_2 = "Test IdP 2";
     private static final String USERNAME_1 = "user 1";
@@ -373,6 +387,225 @@ public class ApplicationManagementServiceImplTest extends PowerMockTestCase {
         applicationManagementService.deleteApplications(SUPER_TENANT_ID);
     }
 
+    @Test
+    public void testGetApplicationBasicInfoFromListCache() throws IdentityApplicationManagementException {
+
+        Map<String, Object> configuration = Whitebox.getInternalState(IdentityUtil.class, "configuration");
+        configuration.put(ApplicationConstants.ENABLE_APPLICATION_LIST_CACHE_PROPERTY, "true");
+        try {
+            addApplications();
+            ApplicationBasicInfo[] firstPage = applicationManagementService.getApplicationBasicInfo(
+                    SUPER_TENANT_DOMAIN_NAME, USERNAME_1, 0, 1);
+            Assert.assertEquals(firstPage.length, 1);
+            Assert.assertEquals(firstPage[0].getApplicationName(), APPLICATION_NAME_2);
+            Assert.assertEquals(applicationManagementService.getApplicationBasicInfo(SUPER_TENANT_DOMAIN_NAME,
+                    USERNAME_1, 1, 1)[0].getApplicationName(), APPLICATION_NAME_1);
+            Assert.assertEquals(applicationManagementService.getApplicationBasicInfo(SUPER_TENANT_DOMAIN_NAME,
+                    USERNAME_1, 2, 1).length, 0);
+            Assert.assertEquals(applicationManagementService.getAllPaginatedApplicationBasicInfo(
+                    SUPER_TENANT_DOMAIN_NAME, USERNAME_1, 1).length, 2);
+            Assert.assertEquals(applicationManagementService.getCountOfAllApplications(SUPER_TENANT_DOMAIN_NAME,
+                    USERNAME_1), 2);
+            Assert.assertEquals(applicationManagementService.getCountOfApplications(SUPER_TENANT_DOMAIN_NAME,
+                    USERNAME_1, "*"), 2);
+
+            // Modifying a returned application does not modify the cached list.
+            firstPage[0].setApplicationName(APPLICATION_NAME_3);
+            Assert.assertEquals(applicationManagementService.getApplicationBasicInfo(SUPER_TENANT_DOMAIN_NAME,
+                    USERNAME_1, 0, 1)[0].getApplicationName(), APPLICATION_NAME_2);
+
+            // The cached list is invalidated when an application is created, updated or deleted.
+            ServiceProvider serviceProvider = new ServiceProvider();
+            serviceProvider.setApplicationName(APPLICATION_NAME_3);
+            addApplicationConfigurations(serviceProvider);
+            applicationManagementService.addApplication(serviceProvider, SUPER_TENANT_DOMAIN_NAME,
+                    REGISTRY_SYSTEM_USERNAME);
+            Assert.assertEquals(applicationManagementService.getCountOfAllApplications(SUPER_TENANT_DOMAIN_NAME,
+                    USERNAME_1), 3);
+            Assert.assertEquals(applicationManagementService.getApplicationBasicInfo(SUPER_TENANT_DOMAIN_NAME,
+                    USERNAME_1, 0, 1)[0].getApplicationName(), APPLICATION_NAME_3);
+
+            serviceProvider.setDescription("Updated for testing");
+            applicationManagementService.updateApplication(serviceProvider, SUPER_TENANT_DOMAIN_NAME,
+                    REGISTRY_SYSTEM_USERNAME);
+            Assert.assertEquals(applicationManagementService.getApplicationBasicInfo(SUPER_TENANT_DOMAIN_NAME,
+                    USERNAME_1, 0, 1)[0].getDescription(), "Updated for testing");
+
+            applicationManagementService.deleteApplication(APPLICATION_NAME_3, SUPER_TENANT_DOMAIN_NAME,
+                    REGISTRY_SYSTEM_USERNAME);
+            Assert.assertEquals(applicationManagementService.getCountOfAllApplications(SUPER_TENANT_DOMAIN_NAME,
+                    USERNAME_1), 2);
+
+            applicationManagementService.deleteApplications(SUPER_TENANT_ID);
+            Assert.assertEquals(applicationManagementService.getCountOfAllApplications(SUPER_TENANT_DOMAIN_NAME,
+                    USERNAME_1), 0);
+        } finally {
+            configuration.remove(ApplicationConstants.ENABLE_APPLICATION_LIST_CACHE_PROPERTY);
+            applicationManagementService.deleteApplications(SUPER_TENANT_ID);
+        }
+    }
+
+    @Test
+    public void testGetDiscoverableApplicationBasicInfoFromListCache() throws IdentityApplicationManagementException {
+
+        Map<String, Object> configuration = Whitebox.getInternalState(IdentityUtil.class, "configuration");
+        configuration.put(ApplicationConstants.ENABLE_APPLICATION_LIST_CACHE_PROPERTY, "true");
+        DiscoverableApplicationManager discoverableApplicationManager = new DiscoverableApplicationManagerImpl();
+        try {
+            ServiceProvider serviceProvider1 = new ServiceProvider();
+            serviceProvider1.setApplicationName(APPLICATION_NAME_1);
+            addApplicationConfigurations(serviceProvider1);
+            applicationManagementService.addApplication(serviceProvider1, SUPER_TENANT_DOMAIN_NAME,
+                    REGISTRY_SYSTEM_USERNAME);
+            ServiceProvider serviceProvider2 = new ServiceProvider();
+            serviceProvider2.setApplicationName(APPLICATION_NAME_2);
+            addApplicationConfigurations(serviceProvider2);
+            applicationManagementService.addApplication(serviceProvider2, SUPER_TENANT_DOMAIN_NAME,
+                    REGISTRY_SYSTEM_USERNAME);
+            Assert.assertEquals(discoverableApplicationManager.getCountOfDiscoverableApplications("*",
+                    SUPER_TENANT_DOMAIN_NAME), 0);
+
+            // The cached lists are invalidated when an application is updated.
+            serviceProvider1.setDiscoverable(true);
+            applicationManagementService.updateApplication(serviceProvider1, SUPER_TENANT_DOMAIN_NAME,
+                    REGISTRY_SYSTEM_USERNAME);
+            List<ApplicationBasicInfo> applications = discoverableApplicationManager
+                    .getDiscoverableApplicationBasicInfo(10, 0, null, null, null, SUPER_TENANT_DOMAIN_NAME);
+            Assert.assertEquals(applications.size(), 1);
+            Assert.assertEquals(applications.get(0).getApplicationName(), APPLICATION_NAME_1);
+            Assert.assertEquals(discoverableApplicationManager.getCountOfDiscoverableApplications("*",
+                    SUPER_TENANT_DOMAIN_NAME), 1);
+            // The discoverable list is kept apart from the list of all the applications.
+            Assert.assertEquals(applicationManagementService.getCountOfAllApplications(SUPER_TENANT_DOMAIN_NAME,
+                    USERNAME_1), 2);
+
+            serviceProvider2.setDiscoverable(true);
+            applicationManagementService.updateApplication(serviceProvider2, SUPER_TENANT_DOMAIN_NAME,
+                    REGISTRY_SYSTEM_USERNAME);
+            Assert.assertEquals(discoverableApplicationManager.getCountOfDiscoverableApplications(null,
+                    SUPER_TENANT_DOMAIN_NAME), 2);
+            Assert.assertEquals(discoverableApplicationManager.getDiscoverableApplicationBasicInfo(1, 1, "*", null,
+                    null, SUPER_TENANT_DOMAIN_NAME).size(), 1);
+        } finally {
+            configuration.remove(ApplicationConstants.ENABLE_APPLICATION_LIST_CACHE_PROPERTY);
+            applicationManagementService.deleteApplications(SUPER_TENANT_ID);
+        }
+    }
+
+    @Test
+    public void testGetClaimMappingViews() throws IdentityApplicationManagementException {
+
+        ServiceProvider serviceProvider1 = new ServiceProvider();
+        serviceProvider1.setApplicationName(APPLICATION_NAME_1);
+        addApplicationConfigurations(serviceProvider1);
+        serviceProvider1.getClaimConfig().getClaimMappings()[0].setRequested(true);
+        applicationManagementService.addApplication(serviceProvider1, SUPER_TENANT_DOMAIN_NAME,
+                REGISTRY_SYSTEM_USERNAME);
+
+        ServiceProvider serviceProvider2 = new ServiceProvider();
+        serviceProvider2.setApplicationName(APPLICATION_NAME_2);
+        serviceProvider2.setClaimConfig(new ClaimConfig());
+        applicationManagementService.addApplication(serviceProvider2, SUPER_TENANT_DOMAIN_NAME,
+                REGISTRY_SYSTEM_USERNAME);
+
+        try {
+            // Resolved from the database.
+            IdentityServiceProviderCache.getInstance().clear(SUPER_TENANT_DOMAIN_NAME);
+            assertClaimMappingViews();
+
+            // Resolved from the cached applications.
+            applicationManagementService.getApplicationExcludingFileBasedSPs(APPLICATION_NAME_1,
+                    SUPER_TENANT_DOMAIN_NAME);
+            applicationManagementService.getApplicationExcludingFileBasedSPs(APPLICATION_NAME_2,
+                    SUPER_TENANT_DOMAIN_NAME);
+            assertClaimMappingViews();
+        } finally {
+            applicationManagementService.deleteApplications(SUPER_TENANT_ID);
+        }
+
+        // A claim config without claim mappings resolves empty views.
+        ServiceProvider serviceProvider3 = new ServiceProvider();
+        serviceProvider3.setClaimConfig(new ClaimConfig());
+        IdentityServiceProviderCacheEntry entry = new IdentityServiceProviderCacheEntry(serviceProvider3);
+        Assert.assertTrue(entry.getSPToLocalClaimMappings().isEmpty());
+        Assert.assertTrue(entry.getLocalToSPClaimMappings().isEmpty());
+        Assert.assertTrue(entry.getRequestedLocalClaims().isEmpty());
+        Assert.assertThrows(UnsupportedOperationException.class,
+                () -> entry.getRequestedLocalClaims().add("Local claim uri"));
+    }
+
+    @Test
+    public void testGetRequiredLocalClaims() throws IdentityApplicationManagementException {
+
+        ServiceProvider serviceProvider = new ServiceProvider();
+        serviceProvider.setApplicationName(APPLICATION_NAME_1);
+        ClaimConfig claimConfig = new ClaimConfig();
+        claimConfig.setRoleClaimURI("Remote role claim uri");
+        claimConfig.setClaimMappings(new ClaimMapping[]{
+                ClaimMapping.build("Local claim uri", "Remote claim uri", null, true),
+                ClaimMapping.build("Local mandatory claim uri", "Remote mandatory claim uri", null, false, true),
+                ClaimMapping.build("Local role claim uri", "Remote role claim uri", null, false),
+                ClaimMapping.build("Local other claim uri", "Remote other claim uri", null, false)});
+        serviceProvider.setClaimConfig(claimConfig);
+        LocalAndOutboundAuthenticationConfig authenticationConfig = new LocalAndOutboundAuthenticationConfig();
+        authenticationConfig.setSubjectClaimUri("Local subject claim uri");
+        serviceProvider.setLocalAndOutBoundAuthenticationConfig(authenticationConfig);
+        applicationManagementService.addApplication(serviceProvider, SUPER_TENANT_DOMAIN_NAME,
+                REGISTRY_SYSTEM_USERNAME);
+
+        try {
+            // The required claims are only resolved from the cached applications.
+            IdentityServiceProviderCache.getInstance().clear(SUPER_TENANT_DOMAIN_NAME);
+            Assert.assertNull(applicationManagementService.getRequiredLocalClaims(APPLICATION_NAME_1,
+                    SUPER_TENANT_DOMAIN_NAME));
+
+            applicationManagementService.getApplicationExcludingFileBasedSPs(APPLICATION_NAME_1,
+                    SUPER_TENANT_DOMAIN_NAME);
+            Set<String> requiredLocalClaims = applicationManagementService.getRequiredLocalClaims(
+                    APPLICATION_NAME_1, SUPER_TENANT_DOMAIN_NAME);
+            Assert.assertEquals(requiredLocalClaims, new HashSet<>(Arrays.asList("Local claim uri",
+                    "Local mandatory claim uri", "Remote role claim uri", "Local role claim uri",
+                    "Local subject claim uri")));
+            Assert.assertThrows(UnsupportedOperationException.class,
+                    () -> requiredLocalClaims.add("Local other claim uri"));
+        } finally {
+            applicationManagementService.deleteApplications(SUPER_TENANT_ID);
+        }
+
+        // The claims of the SP claim dialects can not be resolved by the cache entry.
+        claimConfig.setSpClaimDialects(new String[]{"SP claim dialect"});
+        Assert.assertNull(new IdentityServiceProviderCacheEntry(serviceProvider).getRequiredLocalClaims());
+    }
+
+    private void assertClaimMappingViews() throws IdentityApplicationManagementException {
+
+        Map<String, String> spToLocalClaimMappings = applicationManagementService
+                .getServiceProviderToLocalIdPClaimMapping(APPLICATION_NAME_1, SUPER_TENANT_DOMAIN_NAME);
+        Assert.assertEquals(spToLocalClaimMappings, Collections.singletonMap("Remote claim uri", "Local claim uri"));
+        Assert.assertThrows(UnsupportedOperationException.class,
+                () -> spToLocalClaimMappings.put("Remote claim uri", "Other claim uri"));
+
+        Map<String, String> localToSPClaimMappings = applicationManagementService
+                .getLocalIdPToServiceProviderClaimMapping(APPLICATION_NAME_1, SUPER_TENANT_DOMAIN_NAME);
+        Assert.assertEquals(localToSPClaimMappings, Collections.singletonMap("Local claim uri", "Remote claim uri"));
+        Assert.assertThrows(UnsupportedOperationException.class, localToSPClaimMappings::clear);
+
+        List<String> requestedClaims = applicationManagementService.getAllRequestedClaimsByServiceProvider(
+                APPLICATION_NAME_1, SUPER_TENANT_DOMAIN_NAME);
+        Assert.assertEquals(requestedClaims, Collections.singletonList("Local claim uri"));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> requestedClaims.add("Other claim uri"));
+
+        Map<String, String> emptyClaimMappings = applicationManagementService
+                .getServiceProviderToLocalIdPClaimMapping(APPLICATION_NAME_2, SUPER_TENANT_DOMAIN_NAME);
+        Assert.assertTrue(emptyClaimMappings.isEmpty());
+        Assert.assertThrows(UnsupportedOperationException.class,
+                () -> emptyClaimMappings.put("Remote claim uri", "Local claim uri"));
+        Assert.assertTrue(applicationManagementService.getLocalIdPToServiceProviderClaimMapping(APPLICATION_NAME_2,
+                SUPER_TENANT_DOMAIN_NAME).isEmpty());
+        Assert.assertTrue(applicationManagementService.getAllRequestedClaimsByServiceProvider(APPLICATION_NAME_2,
+                SUPER_TENANT_DOMAIN_NAME).isEmpty());
+    }
+
     @DataProvider(name = "getIdentityProviderDataProvider")
     public Object[][] getIdentityProviderDataProvider() {
 
@@ -505,6 +738,33 @@ public class ApplicationManagementServiceImplTest extends PowerMockTestCase {
         applicationManagementService.deleteApplications(SUPER_TENANT_ID);
     }
 
+    @Test
+    public void testGetServiceProviderByClientIdFromInboundAuthCache() throws IdentityApplicationManagementException {
+
+        ServiceProvider inputSP = new ServiceProvider();
+        inputSP.setApplicationName(APPLICATION_NAME_1);
+        addApplicationConfigurations(inputSP);
+        applicationManagementService.createApplication(inputSP, SUPER_TENANT_DOMAIN_NAME, USERNAME_1);
+
+        ServiceProvider resolvedSP = applicationManagementService.getServiceProviderByClientId("auth key",
+                "oauth2", SUPER_TENANT_DOMAIN_NAME);
+        CacheBackedApplicationDAO applicationDAO = new CacheBackedApplicationDAO(new ApplicationDAOImpl());
+        ServiceProvider cachedSP = applicationDAO.getApplicationFromCacheByClientId("auth key", "oauth2",
+                SUPER_TENANT_DOMAIN_NAME);
+        Assert.assertSame(cachedSP, resolvedSP);
+
+        // Later lookups, including the ones with a tenant qualified client id, are served by the inbound auth cache.
+        Assert.assertSame(applicationManagementService.getServiceProviderByClientId("auth key", "oauth2",
+                SUPER_TENANT_DOMAIN_NAME), cachedSP);
+        Assert.assertSame(applicationManagementService.getServiceProviderByClientId("auth key@" +
+                SUPER_TENANT_DOMAIN_NAME, "oauth2", SUPER_TENANT_DOMAIN_NAME), cachedSP);
+
+        // The cached application is removed along with the applications of the tenant.
+        applicationManagementService.deleteApplications(SUPER_TENANT_ID);
+        Assert.assertNull(applicationDAO.getApplicationFromCacheByClientId("auth key", "oauth2",
+                SUPER_TENANT_DOMAIN_NAME));
+    }
+
     @DataProvider(name = "testAddApplicationWithIsManagementApplicationData")
     public Object[][] testAddApplicationWithIsManagementApplicationData() {
 
@@ -22,6 +22,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.application.authentication.framework.exception.ApplicationAuthenticationException;
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceComponent;
+import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -41,16 +42,8 @@ public class ApplicationAuthenticationService {
             throw new ApplicationAuthenticationException(errMsg);
         }
 
-        ApplicationAuthenticator appAuthenticator = null;
-
-        for (ApplicationAuthenticator authenticator : FrameworkServiceComponent.getAuthenticators()) {
-
-            if (authenticator.getName().equals(name)) {
-                appAuthenticator = authenticator;
-            }
-        }
-
-        return appAuthenticator;
+        // This service has always returned the last registered authenticator when names are duplicated.
+        return FrameworkServiceDataHolder.getInstance().getAuthenticatorRegistry().getLastAuthenticatorByName(name);
     }
 
     public List<ApplicationAuthenticator> getAllAuthenticators() throws ApplicationAuthenticationException {
@@ -59,43 +52,19 @@ public class ApplicationAuthenticationService {
 
     public List<ApplicationAuthenticator> getLocalAuthenticators() throws ApplicationAuthenticationException {
 
-        List<ApplicationAuthenticator> localAuthenticators = new ArrayList<ApplicationAuthenticator>();
-
-        for (ApplicationAuthenticator authenticator : FrameworkServiceComponent.getAuthenticators()) {
-
-            if (authenticator instanceof LocalApplicationAuthenticator) {
-                localAuthenticators.add(authenticator);
-            }
-        }
-
-        return localAuthenticators;
+        return new ArrayList<>(FrameworkServiceDataHolder.getInstance().getAuthenticatorRegistry()
+                .getLocalAuthenticators());
     }
 
     public List<ApplicationAuthenticator> getFederatedAuthenticators() throws ApplicationAuthenticationException {
 
-        List<ApplicationAuthenticator> federatedAuthenticators = new ArrayList<ApplicationAuthenticator>();
-
-        for (ApplicationAuthenticator authenticator : FrameworkServiceComponent.getAuthenticators()) {
-
-            if (authenticator instanceof FederatedApplicationAuthenticator) {
-                federatedAuthenticators.add(authenticator);
-            }
-        }
-
-        return federatedAuthenticators;
+        return new ArrayList<>(FrameworkServiceDataHolder.getInstance().getAuthenticatorRegistry()
+                .getFederatedAuthenticators());
     }
 
     public List<ApplicationAuthenticator> getRequestPathAuthenticators() throws ApplicationAuthenticationException {
 
-        List<ApplicationAuthenticator> reqPathAuthenticators = new ArrayList<ApplicationAuthenticator>();
-
-        for (ApplicationAuthenticator authenticator : FrameworkServiceComponent.getAuthenticators()) {
-
-            if (authenticator instanceof RequestPathApplicationAuthenticator) {
-                reqPathAuthenticators.add(authenticator);
-            }
-        }
-
-        return reqPathAuthenticators;
+        return new ArrayList<>(FrameworkServiceDataHolder.getInstance().getAuthenticatorRegistry()
+                .getRequestPathAuthenticators());
     }
 }
@@ -18,6 +18,8 @@
 
 package org.wso2.carbon.identity.application.authentication.framework;
 
+import java.util.List;
+
 /**
  * Defines the session management service operations.
  */
@@ -31,4 +33,19 @@ public interface ServerSessionManagementService {
      */
     boolean removeSession(String sessionId);
 
+    /**
+     * Terminate the sessions related to the given session ids.
+     *
+     * @param sessionIds - Session ids of the sessions to be terminated
+     * @return true if the termination is success
+     */
+    default boolean removeSessions(List<String> sessionIds) {
+
+        boolean removed = true;
+        for (String sessionId : sessionIds) {
+            removed &= removeSession(sessionId);
+        }
+        return removed;
+    }
+
 }
@@ -18,12 +18,15 @@
 
 package org.wso2.carbon.identity.application.authentication.framework;
 
+import org.apache.commons.lang.math.NumberUtils;
 import org.wso2.carbon.identity.application.authentication.framework.exception.UserSessionException;
 import org.wso2.carbon.identity.application.authentication.framework.exception.session.mgt.SessionManagementException;
 import org.wso2.carbon.identity.application.authentication.framework.model.UserSession;
 import org.wso2.carbon.identity.application.common.model.User;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Defines the session management service operations.
@@ -53,6 +56,33 @@ public interface UserSessionManagementService {
         return null;
     }
 
+    /**
+     * Get a page of the active sessions of the given user id, sorted by the last access time with the most recently
+     * accessed session first. A page may hold fewer than {@code limit} sessions when some of the sessions mapped to
+     * the user have expired and are not yet cleaned up.
+     *
+     * @param userId unique id of the user
+     * @param offset number of sessions to skip
+     * @param limit  maximum number of sessions to return
+     * @return list of user session objects. In the default method, the sessions returned by
+     * {@link #getSessionsByUserId(String)} are sorted and paginated.
+     * @throws SessionManagementException if the session retrieval fails
+     */
+    default List<UserSession> getSessionsByUserId(String userId, int offset, int limit)
+            throws SessionManagementException {
+
+        List<UserSession> userSessions = getSessionsByUserId(userId);
+        if (userSessions == null) {
+            return null;
+        }
+        return userSessions.stream()
+                .sorted(Comparator.comparingLong(
+                        (UserSession userSession) -> NumberUtils.toLong(userSession.getLastAccessTime())).reversed())
+                .skip(Math.max(offset, 0))
+                .limit(Math.max(limit, 0))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Terminate all the active sessions of the given user id.
      *
@@ -18,16 +18,21 @@
 
 package org.wso2.carbon.identity.application.authentication.framework.cache;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.base.MultitenantConstants;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.exception.SessionSerializerException;
 import org.wso2.carbon.identity.application.authentication.framework.store.SessionDataStore;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 
 import java.io.Serializable;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class is used to cache the data about the
@@ -40,6 +45,7 @@ public class AuthenticationContextCache extends
     private static final Log log = LogFactory.getLog(AuthenticationContextCache.class);
     private static volatile AuthenticationContextCache instance;
     private boolean isTemporarySessionDataPersistEnabled = false;
+    private boolean isSkipUnchangedContextEnabled = false;
 
     /**
      * Private constructor which will not allow to create objects of this class from outside
@@ -50,6 +56,8 @@ public class AuthenticationContextCache extends
             isTemporarySessionDataPersistEnabled = Boolean.parseBoolean(
                     IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.Temporary"));
         }
+        isSkipUnchangedContextEnabled = Boolean.parseBoolean(
+                IdentityUtil.getProperty(FrameworkConstants.Config.SKIP_UNCHANGED_CONTEXT_PERSISTENCE));
     }
 
     /**
@@ -91,6 +99,10 @@ public class AuthenticationContextCache extends
                         it.remove();
                     }
                 }
+                if (isSkipUnchangedContextEnabled) {
+                    storeUnlessIdentical(key, entry, tenantId);
+                    return;
+                }
                 if (log.isDebugEnabled()) {
                     String message = "[ Context Id : " + key.getContextId() +
                             ", Cache type : " + AUTHENTICATION_CONTEXT_CACHE_NAME +
@@ -103,6 +115,62 @@ public class AuthenticationContextCache extends
         }
     }
 
+    /**
+     * Store the entry in the session data store, skipping identical rewrites. The write is skipped only when the
+     * serialized entry is byte-identical to what this context instance last stored under the same key. The context is
+     * not tracked for modifications, hence it is still serialized and hashed on every store. An identical context is
+     * still stored once half of its validity period has elapsed, so that the stored data of an ongoing flow is not
+     * cleaned up.
+     *
+     * @param key      Key which cache entry is indexed.
+     * @param entry    Cache entry to store.
+     * @param tenantId Tenant id of the context.
+     */
+    private void storeUnlessIdentical(AuthenticationContextCacheKey key, AuthenticationContextCacheEntry entry,
+                                      int tenantId) {
+
+        byte[] serializedEntry;
+        try {
+            serializedEntry = SessionDataStore.getInstance().serializeSessionData(entry);
+        } catch (SessionSerializerException e) {
+            log.error("Error while serializing the authentication context with id: " + key.getContextId(), e);
+            return;
+        }
+
+        AuthenticationContext context = entry.getContext();
+        String stateDigest = getStateDigest(key, serializedEntry);
+        long currentTime = System.currentTimeMillis();
+        long validityPeriodMillis = entry.getValidityPeriod() > 0 ?
+                TimeUnit.NANOSECONDS.toMillis(entry.getValidityPeriod()) :
+                TimeUnit.MINUTES.toMillis(IdentityUtil.getTempDataCleanUpTimeout());
+        if (stateDigest.equals(context.getPersistedStateDigest()) &&
+                currentTime - context.getPersistedStateTime() < validityPeriodMillis / 2) {
+            if (log.isDebugEnabled()) {
+                log.debug("Authentication context with id: " + key.getContextId() + " is identical to the state " +
+                        "last stored. Skipped storing it in the session data store.");
+            }
+            return;
+        }
+
+        if (log.isDebugEnabled()) {
+            String message = "[ Context Id : " + key.getContextId() +
+                    ", Cache type : " + AUTHENTICATION_CONTEXT_CACHE_NAME +
+                    ", Operation : STORE, Size : " + serializedEntry.length + " ]";
+            log.debug("Authentication context is stored with details " + message);
+        }
+        SessionDataStore.getInstance().storeSerializedSessionData(key.getContextId(),
+                AUTHENTICATION_CONTEXT_CACHE_NAME, serializedEntry, entry.getValidityPeriod(), tenantId);
+        context.setPersistedState(stateDigest, currentTime);
+    }
+
+    /**
+     * The key is part of the digest, hence a context stored under a different key is never skipped.
+     */
+    private static String getStateDigest(AuthenticationContextCacheKey key, byte[] serializedEntry) {
+
+        return DigestUtils.sha256Hex(key.getContextId() + ":" + DigestUtils.sha256Hex(serializedEntry));
+    }
+
     /**
      * Retrieves a cache entry.
      *
@@ -135,6 +203,14 @@ public class AuthenticationContextCache extends
      * @param key Key to clear cache.
      */
     public void clearCacheEntry(AuthenticationContextCacheKey key) {
+        if (isTemporarySessionDataPersistEnabled && isSkipUnchangedContextEnabled) {
+            // The DELETE operation supersedes the last stored state, hence the next store of the context is not
+            // skipped even if the context is not changed.
+            AuthenticationContextCacheEntry entry = super.getValueFromCache(key);
+            if (entry != null && entry.getContext() != null) {
+                entry.getContext().setPersistedState(null, 0);
+            }
+        }
         super.clearCacheEntry(key);
         if (isTemporarySessionDataPersistEnabled) {
             SessionDataStore.getInstance().clearSessionData(key.getContextId(), AUTHENTICATION_CONTEXT_CACHE_NAME);
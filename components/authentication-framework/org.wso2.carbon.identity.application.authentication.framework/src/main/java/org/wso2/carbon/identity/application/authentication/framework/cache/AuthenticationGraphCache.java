@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Cache for the authentication graph templates built from the adaptive authentication scripts of the service
+ * providers of the tenants.
+ */
+public class AuthenticationGraphCache extends BaseCache<AuthenticationGraphCacheKey, AuthenticationGraphCacheEntry> {
+
+    private static final String AUTHENTICATION_GRAPH_CACHE_NAME = "AuthenticationGraphCache";
+
+    private static volatile AuthenticationGraphCache instance;
+
+    private AuthenticationGraphCache() {
+
+        super(AUTHENTICATION_GRAPH_CACHE_NAME);
+    }
+
+    public static AuthenticationGraphCache getInstance() {
+
+        if (instance == null) {
+            synchronized (AuthenticationGraphCache.class) {
+                if (instance == null) {
+                    instance = new AuthenticationGraphCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
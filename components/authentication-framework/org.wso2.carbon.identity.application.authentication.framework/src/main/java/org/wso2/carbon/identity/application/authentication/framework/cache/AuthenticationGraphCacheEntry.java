@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.AuthenticationGraphTemplate;
+import org.wso2.carbon.identity.application.common.model.AuthenticationStep;
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+/**
+ * Wrapper object to cache the {@link AuthenticationGraphTemplate} of a service provider.
+ * <p>
+ * The template is only valid for the script it was built from and the authentication steps of the exact service
+ * provider instance it was built for. A null template records that the graph of the script depends on the login
+ * request, so that later logins build the graph without trying to create a template again.
+ */
+public class AuthenticationGraphCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = -7314065802461932517L;
+
+    private final AuthenticationGraphTemplate graphTemplate;
+    private final String scriptHash;
+    private final transient AuthenticationStep[] authenticationSteps;
+
+    public AuthenticationGraphCacheEntry(AuthenticationGraphTemplate graphTemplate, String scriptHash,
+                                         AuthenticationStep[] authenticationSteps) {
+
+        this.graphTemplate = graphTemplate;
+        this.scriptHash = scriptHash;
+        this.authenticationSteps = authenticationSteps;
+    }
+
+    public AuthenticationGraphTemplate getGraphTemplate() {
+
+        return graphTemplate;
+    }
+
+    /**
+     * Check whether the entry was built from the given script and authentication steps.
+     *
+     * @param scriptHash          Hash of the adaptive authentication script.
+     * @param authenticationSteps Authentication steps of the service provider.
+     * @return True if the entry was built from the same script and authentication step instances.
+     */
+    public boolean isBuiltFrom(String scriptHash, AuthenticationStep[] authenticationSteps) {
+
+        return this.authenticationSteps == authenticationSteps && this.scriptHash.equals(scriptHash);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Cache for the sequence configuration templates of the service providers of the tenants.
+ */
+public class SequenceConfigTemplateCache
+        extends BaseCache<SequenceConfigTemplateCacheKey, SequenceConfigTemplateCacheEntry> {
+
+    private static final String SEQUENCE_CONFIG_TEMPLATE_CACHE_NAME = "SequenceConfigTemplateCache";
+
+    private static volatile SequenceConfigTemplateCache instance;
+
+    private SequenceConfigTemplateCache() {
+
+        super(SEQUENCE_CONFIG_TEMPLATE_CACHE_NAME);
+    }
+
+    public static SequenceConfigTemplateCache getInstance() {
+
+        if (instance == null) {
+            synchronized (SequenceConfigTemplateCache.class) {
+                if (instance == null) {
+                    instance = new SequenceConfigTemplateCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.wso2.carbon.identity.application.authentication.framework.config.model.SequenceConfig;
+import org.wso2.carbon.identity.application.common.model.AuthenticationStep;
+import org.wso2.carbon.identity.application.common.model.RequestPathAuthenticatorConfig;
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+/**
+ * Wrapper object to cache the {@link SequenceConfig} template of a service provider.
+ * <p>
+ * The template is built from the authentication steps and request path authenticators of a service provider
+ * instance. A service provider loaded again from the database holds new instances of them, hence a template is only
+ * valid for the exact instances it was built from.
+ */
+public class SequenceConfigTemplateCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = 4185263390723640158L;
+
+    private final SequenceConfig sequenceTemplate;
+    private final transient AuthenticationStep[] authenticationSteps;
+    private final transient RequestPathAuthenticatorConfig[] requestPathAuthenticatorConfigs;
+
+    public SequenceConfigTemplateCacheEntry(SequenceConfig sequenceTemplate, AuthenticationStep[] authenticationSteps,
+                                            RequestPathAuthenticatorConfig[] requestPathAuthenticatorConfigs) {
+
+        this.sequenceTemplate = sequenceTemplate;
+        this.authenticationSteps = authenticationSteps;
+        this.requestPathAuthenticatorConfigs = requestPathAuthenticatorConfigs;
+    }
+
+    public SequenceConfig getSequenceTemplate() {
+
+        return sequenceTemplate;
+    }
+
+    /**
+     * Check whether the template was built from the given authentication steps and request path authenticators.
+     *
+     * @param authenticationSteps             Authentication steps of the service provider.
+     * @param requestPathAuthenticatorConfigs Request path authenticators of the service provider.
+     * @return True if the template was built from the same instances.
+     */
+    public boolean isBuiltFrom(AuthenticationStep[] authenticationSteps,
+                               RequestPathAuthenticatorConfig[] requestPathAuthenticatorConfigs) {
+
+        return this.authenticationSteps == authenticationSteps &&
+                this.requestPathAuthenticatorConfigs == requestPathAuthenticatorConfigs;
+    }
+}
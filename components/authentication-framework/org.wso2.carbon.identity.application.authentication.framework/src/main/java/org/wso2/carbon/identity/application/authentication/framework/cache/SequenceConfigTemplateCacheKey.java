@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+/**
+ * Cache key for the sequence configuration template of a service provider. Entries are maintained per tenant, hence
+ * the key only holds the service provider name.
+ */
+public class SequenceConfigTemplateCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = -2391476312884518170L;
+
+    private final String applicationName;
+
+    public SequenceConfigTemplateCacheKey(String applicationName) {
+
+        this.applicationName = applicationName;
+    }
+
+    public String getApplicationName() {
+
+        return applicationName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass() || !super.equals(o)) {
+            return false;
+        }
+
+        SequenceConfigTemplateCacheKey that = (SequenceConfigTemplateCacheKey) o;
+        return applicationName.equals(that.applicationName);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return applicationName.hashCode();
+    }
+}
@@ -30,6 +30,12 @@ import org.wso2.carbon.identity.core.cache.BaseCache;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils.getLoginTenantDomainFromContext;
@@ -142,6 +148,54 @@ public class SessionContextCache extends BaseCache<SessionContextCacheKey, Sessi
         return cacheEntry;
     }
 
+    /**
+     * Get the valid session context cache entries of the given keys. The entries which are not in the cache are
+     * retrieved from the database with bulk queries. Expired entries are cleared and not returned.
+     *
+     * @param sessionContextKeys Session context keys.
+     * @param loginTenantDomain  Login tenant domain of the sessions.
+     * @return Valid session context cache entries, mapped by the session context key.
+     */
+    public Map<String, SessionContextCacheEntry> getValuesFromCache(Collection<String> sessionContextKeys,
+                                                                    String loginTenantDomain) {
+
+        String resolvedLoginTenantDomain = resolveLoginTenantDomain(loginTenantDomain);
+        Map<String, SessionContextCacheEntry> cacheEntries = new HashMap<>();
+        List<String> keysNotInCache = new ArrayList<>();
+        for (String sessionContextKey : sessionContextKeys) {
+            SessionContextCacheEntry cacheEntry = super.getValueFromCache(
+                    new SessionContextCacheKey(sessionContextKey), resolvedLoginTenantDomain);
+            if (cacheEntry != null) {
+                cacheEntries.put(sessionContextKey, cacheEntry);
+            } else {
+                keysNotInCache.add(sessionContextKey);
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(keysNotInCache.size() + " of " + sessionContextKeys.size() + " sessions cannot be found in " +
+                    "the cache. Trying to get them from db.");
+        }
+        SessionDataStore.getInstance().getSessionContextData(keysNotInCache, SESSION_CONTEXT_CACHE_NAME)
+                .forEach((key, sessionContextDO) -> cacheEntries.put(key, new SessionContextCacheEntry(
+                        sessionContextDO)));
+
+        List<String> expiredKeys = new ArrayList<>();
+        Iterator<Map.Entry<String, SessionContextCacheEntry>> iterator = cacheEntries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, SessionContextCacheEntry> cacheEntry = iterator.next();
+            SessionContextCacheKey key = new SessionContextCacheKey(cacheEntry.getKey());
+            if (!isValidIdleSession(key, cacheEntry.getValue()) &&
+                    !isValidRememberMeSession(key, cacheEntry.getValue())) {
+                expiredKeys.add(cacheEntry.getKey());
+                iterator.remove();
+            }
+        }
+        if (!expiredKeys.isEmpty()) {
+            clearCacheEntries(expiredKeys, loginTenantDomain);
+        }
+        return cacheEntries;
+    }
+
     /**
      * Get session context cache entry from the cache.
      *
@@ -247,6 +301,25 @@ public class SessionContextCache extends BaseCache<SessionContextCacheKey, Sessi
 
     }
 
+    /**
+     * Clear the session contexts of the given keys in a single pass. The DELETE operations of the persisted session
+     * contexts are written with batched inserts.
+     *
+     * @param sessionContextKeys Session context keys.
+     * @param loginTenantDomain  Login tenant domain of the sessions.
+     */
+    public void clearCacheEntries(Collection<String> sessionContextKeys, String loginTenantDomain) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Clear " + sessionContextKeys.size() + " session contexts in tenant " + loginTenantDomain);
+        }
+        String resolvedLoginTenantDomain = resolveLoginTenantDomain(loginTenantDomain);
+        for (String sessionContextKey : sessionContextKeys) {
+            super.clearCacheEntry(new SessionContextCacheKey(sessionContextKey), resolvedLoginTenantDomain);
+        }
+        SessionDataStore.getInstance().clearSessionData(sessionContextKeys, SESSION_CONTEXT_CACHE_NAME);
+    }
+
     /**
      * Check whether the given session context is valid according to idle session timeout restrictions.
      *
@@ -18,19 +18,26 @@
 
 package org.wso2.carbon.identity.application.authentication.framework.config.loader;
 
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.wso2.carbon.identity.application.authentication.framework.ApplicationAuthenticator;
+import org.wso2.carbon.identity.application.authentication.framework.cache.AuthenticationGraphCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.AuthenticationGraphCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.cache.AuthenticationGraphCacheKey;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SequenceConfigTemplateCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SequenceConfigTemplateCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SequenceConfigTemplateCacheKey;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.ApplicationConfig;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.AuthenticatorConfig;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.SequenceConfig;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.AuthenticationGraph;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.AuthenticationGraphTemplate;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.JsGraphBuilder;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.JsGraphBuilderFactory;
 import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
 import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
-import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceComponent;
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.application.common.model.AuthenticationStep;
@@ -42,6 +49,7 @@ import org.wso2.carbon.identity.application.common.model.RequestPathAuthenticato
 import org.wso2.carbon.identity.application.common.model.ServiceProvider;
 import org.wso2.carbon.identity.application.common.model.script.AuthenticationScriptConfig;
 import org.wso2.carbon.identity.application.mgt.ApplicationConstants;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
 import org.wso2.carbon.idp.mgt.IdentityProviderManager;
 
@@ -86,15 +94,19 @@ public class UIBasedConfigurationLoader implements SequenceLoader {
             Map<Integer, StepConfig> originalStepConfigMap = new HashMap<>(sequenceConfig.getStepMap());
             Map<Integer, StepConfig> stepConfigMapCopy = new HashMap<>();
             originalStepConfigMap.forEach((k, v) -> stepConfigMapCopy.put(k, new StepConfig(v)));
+            String script = localAndOutboundAuthenticationConfig.getAuthenticationScriptConfig().getContent();
+            boolean graphCacheable = isAuthenticationGraphCacheable(serviceProvider, tenantDomain, script,
+                    sequenceConfig);
             sequenceConfig.getStepMap().clear();
-            JsGraphBuilderFactory jsGraphBuilderFactory = FrameworkServiceDataHolder.getInstance()
-                    .getJsGraphBuilderFactory();
-            JsGraphBuilder jsGraphBuilder = jsGraphBuilderFactory.createBuilder(context, stepConfigMapCopy);
             context.setServiceProviderName(serviceProvider.getApplicationName());
 
-            AuthenticationGraph graph = jsGraphBuilder
-                    .createWith(localAndOutboundAuthenticationConfig.getAuthenticationScriptConfig().getContent())
-                    .build();
+            AuthenticationGraph graph;
+            if (graphCacheable) {
+                graph = getAuthenticationGraph(context, tenantDomain, authenticationSteps, stepConfigMapCopy, script);
+            } else {
+                graph = FrameworkServiceDataHolder.getInstance().getJsGraphBuilderFactory()
+                        .createBuilder(context, stepConfigMapCopy).createWith(script).build();
+            }
             graph.setEnabled(localAndOutboundAuthenticationConfig.getAuthenticationScriptConfig().isEnabled());
             sequenceConfig.setAuthenticationGraph(graph);
             graph.setStepMap(originalStepConfigMap);
@@ -102,6 +114,53 @@ public class UIBasedConfigurationLoader implements SequenceLoader {
         return sequenceConfig;
     }
 
+    /**
+     * Get the authentication graph of the script from the cached template if the script was found not to depend on
+     * the login request. Otherwise the graph is built by executing the script.
+     */
+    private AuthenticationGraph getAuthenticationGraph(AuthenticationContext context, String tenantDomain,
+                                                       AuthenticationStep[] authenticationSteps,
+                                                       Map<Integer, StepConfig> stepConfigMap, String script) {
+
+        String scriptHash = DigestUtils.sha256Hex(script);
+        AuthenticationGraphCacheKey cacheKey = new AuthenticationGraphCacheKey(context.getServiceProviderName());
+        AuthenticationGraphCacheEntry cacheEntry =
+                AuthenticationGraphCache.getInstance().getValueFromCache(cacheKey, tenantDomain);
+        JsGraphBuilderFactory jsGraphBuilderFactory = FrameworkServiceDataHolder.getInstance()
+                .getJsGraphBuilderFactory();
+        if (cacheEntry != null && cacheEntry.isBuiltFrom(scriptHash, authenticationSteps)) {
+            if (cacheEntry.getGraphTemplate() != null) {
+                return cacheEntry.getGraphTemplate().instantiate(context);
+            }
+            return jsGraphBuilderFactory.createBuilder(context, stepConfigMap).createWith(script).build();
+        }
+
+        JsGraphBuilder jsGraphBuilder = jsGraphBuilderFactory.createBuilder(context, stepConfigMap);
+        AuthenticationGraph graph = jsGraphBuilder.createWith(script).build();
+        AuthenticationGraphTemplate graphTemplate = jsGraphBuilder.createTemplate();
+        if (log.isDebugEnabled()) {
+            log.debug("Caching the authentication graph of the service provider: " +
+                    context.getServiceProviderName() + " in tenant: " + tenantDomain + ". Graph depends on the " +
+                    "login request: " + (graphTemplate == null));
+        }
+        AuthenticationGraphCache.getInstance().addToCache(cacheKey,
+                new AuthenticationGraphCacheEntry(graphTemplate, scriptHash, authenticationSteps), tenantDomain);
+        return graph;
+    }
+
+    /**
+     * Authentication graphs are only cached when enabled and the sequence template of the service provider is
+     * cacheable, as the graph holds the step configurations of the sequence.
+     */
+    private boolean isAuthenticationGraphCacheable(ServiceProvider serviceProvider, String tenantDomain,
+                                                   String script, SequenceConfig sequenceConfig) {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(
+                FrameworkConstants.AdaptiveAuthentication.CONF_AUTHENTICATION_GRAPH_CACHE_ENABLE)) &&
+                StringUtils.isNotBlank(script) && isSequenceTemplateCacheable(serviceProvider, tenantDomain) &&
+                isAuthenticatorsResolved(sequenceConfig);
+    }
+
     private boolean isAuthenticationScriptBasedSequence(LocalAndOutboundAuthenticationConfig
                                                                 localAndOutboundAuthenticationConfig) {
 
@@ -153,6 +212,31 @@ public class UIBasedConfigurationLoader implements SequenceLoader {
         if (serviceProvider == null) {
             throw new FrameworkException("ServiceProvider cannot be null");
         }
+        if (authenticationSteps == null || !isSequenceTemplateCacheable(serviceProvider, tenantDomain)) {
+            return buildSequence(serviceProvider, tenantDomain, authenticationSteps);
+        }
+
+        SequenceConfigTemplateCacheKey cacheKey =
+                new SequenceConfigTemplateCacheKey(serviceProvider.getApplicationName());
+        SequenceConfigTemplateCacheEntry cacheEntry =
+                SequenceConfigTemplateCache.getInstance().getValueFromCache(cacheKey, tenantDomain);
+        if (cacheEntry == null ||
+                !cacheEntry.isBuiltFrom(authenticationSteps, serviceProvider.getRequestPathAuthenticatorConfigs())) {
+            SequenceConfig sequenceTemplate = buildSequence(serviceProvider, tenantDomain, authenticationSteps);
+            if (!isAuthenticatorsResolved(sequenceTemplate)) {
+                // Authenticators which are not registered yet are resolved again by the next request.
+                return sequenceTemplate;
+            }
+            cacheEntry = new SequenceConfigTemplateCacheEntry(sequenceTemplate, authenticationSteps,
+                    serviceProvider.getRequestPathAuthenticatorConfigs());
+            SequenceConfigTemplateCache.getInstance().addToCache(cacheKey, cacheEntry, tenantDomain);
+        }
+        return copySequenceTemplate(cacheEntry.getSequenceTemplate(), serviceProvider);
+    }
+
+    private SequenceConfig buildSequence(ServiceProvider serviceProvider, String tenantDomain,
+                                         AuthenticationStep[] authenticationSteps) throws FrameworkException {
+
         SequenceConfig sequenceConfig = new SequenceConfig();
         sequenceConfig.setApplicationId(serviceProvider.getApplicationName());
         sequenceConfig.setApplicationConfig(new ApplicationConfig(serviceProvider));
@@ -190,6 +274,54 @@ public class UIBasedConfigurationLoader implements SequenceLoader {
         return sequenceConfig;
     }
 
+    /**
+     * Sequence templates are only cached for this loader, as the extensions may load the sequence based on the
+     * request.
+     */
+    private boolean isSequenceTemplateCacheable(ServiceProvider serviceProvider, String tenantDomain) {
+
+        return getClass() == UIBasedConfigurationLoader.class && StringUtils.isNotBlank(tenantDomain) &&
+                StringUtils.isNotBlank(serviceProvider.getApplicationName());
+    }
+
+    private boolean isAuthenticatorsResolved(SequenceConfig sequenceConfig) {
+
+        for (AuthenticatorConfig authenticatorConfig : sequenceConfig.getReqPathAuthenticators()) {
+            if (authenticatorConfig.getApplicationAuthenticator() == null) {
+                return false;
+            }
+        }
+        for (StepConfig stepConfig : sequenceConfig.getStepMap().values()) {
+            for (AuthenticatorConfig authenticatorConfig : stepConfig.getAuthenticatorList()) {
+                if (authenticatorConfig.getApplicationAuthenticator() == null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Create a sequence configuration for a request from the cached template. The step and authenticator
+     * configurations are copied as they are modified during the authentication.
+     */
+    private SequenceConfig copySequenceTemplate(SequenceConfig sequenceTemplate, ServiceProvider serviceProvider) {
+
+        SequenceConfig sequenceConfig = new SequenceConfig();
+        sequenceConfig.setApplicationId(serviceProvider.getApplicationName());
+        sequenceConfig.setApplicationConfig(new ApplicationConfig(serviceProvider));
+        if (!sequenceTemplate.getReqPathAuthenticators().isEmpty()) {
+            List<AuthenticatorConfig> requestPathAuthenticators = new ArrayList<>();
+            for (AuthenticatorConfig authenticatorConfig : sequenceTemplate.getReqPathAuthenticators()) {
+                requestPathAuthenticators.add(new AuthenticatorConfig(authenticatorConfig));
+            }
+            sequenceConfig.setReqPathAuthenticators(requestPathAuthenticators);
+        }
+        sequenceTemplate.getStepMap().forEach((stepOrder, stepConfig) ->
+                sequenceConfig.getStepMap().put(stepOrder, new StepConfig(stepConfig)));
+        return sequenceConfig;
+    }
+
     protected StepConfig createStepConfigurationObject(int stepOrder, AuthenticationStep authenticationStep) {
 
         StepConfig stepConfig = new StepConfig();
@@ -215,14 +347,8 @@ public class UIBasedConfigurationLoader implements SequenceLoader {
                 authConfig.setName(authenticatorName);
                 authConfig.setEnabled(true);
 
-                // iterate through each system authentication config
-                for (ApplicationAuthenticator appAuthenticator : FrameworkServiceComponent.getAuthenticators()) {
-
-                    if (authenticatorName.equalsIgnoreCase(appAuthenticator.getName())) {
-                        authConfig.setApplicationAuthenticator(appAuthenticator);
-                        break;
-                    }
-                }
+                authConfig.setApplicationAuthenticator(FrameworkServiceDataHolder.getInstance()
+                        .getAuthenticatorRegistry().getAuthenticatorByNameIgnoreCase(authenticatorName));
                 requestPathAuthenticators.add(authConfig);
             }
 
@@ -292,14 +418,8 @@ public class UIBasedConfigurationLoader implements SequenceLoader {
         if (authenticatorConfig == null) {
             authenticatorConfig = new AuthenticatorConfig();
             authenticatorConfig.setName(authenticatorName);
-
-            for (ApplicationAuthenticator appAuthenticator : FrameworkServiceComponent.getAuthenticators()) {
-
-                if (authenticatorName.equalsIgnoreCase(appAuthenticator.getName())) {
-                    authenticatorConfig.setApplicationAuthenticator(appAuthenticator);
-                    break;
-                }
-            }
+            authenticatorConfig.setApplicationAuthenticator(FrameworkServiceDataHolder.getInstance()
+                    .getAuthenticatorRegistry().getAuthenticatorByNameIgnoreCase(authenticatorName));
 
             stepConfig.getAuthenticatorList().add(authenticatorConfig);
         }
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.config.model.graph;
+
+import org.wso2.carbon.identity.application.authentication.framework.config.model.StepConfig;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.js.AbstractJSContextMemberObject;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Immutable skeleton of an authentication graph built from an adaptive authentication script.
+ * <p>
+ * The graph nodes are mutated while the authentication flow is in progress, hence the skeleton itself is never handed
+ * out. Each login gets its own copy of the nodes and the step configurations, while the serialized script functions
+ * are shared among the copies as they are not modified once created.
+ */
+public class AuthenticationGraphTemplate implements Serializable {
+
+    private static final long serialVersionUID = -3021735815360925783L;
+
+    private final AuthenticationGraph graph;
+    private final Map<String, Object> bindings;
+
+    private AuthenticationGraphTemplate(AuthenticationGraph graph, Map<String, Object> bindings) {
+
+        this.graph = graph;
+        this.bindings = bindings;
+    }
+
+    /**
+     * Create a template from a successfully built graph.
+     *
+     * @param graph    Authentication graph built from the script.
+     * @param bindings Script bindings persisted after building the graph.
+     * @return Template of the graph, or null if the graph or the bindings hold state which can not be shared.
+     */
+    public static AuthenticationGraphTemplate of(AuthenticationGraph graph, Map<String, Object> bindings) {
+
+        if (graph == null || !graph.isBuildSuccessful() || !isShareable(graph.getStartNode(),
+                Collections.newSetFromMap(new IdentityHashMap<>()))) {
+            return null;
+        }
+        if (bindings != null && bindings.values().stream().anyMatch(AuthenticationGraphTemplate::isContextBound)) {
+            return null;
+        }
+        Map<String, Object> bindingsCopy = bindings == null ? Collections.emptyMap() : new HashMap<>(bindings);
+        return new AuthenticationGraphTemplate(copyGraph(graph), Collections.unmodifiableMap(bindingsCopy));
+    }
+
+    /**
+     * Create a new authentication graph for the given login from this template.
+     *
+     * @param context Authentication context of the login.
+     * @return Authentication graph which can be mutated during the login.
+     */
+    public AuthenticationGraph instantiate(AuthenticationContext context) {
+
+        JsGraphBuilderFactory.setPersistedCurrentContext(context, new HashMap<>(bindings));
+        return copyGraph(graph);
+    }
+
+    private static AuthenticationGraph copyGraph(AuthenticationGraph graph) {
+
+        AuthenticationGraph copy = new AuthenticationGraph();
+        copy.setName(graph.getName());
+        copy.setEnabled(graph.isEnabled());
+        copy.setBuildSuccessful(graph.isBuildSuccessful());
+        copy.setErrorReason(graph.getErrorReason());
+        copy.setStartNode(copyNode(graph.getStartNode(), new IdentityHashMap<>(), new IdentityHashMap<>()));
+        return copy;
+    }
+
+    private static boolean isShareable(AuthGraphNode node, Collection<AuthGraphNode> visited) {
+
+        if (node == null || !visited.add(node)) {
+            return true;
+        }
+        if (node instanceof StepConfigGraphNode) {
+            return isShareable(((StepConfigGraphNode) node).getNext(), visited);
+        } else if (node instanceof ShowPromptNode) {
+            // Prompt parameters are passed as they are from the script engine which built them.
+            return ((ShowPromptNode) node).getParameters() == null
+                    && isShareable(((ShowPromptNode) node).getDefaultEdge(), visited);
+        } else if (node.getClass() == DynamicDecisionNode.class) {
+            return isShareable(((DynamicDecisionNode) node).getDefaultEdge(), visited);
+        }
+        // Long wait nodes hold the asynchronous process of the login which built them.
+        return node instanceof FailNode || node instanceof EndStep;
+    }
+
+    private static boolean isContextBound(Object value) {
+
+        if (value instanceof AbstractJSContextMemberObject) {
+            return true;
+        } else if (value instanceof Map) {
+            return ((Map<?, ?>) value).values().stream().anyMatch(AuthenticationGraphTemplate::isContextBound);
+        } else if (value instanceof Collection) {
+            return ((Collection<?>) value).stream().anyMatch(AuthenticationGraphTemplate::isContextBound);
+        }
+        return false;
+    }
+
+    private static AuthGraphNode copyNode(AuthGraphNode node, Map<AuthGraphNode, AuthGraphNode> nodeCopies,
+                                          Map<StepConfig, StepConfig> stepConfigCopies) {
+
+        if (node == null) {
+            return null;
+        }
+        AuthGraphNode copy = nodeCopies.get(node);
+        if (copy != null) {
+            return copy;
+        }
+
+        if (node instanceof StepConfigGraphNode) {
+            StepConfigGraphNode stepNode = (StepConfigGraphNode) node;
+            StepConfigGraphNode stepNodeCopy = new StepConfigGraphNode(
+                    stepConfigCopies.computeIfAbsent(stepNode.getStepConfig(), AuthenticationGraphTemplate::copyStep));
+            nodeCopies.put(node, stepNodeCopy);
+            stepNodeCopy.setNext(copyNode(stepNode.getNext(), nodeCopies, stepConfigCopies));
+            copy = stepNodeCopy;
+        } else if (node instanceof ShowPromptNode) {
+            ShowPromptNode promptNode = (ShowPromptNode) node;
+            ShowPromptNode promptNodeCopy = new ShowPromptNode();
+            nodeCopies.put(node, promptNodeCopy);
+            promptNodeCopy.setTemplateId(promptNode.getTemplateId());
+            if (promptNode.getData() != null) {
+                promptNodeCopy.setData(new HashMap<>(promptNode.getData()));
+            }
+            promptNodeCopy.setHandlerMap(new HashMap<>(promptNode.getHandlerMap()));
+            copyDecisions(promptNode, promptNodeCopy, nodeCopies, stepConfigCopies);
+            copy = promptNodeCopy;
+        } else if (node instanceof DynamicDecisionNode) {
+            DynamicDecisionNode decisionNodeCopy = new DynamicDecisionNode();
+            nodeCopies.put(node, decisionNodeCopy);
+            copyDecisions((DynamicDecisionNode) node, decisionNodeCopy, nodeCopies, stepConfigCopies);
+            copy = decisionNodeCopy;
+        } else if (node instanceof FailNode) {
+            FailNode failNode = (FailNode) node;
+            FailNode failNodeCopy = new FailNode();
+            nodeCopies.put(node, failNodeCopy);
+            failNodeCopy.setShowErrorPage(failNode.isShowErrorPage());
+            failNodeCopy.setErrorPageUri(failNode.getErrorPageUri());
+            failNodeCopy.setFailureData(new HashMap<>(failNode.getFailureData()));
+            copy = failNodeCopy;
+        } else {
+            copy = new EndStep();
+            nodeCopies.put(node, copy);
+        }
+        copy.setParent(copyNode(node.getParent(), nodeCopies, stepConfigCopies));
+        return copy;
+    }
+
+    private static void copyDecisions(DynamicDecisionNode node, DynamicDecisionNode copy,
+                                      Map<AuthGraphNode, AuthGraphNode> nodeCopies,
+                                      Map<StepConfig, StepConfig> stepConfigCopies) {
+
+        node.getFunctionMap().forEach(copy::addFunction);
+        copy.setDefaultEdge(copyNode(node.getDefaultEdge(), nodeCopies, stepConfigCopies));
+    }
+
+    private static StepConfig copyStep(StepConfig stepConfig) {
+
+        StepConfig copy = new StepConfig(stepConfig);
+        copy.setForced(stepConfig.isForced());
+        return copy;
+    }
+}
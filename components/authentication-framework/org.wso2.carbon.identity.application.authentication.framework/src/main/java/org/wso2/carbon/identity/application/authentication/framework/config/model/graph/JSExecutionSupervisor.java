@@ -21,15 +21,22 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import java.lang.management.ManagementFactory;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Supervises the execution of any script engine, and kills the thread if the time taken is too much.
+ * <p>
+ * All the executions in progress are tracked in a concurrent map and checked by a single monitoring thread at a
+ * fixed rate, hence starting and completing the supervision of an execution does not schedule or cancel any task.
+ * Memory consumption is only sampled when a memory limit is configured. The execution times are recorded per service
+ * provider in {@link LatencyHistogram}s. The number of service provider histograms is bounded, and the executions of
+ * the service providers beyond the bound are recorded in a shared overflow histogram.
  */
 public class JSExecutionSupervisor {
 
@@ -38,33 +45,47 @@ public class JSExecutionSupervisor {
     private final long timeoutInMillis;
     private final long memoryLimitInBytes;
     private long taskExecutionRateInMillis = 50L;
-    private Map<String, TaskHolder> currentScriptExecutions = new HashMap<>();
+    private final Map<String, MonitoredExecution> currentScriptExecutions = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> latencyHistograms = new ConcurrentHashMap<>();
+    private final LatencyHistogram overflowLatencyHistogram = new LatencyHistogram();
     private ScheduledExecutorService monitoringService;
+    private ThreadMXBean memoryCounter;
     private static final int MONITOR_TYPE_TIME = 0;
     private static final int MONITOR_TYPE_MEMORY = 1;
     private static final int WARN_THRESHOLD = 70;
+    static final int MAX_LATENCY_HISTOGRAMS = 1000;
 
     public JSExecutionSupervisor(int threadCount, long timeoutInMillis) {
 
         this(threadCount, timeoutInMillis, 0L);
     }
 
+    /**
+     * Create the execution supervisor.
+     *
+     * @param threadCount     Not used, as all the executions are checked by a single monitoring thread. Retained for
+     *                        compatibility.
+     * @param timeoutInMillis Maximum time allowed for a script execution.
+     * @param memoryLimit     Maximum memory allowed to be allocated by a script execution. Memory is not supervised
+     *                        if the limit is not greater than zero.
+     */
     public JSExecutionSupervisor(int threadCount, long timeoutInMillis, long memoryLimit) {
 
-        if (taskExecutionRateInMillis > timeoutInMillis) {
-            taskExecutionRateInMillis = timeoutInMillis;
-        }
-
+        // The monitoring period has to be positive, even if the timeout is not.
+        taskExecutionRateInMillis = Math.max(1L, Math.min(taskExecutionRateInMillis, timeoutInMillis));
         this.timeoutInMillis = timeoutInMillis;
 
         if (memoryLimit > 0) {
             this.memoryLimitInBytes = memoryLimit;
+            memoryCounter = getMemoryCounter();
         } else {
             // We are not checking for memory usage.
             memoryLimitInBytes = -1;
         }
 
-        monitoringService = new ScheduledThreadPoolExecutor(threadCount, r -> new Thread(r, JS_EXECUTION_MONITOR));
+        monitoringService = new ScheduledThreadPoolExecutor(1, r -> new Thread(r, JS_EXECUTION_MONITOR));
+        monitoringService.scheduleAtFixedRate(this::checkExecutions, taskExecutionRateInMillis,
+                taskExecutionRateInMillis, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -103,12 +124,8 @@ public class JSExecutionSupervisor {
     public void monitor(String identifier, String serviceProvider, String tenantDomain, long elapsedTimeInMillis,
                         long consumedMemoryInBytes) {
 
-        MonitoringTask monitoringTask = new MonitoringTask(Thread.currentThread(), identifier, serviceProvider,
-                tenantDomain, elapsedTimeInMillis, consumedMemoryInBytes);
-        ScheduledFuture<?> monitoredFuture = monitoringService.
-                scheduleAtFixedRate(monitoringTask, taskExecutionRateInMillis, taskExecutionRateInMillis,
-                        TimeUnit.MILLISECONDS);
-        currentScriptExecutions.put(identifier, new TaskHolder(monitoringTask, monitoredFuture));
+        currentScriptExecutions.put(identifier, new MonitoredExecution(Thread.currentThread(), serviceProvider,
+                tenantDomain, elapsedTimeInMillis, consumedMemoryInBytes));
     }
 
     /**
@@ -119,133 +136,152 @@ public class JSExecutionSupervisor {
      */
     public JSExecutionMonitorData completed(String identifier) {
 
-        TaskHolder taskHolder = currentScriptExecutions.remove(identifier);
-        if (taskHolder == null) {
+        MonitoredExecution execution = currentScriptExecutions.remove(identifier);
+        if (execution == null) {
             // Nothing to be done as there was no such task with the given identifier.
             return null;
         }
 
-        ScheduledFuture<?> monitoredFuture = taskHolder.getScheduledFuture();
-        if (taskHolder.getScheduledFuture() != null) {
-            monitoredFuture.cancel(true);
-        }
-
-        MonitoringTask task = taskHolder.getMonitoringTask();
-        long elapsedTime = 0L;
-        long consumedMemory = 0L;
-        if (task != null) {
-            elapsedTime = task.getTotalElapsedTime();
-            consumedMemory = task.getTotalConsumedMemory();
-            task.turnOffThreadMemoryCounting();
-        }
-
-        return new JSExecutionMonitorData(elapsedTime, consumedMemory);
+        long executionTime = System.currentTimeMillis() - execution.timeCreated;
+        getLatencyHistogram(execution.tenantDomain, execution.serviceProvider).record(executionTime);
+        return new JSExecutionMonitorData(execution.elapsedTimeInMillis + executionTime,
+                execution.getTotalConsumedMemory());
     }
 
-    private class TaskHolder {
+    /**
+     * Get the script execution time histograms of the service providers.
+     *
+     * @return Histograms keyed by the tenant domain and the service provider name, separated by a colon.
+     */
+    public Map<String, LatencyHistogram> getLatencyHistograms() {
 
-        private MonitoringTask monitoringTask;
-        private ScheduledFuture<?> scheduledFuture;
+        return Collections.unmodifiableMap(latencyHistograms);
+    }
 
-        public TaskHolder(MonitoringTask monitoringTask, ScheduledFuture<?> scheduledFuture) {
+    /**
+     * Get the script execution time histogram of a service provider. Once the maximum number of histograms is kept,
+     * the overflow histogram is returned for the other service providers.
+     *
+     * @param tenantDomain    Tenant domain.
+     * @param serviceProvider Service provider name.
+     * @return Histogram of the execution times of the service provider.
+     */
+    public LatencyHistogram getLatencyHistogram(String tenantDomain, String serviceProvider) {
 
-            this.monitoringTask = monitoringTask;
-            this.scheduledFuture = scheduledFuture;
+        String key = tenantDomain + ":" + serviceProvider;
+        LatencyHistogram latencyHistogram = latencyHistograms.get(key);
+        if (latencyHistogram != null) {
+            return latencyHistogram;
         }
+        if (latencyHistograms.size() >= MAX_LATENCY_HISTOGRAMS) {
+            return overflowLatencyHistogram;
+        }
+        return latencyHistograms.computeIfAbsent(key, k -> new LatencyHistogram());
+    }
 
-        public MonitoringTask getMonitoringTask() {
+    /**
+     * Get the script execution time histogram shared by the service providers which did not get a histogram of their
+     * own, as the maximum number of histograms was reached.
+     *
+     * @return Histogram of the execution times of the other service providers.
+     */
+    public LatencyHistogram getOverflowLatencyHistogram() {
 
-            return monitoringTask;
-        }
+        return overflowLatencyHistogram;
+    }
+
+    /**
+     * Number of script executions currently being supervised.
+     *
+     * @return Number of executions in progress.
+     */
+    public int getExecutionsInProgress() {
 
-        public ScheduledFuture<?> getScheduledFuture() {
+        return currentScriptExecutions.size();
+    }
 
-            return scheduledFuture;
+    private ThreadMXBean getMemoryCounter() {
+
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            try {
+                // Enabled once for the supervisor, as toggling it per execution affects the concurrent executions.
+                ((ThreadMXBean) threadMXBean).setThreadAllocatedMemoryEnabled(true);
+                return (ThreadMXBean) threadMXBean;
+            } catch (UnsupportedOperationException e) {
+                LOG.error("Thread allocated memory measurement is not supported by the JVM. Therefore memory " +
+                        "supervision will not be done for adaptive auth script executions.", e);
+                return null;
+            }
         }
+        LOG.error("Thread allocated memory measurement is not supported by the JVM. Therefore memory " +
+                "supervision will not be done for adaptive auth script executions.");
+        return null;
     }
 
-    private class MonitoringTask implements Runnable {
+    private void checkExecutions() {
 
-        private Thread originalThread;
-        private String id;
-        private String serviceProvider;
-        private String tenantDomain;
-        private long timeCreated;
-        private long elapsedTimeInMillis;
-        private long startMemoryInBytes;
-        private long consumedMemoryInBytes;
-        private ThreadMXBean memoryCounter = null;
+        try {
+            long now = System.currentTimeMillis();
+            currentScriptExecutions.forEach((identifier, execution) -> execution.check(identifier, now));
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic check of all the executions.
+            LOG.error("Error while checking the adaptive auth script executions.", e);
+        }
+    }
 
-        public MonitoringTask(Thread originalThread, String id, String serviceProvider, String tenantDomain,
-                              long elapsedTimeInMillis) {
+    private class MonitoredExecution {
 
-            this(originalThread, id, serviceProvider, tenantDomain, elapsedTimeInMillis, 0L);
-        }
+        private final Thread originalThread;
+        private final String serviceProvider;
+        private final String tenantDomain;
+        private final long timeCreated;
+        private final long elapsedTimeInMillis;
+        private final long startMemoryInBytes;
+        private final long consumedMemoryInBytes;
+        private boolean timeWarned;
+        private boolean memoryWarned;
 
-        public MonitoringTask(Thread originalThread, String id, String serviceProvider, String tenantDomain,
-                              long elapsedTimeInMillis, long consumedMemoryInBytes) {
+        MonitoredExecution(Thread originalThread, String serviceProvider, String tenantDomain,
+                           long elapsedTimeInMillis, long consumedMemoryInBytes) {
 
             this.originalThread = originalThread;
-            this.id = id;
             this.serviceProvider = serviceProvider;
             this.tenantDomain = tenantDomain;
             this.timeCreated = System.currentTimeMillis();
             this.elapsedTimeInMillis = elapsedTimeInMillis;
             this.consumedMemoryInBytes = consumedMemoryInBytes;
-
-            if (memoryLimitInBytes > 0) {
-                java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
-                if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
-                    memoryCounter = (ThreadMXBean) threadMXBean;
-                    try {
-                        turnOnThreadMemoryCounting();
-                        startMemoryInBytes = getCurrentMemory(originalThread.getId());
-                    } catch (UnsupportedOperationException e) {
-                        LOG.error("Thread allocated memory measurement is not supported by the JVM. Therefore memory " +
-                                "supervision will not be done for adaptive auth script executions.", e);
-                    }
-                } else {
-                    LOG.error("Thread allocated memory measurement is not supported by the JVM. Therefore memory " +
-                            "supervision will not be done for adaptive auth script executions.");
-                }
-            }
+            this.startMemoryInBytes = getCurrentMemory();
         }
 
-        @Override
-        public void run() {
-
-            if (LOG.isDebugEnabled()) {
-                LOG.debug(String.format("JS execution monitoring task running. Thread: %s, service " +
-                        "provider: %s, tenant: %s.", originalThread.getName(), serviceProvider, tenantDomain));
-            }
-
-            long elapsedTime = getTotalElapsedTime();
+        private void check(String identifier, long now) {
 
+            long elapsedTime = (now - timeCreated) + elapsedTimeInMillis;
             if (elapsedTime > timeoutInMillis) {
-                terminateScriptExecutingThread(MONITOR_TYPE_TIME, elapsedTime);
+                terminateScriptExecutingThread(identifier, MONITOR_TYPE_TIME, elapsedTime);
                 return;
             }
 
-            if (isTimeBasedWarnThresholdReached(elapsedTime)) {
+            if (!timeWarned && isTimeBasedWarnThresholdReached(elapsedTime)) {
+                timeWarned = true;
                 printThresholdReachedWarnLog(MONITOR_TYPE_TIME, elapsedTime);
-                return;
             }
 
             if (memoryCounter != null) {
                 long consumedMemory = getTotalConsumedMemory();
                 if (consumedMemory > memoryLimitInBytes) {
-                    terminateScriptExecutingThread(MONITOR_TYPE_MEMORY, consumedMemory);
+                    terminateScriptExecutingThread(identifier, MONITOR_TYPE_MEMORY, consumedMemory);
                     return;
                 }
 
-                if (isMemoryBasedWarnThresholdReached(consumedMemory)) {
+                if (!memoryWarned && isMemoryBasedWarnThresholdReached(consumedMemory)) {
+                    memoryWarned = true;
                     printThresholdReachedWarnLog(MONITOR_TYPE_MEMORY, consumedMemory);
-                    return;
                 }
             }
         }
 
-        private void terminateScriptExecutingThread(int monitorType, long consumedResourceValue) {
+        private void terminateScriptExecutingThread(String identifier, int monitorType, long consumedResourceValue) {
 
             String warnLog;
             if (MONITOR_TYPE_TIME == monitorType) {
@@ -266,7 +302,7 @@ public class JSExecutionSupervisor {
             originalThread.stop();
 
             // Marking current monitoring task as complete.
-            completed(id);
+            completed(identifier);
         }
 
         private void printThresholdReachedWarnLog(int monitorType, long consumedResourceValue) {
@@ -285,46 +321,92 @@ public class JSExecutionSupervisor {
             LOG.warn(warnLog);
         }
 
-        private long getTotalElapsedTime() {
-
-            return (System.currentTimeMillis() - timeCreated) + elapsedTimeInMillis;
-        }
-
         private long getTotalConsumedMemory() {
 
-            return (getCurrentMemory(originalThread.getId()) - startMemoryInBytes) + consumedMemoryInBytes;
+            if (memoryCounter == null) {
+                return 0L;
+            }
+            return (getCurrentMemory() - startMemoryInBytes) + consumedMemoryInBytes;
         }
 
-        private long getCurrentMemory(long threadId) {
+        private long getCurrentMemory() {
 
             if (memoryCounter != null) {
-                return memoryCounter.getThreadAllocatedBytes(threadId);
+                return memoryCounter.getThreadAllocatedBytes(originalThread.getId());
             }
             return 0L;
         }
 
-        private void turnOnThreadMemoryCounting() {
+        private boolean isTimeBasedWarnThresholdReached(long elapsedTime) {
+
+            return elapsedTime * 100 >= timeoutInMillis * WARN_THRESHOLD;
+        }
+
+        private boolean isMemoryBasedWarnThresholdReached(long consumedMemory) {
 
-            if (memoryCounter != null) {
-                memoryCounter.setThreadAllocatedMemoryEnabled(true);
+            return ((consumedMemory * 100) / memoryLimitInBytes) >= WARN_THRESHOLD;
+        }
+    }
+
+    /**
+     * Histogram of script execution times in milliseconds, with fixed bucket upper bounds.
+     */
+    public static class LatencyHistogram {
+
+        private static final long[] BUCKET_UPPER_BOUNDS = {5L, 10L, 25L, 50L, 100L, 250L, 500L, 1000L, 2500L, 5000L};
+
+        private final LongAdder[] bucketCounts = new LongAdder[BUCKET_UPPER_BOUNDS.length + 1];
+        private final LongAdder totalTime = new LongAdder();
+
+        LatencyHistogram() {
+
+            for (int i = 0; i < bucketCounts.length; i++) {
+                bucketCounts[i] = new LongAdder();
             }
         }
 
-        private void turnOffThreadMemoryCounting() {
+        void record(long executionTime) {
 
-            if (memoryCounter != null) {
-                memoryCounter.setThreadAllocatedMemoryEnabled(false);
+            int bucket = 0;
+            while (bucket < BUCKET_UPPER_BOUNDS.length && executionTime > BUCKET_UPPER_BOUNDS[bucket]) {
+                bucket++;
             }
+            bucketCounts[bucket].increment();
+            totalTime.add(executionTime);
         }
 
-        private boolean isTimeBasedWarnThresholdReached(long elapsedTime) {
+        /**
+         * @return Upper bounds of the buckets in milliseconds. The last bucket of the counts has no upper bound.
+         */
+        public long[] getBucketUpperBounds() {
 
-            return ((elapsedTime * 100) / timeoutInMillis) >= WARN_THRESHOLD;
+            return BUCKET_UPPER_BOUNDS.clone();
         }
 
-        private boolean isMemoryBasedWarnThresholdReached(long consumedMemory) {
+        /**
+         * @return Number of executions in each bucket.
+         */
+        public long[] getBucketCounts() {
 
-            return ((consumedMemory * 100) / memoryLimitInBytes) >= WARN_THRESHOLD;
+            long[] counts = new long[bucketCounts.length];
+            for (int i = 0; i < bucketCounts.length; i++) {
+                counts[i] = bucketCounts[i].sum();
+            }
+            return counts;
+        }
+
+        public long getCount() {
+
+            long count = 0L;
+            for (LongAdder bucketCount : bucketCounts) {
+                count += bucketCount.sum();
+            }
+            return count;
+        }
+
+        public long getTotalTime() {
+
+            return totalTime.sum();
         }
     }
 }
@@ -44,6 +44,8 @@ import org.wso2.carbon.identity.functions.library.mgt.exception.FunctionLibraryM
 import org.wso2.carbon.identity.functions.library.mgt.model.FunctionLibrary;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -53,6 +55,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import javax.script.Bindings;
@@ -75,6 +78,9 @@ public class JsGraphBuilder {
     private AuthGraphNode currentNode = null;
     private AuthenticationContext authenticationContext;
     private ScriptEngine engine;
+    private String script;
+    private AccessTrackingJsAuthenticationContext loginRequestContext;
+    private boolean contextModified;
     private static ThreadLocal<AuthenticationContext> contextForJs = new ThreadLocal<>();
     private static ThreadLocal<AuthGraphNode> dynamicallyBuiltBaseNode = new ThreadLocal<>();
     private static ThreadLocal<JsGraphBuilder> currentBuilder = new ThreadLocal<>();
@@ -89,6 +95,8 @@ public class JsGraphBuilder {
             "var $ARG=null;var $ENV=null;var $EXEC=null;" +
             "var $OPTIONS=null;var $OUT=null;var $ERR=null;var $EXIT=null;" +
             "Object.defineProperty(this, 'engine', {});";
+    private static final String[] REQUEST_DEPENDENT_GLOBALS = {FrameworkConstants.JSAttributes.JS_LOG,
+            FrameworkConstants.JSAttributes.JS_FUNC_LOAD_FUNC_LIB, "require", "Date", "Math"};
 
     /**
      * Constructs the builder with the given authentication context.
@@ -152,6 +160,7 @@ public class JsGraphBuilder {
     public JsGraphBuilder createWith(String script) {
 
         try {
+            this.script = script;
             currentBuilder.set(this);
             Bindings globalBindings = engine.getBindings(ScriptContext.GLOBAL_SCOPE);
             globalBindings.put(FrameworkConstants.JSAttributes.JS_FUNC_EXECUTE_STEP, (StepExecutor) this::executeStep);
@@ -178,8 +187,9 @@ public class JsGraphBuilder {
             try {
                 startScriptExecutionMonitor(identifier, authenticationContext);
                 engine.eval(script);
+                loginRequestContext = new AccessTrackingJsAuthenticationContext(authenticationContext);
                 invocable.invokeFunction(FrameworkConstants.JSAttributes.JS_FUNC_ON_LOGIN_REQUEST,
-                        new JsAuthenticationContext(authenticationContext));
+                        loginRequestContext);
             } finally {
                 scriptExecutionData = endScriptExecutionMonitor(identifier);
             }
@@ -206,6 +216,37 @@ public class JsGraphBuilder {
         return this;
     }
 
+    /**
+     * Creates a template of the built graph, which can be instantiated for later logins with the same script instead
+     * of executing the script again.
+     * A graph is only considered reusable when building it did not read or modify the authentication context and the
+     * script does not use any function whose outcome may differ between logins.
+     *
+     * @return Template of the built graph, or null if the graph depends on the login it was built for.
+     */
+    public AuthenticationGraphTemplate createTemplate() {
+
+        if (script == null || loginRequestContext == null || loginRequestContext.isAccessed() || contextModified
+                || referencesRequestDependentFunctions(script)) {
+            return null;
+        }
+        return AuthenticationGraphTemplate.of(result,
+                JsGraphBuilderFactory.getPersistedCurrentContext(authenticationContext));
+    }
+
+    private boolean referencesRequestDependentFunctions(String script) {
+
+        Collection<String> functionNames = new ArrayList<>();
+        Collections.addAll(functionNames, REQUEST_DEPENDENT_GLOBALS);
+        JsFunctionRegistry jsFunctionRegistrar = FrameworkServiceDataHolder.getInstance().getJsFunctionRegistry();
+        if (jsFunctionRegistrar != null) {
+            functionNames.addAll(jsFunctionRegistrar
+                    .getSubsystemFunctionsMap(JsFunctionRegistry.Subsystem.SEQUENCE_HANDLER).keySet());
+        }
+        return functionNames.stream()
+                .anyMatch(name -> Pattern.compile("\\b" + Pattern.quote(name) + "\\b").matcher(script).find());
+    }
+
     public static void clearCurrentBuilder() {
 
         currentBuilder.remove();
@@ -565,6 +606,7 @@ public class JsGraphBuilder {
 
         if (!authenticatorParams.isEmpty()) {
             authenticationContext.addAuthenticatorParams(authenticatorParams);
+            contextModified = true;
         }
     }
 
@@ -694,7 +736,8 @@ public class JsGraphBuilder {
     }
 
     /**
-     * Loads the required function library from the database.
+     * Loads the required function library. Function libraries are cached per tenant by the function library
+     * management service, hence repeated requires of a library do not reach the database.
      *
      * @param functionLibraryName functionLibraryName
      * @return functionLibraryScript
@@ -1038,6 +1081,66 @@ public class JsGraphBuilder {
         stepConfig.setSubjectAttributeStep(true);
     }
 
+    /**
+     * Authentication context passed to the onLoginRequest function, which records whether the script accessed it.
+     */
+    private static class AccessTrackingJsAuthenticationContext extends JsAuthenticationContext {
+
+        private boolean accessed;
+
+        AccessTrackingJsAuthenticationContext(AuthenticationContext wrapped) {
+
+            super(wrapped);
+        }
+
+        boolean isAccessed() {
+
+            return accessed;
+        }
+
+        @Override
+        public AuthenticationContext getWrapped() {
+
+            accessed = true;
+            return super.getWrapped();
+        }
+
+        @Override
+        public AuthenticationContext getContext() {
+
+            accessed = true;
+            return super.getContext();
+        }
+
+        @Override
+        public Object getMember(String name) {
+
+            accessed = true;
+            return super.getMember(name);
+        }
+
+        @Override
+        public boolean hasMember(String name) {
+
+            accessed = true;
+            return super.hasMember(name);
+        }
+
+        @Override
+        public void setMember(String name, Object value) {
+
+            accessed = true;
+            super.setMember(name, value);
+        }
+
+        @Override
+        public void removeMember(String name) {
+
+            accessed = true;
+            super.removeMember(name);
+        }
+    }
+
     /**
      * Javascript based Decision Evaluator implementation.
      * This is used to create the Authentication Graph structure dynamically on the fly while the authentication flow
@@ -1066,7 +1169,8 @@ public class JsGraphBuilder {
                 ScriptEngine scriptEngine = getEngine(authenticationContext);
                 try {
                     currentBuilder.set(graphBuilder);
-                    JsGraphBuilderFactory.restoreCurrentContext(authenticationContext, scriptEngine);
+                    JsGraphBuilderFactory.restoreCurrentContext(authenticationContext, scriptEngine,
+                            jsFunction.getSource());
                     Bindings globalBindings = scriptEngine.getBindings(ScriptContext.GLOBAL_SCOPE);
                     //Now re-assign the executeStep function to dynamic evaluation
                     globalBindings.put(FrameworkConstants.JSAttributes.JS_FUNC_EXECUTE_STEP,
@@ -1124,6 +1228,7 @@ public class JsGraphBuilder {
                 } finally {
                     contextForJs.remove();
                     dynamicallyBuiltBaseNode.remove();
+                    JsGraphBuilderFactory.clearRestoredBindings();
                     clearCurrentBuilder();
                 }
 
@@ -32,8 +32,14 @@ import org.wso2.carbon.identity.application.authentication.framework.handler.seq
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
 
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 import javax.script.Bindings;
 import javax.script.ScriptContext;
@@ -48,6 +54,10 @@ public class JsGraphBuilderFactory {
     private static final Log LOG = LogFactory.getLog(JsGraphBuilderFactory.class);
     private static final String JS_BINDING_CURRENT_CONTEXT = "JS_BINDING_CURRENT_CONTEXT";
     private static final String[] NASHORN_ARGS = {"--no-java"};
+    // Ways a script may reach the global bindings without naming them.
+    private static final Pattern DYNAMIC_SCOPE_ACCESS =
+            Pattern.compile("\\b(eval|this|Function|require|loadLocalLibrary)\\b");
+    private static final ThreadLocal<RestoredBindings> RESTORED_BINDINGS = new ThreadLocal<>();
     private ClassFilter classFilter;
 
     // Suppress the Nashorn deprecation warnings in jdk 11
@@ -64,24 +74,137 @@ public class JsGraphBuilderFactory {
     public static void restoreCurrentContext(AuthenticationContext context, ScriptEngine engine)
         throws FrameworkException {
 
-        Map<String, Object> map = (Map<String, Object>) context.getProperty(JS_BINDING_CURRENT_CONTEXT);
+        // All the bindings are restored, hence there is nothing to be carried over by the next persist.
+        restoreBindings(context, engine, null);
+    }
+
+    /**
+     * Restore the persisted bindings which the given script fragment may refer to. A binding is restored when its
+     * name appears in the fragment, or in the source of another binding which is restored. The rest are kept in their
+     * persisted form and are carried over as they are by the next {@link #persistCurrentContext}. All the bindings are
+     * restored when the fragment may reach the bindings without naming them, e.g. through eval or this.
+     *
+     * @param context Authentication context holding the persisted bindings.
+     * @param engine  Script engine to restore the bindings into.
+     * @param source  Source of the fragment which will be evaluated, or null to restore all the bindings.
+     * @throws FrameworkException If a persisted function could not be restored.
+     */
+    public static void restoreCurrentContext(AuthenticationContext context, ScriptEngine engine, String source)
+        throws FrameworkException {
+
+        RESTORED_BINDINGS.set(restoreBindings(context, engine, source));
+    }
+
+    private static RestoredBindings restoreBindings(AuthenticationContext context, ScriptEngine engine, String source)
+        throws FrameworkException {
+
+        Map<String, Object> map = getPersistedCurrentContext(context);
         Bindings bindings = engine.getBindings(ScriptContext.ENGINE_SCOPE);
+        RestoredBindings restoredBindings = new RestoredBindings(engine);
         if (map != null) {
+            Set<String> referencedNames = source == null ? map.keySet() : getReferencedBindings(map, source);
             for (Map.Entry<String, Object> entry : map.entrySet()) {
+                if (!referencedNames.contains(entry.getKey())) {
+                    restoredBindings.unrestored.put(entry.getKey(), entry.getValue());
+                    continue;
+                }
                 Object deserializedValue = FrameworkUtils.fromJsSerializable(entry.getValue(), engine);
                 if (deserializedValue instanceof AbstractJSObjectWrapper) {
                     ((AbstractJSObjectWrapper) deserializedValue).initializeContext(context);
                 }
                 bindings.put(entry.getKey(), deserializedValue);
+                if (entry.getValue() instanceof SerializableJsFunction) {
+                    restoredBindings.functions.put(entry.getKey(),
+                            new RestoredFunction(deserializedValue, entry.getValue()));
+                }
+            }
+            if (LOG.isDebugEnabled() && !restoredBindings.unrestored.isEmpty()) {
+                LOG.debug("Skipped restoring the bindings: " + restoredBindings.unrestored.keySet() +
+                        " as the script to be evaluated does not refer them.");
             }
         }
+        return restoredBindings;
     }
 
     public static void persistCurrentContext(AuthenticationContext context, ScriptEngine engine) {
 
+        RestoredBindings restoredBindings = RESTORED_BINDINGS.get();
+        clearRestoredBindings();
+        if (restoredBindings != null && restoredBindings.engine != engine) {
+            restoredBindings = null;
+        }
+
         Bindings engineBindings = engine.getBindings(ScriptContext.ENGINE_SCOPE);
         Map<String, Object> persistableMap = new HashMap<>();
-        engineBindings.forEach((key, value) -> persistableMap.put(key, FrameworkUtils.toJsSerializable(value)));
+        if (restoredBindings != null) {
+            persistableMap.putAll(restoredBindings.unrestored);
+        }
+        for (Map.Entry<String, Object> entry : engineBindings.entrySet()) {
+            RestoredFunction restoredFunction = restoredBindings == null ? null :
+                    restoredBindings.functions.get(entry.getKey());
+            if (restoredFunction != null && restoredFunction.value != null
+                    && restoredFunction.value.equals(entry.getValue())) {
+                // The function is not reassigned since it was restored, hence the persisted source still holds.
+                persistableMap.put(entry.getKey(), restoredFunction.persistedValue);
+            } else {
+                persistableMap.put(entry.getKey(), FrameworkUtils.toJsSerializable(entry.getValue()));
+            }
+        }
+        context.setProperty(JS_BINDING_CURRENT_CONTEXT, persistableMap);
+    }
+
+    /**
+     * Clear the bindings recorded by the last restore in the current thread.
+     */
+    static void clearRestoredBindings() {
+
+        RESTORED_BINDINGS.remove();
+    }
+
+    private static Set<String> getReferencedBindings(Map<String, Object> map, String source) {
+
+        Set<String> referencedNames = new HashSet<>();
+        Deque<String> sources = new ArrayDeque<>();
+        sources.push(source);
+        while (!sources.isEmpty()) {
+            String currentSource = sources.pop();
+            if (DYNAMIC_SCOPE_ACCESS.matcher(currentSource).find()) {
+                return map.keySet();
+            }
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                if (!referencedNames.contains(entry.getKey()) && isReferred(currentSource, entry.getKey())) {
+                    referencedNames.add(entry.getKey());
+                    collectSources(entry.getValue(), sources);
+                }
+            }
+        }
+        return referencedNames;
+    }
+
+    private static boolean isReferred(String source, String name) {
+
+        return Pattern.compile("(?<![\\w$.])" + Pattern.quote(name) + "(?![\\w$])").matcher(source).find();
+    }
+
+    private static void collectSources(Object value, Deque<String> sources) {
+
+        if (value instanceof SerializableJsFunction) {
+            sources.push(((SerializableJsFunction) value).getSource());
+        } else if (value instanceof Map) {
+            ((Map<?, ?>) value).values().forEach(item -> collectSources(item, sources));
+        } else if (value instanceof Collection) {
+            ((Collection<?>) value).forEach(item -> collectSources(item, sources));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> getPersistedCurrentContext(AuthenticationContext context) {
+
+        return (Map<String, Object>) context.getProperty(JS_BINDING_CURRENT_CONTEXT);
+    }
+
+    public static void setPersistedCurrentContext(AuthenticationContext context, Map<String, Object> persistableMap) {
+
         context.setProperty(JS_BINDING_CURRENT_CONTEXT, persistableMap);
     }
 
@@ -119,4 +242,34 @@ public class JsGraphBuilderFactory {
         return new JsGraphBuilder(authenticationContext, stepConfigMap,
                 createEngine(authenticationContext), currentNode);
     }
+
+    /**
+     * Bindings of an engine which are restored from, or kept in, their persisted form.
+     */
+    private static class RestoredBindings {
+
+        private final ScriptEngine engine;
+        private final Map<String, Object> unrestored = new HashMap<>();
+        private final Map<String, RestoredFunction> functions = new HashMap<>();
+
+        RestoredBindings(ScriptEngine engine) {
+
+            this.engine = engine;
+        }
+    }
+
+    /**
+     * Function restored into an engine, along with the persisted form it was restored from.
+     */
+    private static class RestoredFunction {
+
+        private final Object value;
+        private final Object persistedValue;
+
+        RestoredFunction(Object value, Object persistedValue) {
+
+            this.value = value;
+            this.persistedValue = persistedValue;
+        }
+    }
 }
@@ -112,6 +112,10 @@ public class AuthenticationContext extends MessageContext implements Serializabl
 
     private List<String> executedPostAuthHandlers = new ArrayList<>();
 
+    // Digest and time of the state last written to the session data store. Not part of the persisted state.
+    private transient String persistedStateDigest;
+    private transient long persistedStateTime;
+
     public String getCallerPath() {
         return callerPath;
     }
@@ -574,6 +578,38 @@ public class AuthenticationContext extends MessageContext implements Serializabl
         this.activeInAThread = activeInAThread;
     }
 
+    /**
+     * Get the digest of the serialized state of this context when it was last written to the session data store.
+     *
+     * @return Digest of the persisted state, or null if this instance was not persisted yet.
+     */
+    public String getPersistedStateDigest() {
+
+        return persistedStateDigest;
+    }
+
+    /**
+     * Get the time in milliseconds this context was last written to the session data store.
+     *
+     * @return Time of the last write, or 0 if this instance was not persisted yet.
+     */
+    public long getPersistedStateTime() {
+
+        return persistedStateTime;
+    }
+
+    /**
+     * Mark the current state of this context as written to the session data store.
+     *
+     * @param persistedStateDigest Digest of the serialized state.
+     * @param persistedStateTime   Time in milliseconds the state was written.
+     */
+    public void setPersistedState(String persistedStateDigest, long persistedStateTime) {
+
+        this.persistedStateDigest = persistedStateDigest;
+        this.persistedStateTime = persistedStateTime;
+    }
+
     /**
      * Initialize the authentication time related parameter maps so that in later we don't need to
      * check whether it is initialized.
@@ -28,6 +28,9 @@ import org.wso2.carbon.identity.application.authentication.framework.store.SQLQu
 import org.wso2.carbon.identity.application.authentication.framework.util.JdbcUtils;
 import org.wso2.carbon.identity.application.authentication.framework.util.SessionMgtConstants;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Perform operations for {@link UserSession}.
  */
@@ -35,6 +38,26 @@ public interface UserSessionDAO {
 
     UserSession getSession(String sessionId) throws SessionManagementServerException;
 
+    /**
+     * Get the sessions of the given session ids. Sessions without any application are not returned, same as
+     * {@link #getSession(String)}.
+     *
+     * @param sessionIds Ids of the sessions.
+     * @return Sessions in the order of the given session ids.
+     * @throws SessionManagementServerException
+     */
+    default List<UserSession> getSessions(List<String> sessionIds) throws SessionManagementServerException {
+
+        List<UserSession> userSessions = new ArrayList<>();
+        for (String sessionId : sessionIds) {
+            UserSession userSession = getSession(sessionId);
+            if (userSession != null) {
+                userSessions.add(userSession);
+            }
+        }
+        return userSessions;
+    }
+
     /**
      * Get federated user session details mapped for federated IDP sessionId.
      *
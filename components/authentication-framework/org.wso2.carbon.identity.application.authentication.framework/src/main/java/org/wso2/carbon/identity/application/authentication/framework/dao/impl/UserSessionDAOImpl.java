@@ -34,8 +34,10 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -48,6 +50,8 @@ import static org.wso2.carbon.identity.core.util.JdbcUtils.isH2DB;
 public class UserSessionDAOImpl implements UserSessionDAO {
 
     public static final String SCOPE_LIST_PLACEHOLDER = "_SCOPE_LIST_";
+    private static final int MAX_SESSION_IDS_PER_QUERY = 100;
+    private static final int MAX_APP_IDS_PER_QUERY = 100;
 
     public UserSessionDAOImpl() {
     }
@@ -69,22 +73,7 @@ public class UserSessionDAOImpl implements UserSessionDAO {
             UserSession userSession = new UserSession();
             userSession.setSessionId(sessionId);
 
-            propertiesMap.forEach((key, value) -> {
-                switch (key) {
-                    case SessionMgtConstants.USER_AGENT:
-                        userSession.setUserAgent(value);
-                        break;
-                    case SessionMgtConstants.IP_ADDRESS:
-                        userSession.setIp(value);
-                        break;
-                    case SessionMgtConstants.LAST_ACCESS_TIME:
-                        userSession.setLastAccessTime(value);
-                        break;
-                    case SessionMgtConstants.LOGIN_TIME:
-                        userSession.setLoginTime(value);
-                        break;
-                }
-            });
+            propertiesMap.forEach((key, value) -> setSessionProperty(userSession, key, value));
 
             if (!applicationList.isEmpty()) {
                 userSession.setApplications(applicationList);
@@ -98,24 +87,127 @@ public class UserSessionDAOImpl implements UserSessionDAO {
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The applications and the meta data of the sessions are retrieved with a query per table for each chunk of
+     * session ids, and the application names with a single query.
+     */
+    @Override
+    public List<UserSession> getSessions(List<String> sessionIds) throws SessionManagementServerException {
+
+        Map<String, UserSession> userSessions = new LinkedHashMap<>();
+        Map<String, List<Application>> sessionApplications = new HashMap<>();
+        List<Application> applications = new ArrayList<>();
+        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate(JdbcUtils.Database.SESSION);
+        String metaDataSqlStmt = isH2DB() ? SQLQueries.SQL_GET_PROPERTIES_FROM_SESSION_META_DATA_BY_SESSION_IDS_H2 :
+                SQLQueries.SQL_GET_PROPERTIES_FROM_SESSION_META_DATA_BY_SESSION_IDS;
+
+        try {
+            for (String sessionId : sessionIds) {
+                UserSession userSession = new UserSession();
+                userSession.setSessionId(sessionId);
+                userSessions.put(sessionId, userSession);
+            }
+            List<String> distinctSessionIds = new ArrayList<>(userSessions.keySet());
+            for (int fromIndex = 0; fromIndex < distinctSessionIds.size(); fromIndex += MAX_SESSION_IDS_PER_QUERY) {
+                List<String> chunk = distinctSessionIds.subList(fromIndex,
+                        Math.min(fromIndex + MAX_SESSION_IDS_PER_QUERY, distinctSessionIds.size()));
+                String placeholder = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+
+                jdbcTemplate.executeQuery(SQLQueries.SQL_GET_APPS_FOR_SESSION_IDS.replace(
+                        SQLQueries.SESSION_ID_LIST_PLACEHOLDER, placeholder), (resultSet, rowNumber) -> {
+                            Application application = new Application(resultSet.getString("SUBJECT"), null,
+                                    resultSet.getString("APP_ID"), null);
+                            sessionApplications.computeIfAbsent(resultSet.getString("SESSION_ID"),
+                                    key -> new ArrayList<>()).add(application);
+                            return applications.add(application);
+                        }, preparedStatement -> setSessionIds(preparedStatement, chunk));
+
+                String metaDataSql = metaDataSqlStmt.replace(SQLQueries.SESSION_ID_LIST_PLACEHOLDER, placeholder);
+                jdbcTemplate.executeQuery(metaDataSql, (resultSet, rowNumber) -> {
+                    UserSession userSession = userSessions.get(resultSet.getString(1));
+                    if (userSession != null) {
+                        setSessionProperty(userSession, resultSet.getString(2), resultSet.getString(3));
+                    }
+                    return null;
+                }, preparedStatement -> setSessionIds(preparedStatement, chunk));
+            }
+        } catch (DataAccessException e) {
+            throw new SessionManagementServerException(
+                    SessionMgtConstants.ErrorMessages.ERROR_CODE_UNABLE_TO_GET_SESSION,
+                    SessionMgtConstants.ErrorMessages.ERROR_CODE_UNABLE_TO_GET_SESSION.getDescription(), e);
+        }
+
+        if (!applications.isEmpty()) {
+            generateApplicationFromAppID(applications);
+        }
+
+        List<UserSession> userSessionList = new ArrayList<>();
+        for (UserSession userSession : userSessions.values()) {
+            List<Application> applicationList = sessionApplications.get(userSession.getSessionId());
+            if (applicationList == null) {
+                continue;
+            }
+            applicationList.removeIf(application -> application.getAppName() == null);
+            if (!applicationList.isEmpty()) {
+                userSession.setApplications(applicationList);
+                userSessionList.add(userSession);
+            }
+        }
+        return userSessionList;
+    }
+
+    private void setSessionIds(PreparedStatement preparedStatement, List<String> sessionIds) throws SQLException {
+
+        int index = 1;
+        for (String sessionId : sessionIds) {
+            preparedStatement.setString(index++, sessionId);
+        }
+    }
+
+    private void setSessionProperty(UserSession userSession, String key, String value) {
+
+        switch (key) {
+            case SessionMgtConstants.USER_AGENT:
+                userSession.setUserAgent(value);
+                break;
+            case SessionMgtConstants.IP_ADDRESS:
+                userSession.setIp(value);
+                break;
+            case SessionMgtConstants.LAST_ACCESS_TIME:
+                userSession.setLastAccessTime(value);
+                break;
+            case SessionMgtConstants.LOGIN_TIME:
+                userSession.setLoginTime(value);
+                break;
+        }
+    }
+
     private void generateApplicationFromAppID(List<Application> applications) throws SessionManagementServerException {
 
         Map<String, List<Application>> appIdMap =
                 applications.stream().collect(Collectors.groupingBy(Application::getAppId));
-        String placeholder = String.join(", ", Collections.nCopies(appIdMap.keySet().size(), "?"));
-        String sql = SQLQueries.SQL_GET_APPLICATION.replace(SCOPE_LIST_PLACEHOLDER, placeholder);
-        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
-             PreparedStatement ps = connection.prepareStatement(sql)) {
-            int index = 1;
-            for (String appId : appIdMap.keySet()) {
-                ps.setInt(index, Integer.parseInt(appId));
-                index++;
-            }
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    for (Application application : appIdMap.get(rs.getString("ID"))) {
-                        application.setAppName(rs.getString("APP_NAME"));
-                        application.setResourceId(rs.getString("UUID"));
+        List<String> appIds = new ArrayList<>(appIdMap.keySet());
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            for (int fromIndex = 0; fromIndex < appIds.size(); fromIndex += MAX_APP_IDS_PER_QUERY) {
+                List<String> chunk = appIds.subList(fromIndex,
+                        Math.min(fromIndex + MAX_APP_IDS_PER_QUERY, appIds.size()));
+                String placeholder = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                String sql = SQLQueries.SQL_GET_APPLICATION.replace(SCOPE_LIST_PLACEHOLDER, placeholder);
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    int index = 1;
+                    for (String appId : chunk) {
+                        ps.setInt(index, Integer.parseInt(appId));
+                        index++;
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            for (Application application : appIdMap.get(rs.getString("ID"))) {
+                                application.setAppName(rs.getString("APP_NAME"));
+                                application.setResourceId(rs.getString("UUID"));
+                            }
+                        }
                     }
                 }
             }
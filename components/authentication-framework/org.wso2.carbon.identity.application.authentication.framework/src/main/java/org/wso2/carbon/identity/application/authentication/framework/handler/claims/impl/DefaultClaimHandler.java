@@ -39,13 +39,16 @@ import org.wso2.carbon.identity.application.authentication.framework.internal.Fr
 import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
 import org.wso2.carbon.identity.application.common.model.ClaimConfig;
 import org.wso2.carbon.identity.application.common.model.ClaimMapping;
 import org.wso2.carbon.identity.application.common.model.ServiceProvider;
 import org.wso2.carbon.identity.application.mgt.ApplicationConstants;
+import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
 import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataHandler;
 import org.wso2.carbon.identity.claim.metadata.mgt.exception.ClaimMetadataException;
 import org.wso2.carbon.identity.core.util.IdentityCoreConstants;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.user.api.ClaimManager;
 import org.wso2.carbon.user.api.RealmConfiguration;
 import org.wso2.carbon.user.api.UserStoreException;
@@ -56,6 +59,7 @@ import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -475,8 +479,9 @@ public class DefaultClaimHandler implements ClaimHandler {
         // key:value -> sp_dialect:claim_value
         Map<String, String> spRequestedClaims = new HashMap<>();
 
-        // Retrieve all non-null user claim values against local claim uris.
-        allLocalClaims = retrieveAllNunNullUserClaimValues(authenticatedUser, claimManager, appConfig, userStore);
+        // Retrieve all non-null user claim values against the local claim uris required by the SP.
+        allLocalClaims = retrieveAllNunNullUserClaimValues(authenticatedUser, claimManager, appConfig, userStore,
+                context);
 
         // Insert the runtime claims from the context. The priority is for runtime claims.
         allLocalClaims.putAll(context.getRuntimeClaims());
@@ -625,7 +630,7 @@ public class DefaultClaimHandler implements ClaimHandler {
 
     private Map<String, String> retrieveAllNunNullUserClaimValues(AuthenticatedUser authenticatedUser,
             ClaimManager claimManager, ApplicationConfig appConfig,
-            AbstractUserStoreManager userStore) throws FrameworkException {
+            AbstractUserStoreManager userStore, AuthenticationContext context) throws FrameworkException {
 
         String tenantDomain = authenticatedUser.getTenantDomain();
 
@@ -639,6 +644,9 @@ public class DefaultClaimHandler implements ClaimHandler {
                 String claimURI = mapping.getClaim().getClaimUri();
                 localClaimURIs.add(claimURI);
             }
+            if (!isRetrieveAllLocalClaims(appConfig, context)) {
+                localClaimURIs.retainAll(getRequiredLocalClaims(appConfig, context.getTenantDomain()));
+            }
             allLocalClaims = userStore.getUserClaimValuesWithID(authenticatedUser.getUserId(),
                     localClaimURIs.toArray(new String[0]), null);
 
@@ -661,6 +669,82 @@ public class DefaultClaimHandler implements ClaimHandler {
         return allLocalClaims;
     }
 
+    /**
+     * Check whether all the local claims of the user should be retrieved. All claims are retrieved if configured so,
+     * if the SP has not requested any claims or if all the SP mapped claims are returned to the SP.
+     *
+     * @param appConfig Application config.
+     * @param context   Authentication context.
+     * @return True if all local claims should be retrieved.
+     */
+    private boolean isRetrieveAllLocalClaims(ApplicationConfig appConfig, AuthenticationContext context) {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(FrameworkConstants.Config.RETRIEVE_ALL_LOCAL_CLAIMS))
+                || MapUtils.isEmpty(appConfig.getRequestedClaimMappings())
+                || FrameworkConstants.RequestType.CLAIM_TYPE_OPENID.equals(context.getRequestType());
+    }
+
+    /**
+     * Get the local claims required by the SP. The requested, mandatory, subject and role claims of the SP are
+     * resolved once per cached application, and are only resolved from the application config if the application
+     * is not cached or uses SP claim dialects.
+     *
+     * @param appConfig    Application config.
+     * @param tenantDomain Tenant domain of the application.
+     * @return Local claim URIs of the requested, mandatory, subject and role claims.
+     */
+    private Set<String> getRequiredLocalClaims(ApplicationConfig appConfig, String tenantDomain) {
+
+        Set<String> requiredLocalClaims = new HashSet<>();
+        Set<String> spRequiredLocalClaims = null;
+        try {
+            spRequiredLocalClaims = ApplicationManagementService.getInstance()
+                    .getRequiredLocalClaims(appConfig.getApplicationName(), tenantDomain);
+        } catch (IdentityApplicationManagementException e) {
+            log.error("Error while retrieving the local claims required by the application: "
+                    + appConfig.getApplicationName() + " of tenant: " + tenantDomain, e);
+        }
+        if (spRequiredLocalClaims != null) {
+            requiredLocalClaims.addAll(spRequiredLocalClaims);
+        } else {
+            // Consent is requested for the requested and mandatory claims.
+            addLocalClaims(requiredLocalClaims, appConfig.getRequestedClaimMappings());
+            addLocalClaims(requiredLocalClaims, appConfig.getMandatoryClaimMappings());
+            addLocalClaim(requiredLocalClaims, appConfig.getSubjectClaimUri(), appConfig.getClaimMappings());
+            addLocalClaim(requiredLocalClaims, appConfig.getRoleClaim(), appConfig.getClaimMappings());
+        }
+        requiredLocalClaims.add(getLocalGroupsClaimURI());
+        requiredLocalClaims.add(FrameworkConstants.LOCAL_ROLE_CLAIM_URI);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Resolved the local claims required by the application: " + appConfig.getApplicationName()
+                    + " as: " + requiredLocalClaims);
+        }
+        return requiredLocalClaims;
+    }
+
+    private void addLocalClaims(Set<String> localClaims, Map<String, String> spToLocalClaimMappings) {
+
+        if (spToLocalClaimMappings == null) {
+            return;
+        }
+        for (Entry<String, String> claimMapping : spToLocalClaimMappings.entrySet()) {
+            localClaims.add(claimMapping.getValue() != null ? claimMapping.getValue() : claimMapping.getKey());
+        }
+    }
+
+    private void addLocalClaim(Set<String> localClaims, String claimURI, Map<String, String> spToLocalClaimMappings) {
+
+        if (StringUtils.isBlank(claimURI)) {
+            return;
+        }
+        // The claim could either be a local claim or an SP claim.
+        localClaims.add(claimURI);
+        if (spToLocalClaimMappings != null && spToLocalClaimMappings.get(claimURI) != null) {
+            localClaims.add(spToLocalClaimMappings.get(claimURI));
+        }
+    }
+
     private AbstractUserStoreManager getUserStoreManager(String tenantDomain, UserRealm realm) throws
             FrameworkException {
         AbstractUserStoreManager userStore;
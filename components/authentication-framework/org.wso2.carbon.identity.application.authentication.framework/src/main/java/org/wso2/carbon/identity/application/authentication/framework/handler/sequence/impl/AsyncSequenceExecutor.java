@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.identity.application.authentication.framework.handler.sequence.impl;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.application.authentication.framework.AsyncCaller;
@@ -27,33 +28,125 @@ import org.wso2.carbon.identity.application.authentication.framework.exception.F
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
 import org.wso2.carbon.identity.application.authentication.framework.model.LongWaitStatus;
 import org.wso2.carbon.identity.application.authentication.framework.store.LongWaitStatusStoreService;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_SEQUENCE_EXECUTOR_CALL_TIMEOUT;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_SEQUENCE_EXECUTOR_MAX_TENANT_CALLS;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_SEQUENCE_EXECUTOR_POOL_SIZE;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_SEQUENCE_EXECUTOR_QUEUE_SIZE;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_SEQUENCE_EXECUTOR_RETURN_POOL_SIZE;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_SEQUENCE_EXECUTOR_RETURN_QUEUE_SIZE;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.DEFAULT_ASYNC_SEQUENCE_EXECUTOR_POOL_SIZE;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.DEFAULT_ASYNC_SEQUENCE_EXECUTOR_QUEUE_SIZE;
 
 /**
  * Asynchronous authentication sequence executor.
+ * <p>
+ * The asynchronous calls and the continuations of the authentication sequence are executed on separate bounded
+ * executors, so that slow external calls do not delay resuming the sequences of the calls which already returned.
+ * A call which does not return within the configured timeout is returned with the
+ * {@link FrameworkConstants.JSAttributes#JS_CALL_AND_WAIT_TIMEOUT_OUTCOME} outcome, and a call which fails is
+ * returned with the {@link FrameworkConstants.JSAttributes#JS_CALL_AND_WAIT_ERROR_OUTCOME} outcome, which fails the
+ * authentication sequence. The statistics of the executor are logged at debug level after each continuation, and
+ * are exposed over JMX as an {@link AsyncSequenceExecutorMXBean}.
  */
 public class AsyncSequenceExecutor {
 
     private static final Log log = LogFactory.getLog(AsyncSequenceExecutor.class);
 
-    private ExecutorService executorService;
+    private static final String CALLER_THREAD_NAME = "AdaptiveAuth-AsyncCaller-";
+    private static final String RETURN_THREAD_NAME = "AdaptiveAuth-AsyncReturn-";
+    private static final String TIMEOUT_THREAD_NAME = "AdaptiveAuth-AsyncTimeout";
+    private static final String MXBEAN_NAME =
+            "org.wso2.carbon.identity.application.authentication.framework:type=AsyncSequenceExecutor";
+    private static final long DEFERRED_RETURN_DELAY_IN_MILLIS = 50;
+
+    private ThreadPoolExecutor callerExecutor;
+    private ThreadPoolExecutor returnExecutor;
+    private ScheduledExecutorService timeoutService;
+    private volatile Thread timeoutThread;
+    private long callTimeoutInMillis;
+    private int maxConcurrentCallsPerTenant;
+    private final Map<String, AtomicInteger> tenantCallCounts = new ConcurrentHashMap<>();
+
+    private final LongAdder submittedCalls = new LongAdder();
+    private final LongAdder rejectedCalls = new LongAdder();
+    private final LongAdder timedOutCalls = new LongAdder();
+    private final LongAdder completedCalls = new LongAdder();
+    private final LongAdder callWaitTime = new LongAdder();
+    private final LongAdder callRunTime = new LongAdder();
+    private final LongAdder executedReturns = new LongAdder();
+    private final LongAdder deferredReturns = new LongAdder();
+    private final LongAdder returnWaitTime = new LongAdder();
+    private final LongAdder returnRunTime = new LongAdder();
 
     public void init() {
 
-        String poolSizeString = IdentityUtil.getProperty("AdaptiveAuth.AsyncSequenceExecutorPoolSize");
-        int poolSize;
-        if (poolSizeString != null) {
-            poolSize = Integer.parseInt(poolSizeString);
-        } else {
-            poolSize = 5;
+        int poolSize = Math.max(1, readIntProperty(CONF_ASYNC_SEQUENCE_EXECUTOR_POOL_SIZE,
+                DEFAULT_ASYNC_SEQUENCE_EXECUTOR_POOL_SIZE));
+        int queueSize = Math.max(1, readIntProperty(CONF_ASYNC_SEQUENCE_EXECUTOR_QUEUE_SIZE,
+                DEFAULT_ASYNC_SEQUENCE_EXECUTOR_QUEUE_SIZE));
+        int returnPoolSize = Math.max(1, readIntProperty(CONF_ASYNC_SEQUENCE_EXECUTOR_RETURN_POOL_SIZE, poolSize));
+        int returnQueueSize = Math.max(1, readIntProperty(CONF_ASYNC_SEQUENCE_EXECUTOR_RETURN_QUEUE_SIZE, queueSize));
+        callTimeoutInMillis = readIntProperty(CONF_ASYNC_SEQUENCE_EXECUTOR_CALL_TIMEOUT, 0);
+        maxConcurrentCallsPerTenant = readIntProperty(CONF_ASYNC_SEQUENCE_EXECUTOR_MAX_TENANT_CALLS, 0);
+
+        callerExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), new NamedThreadFactory(CALLER_THREAD_NAME),
+                new ThreadPoolExecutor.AbortPolicy());
+        returnExecutor = new ThreadPoolExecutor(returnPoolSize, returnPoolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(returnQueueSize), new NamedThreadFactory(RETURN_THREAD_NAME),
+                new ReturnRejectionHandler());
+        if (callTimeoutInMillis > 0) {
+            ScheduledThreadPoolExecutor scheduledExecutor = new ScheduledThreadPoolExecutor(1, r -> {
+                timeoutThread = new Thread(r, TIMEOUT_THREAD_NAME);
+                return timeoutThread;
+            });
+            scheduledExecutor.setRemoveOnCancelPolicy(true);
+            timeoutService = scheduledExecutor;
         }
+        registerMXBean();
+    }
+
+    /**
+     * Shutdown the executors. Calls in progress are not waited for.
+     */
+    public void shutdown() {
 
-        executorService = Executors.newFixedThreadPool(poolSize);
+        if (callerExecutor != null) {
+            callerExecutor.shutdownNow();
+        }
+        if (returnExecutor != null) {
+            returnExecutor.shutdown();
+        }
+        if (timeoutService != null) {
+            timeoutService.shutdownNow();
+        }
+        unregisterMXBean();
     }
 
     public void exec(AsyncCaller caller, AsyncReturn returnFunction, AuthenticationContext authenticationContext)
@@ -64,19 +157,123 @@ public class AsyncSequenceExecutor {
                     "returnFunction.");
         }
 
-        AsyncReturn wrappedReturn = (ctx, m, r) -> {
-            this.execReturn(returnFunction, ctx, m, r);
-        };
+        String tenantDomain = authenticationContext.getTenantDomain();
+        if (!acquireTenantSlot(tenantDomain)) {
+            rejectedCalls.increment();
+            throw new FrameworkException("Can not execute the async process, as the maximum number of concurrent " +
+                    "async calls: " + maxConcurrentCallsPerTenant + " has been reached for the tenant: " +
+                    tenantDomain);
+        }
+
+        ObservingAsyncProcess asyncProcess = new ObservingAsyncProcess(caller, returnFunction, authenticationContext);
+        try {
+            asyncProcess.callerFuture = callerExecutor.submit(new AsyncCallerTask(asyncProcess));
+        } catch (RejectedExecutionException e) {
+            releaseTenantSlot(tenantDomain);
+            rejectedCalls.increment();
+            log.warn("Async call queue is full. " + getStatistics());
+            throw new FrameworkException("Can not execute the async process, as the async call queue is full. " +
+                    "Queued calls: " + callerExecutor.getQueue().size(), e);
+        }
+        submittedCalls.increment();
+        if (timeoutService != null) {
+            asyncProcess.timeoutFuture = timeoutService.schedule(asyncProcess::timeout, callTimeoutInMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Get the statistics of the asynchronous calls executed so far.
+     *
+     * @return Statistics of the executor.
+     */
+    public Statistics getStatistics() {
 
-        executorService.submit(
-                new AsyncCallerTask(
-                        new ObservingAsyncProcess(caller, wrappedReturn, authenticationContext)));
+        return new Statistics(this);
+    }
+
+    /**
+     * Get the number of asynchronous calls of the tenant which have not returned yet.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Number of calls in progress.
+     */
+    public int getInProgressCallCount(String tenantDomain) {
+
+        AtomicInteger callCount = tenantCallCounts.get(tenantDomain);
+        return callCount == null ? 0 : callCount.get();
     }
 
     private void execReturn(AsyncReturn returnFunction,
                             AuthenticationContext authenticationContext, Map<String, Object> data, String result) {
 
-        executorService.execute(new AsyncReturnWorker(returnFunction, authenticationContext, data, result));
+        returnExecutor.execute(new AsyncReturnWorker(returnFunction, authenticationContext, data, result));
+    }
+
+    private void registerMXBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(MXBEAN_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(new ExecutorMXBean(), objectName);
+        } catch (JMException e) {
+            log.error("Error while registering the async sequence executor MXBean: " + MXBEAN_NAME, e);
+        }
+    }
+
+    private void unregisterMXBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(MXBEAN_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            log.error("Error while unregistering the async sequence executor MXBean: " + MXBEAN_NAME, e);
+        }
+    }
+
+    private boolean acquireTenantSlot(String tenantDomain) {
+
+        if (maxConcurrentCallsPerTenant <= 0 || tenantDomain == null) {
+            return true;
+        }
+        AtomicInteger callCount = tenantCallCounts.computeIfAbsent(tenantDomain, key -> new AtomicInteger());
+        if (callCount.incrementAndGet() > maxConcurrentCallsPerTenant) {
+            callCount.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void releaseTenantSlot(String tenantDomain) {
+
+        if (maxConcurrentCallsPerTenant <= 0 || tenantDomain == null) {
+            return;
+        }
+        AtomicInteger callCount = tenantCallCounts.get(tenantDomain);
+        if (callCount != null) {
+            callCount.decrementAndGet();
+        }
+    }
+
+    private int readIntProperty(String propertyName, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.error("Error while parsing the async sequence executor config: " + propertyName + " with value: " +
+                    value + ", setting it to default value: " + defaultValue, e);
+            return defaultValue;
+        }
     }
 
     private class AsyncCallerTask implements Runnable {
@@ -91,11 +288,15 @@ public class AsyncSequenceExecutor {
         @Override
         public void run() {
 
+            asyncProcess.startTime = System.currentTimeMillis();
+            callWaitTime.add(asyncProcess.startTime - asyncProcess.submittedTime);
             try {
                 FrameworkUtils.startTenantFlow(asyncProcess.authenticationContext.getTenantDomain());
                 asyncProcess.call();
-            } catch (FrameworkException e) {
+            } catch (FrameworkException | RuntimeException e) {
                 log.error("Error while calling async process. ", e);
+                asyncProcess.accept(asyncProcess.authenticationContext, new HashMap<>(),
+                        FrameworkConstants.JSAttributes.JS_CALL_AND_WAIT_ERROR_OUTCOME);
             } finally {
                 FrameworkUtils.endTenantFlow();
             }
@@ -108,6 +309,7 @@ public class AsyncSequenceExecutor {
         private AuthenticationContext authenticationContext;
         private Map<String, Object> data;
         private String result;
+        private long submittedTime = System.currentTimeMillis();
 
         public AsyncReturnWorker(AsyncReturn returnFunction, AuthenticationContext authenticationContext, Map<String,
                 Object> data, String result) {
@@ -120,6 +322,9 @@ public class AsyncSequenceExecutor {
 
         @Override
         public void run() {
+
+            long startTime = System.currentTimeMillis();
+            returnWaitTime.add(startTime - submittedTime);
             LongWaitStatusStoreService longWaitStatusStoreService =
                     FrameworkServiceDataHolder.getInstance().getLongWaitStatusStoreService();
             try {
@@ -133,19 +338,34 @@ public class AsyncSequenceExecutor {
                 }
                 longWaitStatus.setStatus(LongWaitStatus.Status.COMPLETED);
                 returnFunction.accept(authenticationContext, data, result);
+                longWaitStatusStoreService.notifyCompletion(authenticationContext.getContextIdentifier(),
+                        longWaitStatus);
             } catch (FrameworkException e) {
                 log.error("Error while resuming from the wait. ", e);
             } finally {
                 FrameworkUtils.endTenantFlow();
+                executedReturns.increment();
+                returnRunTime.add(System.currentTimeMillis() - startTime);
+                if (log.isDebugEnabled()) {
+                    log.debug("Async sequence executor statistics: " + getStatistics());
+                }
             }
         }
     }
 
-    private class ObservingAsyncProcess {
+    /**
+     * Asynchronous process which is returned only once, either by the caller or by the timeout.
+     */
+    private class ObservingAsyncProcess implements AsyncReturn {
 
         private AsyncCaller caller;
         private AsyncReturn returnFunction;
         private AuthenticationContext authenticationContext;
+        private final AtomicBoolean returned = new AtomicBoolean();
+        private final long submittedTime = System.currentTimeMillis();
+        private volatile long startTime;
+        private volatile Future<?> callerFuture;
+        private volatile ScheduledFuture<?> timeoutFuture;
 
         public ObservingAsyncProcess(AsyncCaller caller, AsyncReturn returnFunction,
                                      AuthenticationContext authenticationContext) {
@@ -157,7 +377,304 @@ public class AsyncSequenceExecutor {
 
         private void call() throws FrameworkException {
 
-            caller.accept(authenticationContext, returnFunction);
+            caller.accept(authenticationContext, this);
+        }
+
+        @Override
+        public void accept(AuthenticationContext context, Map<String, Object> data, String result) {
+
+            if (!markReturned()) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Ignoring the outcome: " + result + " of the async process of the context: " +
+                            authenticationContext.getContextIdentifier() + ", as it has already returned.");
+                }
+                return;
+            }
+            execReturn(returnFunction, context, data, result);
+        }
+
+        private void timeout() {
+
+            if (!markReturned()) {
+                return;
+            }
+            timedOutCalls.increment();
+            log.warn("Async process of the context: " + authenticationContext.getContextIdentifier() + " in tenant: " +
+                    authenticationContext.getTenantDomain() + " did not return within " + callTimeoutInMillis +
+                    "ms.");
+            if (callerFuture != null) {
+                callerFuture.cancel(true);
+            }
+            execReturn(returnFunction, authenticationContext, new HashMap<>(),
+                    FrameworkConstants.JSAttributes.JS_CALL_AND_WAIT_TIMEOUT_OUTCOME);
+        }
+
+        private boolean markReturned() {
+
+            if (!returned.compareAndSet(false, true)) {
+                return false;
+            }
+            if (timeoutFuture != null) {
+                timeoutFuture.cancel(false);
+            }
+            releaseTenantSlot(authenticationContext.getTenantDomain());
+            completedCalls.increment();
+            long runStartTime = startTime > 0 ? startTime : submittedTime;
+            callRunTime.add(System.currentTimeMillis() - runStartTime);
+            return true;
+        }
+    }
+
+    /**
+     * Continuations are never dropped while the executor is running. When the return queue is full, the returning
+     * thread runs the continuation, except the timeout thread, which re-submits it after a delay so that a slow
+     * continuation does not hold back the timeouts of the other calls.
+     */
+    private class ReturnRejectionHandler implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+
+            if (executor.isShutdown()) {
+                log.warn("Dropping the continuation of an async process, as the async return executor is shut down.");
+                return;
+            }
+            if (Thread.currentThread() != timeoutThread) {
+                task.run();
+                return;
+            }
+            deferredReturns.increment();
+            try {
+                timeoutService.schedule(() -> executor.execute(task), DEFERRED_RETURN_DELAY_IN_MILLIS,
+                        TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                log.warn("Dropping the continuation of a timed out async process, as the async timeout executor " +
+                        "is shut down.");
+            }
+        }
+    }
+
+    /**
+     * Exposes the live statistics of the executor over JMX.
+     */
+    private class ExecutorMXBean implements AsyncSequenceExecutorMXBean {
+
+        @Override
+        public int getCallQueueLength() {
+
+            return callerExecutor.getQueue().size();
+        }
+
+        @Override
+        public int getReturnQueueLength() {
+
+            return returnExecutor.getQueue().size();
+        }
+
+        @Override
+        public int getActiveCalls() {
+
+            return callerExecutor.getActiveCount();
+        }
+
+        @Override
+        public long getSubmittedCalls() {
+
+            return submittedCalls.sum();
+        }
+
+        @Override
+        public long getRejectedCalls() {
+
+            return rejectedCalls.sum();
+        }
+
+        @Override
+        public long getTimedOutCalls() {
+
+            return timedOutCalls.sum();
+        }
+
+        @Override
+        public long getCompletedCalls() {
+
+            return completedCalls.sum();
+        }
+
+        @Override
+        public long getAverageCallWaitTime() {
+
+            return getStatistics().getAverageCallWaitTime();
+        }
+
+        @Override
+        public long getAverageCallRunTime() {
+
+            return getStatistics().getAverageCallRunTime();
+        }
+
+        @Override
+        public long getExecutedReturns() {
+
+            return executedReturns.sum();
+        }
+
+        @Override
+        public long getDeferredReturns() {
+
+            return deferredReturns.sum();
+        }
+
+        @Override
+        public long getAverageReturnWaitTime() {
+
+            return getStatistics().getAverageReturnWaitTime();
+        }
+
+        @Override
+        public long getAverageReturnRunTime() {
+
+            return getStatistics().getAverageReturnRunTime();
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String namePrefix;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        NamedThreadFactory(String namePrefix) {
+
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+
+            return new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+        }
+    }
+
+    /**
+     * Point in time statistics of the asynchronous sequence executor. Times are in milliseconds.
+     */
+    public static class Statistics {
+
+        private final int callQueueLength;
+        private final int returnQueueLength;
+        private final int activeCalls;
+        private final long submittedCalls;
+        private final long rejectedCalls;
+        private final long timedOutCalls;
+        private final long completedCalls;
+        private final long totalCallWaitTime;
+        private final long totalCallRunTime;
+        private final long executedReturns;
+        private final long deferredReturns;
+        private final long totalReturnWaitTime;
+        private final long totalReturnRunTime;
+
+        private Statistics(AsyncSequenceExecutor executor) {
+
+            this.callQueueLength = executor.callerExecutor.getQueue().size();
+            this.returnQueueLength = executor.returnExecutor.getQueue().size();
+            this.activeCalls = executor.callerExecutor.getActiveCount();
+            this.submittedCalls = executor.submittedCalls.sum();
+            this.rejectedCalls = executor.rejectedCalls.sum();
+            this.timedOutCalls = executor.timedOutCalls.sum();
+            this.completedCalls = executor.completedCalls.sum();
+            this.totalCallWaitTime = executor.callWaitTime.sum();
+            this.totalCallRunTime = executor.callRunTime.sum();
+            this.executedReturns = executor.executedReturns.sum();
+            this.deferredReturns = executor.deferredReturns.sum();
+            this.totalReturnWaitTime = executor.returnWaitTime.sum();
+            this.totalReturnRunTime = executor.returnRunTime.sum();
+        }
+
+        public int getCallQueueLength() {
+
+            return callQueueLength;
+        }
+
+        public int getReturnQueueLength() {
+
+            return returnQueueLength;
+        }
+
+        public int getActiveCalls() {
+
+            return activeCalls;
+        }
+
+        public long getSubmittedCalls() {
+
+            return submittedCalls;
+        }
+
+        public long getRejectedCalls() {
+
+            return rejectedCalls;
+        }
+
+        public long getTimedOutCalls() {
+
+            return timedOutCalls;
+        }
+
+        public long getCompletedCalls() {
+
+            return completedCalls;
+        }
+
+        /**
+         * @return Average time the calls waited in the queue before being started.
+         */
+        public long getAverageCallWaitTime() {
+
+            return submittedCalls == 0 ? 0 : totalCallWaitTime / submittedCalls;
+        }
+
+        /**
+         * @return Average time from starting a call until it returned or timed out.
+         */
+        public long getAverageCallRunTime() {
+
+            return completedCalls == 0 ? 0 : totalCallRunTime / completedCalls;
+        }
+
+        public long getExecutedReturns() {
+
+            return executedReturns;
+        }
+
+        /**
+         * @return Number of continuations of timed out calls re-submitted as the return queue was full.
+         */
+        public long getDeferredReturns() {
+
+            return deferredReturns;
+        }
+
+        public long getAverageReturnWaitTime() {
+
+            return executedReturns == 0 ? 0 : totalReturnWaitTime / executedReturns;
+        }
+
+        public long getAverageReturnRunTime() {
+
+            return executedReturns == 0 ? 0 : totalReturnRunTime / executedReturns;
+        }
+
+        @Override
+        public String toString() {
+
+            return "Statistics{callQueueLength=" + callQueueLength + ", returnQueueLength=" + returnQueueLength +
+                    ", activeCalls=" + activeCalls + ", submittedCalls=" + submittedCalls + ", rejectedCalls=" +
+                    rejectedCalls + ", timedOutCalls=" + timedOutCalls + ", completedCalls=" + completedCalls +
+                    ", averageCallWaitTime=" + getAverageCallWaitTime() + ", averageCallRunTime=" +
+                    getAverageCallRunTime() + ", executedReturns=" + executedReturns + ", deferredReturns=" +
+                    deferredReturns + ", averageReturnWaitTime=" + getAverageReturnWaitTime() +
+                    ", averageReturnRunTime=" + getAverageReturnRunTime() + '}';
         }
     }
 }
@@ -556,7 +556,17 @@ public class GraphBasedSequenceHandler extends DefaultStepBasedSequenceHandler i
             context.removeProperty(FrameworkConstants.JSAttributes.JS_CALL_AND_WAIT_STATUS);
             context.removeProperty(FrameworkConstants.JSAttributes.JS_CALL_AND_WAIT_DATA);
             AuthGraphNode nextNode;
-            if (outcomeName != null) {
+            if (FrameworkConstants.JSAttributes.JS_CALL_AND_WAIT_TIMEOUT_OUTCOME.equals(outcomeName)
+                    && longWaitNode.getFunctionMap().get(outcomeName) == null) {
+                log.error("The long wait process : " + context.getContextIdentifier() + " timed out and the "
+                        + "authentication script does not have an event handler for the outcome " + outcomeName
+                        + ". So ending the authentication flow.");
+                nextNode = new FailNode();
+            } else if (FrameworkConstants.JSAttributes.JS_CALL_AND_WAIT_ERROR_OUTCOME.equals(outcomeName)) {
+                log.error("The long wait process : " + context.getContextIdentifier() + " failed with an error in "
+                        + "the async call. So ending the authentication flow.");
+                nextNode = new FailNode();
+            } else if (outcomeName != null) {
                 executeFunction(outcomeName, longWaitNode, context, data);
                 nextNode = longWaitNode.getDefaultEdge();
                 if (nextNode == null) {
@@ -609,7 +619,14 @@ public class GraphBasedSequenceHandler extends DefaultStepBasedSequenceHandler i
         });
 
         if (caller != null) {
-            FrameworkServiceDataHolder.getInstance().getAsyncSequenceExecutor().exec(caller, asyncReturn, context);
+            try {
+                FrameworkServiceDataHolder.getInstance().getAsyncSequenceExecutor().exec(caller, asyncReturn, context);
+            } catch (FrameworkException e) {
+                // The rejected call never returns, hence the wait added for it would never be completed.
+                FrameworkServiceDataHolder.getInstance().getLongWaitStatusStoreService()
+                        .removeWait(context.getContextIdentifier());
+                throw e;
+            }
             if (!promptOnLongWait()) {
                 int waitTimeout = getLongWaitTimeout();
                 synchronized (context) {
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.internal;
+
+import org.wso2.carbon.identity.application.authentication.framework.ApplicationAuthenticator;
+import org.wso2.carbon.identity.application.authentication.framework.FederatedApplicationAuthenticator;
+import org.wso2.carbon.identity.application.authentication.framework.LocalApplicationAuthenticator;
+import org.wso2.carbon.identity.application.authentication.framework.RequestPathApplicationAuthenticator;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Registry of the application authenticators registered in the framework.
+ * <p>
+ * The registry is a list of the authenticators in their registration order, which additionally maintains indexes of
+ * the authenticators by name and by type. The list and the indexes are rebuilt on each modification and published as
+ * an immutable snapshot, hence the lookups and iterations do not need any locking and see a consistent state.
+ */
+public class ApplicationAuthenticatorRegistry extends AbstractList<ApplicationAuthenticator> implements RandomAccess {
+
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyList());
+
+    /**
+     * Get the authenticator registered with the given name. If several authenticators share the name, the first
+     * registered one is returned.
+     *
+     * @param name Name of the authenticator.
+     * @return Authenticator or null if there is no authenticator with the given name.
+     */
+    public ApplicationAuthenticator getAuthenticatorByName(String name) {
+
+        if (name == null) {
+            return null;
+        }
+        return snapshot.authenticatorsByName.get(name);
+    }
+
+    /**
+     * Get the authenticator registered with the given name. If several authenticators share the name, the last
+     * registered one is returned.
+     *
+     * @param name Name of the authenticator.
+     * @return Authenticator or null if there is no authenticator with the given name.
+     */
+    public ApplicationAuthenticator getLastAuthenticatorByName(String name) {
+
+        if (name == null) {
+            return null;
+        }
+        return snapshot.lastAuthenticatorsByName.get(name);
+    }
+
+    /**
+     * Get the authenticator registered with the given name, ignoring the case of the name.
+     *
+     * @param name Name of the authenticator.
+     * @return Authenticator or null if there is no authenticator with the given name.
+     */
+    public ApplicationAuthenticator getAuthenticatorByNameIgnoreCase(String name) {
+
+        if (name == null) {
+            return null;
+        }
+        ApplicationAuthenticator authenticator = snapshot.authenticatorsByName.get(name);
+        if (authenticator != null) {
+            return authenticator;
+        }
+        return snapshot.authenticatorsByLowerCaseName.get(name.toLowerCase(Locale.ENGLISH));
+    }
+
+    public List<ApplicationAuthenticator> getLocalAuthenticators() {
+
+        return snapshot.localAuthenticators;
+    }
+
+    public List<ApplicationAuthenticator> getFederatedAuthenticators() {
+
+        return snapshot.federatedAuthenticators;
+    }
+
+    public List<ApplicationAuthenticator> getRequestPathAuthenticators() {
+
+        return snapshot.requestPathAuthenticators;
+    }
+
+    @Override
+    public ApplicationAuthenticator get(int index) {
+
+        return snapshot.authenticators.get(index);
+    }
+
+    @Override
+    public int size() {
+
+        return snapshot.authenticators.size();
+    }
+
+    @Override
+    public synchronized void add(int index, ApplicationAuthenticator authenticator) {
+
+        List<ApplicationAuthenticator> authenticators = new ArrayList<>(snapshot.authenticators);
+        authenticators.add(index, authenticator);
+        publish(authenticators);
+    }
+
+    @Override
+    public synchronized ApplicationAuthenticator set(int index, ApplicationAuthenticator authenticator) {
+
+        List<ApplicationAuthenticator> authenticators = new ArrayList<>(snapshot.authenticators);
+        ApplicationAuthenticator previous = authenticators.set(index, authenticator);
+        publish(authenticators);
+        return previous;
+    }
+
+    @Override
+    public synchronized ApplicationAuthenticator remove(int index) {
+
+        List<ApplicationAuthenticator> authenticators = new ArrayList<>(snapshot.authenticators);
+        ApplicationAuthenticator removed = authenticators.remove(index);
+        publish(authenticators);
+        return removed;
+    }
+
+    @Override
+    public synchronized boolean remove(Object authenticator) {
+
+        List<ApplicationAuthenticator> authenticators = new ArrayList<>(snapshot.authenticators);
+        if (!authenticators.remove(authenticator)) {
+            return false;
+        }
+        publish(authenticators);
+        return true;
+    }
+
+    @Override
+    public synchronized void clear() {
+
+        publish(Collections.emptyList());
+    }
+
+    /**
+     * Iterate over the snapshot taken at the time of the call, hence the iteration is not affected by the concurrent
+     * registrations of the authenticators.
+     */
+    @Override
+    public Iterator<ApplicationAuthenticator> iterator() {
+
+        List<ApplicationAuthenticator> authenticators = snapshot.authenticators;
+        return new Iterator<ApplicationAuthenticator>() {
+
+            private int cursor = 0;
+            private ApplicationAuthenticator lastReturned;
+
+            @Override
+            public boolean hasNext() {
+
+                return cursor < authenticators.size();
+            }
+
+            @Override
+            public ApplicationAuthenticator next() {
+
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                lastReturned = authenticators.get(cursor++);
+                return lastReturned;
+            }
+
+            @Override
+            public void remove() {
+
+                if (lastReturned == null) {
+                    throw new IllegalStateException();
+                }
+                ApplicationAuthenticatorRegistry.this.remove(lastReturned);
+                lastReturned = null;
+            }
+        };
+    }
+
+    private void publish(List<ApplicationAuthenticator> authenticators) {
+
+        modCount++;
+        snapshot = new Snapshot(authenticators);
+    }
+
+    /**
+     * Immutable state of the registry.
+     */
+    private static class Snapshot {
+
+        private final List<ApplicationAuthenticator> authenticators;
+        private final Map<String, ApplicationAuthenticator> authenticatorsByName;
+        private final Map<String, ApplicationAuthenticator> lastAuthenticatorsByName;
+        private final Map<String, ApplicationAuthenticator> authenticatorsByLowerCaseName;
+        private final List<ApplicationAuthenticator> localAuthenticators;
+        private final List<ApplicationAuthenticator> federatedAuthenticators;
+        private final List<ApplicationAuthenticator> requestPathAuthenticators;
+
+        private Snapshot(List<ApplicationAuthenticator> authenticators) {
+
+            Map<String, ApplicationAuthenticator> byName = new HashMap<>();
+            Map<String, ApplicationAuthenticator> lastByName = new HashMap<>();
+            Map<String, ApplicationAuthenticator> byLowerCaseName = new HashMap<>();
+            List<ApplicationAuthenticator> local = new ArrayList<>();
+            List<ApplicationAuthenticator> federated = new ArrayList<>();
+            List<ApplicationAuthenticator> requestPath = new ArrayList<>();
+            for (ApplicationAuthenticator authenticator : authenticators) {
+                String name = authenticator.getName();
+                if (name != null) {
+                    byName.putIfAbsent(name, authenticator);
+                    lastByName.put(name, authenticator);
+                    byLowerCaseName.putIfAbsent(name.toLowerCase(Locale.ENGLISH), authenticator);
+                }
+                if (authenticator instanceof LocalApplicationAuthenticator) {
+                    local.add(authenticator);
+                }
+                if (authenticator instanceof FederatedApplicationAuthenticator) {
+                    federated.add(authenticator);
+                }
+                if (authenticator instanceof RequestPathApplicationAuthenticator) {
+                    requestPath.add(authenticator);
+                }
+            }
+            this.authenticators = Collections.unmodifiableList(new ArrayList<>(authenticators));
+            this.authenticatorsByName = Collections.unmodifiableMap(byName);
+            this.lastAuthenticatorsByName = Collections.unmodifiableMap(lastByName);
+            this.authenticatorsByLowerCaseName = Collections.unmodifiableMap(byLowerCaseName);
+            this.localAuthenticators = Collections.unmodifiableList(local);
+            this.federatedAuthenticators = Collections.unmodifiableList(federated);
+            this.requestPathAuthenticators = Collections.unmodifiableList(requestPath);
+        }
+    }
+}
@@ -76,6 +76,8 @@ import org.wso2.carbon.identity.application.authentication.framework.internal.im
 import org.wso2.carbon.identity.application.authentication.framework.internal.impl.ServerSessionManagementServiceImpl;
 import org.wso2.carbon.identity.application.authentication.framework.internal.impl.UserSessionManagementServiceImpl;
 import org.wso2.carbon.identity.application.authentication.framework.listener.AuthenticationEndpointTenantActivityListener;
+import org.wso2.carbon.identity.application.authentication.framework.listener.SequenceConfigTemplateApplicationMgtListener;
+import org.wso2.carbon.identity.application.authentication.framework.listener.SequenceConfigTemplateIdPMgtListener;
 import org.wso2.carbon.identity.application.authentication.framework.listener.SessionContextMgtListener;
 import org.wso2.carbon.identity.application.authentication.framework.services.PostAuthenticationMgtService;
 import org.wso2.carbon.identity.application.authentication.framework.servlet.CommonAuthenticationServlet;
@@ -95,6 +97,7 @@ import org.wso2.carbon.identity.application.common.model.FederatedAuthenticatorC
 import org.wso2.carbon.identity.application.common.model.LocalAuthenticatorConfig;
 import org.wso2.carbon.identity.application.common.model.Property;
 import org.wso2.carbon.identity.application.common.model.RequestPathAuthenticatorConfig;
+import org.wso2.carbon.identity.application.mgt.listener.ApplicationMgtListener;
 import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataManagementService;
 import org.wso2.carbon.identity.core.handler.HandlerComparator;
 import org.wso2.carbon.identity.core.util.IdentityCoreInitializedEvent;
@@ -268,7 +271,7 @@ public class FrameworkServiceComponent {
         }
 
         if (promptOnLongWait()) {
-            Servlet longWaitStatusServlet = new ContextPathServletAdaptor(new LongWaitStatusServlet(),
+            Servlet longWaitStatusServlet = new ContextPathServletAdaptor(createLongWaitStatusServlet(),
                     LONGWAITSTATUS_SERVLET_URL);
             try {
                 httpService.registerServlet(LONGWAITSTATUS_SERVLET_URL, longWaitStatusServlet, null, null);
@@ -304,6 +307,10 @@ public class FrameworkServiceComponent {
                 new JITProvisioningIdentityProviderMgtListener();
         bundleContext.registerService(IdentityProviderMgtListener.class.getName(),
                 jitProvisioningIDPMgtListener, null);
+        bundleContext.registerService(IdentityProviderMgtListener.class.getName(),
+                new SequenceConfigTemplateIdPMgtListener(), null);
+        bundleContext.registerService(ApplicationMgtListener.class.getName(),
+                new SequenceConfigTemplateApplicationMgtListener(), null);
         bundleContext.registerService(ClaimFilter.class.getName(), new DefaultClaimFilter(), null);
 
         //this is done to load SessionDataStore class and start the cleanup tasks.
@@ -413,6 +420,34 @@ public class FrameworkServiceComponent {
                 .setJsExecutionSupervisor(new JSExecutionSupervisor(threadCount, timeoutInMillis, memoryLimitInBytes));
     }
 
+    private LongWaitStatusServlet createLongWaitStatusServlet() {
+
+        String pollTimeoutString = IdentityUtil.getProperty(
+                FrameworkConstants.AdaptiveAuthentication.CONF_LONG_WAIT_STATUS_POLL_TIMEOUT);
+        long pollTimeoutInMillis = 0;
+        if (StringUtils.isNotBlank(pollTimeoutString)) {
+            try {
+                pollTimeoutInMillis = Long.parseLong(pollTimeoutString);
+            } catch (NumberFormatException e) {
+                log.error("Error while parsing long wait status poll timeout config: " + pollTimeoutString +
+                        ", wait status requests will be answered immediately.", e);
+            }
+        }
+
+        String maxHeldRequestsString = IdentityUtil.getProperty(
+                FrameworkConstants.AdaptiveAuthentication.CONF_LONG_WAIT_STATUS_MAX_HELD_REQUESTS);
+        int maxHeldRequests = FrameworkConstants.AdaptiveAuthentication.DEFAULT_LONG_WAIT_STATUS_MAX_HELD_REQUESTS;
+        if (StringUtils.isNotBlank(maxHeldRequestsString)) {
+            try {
+                maxHeldRequests = Integer.parseInt(maxHeldRequestsString);
+            } catch (NumberFormatException e) {
+                log.error("Error while parsing long wait status max held requests config: " + maxHeldRequestsString
+                        + ", setting max held requests to default value: " + maxHeldRequests, e);
+            }
+        }
+        return new LongWaitStatusServlet(pollTimeoutInMillis, maxHeldRequests);
+    }
+
     @Deactivate
     protected void deactivate(ComponentContext ctxt) {
 
@@ -425,6 +460,9 @@ public class FrameworkServiceComponent {
         if (FrameworkServiceDataHolder.getInstance().getJsExecutionSupervisor() != null) {
             FrameworkServiceDataHolder.getInstance().getJsExecutionSupervisor().shutdown();
         }
+        if (FrameworkServiceDataHolder.getInstance().getAsyncSequenceExecutor() != null) {
+            FrameworkServiceDataHolder.getInstance().getAsyncSequenceExecutor().shutdown();
+        }
     }
 
     @Reference(
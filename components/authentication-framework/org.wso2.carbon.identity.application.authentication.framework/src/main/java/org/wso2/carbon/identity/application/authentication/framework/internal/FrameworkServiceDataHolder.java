@@ -70,7 +70,7 @@ public class FrameworkServiceDataHolder {
     private BundleContext bundleContext = null;
     private RealmService realmService = null;
     private RegistryService registryService = null;
-    private List<ApplicationAuthenticator> authenticators = new ArrayList<>();
+    private final ApplicationAuthenticatorRegistry authenticators = new ApplicationAuthenticatorRegistry();
     private long nanoTimeReference = 0;
     private long unixTimeReference = 0;
     private List<IdentityProcessor> identityProcessors = new ArrayList<>();
@@ -155,6 +155,16 @@ public class FrameworkServiceDataHolder {
         return authenticators;
     }
 
+    /**
+     * Get the registered authenticators along with their indexes by name and type.
+     *
+     * @return Registry of the authenticators.
+     */
+    public ApplicationAuthenticatorRegistry getAuthenticatorRegistry() {
+
+        return authenticators;
+    }
+
     public long getNanoTimeReference() {
 
         return nanoTimeReference;
@@ -23,11 +23,24 @@ import org.apache.juli.logging.Log;
 import org.apache.juli.logging.LogFactory;
 import org.wso2.carbon.identity.application.authentication.framework.ServerSessionManagementService;
 import org.wso2.carbon.identity.application.authentication.framework.cache.SessionContextCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SessionContextCacheEntry;
 import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
 import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
+import org.wso2.carbon.identity.event.IdentityEventConstants;
+import org.wso2.carbon.identity.event.IdentityEventException;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.services.IdentityEventService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * A service to terminate the sessions of federated users
@@ -49,6 +62,52 @@ public class ServerSessionManagementServiceImpl implements ServerSessionManageme
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The session contexts which are not in the cache are read from the database with bulk queries. They are evicted
+     * from the cache in one pass per tenant, the DELETE operations of the persisted session contexts are written with
+     * batched inserts and a single {@link IdentityEventConstants.Event#SESSIONS_TERMINATED} event is fired for all
+     * the terminated sessions.
+     */
+    @Override
+    public boolean removeSessions(List<String> sessionIds) {
+
+        String loginTenantDomain = FrameworkUtils.getLoginTenantDomainFromContext();
+        Map<String, List<String>> sessionIdsByTenantDomain = new HashMap<>();
+        List<String> terminatedSessionIds = new ArrayList<>();
+        Set<String> distinctSessionIds = new LinkedHashSet<>();
+        for (String sessionId : sessionIds) {
+            if (StringUtils.isNotBlank(sessionId)) {
+                distinctSessionIds.add(sessionId);
+            }
+        }
+        Map<String, SessionContextCacheEntry> cacheEntries =
+                SessionContextCache.getInstance().getValuesFromCache(distinctSessionIds, loginTenantDomain);
+        for (String sessionId : distinctSessionIds) {
+            SessionContextCacheEntry cacheEntry = cacheEntries.get(sessionId);
+            SessionContext sessionContext = cacheEntry != null ? cacheEntry.getContext() : null;
+            publishSessionTermination(sessionContext, sessionId);
+            if (sessionContext == null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("The session context is not available for " + sessionId);
+                }
+                continue;
+            }
+            Object tenantDomainObj = sessionContext.getProperty(FrameworkUtils.TENANT_DOMAIN);
+            String tenantDomain = tenantDomainObj != null ? (String) tenantDomainObj : loginTenantDomain;
+            sessionIdsByTenantDomain.computeIfAbsent(tenantDomain, key -> new ArrayList<>()).add(sessionId);
+            terminatedSessionIds.add(sessionId);
+        }
+
+        sessionIdsByTenantDomain.forEach((tenantDomain, tenantSessionIds) ->
+                SessionContextCache.getInstance().clearCacheEntries(tenantSessionIds, tenantDomain));
+        if (!terminatedSessionIds.isEmpty()) {
+            fireSessionsTerminatedEvent(terminatedSessionIds, loginTenantDomain);
+        }
+        return true;
+    }
+
     /**
      * Terminate the session by sessionId
      *
@@ -57,6 +116,23 @@ public class ServerSessionManagementServiceImpl implements ServerSessionManageme
      */
     private void terminateSession(SessionContext sessionContext, String sessionId) {
 
+        publishSessionTermination(sessionContext, sessionId);
+        if (sessionContext == null) {
+            if (log.isDebugEnabled()) {
+                log.debug("The session context is not available for " + sessionId);
+            }
+            return;
+        }
+        Object tenantDomainObj = sessionContext.getProperty(FrameworkUtils.TENANT_DOMAIN);
+        if (tenantDomainObj != null) {
+            SessionContextCache.getInstance().clearCacheEntry(sessionId, (String) tenantDomainObj);
+        } else {
+            SessionContextCache.getInstance().clearCacheEntry(sessionId);
+        }
+    }
+
+    private void publishSessionTermination(SessionContext sessionContext, String sessionId) {
+
         if (FrameworkServiceDataHolder.getInstance().getAuthnDataPublisherProxy() != null && FrameworkServiceDataHolder
                 .getInstance().getAuthnDataPublisherProxy().isEnabled(null) && sessionContext != null) {
 
@@ -68,17 +144,23 @@ public class ServerSessionManagementServiceImpl implements ServerSessionManageme
             FrameworkUtils.publishSessionEvent(sessionId, null, null, sessionContext, authenticatedUser,
                     FrameworkConstants.AnalyticsAttributes.SESSION_TERMINATE);
         }
-        if (sessionContext == null) {
-            if (log.isDebugEnabled()) {
-                log.debug("The session context is not available for " + sessionId);
-            }
+    }
+
+    private void fireSessionsTerminatedEvent(List<String> sessionIds, String tenantDomain) {
+
+        IdentityEventService eventService = FrameworkServiceDataHolder.getInstance().getIdentityEventService();
+        if (eventService == null) {
             return;
         }
-        Object tenantDomainObj = sessionContext.getProperty(FrameworkUtils.TENANT_DOMAIN);
-        if (tenantDomainObj != null) {
-            SessionContextCache.getInstance().clearCacheEntry(sessionId, (String) tenantDomainObj);
-        } else {
-            SessionContextCache.getInstance().clearCacheEntry(sessionId);
+        try {
+            Map<String, Object> eventProperties = new HashMap<>();
+            eventProperties.put(IdentityEventConstants.EventProperty.SESSION_CONTEXT_IDS,
+                    Collections.unmodifiableList(sessionIds));
+            eventProperties.put(IdentityEventConstants.EventProperty.TENANT_DOMAIN, tenantDomain);
+            eventService.handleEvent(new Event(IdentityEventConstants.Event.SESSIONS_TERMINATED, eventProperties));
+        } catch (IdentityEventException e) {
+            log.error("Could not fire event " + IdentityEventConstants.Event.SESSIONS_TERMINATED + " after " +
+                    "terminating " + sessionIds.size() + " sessions.", e);
         }
     }
 }
@@ -18,6 +18,7 @@
 package org.wso2.carbon.identity.application.authentication.framework.internal.impl;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.base.MultitenantConstants;
@@ -45,6 +46,7 @@ import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
 import org.wso2.carbon.user.core.service.RealmService;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.CURRENT_SESSION_IDENTIFIER;
@@ -56,6 +58,8 @@ import static org.wso2.carbon.identity.application.authentication.framework.util
 public class UserSessionManagementServiceImpl implements UserSessionManagementService {
 
     private static final Log log = LogFactory.getLog(UserSessionManagementServiceImpl.class);
+    private static final Comparator<UserSession> LAST_ACCESS_TIME_DESCENDING = Comparator.comparingLong(
+            (UserSession userSession) -> NumberUtils.toLong(userSession.getLastAccessTime())).reversed();
     private SessionManagementService sessionManagementService = new SessionManagementService();
 
     @Override
@@ -148,8 +152,8 @@ public class UserSessionManagementServiceImpl implements UserSessionManagementSe
 
     private void terminateSessionsOfUser(List<String> sessionList) {
 
-        for (String session : sessionList) {
-            sessionManagementService.removeSession(session);
+        if (!sessionList.isEmpty()) {
+            sessionManagementService.removeSessions(sessionList);
         }
     }
 
@@ -176,6 +180,28 @@ public class UserSessionManagementServiceImpl implements UserSessionManagementSe
         return getActiveSessionList(getSessionIdListByUserId(userId));
     }
 
+    @Override
+    public List<UserSession> getSessionsByUserId(String userId, int offset, int limit)
+            throws SessionManagementException {
+
+        if (userId == null || userId.isEmpty()) {
+            throw handleSessionManagementClientException(SessionMgtConstants.ErrorMessages.ERROR_CODE_INVALID_USER,
+                    null);
+        }
+        if (offset < 0 || limit <= 0) {
+            throw handleSessionManagementClientException(SessionMgtConstants.ErrorMessages
+                    .ERROR_CODE_INVALID_PAGINATION, null);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieving the active sessions of user: " + userId + " with offset: " + offset +
+                    " and limit: " + limit + ".");
+        }
+        // The page is selected in the database. Sessions which are no longer active are left out of the page.
+        List<UserSession> sessionsList = getActiveSessionList(getSessionIdListByUserId(userId, offset, limit));
+        sessionsList.sort(LAST_ACCESS_TIME_DESCENDING);
+        return sessionsList;
+    }
+
     @Override
     public boolean terminateSessionsByUserId(String userId) throws SessionManagementException {
 
@@ -321,6 +347,29 @@ public class UserSessionManagementServiceImpl implements UserSessionManagementSe
         }
     }
 
+    /**
+     * Returns a page of the session id list for a given user id, the most recently accessed session first.
+     *
+     * @param userId user id for which the sessions should be retrieved.
+     * @param offset number of sessions to skip.
+     * @param limit  maximum number of session ids to return.
+     * @return the list of session ids
+     * @throws SessionManagementServerException if session Ids can not be retrieved from the database.
+     */
+    private List<String> getSessionIdListByUserId(String userId, int offset, int limit)
+            throws SessionManagementServerException {
+
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug("Retrieving a page of the sessions owned by the user: " + userId + ".");
+            }
+            return UserSessionStore.getInstance().getSessionId(userId, offset, limit);
+        } catch (UserSessionException e) {
+            throw handleSessionManagementServerException(SessionMgtConstants.ErrorMessages
+                    .ERROR_CODE_UNABLE_TO_GET_SESSIONS, userId, e);
+        }
+    }
+
     /**
      * Returns the session id list for a given user.
      *
@@ -351,21 +400,22 @@ public class UserSessionManagementServiceImpl implements UserSessionManagementSe
      */
     private List<UserSession> getActiveSessionList(List<String> sessionIdList) throws SessionManagementServerException {
 
-        List<UserSession> sessionsList = new ArrayList<>();
+        List<String> activeSessionIdList = new ArrayList<>();
+        String loginTenantDomain = FrameworkUtils.getLoginTenantDomainFromContext();
         for (String sessionId : sessionIdList) {
             if (sessionId != null) {
                 SessionContext sessionContext = FrameworkUtils.getSessionContextFromCache(sessionId,
-                        FrameworkUtils.getLoginTenantDomainFromContext());
+                        loginTenantDomain);
                 if (sessionContext != null) {
-                    UserSessionDAO userSessionDTO = new UserSessionDAOImpl();
-                    UserSession userSession = userSessionDTO.getSession(sessionId);
-                    if (userSession != null) {
-                        sessionsList.add(userSession);
-                    }
+                    activeSessionIdList.add(sessionId);
                 }
             }
         }
-        return sessionsList;
+        if (activeSessionIdList.isEmpty()) {
+            return new ArrayList<>();
+        }
+        UserSessionDAO userSessionDAO = new UserSessionDAOImpl();
+        return userSessionDAO.getSessions(activeSessionIdList);
     }
 
     /**
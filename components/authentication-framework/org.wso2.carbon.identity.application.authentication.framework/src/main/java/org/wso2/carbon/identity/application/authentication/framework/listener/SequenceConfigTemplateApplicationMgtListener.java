@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.listener;
+
+import org.wso2.carbon.identity.application.authentication.framework.cache.AuthenticationGraphCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.AuthenticationGraphCacheKey;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SequenceConfigTemplateCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SequenceConfigTemplateCacheKey;
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.mgt.listener.AbstractApplicationMgtListener;
+
+/**
+ * Application management listener which clears the cached sequence configuration templates and authentication graph
+ * templates of the updated and deleted service providers.
+ */
+public class SequenceConfigTemplateApplicationMgtListener extends AbstractApplicationMgtListener {
+
+    @Override
+    public int getDefaultOrderId() {
+
+        return 205;
+    }
+
+    @Override
+    public boolean doPostUpdateApplication(ServiceProvider serviceProvider, String tenantDomain, String userName)
+            throws IdentityApplicationManagementException {
+
+        clearSequenceTemplate(serviceProvider.getApplicationName(), tenantDomain);
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteApplication(String applicationName, String tenantDomain, String userName)
+            throws IdentityApplicationManagementException {
+
+        clearSequenceTemplate(applicationName, tenantDomain);
+        return true;
+    }
+
+    private void clearSequenceTemplate(String applicationName, String tenantDomain) {
+
+        if (applicationName != null) {
+            SequenceConfigTemplateCache.getInstance()
+                    .clearCacheEntry(new SequenceConfigTemplateCacheKey(applicationName), tenantDomain);
+            AuthenticationGraphCache.getInstance()
+                    .clearCacheEntry(new AuthenticationGraphCacheKey(applicationName), tenantDomain);
+        }
+    }
+}
@@ -30,6 +30,8 @@ import org.wso2.carbon.identity.application.authentication.framework.util.Framew
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
 
+import java.util.List;
+
 /**
  * Session management service.
  */
@@ -44,6 +46,13 @@ public class SessionManagementService extends AbstractAdmin {
         return serverSessionManagementService.removeSession(sessionId);
     }
 
+    public boolean removeSessions(List<String> sessionIds) {
+
+        ServerSessionManagementService serverSessionManagementService =
+                FrameworkServiceDataHolder.getInstance().getServerSessionManagementService();
+        return serverSessionManagementService.removeSessions(sessionIds);
+    }
+
     /**
      *
      * Terminates the requested session, after validating whether the session belongs to the logged in user.
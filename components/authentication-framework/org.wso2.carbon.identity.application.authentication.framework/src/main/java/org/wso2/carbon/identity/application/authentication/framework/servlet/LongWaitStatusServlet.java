@@ -30,6 +30,7 @@ import org.wso2.carbon.identity.application.authentication.framework.util.Framew
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.concurrent.Semaphore;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
@@ -38,11 +39,36 @@ import javax.servlet.http.HttpServletResponse;
 
 /**
  * Servlet to get the status of long wait process.
+ * <p>
+ * When a poll timeout is configured, a request for a wait which is still in progress is held until the wait is
+ * completed in this node or the timeout elapses, so that the client receives a single response per status change
+ * instead of polling. The servlet is registered through the HttpService, which does not support asynchronous
+ * processing, hence a held request occupies a container thread and the number of held requests is bounded.
  */
 public class LongWaitStatusServlet extends HttpServlet {
 
     private static final long serialVersionUID = -3714283612680472526L;
     private static final String PROP_WAITING_ID = "waitingId";
+    private static final Gson GSON = new Gson();
+
+    private final long pollTimeout;
+    private final Semaphore heldRequests;
+
+    public LongWaitStatusServlet() {
+
+        this(0, 0);
+    }
+
+    /**
+     * @param pollTimeout     Time in milliseconds to hold a request of a wait in progress. Requests are answered
+     *                        immediately when it is 0.
+     * @param maxHeldRequests Maximum number of requests held at a time. Requests beyond it are answered immediately.
+     */
+    public LongWaitStatusServlet(long pollTimeout, int maxHeldRequests) {
+
+        this.pollTimeout = pollTimeout;
+        this.heldRequests = new Semaphore(Math.max(maxHeldRequests, 0));
+    }
 
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response)
@@ -62,8 +88,7 @@ public class LongWaitStatusServlet extends HttpServlet {
         if (id == null) {
             if (request.getContentType() != null && request.getContentType().startsWith
                     (FrameworkConstants.ContentTypes.TYPE_APPLICATION_JSON)) {
-                Gson gson = new Gson();
-                LongWaitStatusRequest longWaitStatusRequest = gson.fromJson(request.getReader(),
+                LongWaitStatusRequest longWaitStatusRequest = GSON.fromJson(request.getReader(),
                                                                             LongWaitStatusRequest.class);
                 id = longWaitStatusRequest.getWaitId();
             }
@@ -83,6 +108,16 @@ public class LongWaitStatusServlet extends HttpServlet {
                 LongWaitStatus longWaitStatus = null;
                 try {
                     longWaitStatus = longWaitStatusStoreService.getWait(id);
+                    if (LongWaitStatusStoreService.isWaiting(longWaitStatus) && pollTimeout > 0 &&
+                            heldRequests.tryAcquire()) {
+                        try {
+                            longWaitStatus = longWaitStatusStoreService.waitForCompletion(id, pollTimeout);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            heldRequests.release();
+                        }
+                    }
                 } catch (FrameworkException e) {
                     response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 }
@@ -103,7 +138,7 @@ public class LongWaitStatusServlet extends HttpServlet {
         }
 
         response.setContentType(FrameworkConstants.ContentTypes.TYPE_APPLICATION_JSON);
-        String json = new Gson().toJson(longWaitResponse);
+        String json = GSON.toJson(longWaitResponse);
         try (PrintWriter out = response.getWriter()) {
             out.print(json);
             out.flush();
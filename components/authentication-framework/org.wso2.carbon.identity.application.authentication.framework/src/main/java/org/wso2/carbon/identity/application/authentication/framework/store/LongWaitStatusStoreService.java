@@ -24,12 +24,21 @@ import org.wso2.carbon.identity.application.authentication.framework.model.LongW
 
 import java.sql.Timestamp;
 import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * The service holds long wait status.
  */
 public class LongWaitStatusStoreService {
 
+    private final Map<String, Set<CompletableFuture<LongWaitStatus>>> completionListeners =
+            new ConcurrentHashMap<>();
     private LongWaitStatusDAO statusDAO;
     private int connectionTimeout;
 
@@ -56,4 +65,65 @@ public class LongWaitStatusStoreService {
 
         statusDAO.removeWaitStatus(sessionId);
     }
+
+    /**
+     * Block until the wait with the given key is completed in this node or the timeout elapses. Completions in the
+     * other nodes of the cluster are not notified, hence the status is read again from the store on timeout.
+     *
+     * @param sessionId       Key of the wait.
+     * @param timeoutInMillis Maximum time to block.
+     * @return Status of the wait once it is completed or the timeout elapses.
+     * @throws FrameworkException   If the status cannot be read from the store.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public LongWaitStatus waitForCompletion(String sessionId, long timeoutInMillis)
+            throws FrameworkException, InterruptedException {
+
+        CompletableFuture<LongWaitStatus> completion = new CompletableFuture<>();
+        completionListeners.computeIfAbsent(sessionId, key -> ConcurrentHashMap.newKeySet()).add(completion);
+        try {
+            // The wait may have completed before the listener was registered.
+            LongWaitStatus longWaitStatus = getWait(sessionId);
+            if (!isWaiting(longWaitStatus)) {
+                return longWaitStatus;
+            }
+            try {
+                return completion.get(timeoutInMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                return getWait(sessionId);
+            }
+        } finally {
+            completionListeners.computeIfPresent(sessionId, (key, listeners) -> {
+                listeners.remove(completion);
+                return listeners.isEmpty() ? null : listeners;
+            });
+        }
+    }
+
+    /**
+     * Release the requests blocked in {@link #waitForCompletion(String, long)} on the wait with the given key.
+     *
+     * @param sessionId      Key of the wait.
+     * @param longWaitStatus Status of the completed wait.
+     */
+    public void notifyCompletion(String sessionId, LongWaitStatus longWaitStatus) {
+
+        Set<CompletableFuture<LongWaitStatus>> listeners = completionListeners.remove(sessionId);
+        if (listeners != null) {
+            listeners.forEach(listener -> listener.complete(longWaitStatus));
+        }
+    }
+
+    /**
+     * Check whether the given wait is still in progress. A wait added in this node has no status until the async
+     * process returns, while the waits read from the database are either WAITING or COMPLETED.
+     *
+     * @param longWaitStatus Status of the wait.
+     * @return True if the wait is in progress.
+     */
+    public static boolean isWaiting(LongWaitStatus longWaitStatus) {
+
+        return longWaitStatus != null && (longWaitStatus.getStatus() == null ||
+                longWaitStatus.getStatus() == LongWaitStatus.Status.WAITING);
+    }
 }
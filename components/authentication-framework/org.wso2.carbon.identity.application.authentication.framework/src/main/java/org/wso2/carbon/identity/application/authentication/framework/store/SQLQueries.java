@@ -24,6 +24,8 @@ import static org.wso2.carbon.identity.application.authentication.framework.dao.
  */
 public class SQLQueries {
 
+    public static final String SESSION_ID_LIST_PLACEHOLDER = "_SESSION_ID_LIST_";
+
     private static final String SESSION_CONTEXT_CACHE_NAME = "AppAuthFrameworkSessionContextCache";
     private static final String DELETE_OPERATION = "DELETE";
 
@@ -59,6 +61,34 @@ public class SQLQueries {
     public static final String SQL_SELECT_SESSION_ID_OF_USER_ID =
             "SELECT SESSION_ID FROM IDN_AUTH_USER_SESSION_MAPPING WHERE USER_ID = ?";
 
+    // Retrieve a page of the session ids of a user, the most recently accessed first.
+    public static final String SQL_SELECT_SESSION_ID_OF_USER_ID_WITH_LIMIT_OFFSET =
+            "SELECT M.SESSION_ID FROM IDN_AUTH_USER_SESSION_MAPPING M LEFT JOIN IDN_AUTH_SESSION_META_DATA D ON " +
+                    "M.SESSION_ID = D.SESSION_ID AND D.PROPERTY_TYPE = ? WHERE M.USER_ID = ? ORDER BY D.VALUE DESC, " +
+                    "M.SESSION_ID LIMIT ? OFFSET ?";
+
+    public static final String SQL_SELECT_SESSION_ID_OF_USER_ID_WITH_LIMIT_OFFSET_H2 =
+            "SELECT M.SESSION_ID FROM IDN_AUTH_USER_SESSION_MAPPING M LEFT JOIN IDN_AUTH_SESSION_META_DATA D ON " +
+                    "M.SESSION_ID = D.SESSION_ID AND D.PROPERTY_TYPE = ? WHERE M.USER_ID = ? ORDER BY D.`VALUE` " +
+                    "DESC, M.SESSION_ID LIMIT ? OFFSET ?";
+
+    public static final String SQL_SELECT_SESSION_ID_OF_USER_ID_WITH_LIMIT_OFFSET_MSSQL =
+            "SELECT M.SESSION_ID FROM IDN_AUTH_USER_SESSION_MAPPING M LEFT JOIN IDN_AUTH_SESSION_META_DATA D ON " +
+                    "M.SESSION_ID = D.SESSION_ID AND D.PROPERTY_TYPE = ? WHERE M.USER_ID = ? ORDER BY D.VALUE DESC, " +
+                    "M.SESSION_ID OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+
+    public static final String SQL_SELECT_SESSION_ID_OF_USER_ID_WITH_LIMIT_OFFSET_ORACLE =
+            "SELECT SESSION_ID FROM (SELECT SESSION_ID, ROWNUM AS RNUM FROM (SELECT M.SESSION_ID FROM " +
+                    "IDN_AUTH_USER_SESSION_MAPPING M LEFT JOIN IDN_AUTH_SESSION_META_DATA D ON M.SESSION_ID = " +
+                    "D.SESSION_ID AND D.PROPERTY_TYPE = ? WHERE M.USER_ID = ? ORDER BY D.VALUE DESC, M.SESSION_ID) " +
+                    "WHERE ROWNUM <= ?) WHERE RNUM > ?";
+
+    public static final String SQL_SELECT_SESSION_ID_OF_USER_ID_WITH_LIMIT_OFFSET_DB2 =
+            "SELECT SESSION_ID FROM (SELECT M.SESSION_ID, ROW_NUMBER() OVER (ORDER BY D.VALUE DESC, M.SESSION_ID) " +
+                    "AS RN FROM IDN_AUTH_USER_SESSION_MAPPING M LEFT JOIN IDN_AUTH_SESSION_META_DATA D ON " +
+                    "M.SESSION_ID = D.SESSION_ID AND D.PROPERTY_TYPE = ? WHERE M.USER_ID = ?) WHERE RN BETWEEN ? " +
+                    "AND ? ORDER BY RN";
+
     public static final String SQL_SELECT_TERMINATED_SESSION_IDS =
             "SELECT SESSION_ID FROM IDN_AUTH_SESSION_STORE WHERE SESSION_TYPE = '" + SESSION_CONTEXT_CACHE_NAME
                     + "' AND EXPIRY_TIME < ?";
@@ -155,6 +185,18 @@ public class SQLQueries {
     public static final String SQL_GET_APPLICATION = "SELECT ID, APP_NAME, UUID FROM SP_APP WHERE ID IN (" +
             SCOPE_LIST_PLACEHOLDER + ")";
 
+    // Retrieve data of a set of sessions.
+    public static final String SQL_GET_APPS_FOR_SESSION_IDS = "SELECT SESSION_ID, SUBJECT, APP_ID FROM " +
+            "IDN_AUTH_SESSION_APP_INFO WHERE SESSION_ID IN (" + SESSION_ID_LIST_PLACEHOLDER + ")";
+
+    public static final String SQL_GET_PROPERTIES_FROM_SESSION_META_DATA_BY_SESSION_IDS = "SELECT SESSION_ID, " +
+            "PROPERTY_TYPE, VALUE FROM IDN_AUTH_SESSION_META_DATA WHERE SESSION_ID IN (" +
+            SESSION_ID_LIST_PLACEHOLDER + ")";
+
+    public static final String SQL_GET_PROPERTIES_FROM_SESSION_META_DATA_BY_SESSION_IDS_H2 = "SELECT SESSION_ID, " +
+            "PROPERTY_TYPE, `VALUE` FROM IDN_AUTH_SESSION_META_DATA WHERE SESSION_ID IN (" +
+            SESSION_ID_LIST_PLACEHOLDER + ")";
+
     public static final String SQL_GET_SESSIONS_BY_USER = "SELECT SESSION_ID FROM IDN_AUTH_USER_SESSION_MAPPING " +
             "WHERE USER_ID = (SELECT USER_ID FROM IDN_AUTH_USER WHERE USER_NAME =? AND TENANT_ID =? AND " +
             "DOMAIN_NAME =? AND IDP_ID = ?)";
@@ -0,0 +1,476 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
+import org.wso2.carbon.identity.base.IdentityRuntimeException;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incremental cleaner of the session data store tables.
+ * <p>
+ * Instead of removing the expired records with table wide statements, the records are removed in small batches
+ * bounded by ranges of the indexed TIME_CREATED column. The batch size is adapted to the observed latency of the
+ * deletions, the range can be split into partitions which are cleaned in parallel, and the progress is checkpointed
+ * so that a run which is stopped by the time budget or by an error is resumed by the next run.
+ */
+public class SessionDataCleaner {
+
+    private static final Log log = LogFactory.getLog(SessionDataCleaner.class);
+
+    private static final String CONFIG_PREFIX =
+            "JDBCPersistenceManager.SessionDataPersist.SessionDataCleanUp.Incremental.";
+    private static final String INITIAL_BATCH_SIZE = CONFIG_PREFIX + "InitialBatchSize";
+    private static final String MIN_BATCH_SIZE = CONFIG_PREFIX + "MinBatchSize";
+    private static final String TARGET_BATCH_LATENCY = CONFIG_PREFIX + "TargetBatchLatency";
+    private static final String PARTITIONS = CONFIG_PREFIX + "Partitions";
+    private static final String MAX_DURATION = CONFIG_PREFIX + "MaxDuration";
+
+    private static final int DEFAULT_INITIAL_BATCH_SIZE = 500;
+    private static final int DEFAULT_MIN_BATCH_SIZE = 50;
+    private static final int DEFAULT_TARGET_BATCH_LATENCY_IN_MILLIS = 200;
+    private static final int DEFAULT_PARTITIONS = 1;
+    private static final int DEFAULT_MAX_DURATION_IN_MINUTES = 0;
+    private static final String H2_DATABASE = "H2";
+
+    /*
+     * DELETE operations are written by the persistence pool, hence an operation can reach the table after an operation
+     * created later. Operations younger than this are left to the next run so that the checkpoint never passes them.
+     */
+    private static final long DELETE_OPERATION_SETTLE_TIME_IN_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private static final String SQL_SELECT_MIN_TIME_CREATED =
+            "SELECT MIN(TIME_CREATED) FROM IDN_AUTH_SESSION_STORE";
+    private static final String SQL_COUNT_EXPIRED_RECORDS =
+            "SELECT COUNT(*) FROM IDN_AUTH_SESSION_STORE WHERE TIME_CREATED >= ? AND TIME_CREATED < ? AND " +
+                    "EXPIRY_TIME < ?";
+    private static final String SQL_SELECT_EXPIRED_RECORD_TIMES =
+            "SELECT TIME_CREATED FROM IDN_AUTH_SESSION_STORE WHERE TIME_CREATED >= ? AND TIME_CREATED < ? AND " +
+                    "EXPIRY_TIME < ? ORDER BY TIME_CREATED";
+    private static final String SQL_DELETE_EXPIRED_RECORDS =
+            "DELETE FROM IDN_AUTH_SESSION_STORE WHERE TIME_CREATED >= ? AND TIME_CREATED <= ? AND EXPIRY_TIME < ?";
+    private static final String SQL_SELECT_DELETE_OPERATIONS =
+            "SELECT SESSION_ID, TIME_CREATED FROM IDN_AUTH_SESSION_STORE WHERE OPERATION = 'DELETE' AND " +
+                    "TIME_CREATED < ? AND (TIME_CREATED > ? OR (TIME_CREATED = ? AND SESSION_ID > ?)) " +
+                    "ORDER BY TIME_CREATED, SESSION_ID";
+    private static final String SQL_DELETE_STORE_OPERATIONS =
+            "DELETE FROM IDN_AUTH_SESSION_STORE WHERE SESSION_ID = ? AND OPERATION = 'STORE'";
+
+    private final int initialBatchSize;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetBatchLatencyInMillis;
+    private final int partitions;
+    private final long maxDurationInMillis;
+
+    private final Map<String, Long> expiredDataCheckpoints = new ConcurrentHashMap<>();
+    private volatile DeleteOperationsCheckpoint deleteOperationsCheckpoint =
+            new DeleteOperationsCheckpoint(Long.MIN_VALUE, StringUtils.EMPTY);
+
+    /**
+     * @param maxBatchSize Upper bound of the adaptive batch size.
+     */
+    public SessionDataCleaner(int maxBatchSize) {
+
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+        this.minBatchSize = Math.min(readInt(MIN_BATCH_SIZE, DEFAULT_MIN_BATCH_SIZE, 1), this.maxBatchSize);
+        this.initialBatchSize = Math.max(this.minBatchSize,
+                Math.min(readInt(INITIAL_BATCH_SIZE, DEFAULT_INITIAL_BATCH_SIZE, 1), this.maxBatchSize));
+        this.targetBatchLatencyInMillis = readInt(TARGET_BATCH_LATENCY, DEFAULT_TARGET_BATCH_LATENCY_IN_MILLIS, 1);
+        this.partitions = readInt(PARTITIONS, DEFAULT_PARTITIONS, 1);
+        // A max duration of 0 disables the time budget.
+        this.maxDurationInMillis = TimeUnit.MINUTES.toMillis(readInt(MAX_DURATION,
+                DEFAULT_MAX_DURATION_IN_MINUTES, 0));
+    }
+
+    /**
+     * Remove the expired records of the given session store table.
+     *
+     * @param tableName Name of the session store table.
+     */
+    public void removeExpiredData(String tableName) {
+
+        long currentTime = FrameworkUtils.getCurrentStandardNano();
+        long startTime = System.currentTimeMillis();
+        long deadline = maxDurationInMillis > 0 ? startTime + maxDurationInMillis : Long.MAX_VALUE;
+        Long checkpoint = expiredDataCheckpoints.remove(tableName);
+
+        long from;
+        long backlog;
+        int partitionCount;
+        try (Connection connection = IdentityDatabaseUtil.getSessionDBConnection(false)) {
+            if (checkpoint != null) {
+                from = checkpoint;
+            } else {
+                Long minTimeCreated = getMinTimeCreated(connection, tableName);
+                if (minTimeCreated == null) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("No records available in " + tableName + " to clean.");
+                    }
+                    return;
+                }
+                from = minTimeCreated;
+            }
+            backlog = countExpiredRecords(connection, tableName, from, currentTime);
+            partitionCount = isEmbeddedDatabase(connection) ? 1 : partitions;
+        } catch (SQLException | IdentityRuntimeException e) {
+            if (checkpoint != null) {
+                expiredDataCheckpoints.put(tableName, checkpoint);
+            }
+            log.error("Error while preparing the cleanup of expired records of " + tableName, e);
+            return;
+        }
+
+        // Records expire after they are created, hence expired records are created before the current time.
+        long to = currentTime;
+        List<PartitionResult> results = new ArrayList<>();
+        if (partitionCount == 1 || to - from < partitionCount) {
+            results.add(cleanPartition(tableName, from, to, currentTime, deadline));
+        } else {
+            long partitionSize = (to - from) / partitionCount + 1;
+            List<Callable<PartitionResult>> tasks = new ArrayList<>();
+            for (long partitionStart = from; partitionStart < to; partitionStart += partitionSize) {
+                long start = partitionStart;
+                long end = Math.min(to, partitionStart + partitionSize);
+                tasks.add(() -> cleanPartition(tableName, start, end, currentTime, deadline));
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+            try {
+                for (Future<PartitionResult> future : executor.invokeAll(tasks)) {
+                    results.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while cleaning the expired records of " + tableName);
+            } catch (ExecutionException e) {
+                log.error("Error while cleaning the expired records of " + tableName, e);
+            } finally {
+                executor.shutdownNow();
+            }
+            if (results.size() < tasks.size()) {
+                // Results of some partitions are not known. Start over from the beginning of this run.
+                results.add(new PartitionResult(0, from, false));
+            }
+        }
+
+        long removed = 0;
+        Long resumeFrom = null;
+        for (PartitionResult result : results) {
+            removed += result.removed;
+            if (!result.completed && (resumeFrom == null || result.cursor < resumeFrom)) {
+                resumeFrom = result.cursor;
+            }
+        }
+        if (resumeFrom != null) {
+            expiredDataCheckpoints.put(tableName, resumeFrom);
+        }
+        report(tableName, removed, backlog, System.currentTimeMillis() - startTime, resumeFrom != null);
+    }
+
+    /**
+     * Remove the STORE operations of the sessions having a DELETE operation. DELETE operations are walked in the order
+     * of their creation time and session id from the checkpoint of the previous run, so that operations created at the
+     * same time are neither skipped nor revisited across batches.
+     */
+    public void removeInvalidatedStoreOperations() {
+
+        long startTime = System.currentTimeMillis();
+        long deadline = maxDurationInMillis > 0 ? startTime + maxDurationInMillis : Long.MAX_VALUE;
+        long to = FrameworkUtils.getCurrentStandardNano() - DELETE_OPERATION_SETTLE_TIME_IN_NANOS;
+        DeleteOperationsCheckpoint cursor = deleteOperationsCheckpoint;
+        int batchSize = initialBatchSize;
+        long removed = 0;
+        boolean completed = false;
+
+        try (Connection connection = IdentityDatabaseUtil.getSessionDBConnection(true)) {
+            try {
+                while (!isPastDeadline(deadline)) {
+                    long batchStartTime = System.currentTimeMillis();
+                    List<String> sessionIds = new ArrayList<>();
+                    DeleteOperationsCheckpoint lastOperation = null;
+                    try (PreparedStatement statement = connection.prepareStatement(SQL_SELECT_DELETE_OPERATIONS)) {
+                        statement.setMaxRows(batchSize);
+                        statement.setLong(1, to);
+                        statement.setLong(2, cursor.timeCreated);
+                        statement.setLong(3, cursor.timeCreated);
+                        statement.setString(4, cursor.sessionId);
+                        try (ResultSet resultSet = statement.executeQuery()) {
+                            while (resultSet.next()) {
+                                String sessionId = resultSet.getString(1);
+                                sessionIds.add(sessionId);
+                                lastOperation = new DeleteOperationsCheckpoint(resultSet.getLong(2), sessionId);
+                            }
+                        }
+                    }
+                    if (sessionIds.isEmpty()) {
+                        completed = true;
+                        break;
+                    }
+                    try (PreparedStatement statement = connection.prepareStatement(SQL_DELETE_STORE_OPERATIONS)) {
+                        for (String sessionId : sessionIds) {
+                            statement.setString(1, sessionId);
+                            statement.addBatch();
+                        }
+                        for (int count : statement.executeBatch()) {
+                            removed += Math.max(count, 0);
+                        }
+                    }
+                    IdentityDatabaseUtil.commitTransaction(connection);
+                    /*
+                     * DELETE operations of the same session created at the same time for different session types
+                     * can be split by the batch boundary. The ones left out are covered, as the STORE operations are
+                     * removed by the session id.
+                     */
+                    cursor = lastOperation;
+                    deleteOperationsCheckpoint = cursor;
+                    batchSize = adaptBatchSize(batchSize, System.currentTimeMillis() - batchStartTime);
+                }
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                log.error("Error while removing STORE operation data from the database.", e);
+            }
+        } catch (SQLException | IdentityRuntimeException e) {
+            log.error("Error while obtaining the db connection to remove STORE operation data.", e);
+        }
+        report("invalidated STORE operations", removed, -1, System.currentTimeMillis() - startTime, !completed);
+    }
+
+    private PartitionResult cleanPartition(String tableName, long from, long to, long currentTime, long deadline) {
+
+        long cursor = from;
+        int batchSize = initialBatchSize;
+        long removed = 0;
+        try (Connection connection = IdentityDatabaseUtil.getSessionDBConnection(true)) {
+            try {
+                while (cursor < to) {
+                    if (isPastDeadline(deadline)) {
+                        return new PartitionResult(removed, cursor, false);
+                    }
+                    long batchStartTime = System.currentTimeMillis();
+                    long batchEnd = getBatchEnd(connection, tableName, cursor, to, currentTime, batchSize);
+                    if (batchEnd < 0) {
+                        break;
+                    }
+                    try (PreparedStatement statement = connection.prepareStatement(
+                            getQuery(SQL_DELETE_EXPIRED_RECORDS, tableName))) {
+                        statement.setLong(1, cursor);
+                        statement.setLong(2, batchEnd);
+                        statement.setLong(3, currentTime);
+                        removed += statement.executeUpdate();
+                    }
+                    IdentityDatabaseUtil.commitTransaction(connection);
+                    cursor = batchEnd + 1;
+                    batchSize = adaptBatchSize(batchSize, System.currentTimeMillis() - batchStartTime);
+                }
+                return new PartitionResult(removed, to, true);
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                log.error("Error while removing expired records of " + tableName + " created after: " + cursor, e);
+            }
+        } catch (SQLException | IdentityRuntimeException e) {
+            log.error("Error while obtaining the db connection to remove expired records of " + tableName, e);
+        }
+        return new PartitionResult(removed, cursor, false);
+    }
+
+    /**
+     * Check whether the session store is an embedded H2 database. Embedded databases are cleaned in a single
+     * partition.
+     */
+    boolean isEmbeddedDatabase(Connection connection) throws SQLException {
+
+        return connection.getMetaData().getDriverName().contains(H2_DATABASE);
+    }
+
+    /**
+     * Check whether the time budget of the current run is exhausted. Checked before each batch.
+     */
+    boolean isPastDeadline(long deadline) {
+
+        return System.currentTimeMillis() >= deadline;
+    }
+
+    Long getExpiredDataCheckpoint(String tableName) {
+
+        return expiredDataCheckpoints.get(tableName);
+    }
+
+    long getDeleteOperationsCheckpointTime() {
+
+        return deleteOperationsCheckpoint.timeCreated;
+    }
+
+    String getDeleteOperationsCheckpointSessionId() {
+
+        return deleteOperationsCheckpoint.sessionId;
+    }
+
+    /**
+     * Get the creation time of the last expired record of the next batch.
+     *
+     * @return Creation time of the last expired record of the batch or -1 if there are no expired records left.
+     */
+    private long getBatchEnd(Connection connection, String tableName, long from, long to, long currentTime,
+                             int batchSize) throws SQLException {
+
+        long batchEnd = -1;
+        try (PreparedStatement statement = connection.prepareStatement(
+                getQuery(SQL_SELECT_EXPIRED_RECORD_TIMES, tableName))) {
+            statement.setMaxRows(batchSize);
+            statement.setLong(1, from);
+            statement.setLong(2, to);
+            statement.setLong(3, currentTime);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    batchEnd = resultSet.getLong(1);
+                }
+            }
+        }
+        return batchEnd;
+    }
+
+    private Long getMinTimeCreated(Connection connection, String tableName) throws SQLException {
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                getQuery(SQL_SELECT_MIN_TIME_CREATED, tableName));
+             ResultSet resultSet = statement.executeQuery()) {
+            if (resultSet.next()) {
+                long minTimeCreated = resultSet.getLong(1);
+                return resultSet.wasNull() ? null : minTimeCreated;
+            }
+        }
+        return null;
+    }
+
+    private long countExpiredRecords(Connection connection, String tableName, long from, long currentTime)
+            throws SQLException {
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                getQuery(SQL_COUNT_EXPIRED_RECORDS, tableName))) {
+            statement.setLong(1, from);
+            statement.setLong(2, currentTime);
+            statement.setLong(3, currentTime);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Halve the batch size when a batch takes longer than the target latency and grow it gradually when batches
+     * complete well within the target.
+     */
+    private int adaptBatchSize(int batchSize, long batchLatencyInMillis) {
+
+        if (batchLatencyInMillis > targetBatchLatencyInMillis) {
+            return Math.max(minBatchSize, batchSize / 2);
+        }
+        if (batchLatencyInMillis < targetBatchLatencyInMillis / 2) {
+            return Math.min(maxBatchSize, batchSize + Math.max(batchSize / 4, 1));
+        }
+        return batchSize;
+    }
+
+    private void report(String target, long removed, long backlog, long durationInMillis, boolean stopped) {
+
+        long removedPerSecond = durationInMillis > 0 ? removed * 1000 / durationInMillis : removed;
+        StringBuilder message = new StringBuilder()
+                .append("Removed ").append(removed).append(" records of ").append(target).append(" in ")
+                .append(durationInMillis).append(" ms (").append(removedPerSecond).append(" records/s).");
+        if (backlog >= 0) {
+            message.append(" Expired records at the start: ").append(backlog).append('.');
+        }
+        if (stopped) {
+            message.append(" Cleanup did not complete and will be resumed by the next run.");
+        }
+        log.info(message.toString());
+    }
+
+    private static String getQuery(String query, String tableName) {
+
+        return query.replace(SessionDataStore.DEFAULT_SESSION_STORE_TABLE_NAME, tableName);
+    }
+
+    private static int readInt(String property, int defaultValue, int minValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            int parsedValue = Integer.parseInt(value.trim());
+            if (parsedValue >= minValue) {
+                return parsedValue;
+            }
+        } catch (NumberFormatException e) {
+            // Logged below.
+        }
+        log.warn("Invalid value: " + value + " configured for " + property + ". Using the default value: " +
+                defaultValue);
+        return defaultValue;
+    }
+
+    private static class PartitionResult {
+
+        private final long removed;
+        private final long cursor;
+        private final boolean completed;
+
+        private PartitionResult(long removed, long cursor, boolean completed) {
+
+            this.removed = removed;
+            this.cursor = cursor;
+            this.completed = completed;
+        }
+    }
+
+    /**
+     * Creation time and session id of the last processed DELETE operation.
+     */
+    private static class DeleteOperationsCheckpoint {
+
+        private final long timeCreated;
+        private final String sessionId;
+
+        private DeleteOperationsCheckpoint(long timeCreated, String sessionId) {
+
+            this.timeCreated = timeCreated;
+            this.sessionId = sessionId;
+        }
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.identity.application.authentication.framework.store;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -35,6 +36,7 @@ import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInput;
@@ -42,6 +44,15 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -63,6 +74,12 @@ public class SessionDataStore {
     private static final String SQL_INSERT_STORE_OPERATION =
             "INSERT INTO IDN_AUTH_SESSION_STORE(SESSION_ID, SESSION_TYPE, OPERATION, SESSION_OBJECT, TIME_CREATED, " +
                     "EXPIRY_TIME, TENANT_ID) VALUES (?,?,?,?,?,?,?)";
+    private static final String SQL_SELECT_OPERATIONS_OF_SESSIONS =
+            "SELECT SESSION_ID, OPERATION, TIME_CREATED FROM IDN_AUTH_SESSION_STORE WHERE SESSION_TYPE = ? AND " +
+                    "SESSION_ID IN (%s)";
+    private static final String SQL_DESERIALIZE_OBJECTS =
+            "SELECT SESSION_ID, SESSION_OBJECT, TIME_CREATED FROM IDN_AUTH_SESSION_STORE WHERE SESSION_TYPE = ? AND " +
+                    "OPERATION = '" + OPERATION_STORE + "' AND (%s)";
     private static final String SQL_INSERT_DELETE_OPERATION =
             "INSERT INTO IDN_AUTH_SESSION_STORE(SESSION_ID, SESSION_TYPE,OPERATION, TIME_CREATED, EXPIRY_TIME) " +
                     "VALUES (?,?,?,?,?)";
@@ -127,6 +144,8 @@ public class SessionDataStore {
     private static final String INFORMIX_DATABASE = "Informix";
 
     private static final int DEFAULT_DELETE_LIMIT = 50000;
+    private static final int DELETE_OPERATION_BATCH_SIZE = 1000;
+    private static final int MAX_SESSION_IDS_PER_QUERY = 100;
     public static final String DEFAULT_SESSION_STORE_TABLE_NAME = "IDN_AUTH_SESSION_STORE";
     private static final String CACHE_MANAGER_NAME = "IdentityApplicationManagementCacheManager";
     public static final String DEFAULT_TEMP_SESSION_STORE_TABLE_NAME = "IDN_AUTH_TEMP_SESSION_STORE";
@@ -147,6 +166,7 @@ public class SessionDataStore {
     private boolean sessionDataCleanupEnabled = true;
     private boolean operationDataCleanupEnabled = false;
     private static boolean tempDataCleanupEnabled = false;
+    private SessionDataCleaner sessionDataCleaner;
 
     static {
         try {
@@ -253,6 +273,11 @@ public class SessionDataStore {
             sqlDeleteExpiredDataTask = String.format(deleteExpiredDataTaskSQL, deleteChunkSize);
         }
 
+        if (Boolean.parseBoolean(IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist" +
+                ".SessionDataCleanUp.Incremental.Enable"))) {
+            sessionDataCleaner = new SessionDataCleaner(deleteChunkSize);
+        }
+
         if (!enablePersist) {
             log.info("Session Data Persistence of Authentication framework is not enabled.");
         }
@@ -355,6 +380,97 @@ public class SessionDataStore {
         return null;
     }
 
+    /**
+     * Get the data of the given keys. The latest operation of each key is resolved first, and only the latest stored
+     * objects are then read, so that the older versions of the objects are not loaded.
+     *
+     * @param keys Keys of the data.
+     * @param type Type of the data.
+     * @return Data of the keys which are stored, mapped by the key.
+     */
+    public Map<String, SessionContextDO> getSessionContextData(Collection<String> keys, String type) {
+
+        Map<String, SessionContextDO> sessionContextData = new HashMap<>();
+        if (!enablePersist || keys.isEmpty()) {
+            return sessionContextData;
+        }
+        List<String> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+        try (Connection connection = IdentityDatabaseUtil.getSessionDBConnection(false)) {
+            for (int fromIndex = 0; fromIndex < distinctKeys.size(); fromIndex += MAX_SESSION_IDS_PER_QUERY) {
+                List<String> chunk = distinctKeys.subList(fromIndex,
+                        Math.min(fromIndex + MAX_SESSION_IDS_PER_QUERY, distinctKeys.size()));
+                Map<String, Long> storedTimes = getLatestStoreOperationTimes(connection, chunk, type);
+                if (!storedTimes.isEmpty()) {
+                    readSessionContextData(connection, storedTimes, type, sessionContextData);
+                }
+            }
+        } catch (IdentityRuntimeException | ClassNotFoundException | IOException | SQLException |
+                SessionSerializerException | IdentityApplicationManagementException e) {
+            log.error("Error while retrieving session data of " + keys.size() + " keys", e);
+        }
+        return sessionContextData;
+    }
+
+    private Map<String, Long> getLatestStoreOperationTimes(Connection connection, List<String> keys, String type)
+            throws SQLException {
+
+        Map<String, Long> latestTimes = new HashMap<>();
+        Set<String> deletedKeys = new HashSet<>();
+        String sql = String.format(SQL_SELECT_OPERATIONS_OF_SESSIONS, String.join(", ",
+                Collections.nCopies(keys.size(), "?")));
+        try (PreparedStatement preparedStatement = connection.prepareStatement(getSessionStoreDBQuery(sql, type))) {
+            preparedStatement.setString(1, type);
+            int index = 2;
+            for (String key : keys) {
+                preparedStatement.setString(index++, key);
+            }
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    String key = resultSet.getString(1);
+                    boolean isDelete = OPERATION_DELETE.equals(resultSet.getString(2));
+                    long timeCreated = resultSet.getLong(3);
+                    Long latestTime = latestTimes.get(key);
+                    // A DELETE operation wins over a STORE operation created at the same time.
+                    if (latestTime == null || timeCreated > latestTime ||
+                            (timeCreated == latestTime && isDelete)) {
+                        latestTimes.put(key, timeCreated);
+                        if (isDelete) {
+                            deletedKeys.add(key);
+                        } else {
+                            deletedKeys.remove(key);
+                        }
+                    }
+                }
+            }
+        }
+        latestTimes.keySet().removeAll(deletedKeys);
+        return latestTimes;
+    }
+
+    private void readSessionContextData(Connection connection, Map<String, Long> storedTimes, String type,
+                                        Map<String, SessionContextDO> sessionContextData)
+            throws SQLException, ClassNotFoundException, IOException, SessionSerializerException,
+            IdentityApplicationManagementException {
+
+        String sql = String.format(SQL_DESERIALIZE_OBJECTS, String.join(" OR ",
+                Collections.nCopies(storedTimes.size(), "(SESSION_ID = ? AND TIME_CREATED = ?)")));
+        try (PreparedStatement preparedStatement = connection.prepareStatement(getSessionStoreDBQuery(sql, type))) {
+            preparedStatement.setString(1, type);
+            int index = 2;
+            for (Map.Entry<String, Long> storedTime : storedTimes.entrySet()) {
+                preparedStatement.setString(index++, storedTime.getKey());
+                preparedStatement.setLong(index++, storedTime.getValue());
+            }
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    String key = resultSet.getString(1);
+                    sessionContextData.put(key, new SessionContextDO(key, type,
+                            getBlobObject(resultSet.getBinaryStream(2)), resultSet.getLong(3)));
+                }
+            }
+        }
+    }
+
     public void storeSessionData(String key, String type, Object entry) {
 
         storeSessionData(key, type, entry, MultitenantConstants.INVALID_TENANT_ID);
@@ -372,6 +488,39 @@ public class SessionDataStore {
         }
     }
 
+    /**
+     * Store session data which is already serialized with {@link #serializeSessionData(Object)}. This lets the caller
+     * inspect the serialized form before it is written, without serializing the entry twice.
+     *
+     * @param key                Key of the session data.
+     * @param type               Type of the session data.
+     * @param serializedEntry    Serialized session data entry.
+     * @param validityPeriodNano Validity period of the entry in nanoseconds, or 0 to use the default cleanup timeout.
+     * @param tenantId           Tenant id of the session data.
+     */
+    public void storeSerializedSessionData(String key, String type, byte[] serializedEntry, long validityPeriodNano,
+                                           int tenantId) {
+
+        storeSessionData(key, type, new SerializedSessionData(serializedEntry, validityPeriodNano), tenantId);
+    }
+
+    /**
+     * Serialize a session data entry the same way it is written to the store.
+     *
+     * @param entry Session data entry.
+     * @return Serialized entry.
+     * @throws SessionSerializerException If the entry could not be serialized.
+     */
+    public byte[] serializeSessionData(Object entry) throws SessionSerializerException {
+
+        try (InputStream inputStream = FrameworkServiceDataHolder.getInstance().getSessionSerializer()
+                .serializeSessionObject(entry)) {
+            return IOUtils.toByteArray(inputStream);
+        } catch (IOException e) {
+            throw new SessionSerializerException("Error while reading the serialized session object", e);
+        }
+    }
+
     public void clearSessionData(String key, String type) {
         if (!enablePersist) {
             return;
@@ -384,6 +533,28 @@ public class SessionDataStore {
         }
     }
 
+    /**
+     * Clear the data of the given keys. Unlike {@link #clearSessionData(String, String)}, the DELETE operations are
+     * not queued but written straight away with batched inserts, so that terminating a large number of sessions does
+     * not flood the persistence queue.
+     *
+     * @param keys Keys of the data to be cleared.
+     * @param type Type of the data.
+     */
+    public void clearSessionData(Collection<String> keys, String type) {
+
+        if (!enablePersist || keys.isEmpty()) {
+            return;
+        }
+        if (tempDataCleanupEnabled && isTempCache(type)) {
+            for (String key : keys) {
+                clearSessionData(key, type);
+            }
+            return;
+        }
+        removeSessionData(keys, type);
+    }
+
     /**
      * Method to stop running tasks, when the component is deactivated.
      */
@@ -470,6 +641,18 @@ public class SessionDataStore {
      */
     public void removeExpiredSessionData() {
 
+        if (sessionDataCleaner != null) {
+            if (sessionDataCleanupEnabled) {
+                sessionDataCleaner.removeExpiredData(DEFAULT_SESSION_STORE_TABLE_NAME);
+            }
+            if (tempDataCleanupEnabled) {
+                sessionDataCleaner.removeExpiredData(DEFAULT_TEMP_SESSION_STORE_TABLE_NAME);
+            }
+            if (operationDataCleanupEnabled) {
+                sessionDataCleaner.removeInvalidatedStoreOperations();
+            }
+            return;
+        }
         if (StringUtils.isBlank(sqlDeleteExpiredDataTask)) {
             try {
                 sqlDeleteExpiredDataTask = getDBSpecificSessionDataRemovalQuery();
@@ -513,6 +696,8 @@ public class SessionDataStore {
 
         if (entry instanceof CacheEntry) {
             validityPeriodNano = ((CacheEntry) entry).getValidityPeriod();
+        } else if (entry instanceof SerializedSessionData) {
+            validityPeriodNano = ((SerializedSessionData) entry).validityPeriodNano;
         }
 
         if (validityPeriodNano == 0L) {
@@ -585,6 +770,52 @@ public class SessionDataStore {
         }
     }
 
+    private void removeSessionData(Collection<String> keys, String type) {
+
+        Connection connection;
+        try {
+            connection = IdentityDatabaseUtil.getSessionDBConnection(true);
+        } catch (IdentityRuntimeException e) {
+            log.error(e.getMessage(), e);
+            return;
+        }
+        PreparedStatement preparedStatement = null;
+
+        long cleanupTimeout = getCleanupTimeout(type, MultitenantConstants.INVALID_TENANT_ID);
+        long nanoTime = 0;
+        try {
+            preparedStatement = connection.prepareStatement(getSessionStoreDBQuery(sqlInsertDELETE, type));
+            int batchCount = 0;
+            for (String key : keys) {
+                // Each operation gets its own creation time, as if it was written through the persistence queue.
+                nanoTime = Math.max(nanoTime + 1, FrameworkUtils.getCurrentStandardNano());
+                long timeoutNano = nanoTime + cleanupTimeout;
+                preparedStatement.setString(1, key);
+                preparedStatement.setString(2, type);
+                preparedStatement.setString(3, OPERATION_DELETE);
+                preparedStatement.setLong(4, nanoTime);
+                preparedStatement.setLong(5, timeoutNano);
+                preparedStatement.addBatch();
+                if (++batchCount % DELETE_OPERATION_BATCH_SIZE == 0) {
+                    preparedStatement.executeBatch();
+                }
+            }
+            if (batchCount % DELETE_OPERATION_BATCH_SIZE != 0) {
+                preparedStatement.executeBatch();
+            }
+            IdentityDatabaseUtil.commitTransaction(connection);
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            log.error("Error while storing DELETE operations of session data", e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, null, preparedStatement);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Removed " + keys.size() + " SessionContextData entries from DB. type : " + type);
+        }
+    }
+
     /**
      * Removes temporary authn context data from the table if temporary data cleanup is enabled.
      *
@@ -620,7 +851,10 @@ public class SessionDataStore {
 
     private void setBlobObject(PreparedStatement prepStmt, Object value, int index)
             throws SQLException, IOException, SessionSerializerException {
-        if (value != null) {
+        if (value instanceof SerializedSessionData) {
+            byte[] data = ((SerializedSessionData) value).data;
+            prepStmt.setBinaryStream(index, new ByteArrayInputStream(data), data.length);
+        } else if (value != null) {
             InputStream inputStream = FrameworkServiceDataHolder.getInstance().
                     getSessionSerializer().serializeSessionObject(value);
             prepStmt.setBinaryStream(index, inputStream, inputStream.available());
@@ -720,4 +954,19 @@ public class SessionDataStore {
         }
     }
 
+
+    /**
+     * Session data entry which is serialized before handing over to the store.
+     */
+    private static class SerializedSessionData {
+
+        private final byte[] data;
+        private final long validityPeriodNano;
+
+        SerializedSessionData(byte[] data, long validityPeriodNano) {
+
+            this.data = data;
+            this.validityPeriodNano = validityPeriodNano;
+        }
+    }
 }
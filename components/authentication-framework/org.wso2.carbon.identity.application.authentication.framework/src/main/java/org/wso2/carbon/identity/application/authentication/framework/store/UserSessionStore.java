@@ -413,6 +413,59 @@ public class UserSessionStore {
         return sessionIdList;
     }
 
+    /**
+     * Method to get a page of the session Id list of a given user Id. The sessions are ordered by the last access
+     * time, the most recently accessed session first.
+     *
+     * @param userId id of the user
+     * @param offset number of sessions to skip
+     * @param limit  maximum number of session ids to return
+     * @return the list of session ids
+     * @throws UserSessionException if an error occurs when retrieving the session id list from the database
+     */
+    public List<String> getSessionId(String userId, int offset, int limit) throws UserSessionException {
+
+        List<String> sessionIdList = new ArrayList<>();
+        try (Connection connection = IdentityDatabaseUtil.getSessionDBConnection(false)) {
+            String sqlStmt;
+            long firstBound;
+            long secondBound;
+            if (JdbcUtils.isOracleDB(JdbcUtils.Database.SESSION)) {
+                sqlStmt = SQLQueries.SQL_SELECT_SESSION_ID_OF_USER_ID_WITH_LIMIT_OFFSET_ORACLE;
+                firstBound = (long) offset + limit;
+                secondBound = offset;
+            } else if (JdbcUtils.isDB2DB(JdbcUtils.Database.SESSION)) {
+                sqlStmt = SQLQueries.SQL_SELECT_SESSION_ID_OF_USER_ID_WITH_LIMIT_OFFSET_DB2;
+                firstBound = (long) offset + 1;
+                secondBound = (long) offset + limit;
+            } else if (JdbcUtils.isMSSqlDB(JdbcUtils.Database.SESSION)) {
+                sqlStmt = SQLQueries.SQL_SELECT_SESSION_ID_OF_USER_ID_WITH_LIMIT_OFFSET_MSSQL;
+                firstBound = offset;
+                secondBound = limit;
+            } else {
+                sqlStmt = JdbcUtils.isH2(JdbcUtils.Database.SESSION) ?
+                        SQLQueries.SQL_SELECT_SESSION_ID_OF_USER_ID_WITH_LIMIT_OFFSET_H2 :
+                        SQLQueries.SQL_SELECT_SESSION_ID_OF_USER_ID_WITH_LIMIT_OFFSET;
+                firstBound = limit;
+                secondBound = offset;
+            }
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sqlStmt)) {
+                preparedStatement.setString(1, SessionMgtConstants.LAST_ACCESS_TIME);
+                preparedStatement.setString(2, userId);
+                preparedStatement.setLong(3, firstBound);
+                preparedStatement.setLong(4, secondBound);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        sessionIdList.add(resultSet.getString(1));
+                    }
+                }
+            }
+        } catch (SQLException | DataAccessException e) {
+            throw new UserSessionException("Error while retrieving session Id of user Id: " + userId, e);
+        }
+        return sessionIdList;
+    }
+
     /**
      * Removes all the expired session records from relevant tables.
      */
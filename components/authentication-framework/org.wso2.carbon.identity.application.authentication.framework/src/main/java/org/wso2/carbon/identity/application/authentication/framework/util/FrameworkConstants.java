@@ -280,6 +280,13 @@ public abstract class FrameworkConstants {
         public static final String USER_SESSION_MAPPING_ENABLED =
                 "JDBCPersistenceManager.SessionDataPersist.UserSessionMapping.Enable";
 
+        /**
+         * Configuration to skip rewriting an authentication context whose serialized state is identical to the state
+         * last stored.
+         */
+        public static final String SKIP_UNCHANGED_CONTEXT_PERSISTENCE =
+                "JDBCPersistenceManager.SessionDataPersist.SkipUnchangedContext.Enable";
+
         /**
          * Configuration to enable publishing the active session count in analytics event.
          */
@@ -292,6 +299,12 @@ public abstract class FrameworkConstants {
         public static final String PRESERVE_LOGGED_IN_SESSION_AT_PASSWORD_UPDATE =
                 "PasswordUpdate.PreserveLoggedInSession";
 
+        /**
+         * Configuration to retrieve all the local claims of a user in the claim handler, instead of only the claims
+         * required by the service provider.
+         */
+        public static final String RETRIEVE_ALL_LOCAL_CLAIMS = "ClaimHandler.RetrieveAllLocalClaims";
+
         /**
          * Configuration to avoid deleting claim mapping during existing claim mapping syncing process with idp claims.
          */
@@ -488,6 +501,8 @@ public abstract class FrameworkConstants {
         public static final String JS_FUNC_CALL_AND_WAIT = "callAndWait";
         public static final String JS_CALL_AND_WAIT_STATUS = "callAndWaitReturnStatus";
         public static final String JS_CALL_AND_WAIT_DATA = "callAndWaitReturnData";
+        public static final String JS_CALL_AND_WAIT_TIMEOUT_OUTCOME = "onTimeout";
+        public static final String JS_CALL_AND_WAIT_ERROR_OUTCOME = "callAndWaitError";
         public static final String JS_FUNC_SELECT_ACR_FROM = "selectAcrFrom";
         public static final String JS_LOG = "Log";
         public static final String JS_FUNC_SEND_ERROR = "sendError";
@@ -548,6 +563,26 @@ public abstract class FrameworkConstants {
     public static class AdaptiveAuthentication {
 
         public static final String ADAPTIVE_AUTH_LONG_WAIT_TIMEOUT = "AdaptiveAuth.LongWaitTimeout";
+        public static final String CONF_LONG_WAIT_STATUS_POLL_TIMEOUT = "AdaptiveAuth.LongWaitStatus.PollTimeout";
+        public static final String CONF_LONG_WAIT_STATUS_MAX_HELD_REQUESTS =
+                "AdaptiveAuth.LongWaitStatus.MaxHeldRequests";
+        public static final int DEFAULT_LONG_WAIT_STATUS_MAX_HELD_REQUESTS = 50;
+        public static final String CONF_AUTHENTICATION_GRAPH_CACHE_ENABLE =
+                "AdaptiveAuth.AuthenticationGraphCache.Enable";
+        public static final String CONF_ASYNC_SEQUENCE_EXECUTOR_POOL_SIZE =
+                "AdaptiveAuth.AsyncSequenceExecutorPoolSize";
+        public static final String CONF_ASYNC_SEQUENCE_EXECUTOR_QUEUE_SIZE =
+                "AdaptiveAuth.AsyncSequenceExecutor.QueueSize";
+        public static final String CONF_ASYNC_SEQUENCE_EXECUTOR_RETURN_POOL_SIZE =
+                "AdaptiveAuth.AsyncSequenceExecutor.ReturnPoolSize";
+        public static final String CONF_ASYNC_SEQUENCE_EXECUTOR_RETURN_QUEUE_SIZE =
+                "AdaptiveAuth.AsyncSequenceExecutor.ReturnQueueSize";
+        public static final String CONF_ASYNC_SEQUENCE_EXECUTOR_CALL_TIMEOUT =
+                "AdaptiveAuth.AsyncSequenceExecutor.CallTimeout";
+        public static final String CONF_ASYNC_SEQUENCE_EXECUTOR_MAX_TENANT_CALLS =
+                "AdaptiveAuth.AsyncSequenceExecutor.MaxConcurrentCallsPerTenant";
+        public static final int DEFAULT_ASYNC_SEQUENCE_EXECUTOR_POOL_SIZE = 5;
+        public static final int DEFAULT_ASYNC_SEQUENCE_EXECUTOR_QUEUE_SIZE = 1000;
         public static final String CONF_EXECUTION_SUPERVISOR_ENABLE =
                 "AdaptiveAuth.ExecutionSupervisor.Enable";
         public static final String CONF_EXECUTION_SUPERVISOR_THREAD_COUNT =
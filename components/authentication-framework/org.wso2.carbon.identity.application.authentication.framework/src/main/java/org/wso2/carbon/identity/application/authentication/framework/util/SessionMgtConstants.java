@@ -63,7 +63,10 @@ public class SessionMgtConstants {
                 "Session ID is not provided to perform session termination."),
         ERROR_CODE_UNABLE_TO_GET_APP_DATA("USM-10010",
                 "SQL Error",
-                "Error while retrieving application data.");
+                "Error while retrieving application data."),
+        ERROR_CODE_INVALID_PAGINATION("USM-10011",
+                "Invalid pagination parameters",
+                "Offset must not be negative and limit must be positive.");
 
         private final String code;
         private final String message;
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.reflect.Whitebox;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.store.SessionDataStore;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.identity.common.testng.WithCarbonHome;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.testutil.powermock.PowerMockIdentityBaseTest;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+/**
+ * Unit tests of skipping the identical rewrites of authentication contexts in {@link AuthenticationContextCache}.
+ */
+@WithCarbonHome
+@PrepareForTest({IdentityUtil.class, IdentityTenantUtil.class, SessionDataStore.class})
+public class AuthenticationContextCacheTest extends PowerMockIdentityBaseTest {
+
+    private static final String CACHE_NAME = "AuthenticationContextCache";
+    private static final long TEMP_DATA_CLEANUP_TIMEOUT_IN_MINUTES = 40;
+
+    private SessionDataStore sessionDataStore;
+    private AuthenticationContextCache authenticationContextCache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.Temporary")).thenReturn("true");
+        when(IdentityUtil.getProperty(FrameworkConstants.Config.SKIP_UNCHANGED_CONTEXT_PERSISTENCE))
+                .thenReturn("true");
+        when(IdentityUtil.getTempDataCleanUpTimeout()).thenReturn(TEMP_DATA_CLEANUP_TIMEOUT_IN_MINUTES);
+        mockStatic(IdentityTenantUtil.class);
+        when(IdentityTenantUtil.getTenantId(anyString())).thenReturn(MultitenantConstants.SUPER_TENANT_ID);
+        when(IdentityTenantUtil.getTenantDomain(anyInt()))
+                .thenReturn(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+
+        sessionDataStore = mock(SessionDataStore.class);
+        when(sessionDataStore.serializeSessionData(any())).thenAnswer(
+                invocation -> serialize(invocation.getArguments()[0]));
+        mockStatic(SessionDataStore.class);
+        when(SessionDataStore.getInstance()).thenReturn(sessionDataStore);
+
+        authenticationContextCache = Whitebox.invokeConstructor(AuthenticationContextCache.class);
+    }
+
+    @Test
+    public void testUnchangedContextIsNotStoredAgain() {
+
+        AuthenticationContext context = createContext();
+        AuthenticationContextCacheKey key = new AuthenticationContextCacheKey("context-1");
+
+        authenticationContextCache.addToCache(key, new AuthenticationContextCacheEntry(context));
+        authenticationContextCache.addToCache(key, new AuthenticationContextCacheEntry(context));
+        verifyStored("context-1", 1);
+
+        context.setProperty("step", "2");
+        authenticationContextCache.addToCache(key, new AuthenticationContextCacheEntry(context));
+        verifyStored("context-1", 2);
+    }
+
+    @Test
+    public void testUnchangedContextIsStoredAfterHalfOfValidityPeriod() {
+
+        AuthenticationContext context = createContext();
+        AuthenticationContextCacheKey key = new AuthenticationContextCacheKey("context-2");
+
+        authenticationContextCache.addToCache(key, new AuthenticationContextCacheEntry(context));
+        // Move the last store back by more than half of the validity period.
+        long lastStoredTime = System.currentTimeMillis() -
+                TimeUnit.MINUTES.toMillis(TEMP_DATA_CLEANUP_TIMEOUT_IN_MINUTES / 2 + 1);
+        context.setPersistedState(context.getPersistedStateDigest(), lastStoredTime);
+        authenticationContextCache.addToCache(key, new AuthenticationContextCacheEntry(context));
+        verifyStored("context-2", 2);
+    }
+
+    @Test
+    public void testUnchangedContextIsStoredAfterRemoval() {
+
+        AuthenticationContext context = createContext();
+        AuthenticationContextCacheKey key = new AuthenticationContextCacheKey("context-3");
+
+        authenticationContextCache.addToCache(key, new AuthenticationContextCacheEntry(context));
+        authenticationContextCache.clearCacheEntry(key);
+        verify(sessionDataStore).clearSessionData("context-3", CACHE_NAME);
+
+        // The DELETE operation written by the removal must not remain the latest operation of the context.
+        authenticationContextCache.addToCache(key, new AuthenticationContextCacheEntry(context));
+        verifyStored("context-3", 2);
+    }
+
+    @Test
+    public void testUnchangedContextIsStoredUnderAnotherKey() {
+
+        AuthenticationContext context = createContext();
+
+        authenticationContextCache.addToCache(new AuthenticationContextCacheKey("prompt-id"),
+                new AuthenticationContextCacheEntry(context));
+        authenticationContextCache.addToCache(new AuthenticationContextCacheKey("context-4"),
+                new AuthenticationContextCacheEntry(context));
+        verifyStored("prompt-id", 1);
+        verifyStored("context-4", 1);
+    }
+
+    private AuthenticationContext createContext() {
+
+        AuthenticationContext context = new AuthenticationContext();
+        context.setTenantDomain(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        context.setProperty("step", "1");
+        return context;
+    }
+
+    private void verifyStored(String contextId, int times) {
+
+        verify(sessionDataStore, times(times)).storeSerializedSessionData(eq(contextId), eq(CACHE_NAME),
+                any(byte[].class), anyLong(), anyInt());
+    }
+
+    private static byte[] serialize(Object entry) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
+            objectOutputStream.writeObject(entry);
+        }
+        return outputStream.toByteArray();
+    }
+}
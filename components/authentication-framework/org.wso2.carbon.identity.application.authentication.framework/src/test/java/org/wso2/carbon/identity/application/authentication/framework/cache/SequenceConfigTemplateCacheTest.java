@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.ApplicationAuthenticator;
+import org.wso2.carbon.identity.application.authentication.framework.LocalApplicationAuthenticator;
+import org.wso2.carbon.identity.application.authentication.framework.config.loader.UIBasedConfigurationLoader;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.SequenceConfig;
+import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
+import org.wso2.carbon.identity.application.authentication.framework.listener.SequenceConfigTemplateApplicationMgtListener;
+import org.wso2.carbon.identity.application.authentication.framework.listener.SequenceConfigTemplateIdPMgtListener;
+import org.wso2.carbon.identity.application.common.model.AuthenticationStep;
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.identity.application.common.model.LocalAndOutboundAuthenticationConfig;
+import org.wso2.carbon.identity.application.common.model.LocalAuthenticatorConfig;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Unit tests of caching the sequence configuration templates in {@link SequenceConfigTemplateCache}.
+ */
+@PrepareForTest({SequenceConfigTemplateCache.class, AuthenticationGraphCache.class})
+public class SequenceConfigTemplateCacheTest extends PowerMockTestCase {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String APPLICATION_NAME = "TestApplication";
+    private static final String AUTHENTICATOR_NAME = "BasicAuthenticator";
+
+    private final Map<String, SequenceConfigTemplateCacheEntry> cachedTemplates = new HashMap<>();
+    private SequenceConfigTemplateCache sequenceConfigTemplateCache;
+    private AuthenticationGraphCache authenticationGraphCache;
+    private ApplicationAuthenticator authenticator;
+    private UIBasedConfigurationLoader loader;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        cachedTemplates.clear();
+        sequenceConfigTemplateCache = mock(SequenceConfigTemplateCache.class);
+        when(sequenceConfigTemplateCache.getValueFromCache(any(SequenceConfigTemplateCacheKey.class), anyString()))
+                .thenAnswer(invocation -> cachedTemplates.get(getCacheKey(invocation.getArguments())));
+        doAnswer(invocation -> cachedTemplates.put(getCacheKey(invocation.getArguments()),
+                (SequenceConfigTemplateCacheEntry) invocation.getArguments()[1]))
+                .when(sequenceConfigTemplateCache).addToCache(any(SequenceConfigTemplateCacheKey.class),
+                any(SequenceConfigTemplateCacheEntry.class), anyString());
+        doAnswer(invocation -> cachedTemplates.remove(getCacheKey(invocation.getArguments())))
+                .when(sequenceConfigTemplateCache).clearCacheEntry(any(SequenceConfigTemplateCacheKey.class),
+                anyString());
+        doAnswer(invocation -> {
+            cachedTemplates.keySet().removeIf(key -> key.startsWith(invocation.getArguments()[0] + ":"));
+            return null;
+        }).when(sequenceConfigTemplateCache).clear(anyString());
+        mockStatic(SequenceConfigTemplateCache.class);
+        when(SequenceConfigTemplateCache.getInstance()).thenReturn(sequenceConfigTemplateCache);
+        authenticationGraphCache = mock(AuthenticationGraphCache.class);
+        mockStatic(AuthenticationGraphCache.class);
+        when(AuthenticationGraphCache.getInstance()).thenReturn(authenticationGraphCache);
+
+        authenticator = mock(LocalApplicationAuthenticator.class);
+        when(authenticator.getName()).thenReturn(AUTHENTICATOR_NAME);
+        FrameworkServiceDataHolder.getInstance().getAuthenticatorRegistry().add(authenticator);
+        loader = new UIBasedConfigurationLoader();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        FrameworkServiceDataHolder.getInstance().getAuthenticatorRegistry().remove(authenticator);
+    }
+
+    @Test
+    public void testSequenceTemplateCacheHit() throws Exception {
+
+        ServiceProvider serviceProvider = getServiceProvider();
+        SequenceConfig sequenceConfig = loader.getSequence(serviceProvider, TENANT_DOMAIN);
+        SequenceConfigTemplateCacheEntry cacheEntry = cachedTemplates.get(TENANT_DOMAIN + ":" + APPLICATION_NAME);
+
+        SequenceConfig cachedSequenceConfig = loader.getSequence(serviceProvider, TENANT_DOMAIN);
+        assertSame(cachedTemplates.get(TENANT_DOMAIN + ":" + APPLICATION_NAME), cacheEntry,
+                "The template should be reused for the same service provider instance.");
+        verify(sequenceConfigTemplateCache, times(1)).addToCache(any(SequenceConfigTemplateCacheKey.class),
+                any(SequenceConfigTemplateCacheEntry.class), anyString());
+        assertEquals(cachedSequenceConfig.getStepMap().keySet(), sequenceConfig.getStepMap().keySet());
+        assertSame(cachedSequenceConfig.getStepMap().get(1).getAuthenticatorList().get(0)
+                .getApplicationAuthenticator(), authenticator);
+        assertNotSame(cachedSequenceConfig.getStepMap().get(1), sequenceConfig.getStepMap().get(1),
+                "Step configurations should be copied for each request.");
+    }
+
+    @Test
+    public void testSequenceTemplateCacheMissOnChangedSteps() throws Exception {
+
+        ServiceProvider serviceProvider = getServiceProvider();
+        loader.getSequence(serviceProvider, TENANT_DOMAIN);
+        SequenceConfigTemplateCacheEntry cacheEntry = cachedTemplates.get(TENANT_DOMAIN + ":" + APPLICATION_NAME);
+
+        // A service provider loaded again holds new step instances.
+        ServiceProvider reloadedServiceProvider = getServiceProvider();
+        reloadedServiceProvider.getLocalAndOutBoundAuthenticationConfig().setAuthenticationSteps(
+                new AuthenticationStep[]{getAuthenticationStep(1), getAuthenticationStep(2)});
+        SequenceConfig sequenceConfig = loader.getSequence(reloadedServiceProvider, TENANT_DOMAIN);
+
+        assertNotSame(cachedTemplates.get(TENANT_DOMAIN + ":" + APPLICATION_NAME), cacheEntry,
+                "The template should be rebuilt when the steps change.");
+        assertEquals(sequenceConfig.getStepMap().size(), 2);
+    }
+
+    @Test
+    public void testSequenceTemplateInvalidatedOnApplicationUpdate() throws Exception {
+
+        ServiceProvider serviceProvider = getServiceProvider();
+        loader.getSequence(serviceProvider, TENANT_DOMAIN);
+
+        SequenceConfigTemplateApplicationMgtListener listener = new SequenceConfigTemplateApplicationMgtListener();
+        listener.doPostUpdateApplication(serviceProvider, TENANT_DOMAIN, "admin");
+        assertNull(cachedTemplates.get(TENANT_DOMAIN + ":" + APPLICATION_NAME));
+        verify(authenticationGraphCache).clearCacheEntry(new AuthenticationGraphCacheKey(APPLICATION_NAME),
+                TENANT_DOMAIN);
+
+        loader.getSequence(serviceProvider, TENANT_DOMAIN);
+        listener.doPostDeleteApplication(APPLICATION_NAME, TENANT_DOMAIN, "admin");
+        assertNull(cachedTemplates.get(TENANT_DOMAIN + ":" + APPLICATION_NAME));
+    }
+
+    @Test
+    public void testSequenceTemplatesInvalidatedOnIdPUpdate() throws Exception {
+
+        SequenceConfigTemplateIdPMgtListener listener = new SequenceConfigTemplateIdPMgtListener();
+        ServiceProvider serviceProvider = getServiceProvider();
+
+        loader.getSequence(serviceProvider, TENANT_DOMAIN);
+        listener.doPostUpdateIdP("IdP", new IdentityProvider(), TENANT_DOMAIN);
+        assertNull(cachedTemplates.get(TENANT_DOMAIN + ":" + APPLICATION_NAME));
+
+        loader.getSequence(serviceProvider, TENANT_DOMAIN);
+        listener.doPostDeleteIdP("IdP", TENANT_DOMAIN);
+        assertNull(cachedTemplates.get(TENANT_DOMAIN + ":" + APPLICATION_NAME));
+        verify(authenticationGraphCache, times(2)).clear(TENANT_DOMAIN);
+    }
+
+    private ServiceProvider getServiceProvider() {
+
+        ServiceProvider serviceProvider = new ServiceProvider();
+        serviceProvider.setApplicationName(APPLICATION_NAME);
+        LocalAndOutboundAuthenticationConfig localAndOutboundAuthenticationConfig =
+                new LocalAndOutboundAuthenticationConfig();
+        localAndOutboundAuthenticationConfig.setAuthenticationSteps(
+                new AuthenticationStep[]{getAuthenticationStep(1)});
+        serviceProvider.setLocalAndOutBoundAuthenticationConfig(localAndOutboundAuthenticationConfig);
+        return serviceProvider;
+    }
+
+    private AuthenticationStep getAuthenticationStep(int stepOrder) {
+
+        LocalAuthenticatorConfig localAuthenticatorConfig = new LocalAuthenticatorConfig();
+        localAuthenticatorConfig.setName(AUTHENTICATOR_NAME);
+        AuthenticationStep authenticationStep = new AuthenticationStep();
+        authenticationStep.setStepOrder(stepOrder);
+        authenticationStep.setLocalAuthenticatorConfigs(new LocalAuthenticatorConfig[]{localAuthenticatorConfig});
+        return authenticationStep;
+    }
+
+    private static String getCacheKey(Object[] arguments) {
+
+        String tenantDomain = (String) arguments[arguments.length - 1];
+        return tenantDomain + ":" + ((SequenceConfigTemplateCacheKey) arguments[0]).getApplicationName();
+    }
+}
@@ -18,7 +18,7 @@ package org.wso2.carbon.identity.application.authentication.framework.config.mod
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.junit.Assert;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.HashMap;
@@ -46,13 +46,13 @@ public class JSExecutionSupervisorTest {
 
             JSExecutionMonitorData result = supervisor.completed(identifier);
 
-            Assert.assertNotNull("The execution monitor result should not be null.", result);
+            Assert.assertNotNull(result, "The execution monitor result should not be null.");
             long elapsedTime = result.getElapsedTime();
-            Assert.assertTrue("Elapsed time should equal or greater than " + executionDuration
-                    + " but the recorded elapsed time is: " + elapsedTime, elapsedTime >= executionDuration);
+            Assert.assertTrue(elapsedTime >= executionDuration, "Elapsed time should equal or greater than " +
+                    executionDuration + " but the recorded elapsed time is: " + elapsedTime);
             long consumedMemory = result.getConsumedMemory();
-            Assert.assertTrue("Conusumed memory should be greater than 0. Consumed memory: " + consumedMemory,
-                    consumedMemory > 0);
+            Assert.assertTrue(consumedMemory > 0,
+                    "Conusumed memory should be greater than 0. Consumed memory: " + consumedMemory);
         } catch (Exception e) {
             LOG.error(e.getMessage(), e);
             Assert.fail("This is within the valid execution period but the monitor has killed the thread. " +
@@ -62,6 +62,53 @@ public class JSExecutionSupervisorTest {
         }
     }
 
+    @Test
+    public void testLatencyHistogram() {
+
+        JSExecutionSupervisor supervisor = new JSExecutionSupervisor(1, 2000L);
+        try {
+            String identifier = UUID.randomUUID().toString();
+            supervisor.monitor(identifier, "dummySP", "dummyTenant", 0L);
+            Assert.assertEquals(supervisor.getExecutionsInProgress(), 1);
+            supervisor.completed(identifier);
+            Assert.assertEquals(supervisor.getExecutionsInProgress(), 0);
+
+            JSExecutionSupervisor.LatencyHistogram histogram = supervisor.getLatencyHistogram("dummyTenant",
+                    "dummySP");
+            Assert.assertEquals(histogram.getCount(), 1L);
+            Assert.assertEquals(histogram.getBucketCounts().length, histogram.getBucketUpperBounds().length + 1);
+            Assert.assertTrue(supervisor.getLatencyHistograms().containsKey("dummyTenant:dummySP"));
+        } finally {
+            supervisor.shutdown();
+        }
+    }
+
+    @Test
+    public void testLatencyHistogramsBounded() {
+
+        JSExecutionSupervisor supervisor = new JSExecutionSupervisor(1, 2000L);
+        try {
+            for (int i = 0; i <= JSExecutionSupervisor.MAX_LATENCY_HISTOGRAMS; i++) {
+                String identifier = UUID.randomUUID().toString();
+                supervisor.monitor(identifier, "dummySP" + i, "dummyTenant", 0L);
+                supervisor.completed(identifier);
+            }
+
+            Assert.assertEquals(supervisor.getLatencyHistograms().size(), JSExecutionSupervisor.MAX_LATENCY_HISTOGRAMS);
+            Assert.assertEquals(supervisor.getOverflowLatencyHistogram().getCount(), 1L);
+            Assert.assertEquals(supervisor.getLatencyHistogram("dummyTenant", "dummySP0").getCount(), 1L);
+        } finally {
+            supervisor.shutdown();
+        }
+    }
+
+    @Test
+    public void testNonPositiveTimeout() {
+
+        JSExecutionSupervisor supervisor = new JSExecutionSupervisor(1, 0L);
+        supervisor.shutdown();
+    }
+
     @Test
     public void testTimeBasedMonitorNegative() throws InterruptedException {
 
@@ -81,8 +128,8 @@ public class JSExecutionSupervisorTest {
             // Sleeping until the test completes.
             Thread.sleep(300L);
 
-            Assert.assertFalse("The monitor should have killed the testExecutionThread but it didn't happen.",
-                    testExecutionThread.isAlive());
+            Assert.assertFalse(testExecutionThread.isAlive(),
+                    "The monitor should have killed the testExecutionThread but it didn't happen.");
         } finally {
             supervisor.shutdown();
         }
@@ -102,8 +149,8 @@ public class JSExecutionSupervisorTest {
             JSExecutionMonitorData result = supervisor.completed(identifier);
             long totalElapsedTime = result.getElapsedTime();
             long totalExecutionDuration = elapsedTime + executionDuration;
-            Assert.assertTrue("Elapsed time should be equal or greater than " + executionDuration
-                    + " but the recorded elapsed time is: " + elapsedTime, totalElapsedTime >= totalExecutionDuration);
+            Assert.assertTrue(totalElapsedTime >= totalExecutionDuration, "Elapsed time should be equal or greater " +
+                    "than " + executionDuration + " but the recorded elapsed time is: " + elapsedTime);
         } catch (Exception e) {
             LOG.error(e.getMessage(), e);
             Assert.fail("This is within the valid execution period but the monitor has killed the thread. " +
@@ -135,8 +182,8 @@ public class JSExecutionSupervisorTest {
             testExecutionThread.start();
             // Sleeping until the test completes.
             Thread.sleep(300L);
-            Assert.assertFalse("The monitor should have killed the testExecutionThread but it didn't happen.",
-                    testExecutionThread.isAlive());
+            Assert.assertFalse(testExecutionThread.isAlive(),
+                    "The monitor should have killed the testExecutionThread but it didn't happen.");
         } finally {
             if (testExecutionThread != null && testExecutionThread.isAlive()) {
                 testExecutionThread.interrupt();
@@ -157,8 +204,8 @@ public class JSExecutionSupervisorTest {
             supervisor.monitor(identifier, "dummySP", "dummyTenant", 0L, consumedMemory);
             JSExecutionMonitorData result = supervisor.completed(identifier);
             long totalConsumedMemory = result.getConsumedMemory();
-            Assert.assertTrue("Consumed memory should be greater than " + consumedMemory + " but the recorded " +
-                    "consumed memory is: " + totalConsumedMemory, totalConsumedMemory >= consumedMemory);
+            Assert.assertTrue(totalConsumedMemory >= consumedMemory, "Consumed memory should be greater than " +
+                    consumedMemory + " but the recorded consumed memory is: " + totalConsumedMemory);
         } catch (Exception e) {
             LOG.error(e.getMessage(), e);
             Assert.fail("This is within the valid execution period but the monitor has killed the thread. " +
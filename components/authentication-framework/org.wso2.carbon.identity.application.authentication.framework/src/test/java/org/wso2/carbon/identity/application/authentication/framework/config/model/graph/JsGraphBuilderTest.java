@@ -19,6 +19,7 @@
 package org.wso2.carbon.identity.application.authentication.framework.config.model.graph;
 
 import org.mockito.Mock;
+import org.powermock.reflect.Whitebox;
 import org.testng.annotations.AfterTest;
 import org.testng.annotations.BeforeTest;
 import org.testng.annotations.DataProvider;
@@ -42,11 +43,18 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.script.Bindings;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.powermock.api.mockito.PowerMockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -116,6 +124,99 @@ public class JsGraphBuilderTest extends AbstractFrameworkTest {
         assertTrue(firstStep.getNext() instanceof StepConfigGraphNode);
     }
 
+    @Test
+    public void testCreateTemplate() throws Exception {
+
+        String script = "var onLoginRequest = function(context) { executeStep(1, { onSuccess : function(context) {"
+                + "executeStep(2);}})};";
+
+        ServiceProvider sp1 = getTestServiceProvider("js-sp-1.xml");
+        AuthenticationContext context = getAuthenticationContext(sp1);
+
+        Map<Integer, StepConfig> stepConfigMap = new HashMap<>();
+        stepConfigMap.put(1, new StepConfig());
+        stepConfigMap.put(2, new StepConfig());
+
+        JsGraphBuilder jsGraphBuilder = jsGraphBuilderFactory.createBuilder(context, stepConfigMap);
+        AuthenticationGraph graph = jsGraphBuilder.createWith(script).build();
+        AuthenticationGraphTemplate graphTemplate = jsGraphBuilder.createTemplate();
+        assertNotNull(graphTemplate);
+
+        AuthenticationGraph instantiatedGraph = graphTemplate.instantiate(getAuthenticationContext(sp1));
+        assertTrue(instantiatedGraph.getStartNode() instanceof StepConfigGraphNode);
+        StepConfigGraphNode firstStep = (StepConfigGraphNode) instantiatedGraph.getStartNode();
+        StepConfigGraphNode originalFirstStep = (StepConfigGraphNode) graph.getStartNode();
+        assertNotSame(firstStep, originalFirstStep);
+        assertNotSame(firstStep.getStepConfig(), originalFirstStep.getStepConfig());
+        assertTrue(firstStep.getNext() instanceof DynamicDecisionNode);
+        assertEquals(((DynamicDecisionNode) firstStep.getNext()).getFunctionMap().keySet(),
+                ((DynamicDecisionNode) originalFirstStep.getNext()).getFunctionMap().keySet());
+        assertNotSame(graphTemplate.instantiate(getAuthenticationContext(sp1)).getStartNode(), firstStep);
+    }
+
+    @Test
+    public void testCreateTemplateForRequestDependentScript() throws Exception {
+
+        String script = "var onLoginRequest = function(context) { if (context.serviceProviderName) { executeStep(1);"
+                + "} else { executeStep(2); }};";
+
+        ServiceProvider sp1 = getTestServiceProvider("js-sp-1.xml");
+        AuthenticationContext context = getAuthenticationContext(sp1);
+
+        Map<Integer, StepConfig> stepConfigMap = new HashMap<>();
+        stepConfigMap.put(1, new StepConfig());
+        stepConfigMap.put(2, new StepConfig());
+
+        JsGraphBuilder jsGraphBuilder = jsGraphBuilderFactory.createBuilder(context, stepConfigMap);
+        jsGraphBuilder.createWith(script).build();
+        assertNull(jsGraphBuilder.createTemplate());
+    }
+
+    @Test
+    public void testRestoreReferencedBindings() throws Exception {
+
+        ServiceProvider sp1 = getTestServiceProvider("js-sp-1.xml");
+        AuthenticationContext context = getAuthenticationContext(sp1);
+        Map<String, Object> persistedBindings = new HashMap<>();
+        persistedBindings.put("helper", new SerializableJsFunction("function() { return limit; }", true));
+        persistedBindings.put("limit", 3);
+        persistedBindings.put("unused", new SerializableJsFunction("function() { return 1; }", true));
+        JsGraphBuilderFactory.setPersistedCurrentContext(context, persistedBindings);
+
+        ScriptEngine engine = jsGraphBuilderFactory.createEngine(context);
+        JsGraphBuilderFactory.restoreCurrentContext(context, engine, "function(context) { return helper(); }");
+        Bindings bindings = engine.getBindings(ScriptContext.ENGINE_SCOPE);
+        assertTrue(bindings.containsKey("helper"));
+        assertTrue(bindings.containsKey("limit"));
+        assertFalse(bindings.containsKey("unused"));
+
+        JsGraphBuilderFactory.persistCurrentContext(context, engine);
+        Map<String, Object> persistedAgain = JsGraphBuilderFactory.getPersistedCurrentContext(context);
+        assertEquals(persistedAgain.keySet(), persistedBindings.keySet());
+        assertSame(persistedAgain.get("helper"), persistedBindings.get("helper"));
+        assertSame(persistedAgain.get("unused"), persistedBindings.get("unused"));
+    }
+
+    @Test
+    public void testRestoreAllBindings() throws Exception {
+
+        ServiceProvider sp1 = getTestServiceProvider("js-sp-1.xml");
+        AuthenticationContext context = getAuthenticationContext(sp1);
+        Map<String, Object> persistedBindings = new HashMap<>();
+        persistedBindings.put("helper", new SerializableJsFunction("function() { return 1; }", true));
+        persistedBindings.put("limit", 3);
+        JsGraphBuilderFactory.setPersistedCurrentContext(context, persistedBindings);
+
+        ScriptEngine engine = jsGraphBuilderFactory.createEngine(context);
+        JsGraphBuilderFactory.restoreCurrentContext(context, engine);
+        Bindings bindings = engine.getBindings(ScriptContext.ENGINE_SCOPE);
+        assertTrue(bindings.containsKey("helper"));
+        assertTrue(bindings.containsKey("limit"));
+        // Nothing is left behind in the thread, as there is no guarantee that the caller persists the context.
+        ThreadLocal<?> restoredBindings = Whitebox.getInternalState(JsGraphBuilderFactory.class, "RESTORED_BINDINGS");
+        assertNull(restoredBindings.get());
+    }
+
     @Test
     public void testCreateJavascript() throws Exception {
 
@@ -26,6 +26,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import org.wso2.carbon.identity.application.authentication.framework.model.FederatedUserSession;
+import org.wso2.carbon.identity.application.authentication.framework.model.UserSession;
 import org.wso2.carbon.identity.common.testng.WithH2Database;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.testutil.powermock.PowerMockIdentityBaseTest;
@@ -35,7 +36,9 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.sql.DataSource;
@@ -54,6 +57,7 @@ public class UserSessionDAOImplTest extends PowerMockIdentityBaseTest {
 
     private static Map<String, BasicDataSource> dataSourceMap = new HashMap<>();
     private static final String DB_NAME = "testOIDCSLO";
+    private static final String SESSIONS_DB_NAME = "testUserSessions";
     private static final String SESSION_CONTEXT_KEY
             = "02278824dfe9862d265e389365c0a71c365401672491b78c6ee7dd6fc44d8af4";
     private static final String IDP_SESSION_INDEX = "15043ffc-877d-4205-af41-9b107f7da38c";
@@ -149,4 +153,46 @@ public class UserSessionDAOImplTest extends PowerMockIdentityBaseTest {
         assertEquals(federatedUserSession.getAuthenticatorName(), AUTHENTICATOR_ID);
         assertEquals(federatedUserSession.getProtocolType(), PROTOCOL_TYPE);
     }
+
+    @Test
+    public void testGetSessions() throws Exception {
+
+        initiateH2Base(SESSIONS_DB_NAME, getFilePath("h2.sql"));
+        try (Connection connection = getConnection(SESSIONS_DB_NAME)) {
+            connection.createStatement().executeUpdate("INSERT INTO SP_APP (ID, TENANT_ID, APP_NAME, USER_STORE, " +
+                    "USERNAME, AUTH_TYPE, UUID) VALUES (1, -1234, 'app1', 'PRIMARY', 'admin', 'default', " +
+                    "'a3d4e1b2-7c35-4b8e-9f6a-0d2c1e5f4a01')");
+            connection.createStatement().executeUpdate("INSERT INTO SP_APP (ID, TENANT_ID, APP_NAME, USER_STORE, " +
+                    "USERNAME, AUTH_TYPE, UUID) VALUES (2, -1234, 'app2', 'PRIMARY', 'admin', 'default', " +
+                    "'a3d4e1b2-7c35-4b8e-9f6a-0d2c1e5f4a02')");
+            connection.createStatement().executeUpdate("INSERT INTO IDN_AUTH_SESSION_APP_INFO (SESSION_ID, SUBJECT, " +
+                    "APP_ID, INBOUND_AUTH_TYPE) VALUES ('session1', 'user', 1, 'oauth2'), ('session1', 'user', 2, " +
+                    "'samlsso'), ('session2', 'user', 2, 'oauth2'), ('session3', 'user', 3, 'oauth2')");
+            connection.createStatement().executeUpdate("INSERT INTO IDN_AUTH_SESSION_META_DATA (SESSION_ID, " +
+                    "PROPERTY_TYPE, `VALUE`) VALUES ('session1', 'IP', '127.0.0.1'), ('session1', 'Last Access " +
+                    "Time', '1600000000000'), ('session2', 'IP', '127.0.0.2'), ('session2', 'Last Access Time', " +
+                    "'1600000001000')");
+        }
+
+        DataSource dataSource = mock(DataSource.class);
+        mockStatic(IdentityDatabaseUtil.class);
+        when(IdentityDatabaseUtil.getDataSource()).thenReturn(dataSource);
+        when(IdentityDatabaseUtil.getSessionDataSource()).thenReturn(dataSource);
+        when(IdentityDatabaseUtil.getDBConnection(false)).thenAnswer(invocation -> getConnection(SESSIONS_DB_NAME));
+        when(dataSource.getConnection()).thenAnswer(invocation -> getConnection(SESSIONS_DB_NAME));
+
+        List<UserSession> userSessions = userSessionDAO.getSessions(Arrays.asList("session2", "session1",
+                "session3", "session4"));
+
+        // Sessions without any existing application are not returned.
+        assertEquals(userSessions.size(), 2);
+        assertEquals(userSessions.get(0).getSessionId(), "session2");
+        assertEquals(userSessions.get(0).getIp(), "127.0.0.2");
+        assertEquals(userSessions.get(0).getLastAccessTime(), "1600000001000");
+        assertEquals(userSessions.get(0).getApplications().size(), 1);
+        assertEquals(userSessions.get(0).getApplications().get(0).getAppName(), "app2");
+        assertEquals(userSessions.get(1).getSessionId(), "session1");
+        assertEquals(userSessions.get(1).getIp(), "127.0.0.1");
+        assertEquals(userSessions.get(1).getApplications().size(), 2);
+    }
 }
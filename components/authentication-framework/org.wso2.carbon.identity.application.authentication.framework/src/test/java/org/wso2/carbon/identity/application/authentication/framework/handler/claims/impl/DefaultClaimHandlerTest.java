@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.handler.claims.impl;
+
+import org.mockito.ArgumentCaptor;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.powermock.reflect.Whitebox;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.ApplicationConfig;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.identity.application.common.model.ClaimConfig;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.user.api.Claim;
+import org.wso2.carbon.user.api.ClaimManager;
+import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+
+@PrepareForTest({IdentityUtil.class, ApplicationManagementService.class})
+public class DefaultClaimHandlerTest extends PowerMockTestCase {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String APPLICATION_NAME = "TestApplication";
+    private static final String USER_ID = "4b4414e1-916b-4475-aaee-6b0751c29ff6";
+    private static final String GROUPS_CLAIM_URI = "http://wso2.org/claims/groups";
+    private static final String EMAIL_CLAIM_URI = "http://wso2.org/claims/emailaddress";
+    private static final String COUNTRY_CLAIM_URI = "http://wso2.org/claims/country";
+    private static final String MOBILE_CLAIM_URI = "http://wso2.org/claims/mobile";
+    private static final String[] ALL_LOCAL_CLAIM_URIS = {EMAIL_CLAIM_URI, COUNTRY_CLAIM_URI, MOBILE_CLAIM_URI,
+            GROUPS_CLAIM_URI, FrameworkConstants.LOCAL_ROLE_CLAIM_URI};
+
+    private ApplicationManagementService applicationManagementService;
+    private ClaimManager claimManager;
+    private AbstractUserStoreManager userStoreManager;
+    private AuthenticatedUser authenticatedUser;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getLocalGroupsClaimURI()).thenReturn(GROUPS_CLAIM_URI);
+        applicationManagementService = mock(ApplicationManagementService.class);
+        mockStatic(ApplicationManagementService.class);
+        when(ApplicationManagementService.getInstance()).thenReturn(applicationManagementService);
+
+        org.wso2.carbon.user.api.ClaimMapping[] localClaimMappings =
+                new org.wso2.carbon.user.api.ClaimMapping[ALL_LOCAL_CLAIM_URIS.length];
+        for (int i = 0; i < ALL_LOCAL_CLAIM_URIS.length; i++) {
+            Claim claim = mock(Claim.class);
+            when(claim.getClaimUri()).thenReturn(ALL_LOCAL_CLAIM_URIS[i]);
+            localClaimMappings[i] = mock(org.wso2.carbon.user.api.ClaimMapping.class);
+            when(localClaimMappings[i].getClaim()).thenReturn(claim);
+        }
+        claimManager = mock(ClaimManager.class);
+        when(claimManager.getAllClaimMappings(anyString())).thenReturn(localClaimMappings);
+
+        userStoreManager = mock(AbstractUserStoreManager.class);
+        authenticatedUser = mock(AuthenticatedUser.class);
+        when(authenticatedUser.getUserId()).thenReturn(USER_ID);
+        when(authenticatedUser.getTenantDomain()).thenReturn(TENANT_DOMAIN);
+    }
+
+    @Test
+    public void testRetrieveRequiredLocalClaims() throws Exception {
+
+        ApplicationConfig appConfig = getApplicationConfig(true);
+
+        assertEquals(retrieveLocalClaimURIs(appConfig, FrameworkConstants.RequestType.CLAIM_TYPE_SAML_SSO),
+                new HashSet<>(Arrays.asList(EMAIL_CLAIM_URI, GROUPS_CLAIM_URI,
+                        FrameworkConstants.LOCAL_ROLE_CLAIM_URI)),
+                "Only the claims required by the application config should be retrieved.");
+    }
+
+    @Test
+    public void testRetrieveRequiredLocalClaimsOfCachedApplication() throws Exception {
+
+        when(applicationManagementService.getRequiredLocalClaims(APPLICATION_NAME, TENANT_DOMAIN))
+                .thenReturn(Collections.singleton(COUNTRY_CLAIM_URI));
+        ApplicationConfig appConfig = getApplicationConfig(true);
+
+        assertEquals(retrieveLocalClaimURIs(appConfig, FrameworkConstants.RequestType.CLAIM_TYPE_SAML_SSO),
+                new HashSet<>(Arrays.asList(COUNTRY_CLAIM_URI, GROUPS_CLAIM_URI,
+                        FrameworkConstants.LOCAL_ROLE_CLAIM_URI)),
+                "Only the claims required by the cached application should be retrieved.");
+    }
+
+    @DataProvider(name = "retrieveAllLocalClaimsDataProvider")
+    public Object[][] retrieveAllLocalClaimsDataProvider() {
+
+        return new Object[][]{
+                {"true", true, FrameworkConstants.RequestType.CLAIM_TYPE_SAML_SSO},
+                {"false", false, FrameworkConstants.RequestType.CLAIM_TYPE_SAML_SSO},
+                {null, true, FrameworkConstants.RequestType.CLAIM_TYPE_OPENID}
+        };
+    }
+
+    @Test(dataProvider = "retrieveAllLocalClaimsDataProvider")
+    public void testRetrieveAllLocalClaims(String retrieveAllLocalClaims, boolean requested, String requestType)
+            throws Exception {
+
+        when(IdentityUtil.getProperty(FrameworkConstants.Config.RETRIEVE_ALL_LOCAL_CLAIMS))
+                .thenReturn(retrieveAllLocalClaims);
+        ApplicationConfig appConfig = getApplicationConfig(requested);
+
+        assertEquals(retrieveLocalClaimURIs(appConfig, requestType),
+                new HashSet<>(Arrays.asList(ALL_LOCAL_CLAIM_URIS)), "All the local claims should be retrieved.");
+    }
+
+    private ApplicationConfig getApplicationConfig(boolean requested) {
+
+        ServiceProvider serviceProvider = new ServiceProvider();
+        serviceProvider.setApplicationName(APPLICATION_NAME);
+        ClaimConfig claimConfig = new ClaimConfig();
+        claimConfig.setClaimMappings(new ClaimMapping[]{
+                ClaimMapping.build(EMAIL_CLAIM_URI, "email", null, requested),
+                ClaimMapping.build(MOBILE_CLAIM_URI, "mobile", null, false)});
+        serviceProvider.setClaimConfig(claimConfig);
+        return new ApplicationConfig(serviceProvider);
+    }
+
+    private Set<String> retrieveLocalClaimURIs(ApplicationConfig appConfig, String requestType) throws Exception {
+
+        AuthenticationContext context = new AuthenticationContext();
+        context.setTenantDomain(TENANT_DOMAIN);
+        context.setRequestType(requestType);
+        Whitebox.invokeMethod(new DefaultClaimHandler(), "retrieveAllNunNullUserClaimValues", authenticatedUser,
+                claimManager, appConfig, userStoreManager, context);
+
+        ArgumentCaptor<String[]> claimURIs = ArgumentCaptor.forClass(String[].class);
+        verify(userStoreManager).getUserClaimValuesWithID(anyString(), claimURIs.capture(), anyString());
+        return new HashSet<>(Arrays.asList(claimURIs.getValue()));
+    }
+}
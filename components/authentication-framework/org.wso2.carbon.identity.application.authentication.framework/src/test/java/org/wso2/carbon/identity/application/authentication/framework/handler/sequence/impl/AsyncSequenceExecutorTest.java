@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.handler.sequence.impl;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.AsyncCaller;
+import org.wso2.carbon.identity.application.authentication.framework.AsyncReturn;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
+import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
+import org.wso2.carbon.identity.application.authentication.framework.model.LongWaitStatus;
+import org.wso2.carbon.identity.application.authentication.framework.store.LongWaitStatusStoreService;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_SEQUENCE_EXECUTOR_CALL_TIMEOUT;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_SEQUENCE_EXECUTOR_MAX_TENANT_CALLS;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_SEQUENCE_EXECUTOR_POOL_SIZE;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_SEQUENCE_EXECUTOR_QUEUE_SIZE;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_SEQUENCE_EXECUTOR_RETURN_POOL_SIZE;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_SEQUENCE_EXECUTOR_RETURN_QUEUE_SIZE;
+
+/**
+ * Unit tests of {@link AsyncSequenceExecutor}.
+ */
+@PrepareForTest({IdentityUtil.class, FrameworkUtils.class})
+public class AsyncSequenceExecutorTest extends PowerMockTestCase {
+
+    private static final String TENANT_DOMAIN = "abc.com";
+    private static final long WAIT_TIMEOUT_IN_SECONDS = 10;
+    private static final String MXBEAN_NAME =
+            "org.wso2.carbon.identity.application.authentication.framework:type=AsyncSequenceExecutor";
+
+    private AsyncSequenceExecutor asyncSequenceExecutor;
+    private LongWaitStatusStoreService previousStoreService;
+    private CountDownLatch releaseCalls;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        releaseCalls = new CountDownLatch(1);
+        mockStatic(IdentityUtil.class);
+        mockStatic(FrameworkUtils.class);
+        previousStoreService = FrameworkServiceDataHolder.getInstance().getLongWaitStatusStoreService();
+        LongWaitStatusStoreService longWaitStatusStoreService = mock(LongWaitStatusStoreService.class);
+        when(longWaitStatusStoreService.getWait(anyString())).thenReturn(new LongWaitStatus());
+        FrameworkServiceDataHolder.getInstance().setLongWaitStatusStoreService(longWaitStatusStoreService);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        releaseCalls.countDown();
+        if (asyncSequenceExecutor != null) {
+            asyncSequenceExecutor.shutdown();
+            asyncSequenceExecutor = null;
+        }
+        FrameworkServiceDataHolder.getInstance().setLongWaitStatusStoreService(previousStoreService);
+    }
+
+    @Test
+    public void testCallReturnsOutcome() throws Exception {
+
+        initExecutor(Collections.emptyMap());
+        BlockingQueue<String> outcomes = new ArrayBlockingQueue<>(1);
+
+        asyncSequenceExecutor.exec((context, asyncReturn) -> asyncReturn.accept(context, Collections.emptyMap(),
+                "onSuccess"), recordOutcome(outcomes), createContext("context-1", TENANT_DOMAIN));
+
+        assertEquals(outcomes.poll(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), "onSuccess");
+    }
+
+    @Test
+    public void testCallTimeout() throws Exception {
+
+        initExecutor(Collections.singletonMap(CONF_ASYNC_SEQUENCE_EXECUTOR_CALL_TIMEOUT, "100"));
+        BlockingQueue<String> outcomes = new ArrayBlockingQueue<>(2);
+        CountDownLatch callStarted = new CountDownLatch(1);
+        AsyncReturn[] asyncReturns = new AsyncReturn[1];
+
+        asyncSequenceExecutor.exec((context, asyncReturn) -> {
+            asyncReturns[0] = asyncReturn;
+            callStarted.countDown();
+        }, recordOutcome(outcomes), createContext("context-1", TENANT_DOMAIN));
+
+        assertEquals(outcomes.poll(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS),
+                FrameworkConstants.JSAttributes.JS_CALL_AND_WAIT_TIMEOUT_OUTCOME);
+        assertEquals(asyncSequenceExecutor.getStatistics().getTimedOutCalls(), 1);
+
+        // A call returning after the timeout is ignored.
+        assertTrue(callStarted.await(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS));
+        asyncReturns[0].accept(createContext("context-1", TENANT_DOMAIN), Collections.emptyMap(), "onSuccess");
+        assertEquals(outcomes.poll(200, TimeUnit.MILLISECONDS), null);
+    }
+
+    @Test
+    public void testFailedCallReturnsErrorOutcome() throws Exception {
+
+        initExecutor(Collections.emptyMap());
+        BlockingQueue<String> outcomes = new ArrayBlockingQueue<>(1);
+
+        asyncSequenceExecutor.exec((context, asyncReturn) -> {
+            throw new FrameworkException("Call failed");
+        }, recordOutcome(outcomes), createContext("context-1", TENANT_DOMAIN));
+
+        assertEquals(outcomes.poll(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS),
+                FrameworkConstants.JSAttributes.JS_CALL_AND_WAIT_ERROR_OUTCOME);
+    }
+
+    @Test
+    public void testCallRejectedWhenQueueIsFull() throws Exception {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(CONF_ASYNC_SEQUENCE_EXECUTOR_POOL_SIZE, "1");
+        properties.put(CONF_ASYNC_SEQUENCE_EXECUTOR_QUEUE_SIZE, "1");
+        initExecutor(properties);
+        BlockingQueue<String> outcomes = new ArrayBlockingQueue<>(2);
+        CountDownLatch callStarted = new CountDownLatch(1);
+
+        asyncSequenceExecutor.exec(blockingCall(callStarted), recordOutcome(outcomes),
+                createContext("context-1", TENANT_DOMAIN));
+        assertTrue(callStarted.await(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS));
+        asyncSequenceExecutor.exec(blockingCall(new CountDownLatch(1)), recordOutcome(outcomes),
+                createContext("context-2", TENANT_DOMAIN));
+        try {
+            asyncSequenceExecutor.exec(blockingCall(new CountDownLatch(1)), recordOutcome(outcomes),
+                    createContext("context-3", TENANT_DOMAIN));
+            fail("The call should be rejected as the call queue is full.");
+        } catch (FrameworkException e) {
+            // Expected.
+        }
+        assertEquals(asyncSequenceExecutor.getStatistics().getRejectedCalls(), 1);
+        assertEquals(asyncSequenceExecutor.getStatistics().getSubmittedCalls(), 2);
+
+        releaseCalls.countDown();
+        assertEquals(outcomes.poll(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), "onSuccess");
+        assertEquals(outcomes.poll(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), "onSuccess");
+    }
+
+    @Test
+    public void testTenantCallCap() throws Exception {
+
+        initExecutor(Collections.singletonMap(CONF_ASYNC_SEQUENCE_EXECUTOR_MAX_TENANT_CALLS, "1"));
+        BlockingQueue<String> outcomes = new ArrayBlockingQueue<>(3);
+
+        asyncSequenceExecutor.exec(blockingCall(new CountDownLatch(1)), recordOutcome(outcomes),
+                createContext("context-1", TENANT_DOMAIN));
+        assertEquals(asyncSequenceExecutor.getInProgressCallCount(TENANT_DOMAIN), 1);
+        try {
+            asyncSequenceExecutor.exec(blockingCall(new CountDownLatch(1)), recordOutcome(outcomes),
+                    createContext("context-2", TENANT_DOMAIN));
+            fail("The call should be rejected as the tenant has reached the maximum concurrent calls.");
+        } catch (FrameworkException e) {
+            // Expected.
+        }
+        // Calls of the other tenants are not affected.
+        asyncSequenceExecutor.exec(blockingCall(new CountDownLatch(1)), recordOutcome(outcomes),
+                createContext("context-3", "xyz.com"));
+
+        releaseCalls.countDown();
+        assertEquals(outcomes.poll(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), "onSuccess");
+        assertEquals(outcomes.poll(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), "onSuccess");
+        assertEquals(asyncSequenceExecutor.getInProgressCallCount(TENANT_DOMAIN), 0);
+        assertEquals(asyncSequenceExecutor.getStatistics().getRejectedCalls(), 1);
+
+        asyncSequenceExecutor.exec((context, asyncReturn) -> asyncReturn.accept(context, Collections.emptyMap(),
+                "onSuccess"), recordOutcome(outcomes), createContext("context-4", TENANT_DOMAIN));
+        assertEquals(outcomes.poll(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), "onSuccess");
+    }
+
+    @Test
+    public void testReturnRunsOnCallerThreadWhenReturnQueueIsFull() throws Exception {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(CONF_ASYNC_SEQUENCE_EXECUTOR_POOL_SIZE, "3");
+        properties.put(CONF_ASYNC_SEQUENCE_EXECUTOR_RETURN_POOL_SIZE, "1");
+        properties.put(CONF_ASYNC_SEQUENCE_EXECUTOR_RETURN_QUEUE_SIZE, "1");
+        initExecutor(properties);
+        List<String> returnThreads = new CopyOnWriteArrayList<>();
+        CountDownLatch callerThreadReturn = new CountDownLatch(1);
+        CountDownLatch allReturns = new CountDownLatch(3);
+
+        // Continuations block the only return thread until the caller thread has run a continuation.
+        AsyncReturn returnFunction = (context, data, result) -> {
+            String threadName = Thread.currentThread().getName();
+            if (threadName.startsWith("AdaptiveAuth-AsyncReturn-")) {
+                try {
+                    callerThreadReturn.await(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            } else {
+                callerThreadReturn.countDown();
+            }
+            returnThreads.add(threadName);
+            allReturns.countDown();
+        };
+        for (int i = 1; i <= 3; i++) {
+            asyncSequenceExecutor.exec((context, asyncReturn) -> asyncReturn.accept(context, Collections.emptyMap(),
+                    "onSuccess"), returnFunction, createContext("context-" + i, TENANT_DOMAIN));
+        }
+
+        assertTrue(allReturns.await(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), "All the continuations should run.");
+        assertEquals(returnThreads.stream().filter(name -> name.startsWith("AdaptiveAuth-AsyncCaller-")).count(), 1,
+                "The continuation rejected by the full return queue should run on the caller thread.");
+    }
+
+    @Test
+    public void testTimedOutReturnDoesNotRunOnTimeoutThreadWhenReturnQueueIsFull() throws Exception {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(CONF_ASYNC_SEQUENCE_EXECUTOR_CALL_TIMEOUT, "100");
+        properties.put(CONF_ASYNC_SEQUENCE_EXECUTOR_RETURN_POOL_SIZE, "1");
+        properties.put(CONF_ASYNC_SEQUENCE_EXECUTOR_RETURN_QUEUE_SIZE, "1");
+        initExecutor(properties);
+        CountDownLatch returnStarted = new CountDownLatch(1);
+        CountDownLatch releaseReturn = new CountDownLatch(1);
+        BlockingQueue<String> outcomes = new ArrayBlockingQueue<>(3);
+        List<String> returnThreads = new CopyOnWriteArrayList<>();
+
+        // The first continuation blocks the only return thread, and the second one fills the return queue.
+        AsyncReturn returnFunction = (context, data, result) -> {
+            returnThreads.add(Thread.currentThread().getName());
+            if ("context-1".equals(context.getContextIdentifier())) {
+                returnStarted.countDown();
+                try {
+                    releaseReturn.await(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            outcomes.add(result);
+        };
+        AsyncCaller returningCall = (context, asyncReturn) -> asyncReturn.accept(context, Collections.emptyMap(),
+                "onSuccess");
+        asyncSequenceExecutor.exec(returningCall, returnFunction, createContext("context-1", TENANT_DOMAIN));
+        assertTrue(returnStarted.await(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS));
+        asyncSequenceExecutor.exec(returningCall, returnFunction, createContext("context-2", TENANT_DOMAIN));
+        waitFor(() -> asyncSequenceExecutor.getStatistics().getReturnQueueLength() == 1);
+
+        asyncSequenceExecutor.exec((context, asyncReturn) -> {
+        }, returnFunction, createContext("context-3", TENANT_DOMAIN));
+        waitFor(() -> asyncSequenceExecutor.getStatistics().getDeferredReturns() > 0);
+        releaseReturn.countDown();
+
+        List<String> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(outcomes.poll(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS));
+        }
+        assertTrue(results.contains(FrameworkConstants.JSAttributes.JS_CALL_AND_WAIT_TIMEOUT_OUTCOME),
+                "The continuation of the timed out call should run once the return queue has space.");
+        assertFalse(returnThreads.contains("AdaptiveAuth-AsyncTimeout"),
+                "Continuations should never run on the timeout thread.");
+    }
+
+    @Test
+    public void testStatisticsExposedOverJMX() throws Exception {
+
+        initExecutor(Collections.emptyMap());
+        BlockingQueue<String> outcomes = new ArrayBlockingQueue<>(1);
+        asyncSequenceExecutor.exec((context, asyncReturn) -> asyncReturn.accept(context, Collections.emptyMap(),
+                "onSuccess"), recordOutcome(outcomes), createContext("context-1", TENANT_DOMAIN));
+        assertEquals(outcomes.poll(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), "onSuccess");
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName(MXBEAN_NAME);
+        assertEquals(mBeanServer.getAttribute(objectName, "SubmittedCalls"), 1L);
+        assertEquals(mBeanServer.getAttribute(objectName, "RejectedCalls"), 0L);
+
+        asyncSequenceExecutor.shutdown();
+        asyncSequenceExecutor = null;
+        assertFalse(mBeanServer.isRegistered(objectName), "The MXBean should be unregistered on shutdown.");
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(WAIT_TIMEOUT_IN_SECONDS);
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition was not met within " + WAIT_TIMEOUT_IN_SECONDS + " seconds.");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private void initExecutor(Map<String, String> properties) {
+
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            when(IdentityUtil.getProperty(property.getKey())).thenReturn(property.getValue());
+        }
+        asyncSequenceExecutor = new AsyncSequenceExecutor();
+        asyncSequenceExecutor.init();
+    }
+
+    private AsyncCaller blockingCall(CountDownLatch callStarted) {
+
+        return (context, asyncReturn) -> {
+            callStarted.countDown();
+            try {
+                releaseCalls.await(WAIT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            asyncReturn.accept(context, Collections.emptyMap(), "onSuccess");
+        };
+    }
+
+    private AsyncReturn recordOutcome(BlockingQueue<String> outcomes) {
+
+        return (context, data, result) -> outcomes.add(result);
+    }
+
+    private AuthenticationContext createContext(String contextIdentifier, String tenantDomain) {
+
+        AuthenticationContext context = new AuthenticationContext();
+        context.setContextIdentifier(contextIdentifier);
+        context.setTenantDomain(tenantDomain);
+        return context;
+    }
+}
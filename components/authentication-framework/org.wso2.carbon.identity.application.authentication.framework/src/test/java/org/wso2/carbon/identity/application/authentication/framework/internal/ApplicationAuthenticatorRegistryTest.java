@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.internal;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.ApplicationAuthenticator;
+import org.wso2.carbon.identity.application.authentication.framework.FederatedApplicationAuthenticator;
+import org.wso2.carbon.identity.application.authentication.framework.LocalApplicationAuthenticator;
+
+import java.util.Iterator;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the ApplicationAuthenticatorRegistry.
+ */
+@Test
+public class ApplicationAuthenticatorRegistryTest {
+
+    public void testLookupByName() {
+
+        ApplicationAuthenticatorRegistry registry = new ApplicationAuthenticatorRegistry();
+        ApplicationAuthenticator basic = mockAuthenticator(LocalApplicationAuthenticator.class, "BasicAuthenticator");
+        ApplicationAuthenticator duplicate = mockAuthenticator(LocalApplicationAuthenticator.class,
+                "BasicAuthenticator");
+        registry.add(basic);
+        registry.add(duplicate);
+
+        assertSame(registry.getAuthenticatorByName("BasicAuthenticator"), basic);
+        assertSame(registry.getLastAuthenticatorByName("BasicAuthenticator"), duplicate);
+        assertNull(registry.getAuthenticatorByName("basicauthenticator"));
+        assertSame(registry.getAuthenticatorByNameIgnoreCase("basicauthenticator"), basic);
+        assertNull(registry.getAuthenticatorByName(null));
+        assertNull(registry.getLastAuthenticatorByName(null));
+    }
+
+    public void testIndexesFollowModifications() {
+
+        ApplicationAuthenticatorRegistry registry = new ApplicationAuthenticatorRegistry();
+        ApplicationAuthenticator basic = mockAuthenticator(LocalApplicationAuthenticator.class, "BasicAuthenticator");
+        ApplicationAuthenticator oidc = mockAuthenticator(FederatedApplicationAuthenticator.class,
+                "OpenIDConnectAuthenticator");
+        registry.add(basic);
+        registry.add(oidc);
+
+        assertEquals(registry.size(), 2);
+        assertEquals(registry.getLocalAuthenticators().size(), 1);
+        assertSame(registry.getFederatedAuthenticators().get(0), oidc);
+        assertTrue(registry.getRequestPathAuthenticators().isEmpty());
+
+        registry.remove(basic);
+        assertNull(registry.getAuthenticatorByName("BasicAuthenticator"));
+        assertTrue(registry.getLocalAuthenticators().isEmpty());
+
+        registry.clear();
+        assertTrue(registry.isEmpty());
+        assertNull(registry.getAuthenticatorByName("OpenIDConnectAuthenticator"));
+    }
+
+    public void testIterationOverSnapshot() {
+
+        ApplicationAuthenticatorRegistry registry = new ApplicationAuthenticatorRegistry();
+        ApplicationAuthenticator basic = mockAuthenticator(LocalApplicationAuthenticator.class, "BasicAuthenticator");
+        registry.add(basic);
+
+        Iterator<ApplicationAuthenticator> iterator = registry.iterator();
+        registry.add(mockAuthenticator(FederatedApplicationAuthenticator.class, "OpenIDConnectAuthenticator"));
+        assertSame(iterator.next(), basic);
+        iterator.remove();
+        assertTrue(!iterator.hasNext());
+
+        assertEquals(registry.size(), 1);
+        assertNull(registry.getAuthenticatorByName("BasicAuthenticator"));
+    }
+
+    private ApplicationAuthenticator mockAuthenticator(Class<? extends ApplicationAuthenticator> type, String name) {
+
+        ApplicationAuthenticator authenticator = mock(type);
+        when(authenticator.getName()).thenReturn(name);
+        return authenticator;
+    }
+}
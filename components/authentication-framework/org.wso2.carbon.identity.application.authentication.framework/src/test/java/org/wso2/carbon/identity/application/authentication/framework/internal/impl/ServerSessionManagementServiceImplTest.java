@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.internal.impl;
+
+import org.mockito.ArgumentCaptor;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SessionContextCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SessionContextCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
+import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
+import org.wso2.carbon.identity.event.IdentityEventConstants;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.services.IdentityEventService;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@PrepareForTest({SessionContextCache.class, FrameworkServiceDataHolder.class, FrameworkUtils.class})
+public class ServerSessionManagementServiceImplTest extends PowerMockTestCase {
+
+    private static final String LOGIN_TENANT_DOMAIN = "carbon.super";
+    private static final String TENANT_DOMAIN = "abc.com";
+
+    private SessionContextCache sessionContextCache;
+    private IdentityEventService identityEventService;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        mockStatic(FrameworkUtils.class);
+        when(FrameworkUtils.getLoginTenantDomainFromContext()).thenReturn(LOGIN_TENANT_DOMAIN);
+        sessionContextCache = mock(SessionContextCache.class);
+        mockStatic(SessionContextCache.class);
+        when(SessionContextCache.getInstance()).thenReturn(sessionContextCache);
+        identityEventService = mock(IdentityEventService.class);
+        FrameworkServiceDataHolder frameworkServiceDataHolder = mock(FrameworkServiceDataHolder.class);
+        when(frameworkServiceDataHolder.getIdentityEventService()).thenReturn(identityEventService);
+        mockStatic(FrameworkServiceDataHolder.class);
+        when(FrameworkServiceDataHolder.getInstance()).thenReturn(frameworkServiceDataHolder);
+    }
+
+    @Test
+    public void testRemoveSessions() throws Exception {
+
+        Map<String, SessionContextCacheEntry> cacheEntries = new HashMap<>();
+        cacheEntries.put("session1", getCacheEntry(null));
+        cacheEntries.put("session2", getCacheEntry(TENANT_DOMAIN));
+        cacheEntries.put("session3", getCacheEntry(TENANT_DOMAIN));
+        when(sessionContextCache.getValuesFromCache(anyCollection(), anyString())).thenReturn(cacheEntries);
+
+        assertTrue(new ServerSessionManagementServiceImpl().removeSessions(
+                Arrays.asList("session1", "session2", "", "session2", "session3", "session4")));
+
+        ArgumentCaptor<Collection> sessionIds = ArgumentCaptor.forClass(Collection.class);
+        verify(sessionContextCache, times(1)).getValuesFromCache(sessionIds.capture(), anyString());
+        assertEquals(new HashSet<>(sessionIds.getValue()),
+                new HashSet<>(Arrays.asList("session1", "session2", "session3", "session4")),
+                "All the distinct session ids should be loaded at once.");
+        verify(sessionContextCache).clearCacheEntries(Collections.singletonList("session1"), LOGIN_TENANT_DOMAIN);
+        verify(sessionContextCache).clearCacheEntries(Arrays.asList("session2", "session3"), TENANT_DOMAIN);
+        verify(sessionContextCache, never()).clearCacheEntry(anyString());
+        verify(sessionContextCache, never()).clearCacheEntry(anyString(), anyString());
+
+        ArgumentCaptor<Event> event = ArgumentCaptor.forClass(Event.class);
+        verify(identityEventService, times(1)).handleEvent(event.capture());
+        assertEquals(event.getValue().getEventName(), IdentityEventConstants.Event.SESSIONS_TERMINATED);
+        assertEquals(event.getValue().getEventProperties().get(IdentityEventConstants.EventProperty
+                .SESSION_CONTEXT_IDS), Arrays.asList("session1", "session2", "session3"));
+    }
+
+    @Test
+    public void testRemoveUnavailableSessions() throws Exception {
+
+        when(sessionContextCache.getValuesFromCache(anyCollection(), anyString()))
+                .thenReturn(Collections.emptyMap());
+
+        assertTrue(new ServerSessionManagementServiceImpl().removeSessions(Arrays.asList("session1", "session2")));
+        verify(sessionContextCache, never()).clearCacheEntries(anyCollection(), anyString());
+        verify(identityEventService, never()).handleEvent(any(Event.class));
+    }
+
+    private SessionContextCacheEntry getCacheEntry(String tenantDomain) {
+
+        SessionContext sessionContext = new SessionContext();
+        if (tenantDomain != null) {
+            sessionContext.addProperty(FrameworkUtils.TENANT_DOMAIN, tenantDomain);
+        }
+        SessionContextCacheEntry cacheEntry = new SessionContextCacheEntry();
+        cacheEntry.setContext(sessionContext);
+        return cacheEntry;
+    }
+}
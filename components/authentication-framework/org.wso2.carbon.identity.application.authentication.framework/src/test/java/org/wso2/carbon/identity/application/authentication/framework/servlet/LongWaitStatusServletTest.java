@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.servlet;
+
+import com.google.gson.Gson;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.dao.LongWaitStatusDAO;
+import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
+import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
+import org.wso2.carbon.identity.application.authentication.framework.javascript.flow.LongWaitStatusResponse;
+import org.wso2.carbon.identity.application.authentication.framework.model.LongWaitStatus;
+import org.wso2.carbon.identity.application.authentication.framework.store.LongWaitStatusStoreService;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
+
+import java.io.BufferedReader;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests of {@link LongWaitStatusServlet}.
+ */
+public class LongWaitStatusServletTest {
+
+    private static final String WAIT_ID = "wait-id";
+    private static final long POLL_TIMEOUT = 10000;
+
+    private LongWaitStatusStoreService previousStoreService;
+    private LongWaitStatusStoreService longWaitStatusStoreService;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private StringWriter responseBody;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        FrameworkUtils.setMaxInactiveInterval(900);
+        previousStoreService = FrameworkServiceDataHolder.getInstance().getLongWaitStatusStoreService();
+        longWaitStatusStoreService = mock(LongWaitStatusStoreService.class);
+        FrameworkServiceDataHolder.getInstance().setLongWaitStatusStoreService(longWaitStatusStoreService);
+
+        request = mock(HttpServletRequest.class);
+        response = mock(HttpServletResponse.class);
+        responseBody = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(responseBody));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        FrameworkServiceDataHolder.getInstance().setLongWaitStatusStoreService(previousStoreService);
+    }
+
+    @DataProvider
+    public Object[][] getWaitStatuses() {
+
+        return new Object[][]{
+                {LongWaitStatus.Status.WAITING, "WAITING"},
+                {LongWaitStatus.Status.COMPLETED, "COMPLETED"},
+                {LongWaitStatus.Status.UNKNOWN, "COMPLETED"},
+                {null, "COMPLETED"}
+        };
+    }
+
+    @Test(dataProvider = "getWaitStatuses")
+    public void testGetWaitStatus(LongWaitStatus.Status status, String expectedStatus) throws Exception {
+
+        LongWaitStatus longWaitStatus = new LongWaitStatus();
+        longWaitStatus.setStatus(status);
+        when(longWaitStatusStoreService.getWait(WAIT_ID)).thenReturn(longWaitStatus);
+        when(request.getParameter("waitingId")).thenReturn(WAIT_ID);
+
+        new LongWaitStatusServlet().doGet(request, response);
+
+        LongWaitStatusResponse statusResponse = readResponse();
+        assertEquals(statusResponse.getWaitId(), WAIT_ID);
+        assertEquals(statusResponse.getStatus(), expectedStatus);
+        verify(response, never()).setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    public void testGetRemovedWaitStatus() throws Exception {
+
+        when(request.getContentType()).thenReturn("application/json; charset=UTF-8");
+        when(request.getReader()).thenReturn(new BufferedReader(new StringReader("{\"waitId\":\"" + WAIT_ID +
+                "\"}")));
+
+        new LongWaitStatusServlet().doPost(request, response);
+
+        LongWaitStatusResponse statusResponse = readResponse();
+        assertEquals(statusResponse.getWaitId(), WAIT_ID);
+        assertEquals(statusResponse.getStatus(), "COMPLETED");
+    }
+
+    @Test
+    public void testGetWaitStatusWithoutWaitId() throws Exception {
+
+        new LongWaitStatusServlet().doPost(request, response);
+
+        assertEquals(readResponse().getStatus(), "UNKNOWN");
+        verify(response).setStatus(HttpServletResponse.SC_NOT_FOUND);
+    }
+
+    @Test
+    public void testGetWaitStatusWithStoreError() throws Exception {
+
+        when(longWaitStatusStoreService.getWait(WAIT_ID)).thenThrow(new FrameworkException("Store error"));
+        when(request.getParameter("waitingId")).thenReturn(WAIT_ID);
+
+        new LongWaitStatusServlet().doPost(request, response);
+
+        assertEquals(readResponse().getWaitId(), WAIT_ID);
+        verify(response).setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    public void testHeldRequestReleasedOnCompletion() throws Exception {
+
+        LongWaitStatusDAO longWaitStatusDAO = mock(LongWaitStatusDAO.class);
+        LongWaitStatus longWaitStatus = new LongWaitStatus();
+        when(longWaitStatusDAO.getWaitStatus(WAIT_ID)).thenReturn(longWaitStatus);
+        LongWaitStatusStoreService storeService = new LongWaitStatusStoreService(longWaitStatusDAO, 5000);
+        FrameworkServiceDataHolder.getInstance().setLongWaitStatusStoreService(storeService);
+        when(request.getParameter("waitingId")).thenReturn(WAIT_ID);
+
+        long startTime = System.currentTimeMillis();
+        Thread requestThread = new Thread(() -> {
+            try {
+                new LongWaitStatusServlet(POLL_TIMEOUT, 1).doPost(request, response);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        requestThread.start();
+        // The status is read once before the request is held and once after the listener is registered.
+        verify(longWaitStatusDAO, timeout(POLL_TIMEOUT).times(2)).getWaitStatus(WAIT_ID);
+        longWaitStatus.setStatus(LongWaitStatus.Status.COMPLETED);
+        storeService.notifyCompletion(WAIT_ID, longWaitStatus);
+        requestThread.join(POLL_TIMEOUT);
+
+        assertEquals(readResponse().getStatus(), "COMPLETED");
+        assertTrue(System.currentTimeMillis() - startTime < POLL_TIMEOUT,
+                "The request should be released as soon as the wait completes.");
+    }
+
+    @Test
+    public void testHeldRequestTimesOut() throws Exception {
+
+        LongWaitStatusDAO longWaitStatusDAO = mock(LongWaitStatusDAO.class);
+        LongWaitStatus longWaitStatus = new LongWaitStatus();
+        longWaitStatus.setStatus(LongWaitStatus.Status.WAITING);
+        when(longWaitStatusDAO.getWaitStatus(WAIT_ID)).thenReturn(longWaitStatus);
+        FrameworkServiceDataHolder.getInstance().setLongWaitStatusStoreService(
+                new LongWaitStatusStoreService(longWaitStatusDAO, 5000));
+        when(request.getParameter("waitingId")).thenReturn(WAIT_ID);
+
+        new LongWaitStatusServlet(100, 1).doPost(request, response);
+
+        assertEquals(readResponse().getStatus(), "WAITING");
+        // The status is read again on timeout, to cover the waits completed in other nodes.
+        verify(longWaitStatusDAO, times(3)).getWaitStatus(WAIT_ID);
+    }
+
+    @Test
+    public void testRequestAnsweredImmediatelyWhenMaxHeldRequestsReached() throws Exception {
+
+        LongWaitStatus longWaitStatus = new LongWaitStatus();
+        longWaitStatus.setStatus(LongWaitStatus.Status.WAITING);
+        when(longWaitStatusStoreService.getWait(WAIT_ID)).thenReturn(longWaitStatus);
+        when(request.getParameter("waitingId")).thenReturn(WAIT_ID);
+
+        new LongWaitStatusServlet(POLL_TIMEOUT, 0).doPost(request, response);
+
+        assertEquals(readResponse().getStatus(), "WAITING");
+        verify(longWaitStatusStoreService, never()).waitForCompletion(anyString(), anyLong());
+    }
+
+    private LongWaitStatusResponse readResponse() {
+
+        return new Gson().fromJson(responseBody.toString(), LongWaitStatusResponse.class);
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.store;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
+import org.wso2.carbon.identity.common.testng.WithCarbonHome;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.anyBoolean;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Unit tests of the incremental cleanup of the session data store.
+ */
+@WithCarbonHome
+@PrepareForTest({IdentityDatabaseUtil.class, IdentityUtil.class})
+public class SessionDataCleanerTest extends DataStoreBaseTest {
+
+    private static final String DB_NAME = "SESSION_DATA_CLEANER";
+    private static final String TABLE_NAME = "IDN_AUTH_SESSION_STORE";
+    private static final String CONFIG_PREFIX =
+            "JDBCPersistenceManager.SessionDataPersist.SessionDataCleanUp.Incremental.";
+    private static final long RECORD_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private static final String SQL_INSERT_RECORD = "INSERT INTO IDN_AUTH_SESSION_STORE (SESSION_ID, SESSION_TYPE, " +
+            "OPERATION, TIME_CREATED, TENANT_ID, EXPIRY_TIME) VALUES (?, 'AuthenticationContextCache', ?, ?, -1, ?)";
+    private static final String SQL_COUNT_RECORDS = "SELECT COUNT(*) FROM IDN_AUTH_SESSION_STORE";
+    private static final String SQL_COUNT_SESSION_RECORDS =
+            "SELECT COUNT(*) FROM IDN_AUTH_SESSION_STORE WHERE SESSION_ID = ? AND OPERATION = ?";
+
+    @BeforeClass
+    public void setUp() throws Exception {
+
+        initH2DB(DB_NAME, getDatabaseScriptFilePath("session_data_store_h2.sql"));
+    }
+
+    @AfterClass
+    public void tearDown() throws Exception {
+
+        closeH2DB(DB_NAME);
+    }
+
+    @BeforeMethod
+    public void setUpMethod() throws Exception {
+
+        try (Connection connection = getConnection(DB_NAME)) {
+            connection.createStatement().executeUpdate("DELETE FROM IDN_AUTH_SESSION_STORE");
+        }
+        mockStatic(IdentityDatabaseUtil.class);
+        when(IdentityDatabaseUtil.getSessionDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> getConnection(DB_NAME));
+        mockStatic(IdentityUtil.class);
+    }
+
+    @Test
+    public void testRemoveExpiredDataInBatches() throws Exception {
+
+        // Zero batch sizes would remove all the records in a single unbounded batch.
+        mockProperty("MinBatchSize", "0");
+        mockProperty("InitialBatchSize", "0");
+        long currentTime = FrameworkUtils.getCurrentStandardNano();
+        insertExpiredRecords(currentTime, 5);
+        insertActiveRecords(currentTime, 2);
+
+        StoppableSessionDataCleaner cleaner = new StoppableSessionDataCleaner(2);
+        cleaner.batchesBeforeDeadline = 1;
+        cleaner.removeExpiredData(TABLE_NAME);
+        assertEquals(countRecords(), 5, "Only a single batch of expired records should be removed.");
+        Long checkpoint = cleaner.getExpiredDataCheckpoint(TABLE_NAME);
+        assertEquals(checkpoint, Long.valueOf(currentTime - 4 * RECORD_INTERVAL + 1));
+
+        // Records created before the checkpoint are not revisited by the resumed run.
+        insertRecord("expired-before-checkpoint", "STORE", currentTime - 100 * RECORD_INTERVAL, currentTime - 1);
+        cleaner.batchesBeforeDeadline = Integer.MAX_VALUE;
+        cleaner.removeExpiredData(TABLE_NAME);
+        assertEquals(countRecords(), 3, "Remaining expired records should be removed from the checkpoint.");
+        assertNull(cleaner.getExpiredDataCheckpoint(TABLE_NAME));
+
+        cleaner.removeExpiredData(TABLE_NAME);
+        assertEquals(countRecords(), 2);
+    }
+
+    @Test
+    public void testRemoveExpiredDataStoppedByDeadline() throws Exception {
+
+        long currentTime = FrameworkUtils.getCurrentStandardNano();
+        insertExpiredRecords(currentTime, 3);
+        StoppableSessionDataCleaner cleaner = new StoppableSessionDataCleaner(100);
+        cleaner.batchesBeforeDeadline = 0;
+        cleaner.removeExpiredData(TABLE_NAME);
+        assertEquals(countRecords(), 3);
+        assertEquals(cleaner.getExpiredDataCheckpoint(TABLE_NAME), Long.valueOf(currentTime - 3 * RECORD_INTERVAL));
+    }
+
+    @Test
+    public void testRemoveExpiredDataInPartitions() throws Exception {
+
+        mockProperty("Partitions", "4");
+        long currentTime = FrameworkUtils.getCurrentStandardNano();
+        insertExpiredRecords(currentTime, 20);
+        insertActiveRecords(currentTime, 3);
+
+        SessionDataCleaner cleaner = new NonEmbeddedSessionDataCleaner(3);
+        cleaner.removeExpiredData(TABLE_NAME);
+        assertEquals(countRecords(), 3, "Expired records of all the partitions should be removed.");
+        assertNull(cleaner.getExpiredDataCheckpoint(TABLE_NAME));
+    }
+
+    @Test
+    public void testInvalidPartitionCountFallsBackToDefault() throws Exception {
+
+        mockProperty("Partitions", "0");
+        mockProperty("TargetBatchLatency", "0");
+        long currentTime = FrameworkUtils.getCurrentStandardNano();
+        insertExpiredRecords(currentTime, 4);
+
+        SessionDataCleaner cleaner = new NonEmbeddedSessionDataCleaner(100);
+        cleaner.removeExpiredData(TABLE_NAME);
+        assertEquals(countRecords(), 0);
+        assertNull(cleaner.getExpiredDataCheckpoint(TABLE_NAME));
+    }
+
+    @Test
+    public void testRemoveInvalidatedStoreOperations() throws Exception {
+
+        long currentTime = FrameworkUtils.getCurrentStandardNano();
+        long expiryTime = currentTime + TimeUnit.HOURS.toNanos(1);
+        long deleteTime = currentTime - TimeUnit.MINUTES.toNanos(20);
+        insertRecord("removed-session", "STORE", deleteTime - 10, expiryTime);
+        insertRecord("removed-session", "DELETE", deleteTime, expiryTime);
+        insertRecord("active-session", "STORE", deleteTime - 10, expiryTime);
+        // DELETE operations which are not settled yet are left to the next run.
+        insertRecord("recently-removed-session", "STORE", currentTime - 10, expiryTime);
+        insertRecord("recently-removed-session", "DELETE", currentTime, expiryTime);
+
+        SessionDataCleaner cleaner = new SessionDataCleaner(100);
+        cleaner.removeInvalidatedStoreOperations();
+        assertEquals(countSessionRecords("removed-session", "STORE"), 0);
+        assertEquals(countSessionRecords("removed-session", "DELETE"), 1);
+        assertEquals(countSessionRecords("active-session", "STORE"), 1);
+        assertEquals(countSessionRecords("recently-removed-session", "STORE"), 1);
+        assertEquals(cleaner.getDeleteOperationsCheckpointTime(), deleteTime);
+        assertEquals(cleaner.getDeleteOperationsCheckpointSessionId(), "removed-session");
+    }
+
+    @Test
+    public void testRemoveInvalidatedStoreOperationsCreatedAtSameTime() throws Exception {
+
+        long currentTime = FrameworkUtils.getCurrentStandardNano();
+        long expiryTime = currentTime + TimeUnit.HOURS.toNanos(1);
+        long deleteTime = currentTime - TimeUnit.MINUTES.toNanos(20);
+        // More DELETE operations are created at the same time than the size of a batch.
+        for (int i = 1; i <= 5; i++) {
+            insertRecord("tied-session-" + i, "STORE", deleteTime - 10, expiryTime);
+            insertRecord("tied-session-" + i, "DELETE", deleteTime, expiryTime);
+        }
+        insertRecord("later-session", "STORE", deleteTime - 10, expiryTime);
+        insertRecord("later-session", "DELETE", deleteTime + 1, expiryTime);
+
+        SessionDataCleaner cleaner = new SessionDataCleaner(2);
+        cleaner.removeInvalidatedStoreOperations();
+        for (int i = 1; i <= 5; i++) {
+            assertEquals(countSessionRecords("tied-session-" + i, "STORE"), 0,
+                    "STORE operations of sessions deleted at the same time should not be skipped.");
+        }
+        assertEquals(countSessionRecords("later-session", "STORE"), 0);
+        assertEquals(cleaner.getDeleteOperationsCheckpointTime(), deleteTime + 1);
+        assertEquals(cleaner.getDeleteOperationsCheckpointSessionId(), "later-session");
+
+        // A resumed run continues after the checkpoint.
+        insertRecord("tied-session-6", "STORE", deleteTime - 10, expiryTime);
+        insertRecord("tied-session-6", "DELETE", deleteTime + 1, expiryTime);
+        cleaner.removeInvalidatedStoreOperations();
+        assertEquals(countSessionRecords("tied-session-6", "STORE"), 0);
+        assertEquals(cleaner.getDeleteOperationsCheckpointSessionId(), "tied-session-6");
+    }
+
+    private void mockProperty(String property, String value) {
+
+        when(IdentityUtil.getProperty(CONFIG_PREFIX + property)).thenReturn(value);
+    }
+
+    /**
+     * Expired records are created one record interval apart before the current time.
+     */
+    private void insertExpiredRecords(long currentTime, int count) throws SQLException {
+
+        for (int i = 1; i <= count; i++) {
+            insertRecord("expired-" + i, "STORE", currentTime - i * RECORD_INTERVAL, currentTime - 1);
+        }
+    }
+
+    private void insertActiveRecords(long currentTime, int count) throws SQLException {
+
+        for (int i = 1; i <= count; i++) {
+            insertRecord("active-" + i, "STORE", currentTime - i, currentTime + TimeUnit.HOURS.toNanos(1));
+        }
+    }
+
+    private void insertRecord(String sessionId, String operation, long timeCreated, long expiryTime)
+            throws SQLException {
+
+        try (Connection connection = getConnection(DB_NAME);
+             PreparedStatement statement = connection.prepareStatement(SQL_INSERT_RECORD)) {
+            statement.setString(1, sessionId);
+            statement.setString(2, operation);
+            statement.setLong(3, timeCreated);
+            statement.setLong(4, expiryTime);
+            statement.executeUpdate();
+        }
+    }
+
+    private int countRecords() throws SQLException {
+
+        try (Connection connection = getConnection(DB_NAME);
+             PreparedStatement statement = connection.prepareStatement(SQL_COUNT_RECORDS);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private int countSessionRecords(String sessionId, String operation) throws SQLException {
+
+        try (Connection connection = getConnection(DB_NAME);
+             PreparedStatement statement = connection.prepareStatement(SQL_COUNT_SESSION_RECORDS)) {
+            statement.setString(1, sessionId);
+            statement.setString(2, operation);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * Cleaner which exhausts its time budget after the given number of batches.
+     */
+    private static class StoppableSessionDataCleaner extends SessionDataCleaner {
+
+        private int batchesBeforeDeadline;
+        private int batches;
+
+        private StoppableSessionDataCleaner(int maxBatchSize) {
+
+            super(maxBatchSize);
+        }
+
+        @Override
+        public void removeExpiredData(String tableName) {
+
+            batches = 0;
+            super.removeExpiredData(tableName);
+        }
+
+        @Override
+        boolean isPastDeadline(long deadline) {
+
+            return batches++ >= batchesBeforeDeadline;
+        }
+    }
+
+    /**
+     * Cleaner which partitions the H2 test database like the databases of production deployments.
+     */
+    private static class NonEmbeddedSessionDataCleaner extends SessionDataCleaner {
+
+        private NonEmbeddedSessionDataCleaner(int maxBatchSize) {
+
+            super(maxBatchSize);
+        }
+
+        @Override
+        boolean isEmbeddedDatabase(Connection connection) {
+
+            return false;
+        }
+    }
+}
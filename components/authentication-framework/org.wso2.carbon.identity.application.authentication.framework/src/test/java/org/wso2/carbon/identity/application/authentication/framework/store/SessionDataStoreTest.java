@@ -34,8 +34,15 @@ import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
 
+import java.io.ByteArrayInputStream;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
@@ -46,6 +53,8 @@ import static org.powermock.api.mockito.PowerMockito.doNothing;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.spy;
 import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Test class that includes unit tests of Session Data Store.
@@ -57,6 +66,7 @@ import static org.powermock.api.mockito.PowerMockito.when;
 public class SessionDataStoreTest extends DataStoreBaseTest {
 
     private static final String DB_NAME = "SESSION_DATA_STORE";
+    private static final String BULK_SESSION_TYPE = "bulkSessionType";
 
     @Mock
     FrameworkServiceDataHolder mockFrameworkServiceDataHolder;
@@ -104,6 +114,65 @@ public class SessionDataStoreTest extends DataStoreBaseTest {
         SessionDataStore.getInstance().removeExpiredSessionData();
     }
 
+    @Test
+    public void testGetSessionContextDataInBulk() throws Exception {
+
+        Connection connection = getConnection(DB_NAME);
+        mockIdentityDataBaseUtilConnection(connection, true);
+        when(IdentityDatabaseUtil.getSessionDBConnection(false)).thenReturn(getConnection(DB_NAME));
+        mockCarbonContext();
+        mockIdentityUtils();
+        mockDataHolder();
+        SessionDataStore.getInstance().persistSessionData("00000011", BULK_SESSION_TYPE, "first", 1000, 1);
+        SessionDataStore.getInstance().persistSessionData("00000011", BULK_SESSION_TYPE, "second", 2000, 1);
+        SessionDataStore.getInstance().persistSessionData("00000012", BULK_SESSION_TYPE, "third", 1000, 1);
+
+        Map<String, SessionContextDO> sessionContextData = SessionDataStore.getInstance()
+                .getSessionContextData(Arrays.asList("00000011", "00000012", "00000013"), BULK_SESSION_TYPE);
+        assertEquals(sessionContextData.size(), 2);
+        assertEquals(sessionContextData.get("00000011").getEntry(), "second",
+                "Only the latest stored object should be loaded.");
+        assertEquals(sessionContextData.get("00000011").getNanoTime(), 2000);
+        assertEquals(sessionContextData.get("00000012").getEntry(), "third");
+    }
+
+    @Test(dependsOnMethods = "testGetSessionContextDataInBulk")
+    public void testClearSessionDataInBulk() throws Exception {
+
+        Connection connection = getConnection(DB_NAME);
+        mockIdentityDataBaseUtilConnection(connection, true);
+        when(IdentityDatabaseUtil.getSessionDBConnection(false)).thenReturn(getConnection(DB_NAME));
+        mockCarbonContext();
+        mockIdentityUtils();
+        mockDataHolder();
+        SessionDataStore.getInstance().clearSessionData(Arrays.asList("00000011", "00000012"), BULK_SESSION_TYPE);
+
+        Set<Long> deleteTimes = new HashSet<>();
+        try (Connection verifyConnection = getConnection(DB_NAME);
+             PreparedStatement preparedStatement = verifyConnection.prepareStatement("SELECT TIME_CREATED FROM " +
+                     "IDN_AUTH_SESSION_STORE WHERE SESSION_TYPE = ? AND OPERATION = 'DELETE'")) {
+            preparedStatement.setString(1, BULK_SESSION_TYPE);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    deleteTimes.add(resultSet.getLong(1));
+                }
+            }
+        }
+        assertEquals(deleteTimes.size(), 2, "Each DELETE operation should have its own creation time.");
+        assertTrue(SessionDataStore.getInstance().getSessionContextData(Arrays.asList("00000011", "00000012"),
+                BULK_SESSION_TYPE).isEmpty(), "Cleared data should not be loaded.");
+    }
+
+    @Test
+    public void testSerializeSessionData() throws Exception {
+
+        mockDataHolder();
+        byte[] serializedEntry = SessionDataStore.getInstance().serializeSessionData("sessionEntry");
+        Object entry = new JavaSessionSerializer().deSerializeSessionObject(
+                new ByteArrayInputStream(serializedEntry));
+        assertEquals(entry, "sessionEntry");
+    }
+
     private void mockCarbonContext() {
 
         mockStatic(CarbonContext.class);
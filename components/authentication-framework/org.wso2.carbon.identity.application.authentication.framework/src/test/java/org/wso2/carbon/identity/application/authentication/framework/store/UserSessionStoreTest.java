@@ -31,6 +31,7 @@ import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -239,6 +240,32 @@ public class UserSessionStoreTest extends DataStoreBaseTest {
         }
     }
 
+    @Test
+    public void testGetSessionIdPage() throws Exception {
+
+        String userId = "00000003";
+        try (Connection connection = getConnection(DB_NAME)) {
+            connection.createStatement().executeUpdate("INSERT INTO IDN_AUTH_USER_SESSION_MAPPING (USER_ID, " +
+                    "SESSION_ID) VALUES ('" + userId + "', 'session-a'), ('" + userId + "', 'session-b'), ('" +
+                    userId + "', 'session-c'), ('00000004', 'session-d')");
+            connection.createStatement().executeUpdate("INSERT INTO IDN_AUTH_SESSION_META_DATA (SESSION_ID, " +
+                    "PROPERTY_TYPE, `VALUE`) VALUES ('session-a', 'Last Access Time', '1600000002000'), " +
+                    "('session-b', 'Last Access Time', '1600000001000'), ('session-c', 'Last Access Time', " +
+                    "'1600000003000'), ('session-d', 'Last Access Time', '1600000004000')");
+        }
+
+        try (Connection connection = getConnection(DB_NAME)) {
+            mockIdentityDataBaseUtilConnection(connection, false);
+            when(IdentityDatabaseUtil.getSessionDataSource()).thenReturn(getDatasource(DB_NAME));
+
+            Assert.assertEquals(UserSessionStore.getInstance().getSessionId(userId, 0, 2),
+                    Arrays.asList("session-c", "session-a"), "The most recently accessed sessions should be first.");
+            Assert.assertEquals(UserSessionStore.getInstance().getSessionId(userId, 2, 2),
+                    Arrays.asList("session-b"));
+            Assert.assertTrue(UserSessionStore.getInstance().getSessionId(userId, 3, 2).isEmpty());
+        }
+    }
+
     private void mockIdentityDataBaseUtilConnection(Connection connection, Boolean shouldApplyTransaction) throws
             SQLException {
 
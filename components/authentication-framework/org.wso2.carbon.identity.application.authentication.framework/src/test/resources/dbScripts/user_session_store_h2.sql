@@ -14,3 +14,9 @@ CREATE TABLE IF NOT EXISTS IDN_AUTH_USER (
 
 CREATE INDEX IDX_USER_ID ON IDN_AUTH_USER_SESSION_MAPPING (USER_ID);
 CREATE INDEX IDX_SESSION_ID ON IDN_AUTH_USER_SESSION_MAPPING (SESSION_ID);
+
+CREATE TABLE IF NOT EXISTS IDN_AUTH_SESSION_META_DATA (
+  SESSION_ID VARCHAR (100) NOT NULL,
+  PROPERTY_TYPE VARCHAR (100) NOT NULL,
+  `VALUE` VARCHAR (255) NOT NULL,
+  PRIMARY KEY (SESSION_ID, PROPERTY_TYPE, `VALUE`));
@@ -19,6 +19,7 @@ import org.wso2.carbon.identity.base.IdentityException;
 import org.wso2.carbon.utils.ThriftSession;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface to manipulate thrift session info in database.
@@ -36,6 +37,22 @@ public interface ThriftSessionDAO {
     void updateLastAccessTime(String sessionId, long lastAccessTime)
             throws IdentityException;
 
+    /**
+     * Update the last access times of a set of sessions. Implementations backed by a persistent store should
+     * override this to update the sessions in a single batch.
+     *
+     * @param lastAccessTimes Last access times keyed by the session id.
+     * @throws IdentityException If an error occurs while updating the last access times.
+     */
+    default void updateLastAccessTimes(Map<String, Long> lastAccessTimes) throws IdentityException {
+
+        for (Map.Entry<String, Long> lastAccessTime : lastAccessTimes.entrySet()) {
+            if (isSessionExisting(lastAccessTime.getKey())) {
+                updateLastAccessTime(lastAccessTime.getKey(), lastAccessTime.getValue());
+            }
+        }
+    }
+
     ThriftSession getSession(String sessionId) throws IdentityException;
 
     ThriftSessionDAO getInstance();
@@ -66,6 +66,8 @@ public class ThriftAuthenticationServiceComponent {
 
     private TCPThriftAuthenticationService TCPThriftAuthenticationService;
 
+    private ThriftAuthenticatorServiceImpl thriftAuthenticatorServiceImpl;
+
     public static int readPortOffset() {
         return CarbonUtils.getPortFromServerConfig(ThriftAuthenticationConstants.CARBON_CONFIG_PORT_OFFSET_NODE) + 1;
     }
@@ -91,8 +93,28 @@ public class ThriftAuthenticationServiceComponent {
                 log.error("Error in loading ThriftSessionTimeout hence using the default: 30min, ", throwable);
                 thriftSessionTimeout = 60000L * 30;
             }
+            // configure the fraction of the session timeout after which the last access time is written to the db
+            double lastAccessTimeUpdateThreshold = ThriftAuthenticatorServiceImpl.DEFAULT_LAST_ACCESS_TIME_UPDATE_THRESHOLD;
+            OMElement lastAccessTimeUpdateThresholdElement = ThriftAuthenticationConfigParser.getInstance().getConfigElement("LastAccessTimeUpdateThreshold");
+            if (lastAccessTimeUpdateThresholdElement != null) {
+                try {
+                    lastAccessTimeUpdateThreshold = Double.parseDouble(lastAccessTimeUpdateThresholdElement.getText().trim());
+                } catch (NumberFormatException e) {
+                    log.error("Error in loading LastAccessTimeUpdateThreshold hence using the default: " + lastAccessTimeUpdateThreshold, e);
+                }
+            }
+            // configure the interval in ms in which the last access times are written to the db
+            long lastAccessTimeFlushInterval = ThriftAuthenticatorServiceImpl.DEFAULT_LAST_ACCESS_TIME_FLUSH_INTERVAL;
+            OMElement lastAccessTimeFlushIntervalElement = ThriftAuthenticationConfigParser.getInstance().getConfigElement("LastAccessTimeFlushInterval");
+            if (lastAccessTimeFlushIntervalElement != null) {
+                try {
+                    lastAccessTimeFlushInterval = Long.parseLong(lastAccessTimeFlushIntervalElement.getText().trim());
+                } catch (NumberFormatException e) {
+                    log.error("Error in loading LastAccessTimeFlushInterval hence using the default: " + lastAccessTimeFlushInterval, e);
+                }
+            }
             // get an instance of this to register as an osgi service
-            ThriftAuthenticatorServiceImpl thriftAuthenticatorServiceImpl = new ThriftAuthenticatorServiceImpl(getRealmServiceInstance(), thriftSessionDAO, thriftSessionTimeout);
+            thriftAuthenticatorServiceImpl = new ThriftAuthenticatorServiceImpl(getRealmServiceInstance(), thriftSessionDAO, thriftSessionTimeout, lastAccessTimeUpdateThreshold, lastAccessTimeFlushInterval);
             // register as an osgi service
             thriftAuthenticationService = compCtx.getBundleContext().registerService(ThriftAuthenticatorService.class.getName(), thriftAuthenticatorServiceImpl, null);
             // register AuthenticatorServiceImpl as a thrift service.
@@ -110,6 +132,9 @@ public class ThriftAuthenticationServiceComponent {
         if (TCPThriftAuthenticationService != null) {
             TCPThriftAuthenticationService.stop();
         }
+        if (thriftAuthenticatorServiceImpl != null) {
+            thriftAuthenticatorServiceImpl.shutdown();
+        }
         compCtx.getBundleContext().ungetService(thriftAuthenticationService.getReference());
     }
 
@@ -17,7 +17,6 @@
  */
 package org.wso2.carbon.identity.thrift.authentication.internal;
 
-import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.base.MultitenantConstants;
@@ -34,10 +33,13 @@ import org.wso2.carbon.utils.ServerConstants;
 import org.wso2.carbon.utils.ThriftSession;
 import org.wso2.carbon.utils.multitenancy.MultitenantUtils;
 
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is a utility class that performs authentication related functionality
@@ -48,20 +50,70 @@ public class ThriftAuthenticatorServiceImpl implements ThriftAuthenticatorServic
     private static final Log log = LogFactory.getLog(ThriftAuthenticatorServiceImpl.class);
     //session timeout in milli seconds
     private static long thriftSessionTimeOut;
+    public static final double DEFAULT_LAST_ACCESS_TIME_UPDATE_THRESHOLD = 0.1;
+    public static final long DEFAULT_LAST_ACCESS_TIME_FLUSH_INTERVAL = 10000L;
+    // Session ids which were recently looked up in the DB and not found, kept to bound the DB fallback.
+    private static final long MISSED_SESSION_ID_TIMEOUT = 30000L;
+    private static final int MAX_MISSED_SESSION_IDS = 10000;
     private RealmService realmService;
     private Map<String, ThriftSession> authenticatedSessions =
             new ConcurrentHashMap<String, ThriftSession>();
+    // Last access times which are yet to be written to the DB, coalesced per session.
+    private Map<String, Long> pendingLastAccessTimes = new ConcurrentHashMap<String, Long>();
+    // Last access times as known to be in the DB.
+    private Map<String, Long> persistedLastAccessTimes = new ConcurrentHashMap<String, Long>();
+    private Map<String, Long> missedSessionIds = new ConcurrentHashMap<String, Long>();
     private ThriftSessionDAO thriftSessionDAO;
+    private long lastAccessTimeUpdateThreshold;
+    private ScheduledExecutorService lastAccessTimeFlusher;
 
     public ThriftAuthenticatorServiceImpl(RealmService realmService, ThriftSessionDAO thriftSessionDAO, long thriftSessionTimeOut) {
+        this(realmService, thriftSessionDAO, thriftSessionTimeOut, DEFAULT_LAST_ACCESS_TIME_UPDATE_THRESHOLD,
+                DEFAULT_LAST_ACCESS_TIME_FLUSH_INTERVAL);
+    }
+
+    /**
+     * @param realmService                  Realm service.
+     * @param thriftSessionDAO              DAO used to persist the thrift sessions.
+     * @param thriftSessionTimeOut          Session timeout in milli seconds.
+     * @param lastAccessTimeUpdateThreshold Fraction of the session timeout the persisted last access time of a
+     *                                      session may lag behind before it is queued to be written to the DB.
+     * @param lastAccessTimeFlushInterval   Interval in milli seconds in which the queued last access times are
+     *                                      written to the DB in a single batch.
+     */
+    public ThriftAuthenticatorServiceImpl(RealmService realmService, ThriftSessionDAO thriftSessionDAO,
+                                          long thriftSessionTimeOut, double lastAccessTimeUpdateThreshold,
+                                          long lastAccessTimeFlushInterval) {
         this.realmService = realmService;
         setThriftSessionTimeOut(thriftSessionTimeOut);
         this.thriftSessionDAO = thriftSessionDAO.getInstance();
+        this.lastAccessTimeUpdateThreshold = (long) (thriftSessionTimeOut *
+                Math.min(Math.max(lastAccessTimeUpdateThreshold, 0), 1));
+        if (lastAccessTimeFlushInterval <= 0) {
+            lastAccessTimeFlushInterval = DEFAULT_LAST_ACCESS_TIME_FLUSH_INTERVAL;
+        }
+        lastAccessTimeFlusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ThriftSessionLastAccessTimeFlusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lastAccessTimeFlusher.scheduleWithFixedDelay(this::flushLastAccessTimes, lastAccessTimeFlushInterval,
+                lastAccessTimeFlushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Write the pending last access times to the DB and stop the background flusher.
+     */
+    public void shutdown() {
+        lastAccessTimeFlusher.shutdown();
+        flushLastAccessTimes();
     }
 
     private void addThriftSession(ThriftSession thriftSession) throws IdentityException {
         //add to cache
         authenticatedSessions.put(thriftSession.getSessionId(), thriftSession);
+        persistedLastAccessTimes.put(thriftSession.getSessionId(), thriftSession.getLastAccess());
+        missedSessionIds.remove(thriftSession.getSessionId());
         //add to database
         ThriftSessionDAO sessionDAO = this.thriftSessionDAO.getInstance();
         sessionDAO.addSession(thriftSession);
@@ -70,6 +122,8 @@ public class ThriftAuthenticatorServiceImpl implements ThriftAuthenticatorServic
     private void removeThriftSession(String thriftSessionId) throws IdentityException {
         //remove from cache
         authenticatedSessions.remove(thriftSessionId);
+        pendingLastAccessTimes.remove(thriftSessionId);
+        persistedLastAccessTimes.remove(thriftSessionId);
         //remove from db
         ThriftSessionDAO sessionDAO = this.thriftSessionDAO.getInstance();
         sessionDAO.removeSession(thriftSessionId);
@@ -167,92 +221,26 @@ public class ThriftAuthenticatorServiceImpl implements ThriftAuthenticatorServic
         if (sessionId == null) {
             return false;
         }
-        //if cache empty, try to populate from db
-        if (authenticatedSessions.isEmpty()) {
-            try {
-                populateSessionsFromDB();
-            } catch (IdentityException e) {
-                String error = "Error while populating thrift sessions from cache";
-                log.error(error, e);
-            } catch (Exception e) {
-                String error = "Error while populating thrift sessions from cache";
-                log.error(error, e);
+        ThriftSession thriftSession = authenticatedSessions.get(sessionId);
+        if (thriftSession == null || !isSessionValid(thriftSession)) {
+            //if not found or not valid in cache, check in db as well. The session may have been
+            //created or accessed through another node.
+            thriftSession = getSessionFromDB(sessionId);
+            if (thriftSession == null) {
+                return false;
             }
         }
-        //if cache not empty, check if session id existing and valid, if so, update last access time and return it.
-        if (!authenticatedSessions.isEmpty()) {
-            ThriftSessionDAO sessionDAO = this.thriftSessionDAO.getInstance();
-            if (authenticatedSessions.containsKey(sessionId)) {
-                ThriftSession thriftSessionInCache = authenticatedSessions.get(sessionId);
-                if (isSessionValid(thriftSessionInCache)) {
-                    //update the last access time in cache and d
-                    long lastAccessTime = System.currentTimeMillis();
-                    (authenticatedSessions.get(sessionId)).setLastAccess(lastAccessTime);
-                    try {
-                        //if carbon context in the thrift session is not initialized, should do that now.
-                        onSuccessLogin(thriftSessionInCache);
-                        //put the thrift session filled with carbon context info
-                        authenticatedSessions.put(sessionId, thriftSessionInCache);
-                        sessionDAO.updateLastAccessTime(sessionId, lastAccessTime);
-                    } catch (IdentityException e) {
-                        String error = "Error while updating last access time in DB";
-                        log.error(error, e);
-                    } catch (Exception e) {
-                        String error = "Error in calling on success admin login for the thrift session.";
-                        log.error(error, e);
-                    }
-                    return true;
-                } else {
-                    //if not valid in cache, check if valid in db
-                    try {
-                        ThriftSession thriftSession = sessionDAO.getSession(sessionId);
-                        if (isSessionValid(thriftSession)) {
-                            //update cache and return true
-                            thriftSession.setLastAccess(System.currentTimeMillis());
-                            onSuccessLogin(thriftSession);
-                            authenticatedSessions.put(thriftSession.getSessionId(), thriftSession);
-                            sessionDAO.updateLastAccessTime(sessionId, thriftSession.getLastAccess());
-                            return true;
-                        } else {
-                            //remove from cache and db and return false
-                            removeThriftSession(sessionId);
-                            return false;
-                        }
-                    } catch (IdentityException e) {
-                        String error = "Error while obtaining thrift session from database.";
-                        log.error(error, e);
-                    } catch (Exception e) {
-                        String error = "Error in calling on success admin login for the thrift session.";
-                        log.error(error, e);
-                    }
-                }
-            } else {
-                //if session id not found, check in db as well, if exist in db, populate cache
-                try {
-                    if (sessionDAO.isSessionExisting(sessionId)) {
-                        ThriftSession thriftSession = sessionDAO.getSession(sessionId);
-                        if (isSessionValid(thriftSession)) {
-                            thriftSession.setLastAccess(System.currentTimeMillis());
-                            onSuccessLogin(thriftSession);
-                            authenticatedSessions.put(thriftSession.getSessionId(), thriftSession);
-                            sessionDAO.updateLastAccessTime(sessionId, thriftSession.getLastAccess());
-                            return true;
-                        } else {
-                            sessionDAO.removeSession(sessionId);
-                            return false;
-                        }
-                    }
-                } catch (IdentityException e) {
-                    String error = "Error while obtaining thrift session from database.";
-                    log.error(error, e);
-                } catch (Exception e) {
-                    String error = "Error in calling on success admin login for the thrift session obtained from DB.";
-                    log.error(error, e);
-                }
-            }
+        long lastAccessTime = System.currentTimeMillis();
+        thriftSession.setLastAccess(lastAccessTime);
+        try {
+            //if carbon context in the thrift session is not initialized, should do that now.
+            onSuccessLogin(thriftSession);
+        } catch (IdentityException e) {
+            String error = "Error in calling on success admin login for the thrift session.";
+            log.error(error, e);
         }
-
-        return false;
+        queueLastAccessTimeUpdate(sessionId, lastAccessTime);
+        return true;
     }
 
     public ThriftSession getSessionInfo(String sessionId) {
@@ -269,18 +257,87 @@ public class ThriftAuthenticatorServiceImpl implements ThriftAuthenticatorServic
         return (System.currentTimeMillis() - thriftSession.getLastAccess()) < getThriftSessionTimeOut();
     }
 
-    private void populateSessionsFromDB() throws Exception {
-        //first clear the cache
-        if (!authenticatedSessions.isEmpty()) {
-            authenticatedSessions.clear();
+    private ThriftSession getSessionFromDB(String sessionId) {
+        Long missedAt = missedSessionIds.get(sessionId);
+        if (missedAt != null) {
+            if (System.currentTimeMillis() - missedAt < MISSED_SESSION_ID_TIMEOUT) {
+                return null;
+            }
+            missedSessionIds.remove(sessionId, missedAt);
         }
-        //get all sessions from db
-        ThriftSessionDAO sessionDAO = this.thriftSessionDAO.getInstance();
-        List<ThriftSession> thriftSessions = sessionDAO.getAllSessions();
-        //add to cache
-        if (CollectionUtils.isNotEmpty(thriftSessions)) {
-            for (ThriftSession thriftSession : thriftSessions) {
-                authenticatedSessions.put(thriftSession.getSessionId(), thriftSession);
+        try {
+            ThriftSession thriftSession = this.thriftSessionDAO.getInstance().getSession(sessionId);
+            if (thriftSession == null || thriftSession.getSessionId() == null) {
+                addMissedSessionId(sessionId);
+                authenticatedSessions.remove(sessionId);
+                return null;
+            }
+            if (!isSessionValid(thriftSession)) {
+                //remove from cache and db and return
+                removeThriftSession(sessionId);
+                return null;
+            }
+            persistedLastAccessTimes.put(sessionId, thriftSession.getLastAccess());
+            authenticatedSessions.put(sessionId, thriftSession);
+            return thriftSession;
+        } catch (IdentityException e) {
+            String error = "Error while obtaining thrift session from database.";
+            log.error(error, e);
+        }
+        return null;
+    }
+
+    private void addMissedSessionId(String sessionId) {
+        if (missedSessionIds.size() >= MAX_MISSED_SESSION_IDS) {
+            long now = System.currentTimeMillis();
+            missedSessionIds.values().removeIf(missedAt -> now - missedAt >= MISSED_SESSION_ID_TIMEOUT);
+            if (missedSessionIds.size() >= MAX_MISSED_SESSION_IDS) {
+                return;
+            }
+        }
+        missedSessionIds.put(sessionId, System.currentTimeMillis());
+    }
+
+    private void queueLastAccessTimeUpdate(String sessionId, long lastAccessTime) {
+        Long persistedLastAccessTime = persistedLastAccessTimes.get(sessionId);
+        if (persistedLastAccessTime == null ||
+                lastAccessTime - persistedLastAccessTime >= lastAccessTimeUpdateThreshold) {
+            pendingLastAccessTimes.merge(sessionId, lastAccessTime, Math::max);
+        }
+    }
+
+    private void flushLastAccessTimes() {
+        try {
+            if (!pendingLastAccessTimes.isEmpty()) {
+                Map<String, Long> lastAccessTimes = new HashMap<String, Long>();
+                for (String sessionId : pendingLastAccessTimes.keySet()) {
+                    Long lastAccessTime = pendingLastAccessTimes.remove(sessionId);
+                    if (lastAccessTime != null) {
+                        lastAccessTimes.put(sessionId, lastAccessTime);
+                    }
+                }
+                try {
+                    this.thriftSessionDAO.getInstance().updateLastAccessTimes(lastAccessTimes);
+                    persistedLastAccessTimes.putAll(lastAccessTimes);
+                } catch (IdentityException e) {
+                    log.error("Error while updating last access time of " + lastAccessTimes.size() +
+                            " thrift sessions in DB. The updates will be retried.", e);
+                    for (Map.Entry<String, Long> lastAccessTime : lastAccessTimes.entrySet()) {
+                        pendingLastAccessTimes.merge(lastAccessTime.getKey(), lastAccessTime.getValue(), Math::max);
+                    }
+                }
+            }
+            removeExpiredSessionsFromCache();
+        } catch (RuntimeException e) {
+            log.error("Error while flushing last access times of thrift sessions.", e);
+        }
+    }
+
+    private void removeExpiredSessionsFromCache() {
+        for (Map.Entry<String, ThriftSession> session : authenticatedSessions.entrySet()) {
+            if (!isSessionValid(session.getValue()) && !pendingLastAccessTimes.containsKey(session.getKey())) {
+                authenticatedSessions.remove(session.getKey(), session.getValue());
+                persistedLastAccessTimes.remove(session.getKey());
             }
         }
     }
@@ -215,6 +215,12 @@ public class ClaimMetadataManagementServiceImpl implements ClaimMetadataManageme
         this.localClaimDAO.addLocalClaim(localClaim, tenantId);
 
         ClaimMetadataEventPublisherProxy.getInstance().publishPostAddLocalClaim(tenantId, localClaim);
+        for (ClaimMetadataMgtListener listener : IdentityClaimManagementServiceComponent
+                .getClaimMetadataMgtListeners()) {
+            if (listener.isEnable() && !listener.doPostAddLocalClaim(localClaim, tenantDomain)) {
+                return;
+            }
+        }
     }
 
     @Override
@@ -239,6 +245,12 @@ public class ClaimMetadataManagementServiceImpl implements ClaimMetadataManageme
         this.localClaimDAO.updateLocalClaim(localClaim, tenantId);
 
         ClaimMetadataEventPublisherProxy.getInstance().publishPostUpdateLocalClaim(tenantId, localClaim);
+        for (ClaimMetadataMgtListener listener : IdentityClaimManagementServiceComponent
+                .getClaimMetadataMgtListeners()) {
+            if (listener.isEnable() && !listener.doPostUpdateLocalClaim(localClaim, tenantDomain)) {
+                return;
+            }
+        }
     }
 
     @Override
@@ -254,8 +266,15 @@ public class ClaimMetadataManagementServiceImpl implements ClaimMetadataManageme
 
         this.localClaimDAO.updateLocalClaimMappings(localClaimList, tenantId, userStoreDomain);
 
+        Collection<ClaimMetadataMgtListener> listeners =
+                IdentityClaimManagementServiceComponent.getClaimMetadataMgtListeners();
         for (LocalClaim localClaim : localClaimList) {
             claimMetadataEventPublisherProxy.publishPostUpdateLocalClaim(tenantId, localClaim);
+            for (ClaimMetadataMgtListener listener : listeners) {
+                if (listener.isEnable() && !listener.doPostUpdateLocalClaim(localClaim, tenantDomain)) {
+                    break;
+                }
+            }
         }
     }
 
@@ -19,6 +19,8 @@ package org.wso2.carbon.identity.claim.metadata.mgt;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.claim.metadata.mgt.cache.ClaimMetadataIndex;
+import org.wso2.carbon.identity.claim.metadata.mgt.cache.ClaimMetadataIndexCache;
 import org.wso2.carbon.identity.claim.metadata.mgt.dao.CacheBackedClaimDialectDAO;
 import org.wso2.carbon.identity.claim.metadata.mgt.dao.CacheBackedExternalClaimDAO;
 import org.wso2.carbon.identity.claim.metadata.mgt.dao.CacheBackedLocalClaimDAO;
@@ -45,10 +47,9 @@ import org.wso2.carbon.user.core.claim.inmemory.ClaimConfig;
 import org.wso2.carbon.user.core.listener.ClaimManagerListener;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Default implementation of {@link org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataStore} interface.
@@ -60,6 +61,7 @@ public class DefaultClaimMetadataStore implements ClaimMetadataStore {
     private ClaimDialectDAO claimDialectDAO = new CacheBackedClaimDialectDAO();
     private CacheBackedLocalClaimDAO localClaimDAO = new CacheBackedLocalClaimDAO(new LocalClaimDAO());
     private CacheBackedExternalClaimDAO externalClaimDAO = new CacheBackedExternalClaimDAO(new ExternalClaimDAO());
+    private ClaimMetadataIndexCache claimMetadataIndexCache = ClaimMetadataIndexCache.getInstance();
 
     private int tenantId;
 
@@ -74,6 +76,7 @@ public class DefaultClaimMetadataStore implements ClaimMetadataStore {
             if (claimDialectDAO.getClaimDialects(tenantId).size() == 0) {
                 IdentityClaimManagementServiceDataHolder.getInstance().getClaimConfigInitDAO()
                         .initClaimConfig(claimConfig, tenantId);
+                claimMetadataIndexCache.clearClaimMetadataIndex(tenantId);
             }
         } catch (ClaimMetadataException e) {
             log.error("Error while retrieving claim dialects", e);
@@ -95,16 +98,7 @@ public class DefaultClaimMetadataStore implements ClaimMetadataStore {
         }
 
         try {
-
-            List<LocalClaim> localClaimList = this.localClaimDAO.getLocalClaims(tenantId);
-
-            localClaims = new String[localClaimList.size()];
-
-            int i = 0;
-            for (LocalClaim localClaim : localClaimList) {
-                localClaims[i] = localClaim.getClaimURI();
-                i++;
-            }
+            localClaims = getClaimMetadataIndex().getLocalClaimURIs().toArray(new String[0]);
         } catch (ClaimMetadataException e) {
             throw new UserStoreException(e.getMessage(), e);
         }
@@ -134,54 +128,33 @@ public class DefaultClaimMetadataStore implements ClaimMetadataStore {
         }
 
         try {
-            // Add listener
-
-            List<LocalClaim> localClaimList = this.localClaimDAO.getLocalClaims(tenantId);
-
-            // Add listener
-
-            for (LocalClaim localClaim : localClaimList) {
-                if (localClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
-                    return getMappedAttribute(domainName, localClaim, tenantId);
-                }
+            ClaimMetadataIndex claimMetadataIndex = getClaimMetadataIndex();
+            String attributeName = claimMetadataIndex.getAttributeName(domainName, claimURI);
+            if (attributeName != null) {
+                return attributeName;
             }
 
-
-            // For backward compatibility
-            List<ClaimDialect> claimDialects = claimDialectDAO.getClaimDialects(tenantId);
-
-            for (ClaimDialect claimDialect : claimDialects) {
-                if (ClaimConstants.LOCAL_CLAIM_DIALECT_URI.equalsIgnoreCase(claimDialect.getClaimDialectURI())) {
-                    continue;
-                }
-
-                List<ExternalClaim> externalClaims = externalClaimDAO.getExternalClaims(claimDialect
-                        .getClaimDialectURI(), tenantId);
-
-                for (ExternalClaim externalClaim : externalClaims) {
-                    if (externalClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
-
-                        for (LocalClaim localClaim : localClaimList) {
-                            if (localClaim.getClaimURI().equalsIgnoreCase(externalClaim.getMappedLocalClaim())) {
-                                if (log.isDebugEnabled()) {
-                                    log.debug("Picking mapped attribute for external claim : " + externalClaim
-                                            .getClaimURI() + " using mapped local claim : " + localClaim.getClaimURI());
-                                }
-                                return getMappedAttribute(domainName, localClaim, tenantId);
-                            }
-                        }
-
-                    }
+            LocalClaim localClaim = claimMetadataIndex.getLocalClaim(claimURI);
+            if (localClaim == null) {
+                // For backward compatibility
+                localClaim = claimMetadataIndex.resolveLocalClaim(claimURI);
+                if (localClaim != null && log.isDebugEnabled()) {
+                    log.debug("Picking mapped attribute for external claim : " + claimURI + " using mapped local " +
+                            "claim : " + localClaim.getClaimURI());
                 }
             }
 
-            if (log.isDebugEnabled()) {
-                log.debug("Returning NULL for getAttributeName() for domain : " + domainName + ", claim URI : " +
-                        claimURI);
+            if (localClaim == null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Returning NULL for getAttributeName() for domain : " + domainName + ", claim URI : " +
+                            claimURI);
+                }
+                return null;
             }
 
-            return null;
-
+            attributeName = getMappedAttribute(domainName, localClaim, tenantId);
+            claimMetadataIndex.addAttributeName(domainName, claimURI, attributeName);
+            return attributeName;
         } catch (ClaimMetadataException e) {
             throw new UserStoreException(e.getMessage(), e);
         }
@@ -246,94 +219,28 @@ public class DefaultClaimMetadataStore implements ClaimMetadataStore {
     @Override
     @Deprecated
     public Claim getClaim(String claimURI) throws UserStoreException {
-        try {
-            List<LocalClaim> localClaims = localClaimDAO.getLocalClaims(this.tenantId);
-
-            for (LocalClaim localClaim : localClaims) {
-                if (localClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
-                    ClaimMapping claimMapping = ClaimMetadataUtils.convertLocalClaimToClaimMapping(localClaim, this
-                            .tenantId);
-                    return claimMapping.getClaim();
-                }
-            }
 
-            // For backward compatibility
-            List<ClaimDialect> claimDialects = claimDialectDAO.getClaimDialects(tenantId);
-
-            for (ClaimDialect claimDialect : claimDialects) {
-                if (ClaimConstants.LOCAL_CLAIM_DIALECT_URI.equalsIgnoreCase(claimDialect.getClaimDialectURI())) {
-                    continue;
-                }
-
-                List<ExternalClaim> externalClaims = externalClaimDAO.getExternalClaims(claimDialect
-                        .getClaimDialectURI(), tenantId);
-
-                for (ExternalClaim externalClaim : externalClaims) {
-                    if (externalClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
-
-                        for (LocalClaim localClaim : localClaims) {
-                            ClaimMapping claimMapping = ClaimMetadataUtils.convertLocalClaimToClaimMapping
-                                    (localClaim, this.tenantId);
-                            return claimMapping.getClaim();
-                        }
-
-                    }
-                }
-            }
-
-            if (log.isDebugEnabled()) {
-                log.debug("Returning NULL for getClaim() for claim URI : " + claimURI);
-            }
+        ClaimMapping claimMapping = getClaimMapping(claimURI);
+        if (claimMapping == null) {
             return null;
-        } catch (ClaimMetadataException e) {
-            throw new UserStoreException(e.getMessage(), e);
         }
+        return claimMapping.getClaim();
     }
 
     @Override
     @Deprecated
     public ClaimMapping getClaimMapping(String claimURI) throws UserStoreException {
-        try {
-            List<LocalClaim> localClaims = localClaimDAO.getLocalClaims(this.tenantId);
-
-            for (LocalClaim localClaim : localClaims) {
-                if (localClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
-                    ClaimMapping claimMapping = ClaimMetadataUtils.convertLocalClaimToClaimMapping(localClaim, this
-                            .tenantId);
-                    return claimMapping;
-                }
-            }
-
-            // For backward compatibility
-            List<ClaimDialect> claimDialects = claimDialectDAO.getClaimDialects(tenantId);
-
-            for (ClaimDialect claimDialect : claimDialects) {
-                if (ClaimConstants.LOCAL_CLAIM_DIALECT_URI.equalsIgnoreCase(claimDialect.getClaimDialectURI())) {
-                    continue;
-                }
 
-                List<ExternalClaim> externalClaims = externalClaimDAO.getExternalClaims(claimDialect
-                        .getClaimDialectURI(), tenantId);
-
-                for (ExternalClaim externalClaim : externalClaims) {
-                    if (externalClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
-
-                        for (LocalClaim localClaim : localClaims) {
-                            if (localClaim.getClaimURI().equalsIgnoreCase(externalClaim.getMappedLocalClaim())) {
-                                ClaimMapping claimMapping = ClaimMetadataUtils.convertLocalClaimToClaimMapping
-                                        (localClaim, this.tenantId);
-                                return claimMapping;
-                            }
-                        }
-
-                    }
+        try {
+            // Falls back to the external claims of all the dialects for backward compatibility.
+            LocalClaim localClaim = getClaimMetadataIndex().resolveLocalClaim(claimURI);
+            if (localClaim == null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Returning NULL for getClaimMapping() for claim URI : " + claimURI);
                 }
+                return null;
             }
-
-            if (log.isDebugEnabled()) {
-                log.debug("Returning NULL for getClaimMapping() for claim URI : " + claimURI);
-            }
-            return null;
+            return ClaimMetadataUtils.convertLocalClaimToClaimMapping(localClaim, this.tenantId);
         } catch (ClaimMetadataException e) {
             throw new UserStoreException(e.getMessage(), e);
         }
@@ -461,6 +368,39 @@ public class DefaultClaimMetadataStore implements ClaimMetadataStore {
         }
     }
 
+    /**
+     * Get the claim metadata index of the tenant. The index is built from the cached local and external claims and
+     * cached until the claim metadata of the tenant is modified.
+     *
+     * @return Claim metadata index of the tenant.
+     * @throws ClaimMetadataException If an error occurred while retrieving the claims.
+     */
+    private ClaimMetadataIndex getClaimMetadataIndex() throws ClaimMetadataException {
+
+        ClaimMetadataIndex claimMetadataIndex = claimMetadataIndexCache.getValueFromCache(tenantId, tenantId);
+        if (claimMetadataIndex != null) {
+            return claimMetadataIndex;
+        }
+
+        List<LocalClaim> localClaims = localClaimDAO.getLocalClaims(tenantId);
+        Map<String, List<ExternalClaim>> externalClaims = new LinkedHashMap<>();
+        for (ClaimDialect claimDialect : claimDialectDAO.getClaimDialects(tenantId)) {
+            if (ClaimConstants.LOCAL_CLAIM_DIALECT_URI.equalsIgnoreCase(claimDialect.getClaimDialectURI())) {
+                continue;
+            }
+            externalClaims.put(claimDialect.getClaimDialectURI(),
+                    externalClaimDAO.getExternalClaims(claimDialect.getClaimDialectURI(), tenantId));
+        }
+
+        claimMetadataIndex = ClaimMetadataIndex.build(localClaims, externalClaims);
+        claimMetadataIndexCache.addToCache(tenantId, claimMetadataIndex, tenantId);
+        if (log.isDebugEnabled()) {
+            log.debug("Built claim metadata index for tenant: " + tenantId + " with " + localClaims.size() +
+                    " local claims and " + externalClaims.size() + " external claim dialects.");
+        }
+        return claimMetadataIndex;
+    }
+
     private boolean isFilterableClaim(LocalClaim localClaim) {
 
         // Filter the local claim `role` when groups vs roles separation is enabled. This claim is
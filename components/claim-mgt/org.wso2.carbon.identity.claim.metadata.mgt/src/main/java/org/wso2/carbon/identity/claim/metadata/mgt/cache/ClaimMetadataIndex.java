@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.claim.metadata.mgt.cache;
+
+import org.wso2.carbon.identity.claim.metadata.mgt.model.ExternalClaim;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable snapshot of the claim metadata of a tenant, indexed for constant time lookups of local claims by local
+ * or external claim URI. Claim URIs are matched case insensitively. The snapshot is replaced as a whole whenever the
+ * claim metadata of the tenant changes, hence readers always see a consistent view. Attribute names resolved for
+ * user store domains are remembered in the snapshot so that they are discarded along with it.
+ */
+public class ClaimMetadataIndex implements Serializable {
+
+    private static final long serialVersionUID = 3961857302114378325L;
+    private static final String KEY_SEPARATOR = "|";
+
+    private final Map<String, LocalClaim> localClaims;
+    private final Map<String, LocalClaim> externalClaimsByDialect;
+    private final Map<String, LocalClaim> externalClaims;
+    private final List<String> localClaimURIs;
+    private final Map<String, String> attributeNames = new ConcurrentHashMap<>();
+
+    private ClaimMetadataIndex(Map<String, LocalClaim> localClaims, Map<String, LocalClaim> externalClaimsByDialect,
+                               Map<String, LocalClaim> externalClaims, List<String> localClaimURIs) {
+
+        this.localClaims = localClaims;
+        this.externalClaimsByDialect = externalClaimsByDialect;
+        this.externalClaims = externalClaims;
+        this.localClaimURIs = localClaimURIs;
+    }
+
+    /**
+     * Build the index of a tenant.
+     *
+     * @param localClaimList Local claims of the tenant.
+     * @param externalClaimLists External claims of the tenant keyed by the external dialect URI. Iteration order of
+     *                           the map decides which mapping wins when the same external claim URI is available in
+     *                           more than one dialect.
+     * @return Claim metadata index.
+     */
+    public static ClaimMetadataIndex build(List<LocalClaim> localClaimList,
+                                           Map<String, List<ExternalClaim>> externalClaimLists) {
+
+        Map<String, LocalClaim> localClaims = new HashMap<>();
+        List<String> localClaimURIs = new ArrayList<>(localClaimList.size());
+        for (LocalClaim localClaim : localClaimList) {
+            localClaims.putIfAbsent(normalize(localClaim.getClaimURI()), localClaim);
+            localClaimURIs.add(localClaim.getClaimURI());
+        }
+
+        Map<String, LocalClaim> externalClaimsByDialect = new HashMap<>();
+        Map<String, LocalClaim> externalClaims = new HashMap<>();
+        for (Map.Entry<String, List<ExternalClaim>> dialect : externalClaimLists.entrySet()) {
+            for (ExternalClaim externalClaim : dialect.getValue()) {
+                LocalClaim mappedLocalClaim = localClaims.get(normalize(externalClaim.getMappedLocalClaim()));
+                if (mappedLocalClaim == null) {
+                    continue;
+                }
+                externalClaimsByDialect.putIfAbsent(buildDialectKey(dialect.getKey(), externalClaim.getClaimURI()),
+                        mappedLocalClaim);
+                externalClaims.putIfAbsent(normalize(externalClaim.getClaimURI()), mappedLocalClaim);
+            }
+        }
+
+        return new ClaimMetadataIndex(localClaims, externalClaimsByDialect, externalClaims,
+                Collections.unmodifiableList(localClaimURIs));
+    }
+
+    /**
+     * Get the local claim of the given local claim URI.
+     *
+     * @param localClaimURI Local claim URI.
+     * @return Local claim or {@code null} if there is no such local claim.
+     */
+    public LocalClaim getLocalClaim(String localClaimURI) {
+
+        return localClaims.get(normalize(localClaimURI));
+    }
+
+    /**
+     * Get the local claim mapped to the given external claim of the given dialect.
+     *
+     * @param externalDialectURI External claim dialect URI.
+     * @param externalClaimURI   External claim URI.
+     * @return Mapped local claim or {@code null} if the external claim is not available.
+     */
+    public LocalClaim getMappedLocalClaim(String externalDialectURI, String externalClaimURI) {
+
+        return externalClaimsByDialect.get(buildDialectKey(externalDialectURI, externalClaimURI));
+    }
+
+    /**
+     * Resolve the local claim of the given claim URI. The claim URI is first looked up among the local claims and
+     * then among the external claims of all the dialects.
+     *
+     * @param claimURI Local or external claim URI.
+     * @return Local claim or {@code null} if the claim URI could not be resolved.
+     */
+    public LocalClaim resolveLocalClaim(String claimURI) {
+
+        LocalClaim localClaim = getLocalClaim(claimURI);
+        if (localClaim == null) {
+            localClaim = externalClaims.get(normalize(claimURI));
+        }
+        return localClaim;
+    }
+
+    /**
+     * Get the URIs of all the local claims in the order they were retrieved.
+     *
+     * @return Unmodifiable list of local claim URIs.
+     */
+    public List<String> getLocalClaimURIs() {
+
+        return localClaimURIs;
+    }
+
+    /**
+     * Get a previously resolved attribute name of a claim in a user store domain.
+     *
+     * @param domainName User store domain name.
+     * @param claimURI   Local or external claim URI.
+     * @return Attribute name or {@code null} if it is not resolved yet.
+     */
+    public String getAttributeName(String domainName, String claimURI) {
+
+        return attributeNames.get(buildAttributeKey(domainName, claimURI));
+    }
+
+    /**
+     * Remember the resolved attribute name of a claim in a user store domain.
+     *
+     * @param domainName    User store domain name.
+     * @param claimURI      Local or external claim URI.
+     * @param attributeName Resolved attribute name.
+     */
+    public void addAttributeName(String domainName, String claimURI, String attributeName) {
+
+        if (attributeName != null) {
+            attributeNames.put(buildAttributeKey(domainName, claimURI), attributeName);
+        }
+    }
+
+    private static String buildDialectKey(String dialectURI, String claimURI) {
+
+        return normalize(dialectURI) + KEY_SEPARATOR + normalize(claimURI);
+    }
+
+    private static String buildAttributeKey(String domainName, String claimURI) {
+
+        return domainName.toUpperCase(Locale.ENGLISH) + KEY_SEPARATOR + normalize(claimURI);
+    }
+
+    private static String normalize(String claimURI) {
+
+        return claimURI == null ? "" : claimURI.toLowerCase(Locale.ENGLISH);
+    }
+}
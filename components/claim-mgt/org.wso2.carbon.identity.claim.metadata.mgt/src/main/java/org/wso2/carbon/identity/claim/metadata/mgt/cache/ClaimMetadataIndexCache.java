@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.claim.metadata.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Cache of the per tenant {@link ClaimMetadataIndex}.
+ */
+public class ClaimMetadataIndexCache extends BaseCache<Integer, ClaimMetadataIndex> {
+
+    private static final String CACHE_NAME = "ClaimMetadataIndexCache";
+    private static final ClaimMetadataIndexCache instance = new ClaimMetadataIndexCache();
+
+    private ClaimMetadataIndexCache() {
+
+        super(CACHE_NAME);
+    }
+
+    public static ClaimMetadataIndexCache getInstance() {
+
+        return instance;
+    }
+
+    public void clearClaimMetadataIndex(int tenantId) {
+
+        super.clearCacheEntry(tenantId, tenantId);
+    }
+}
@@ -18,8 +18,9 @@ package org.wso2.carbon.identity.claim.metadata.mgt.dao;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.wso2.carbon.identity.claim.metadata.mgt.cache.ExternalClaimCacheKey;
+import org.wso2.carbon.identity.claim.metadata.mgt.cache.ClaimMetadataIndexCache;
 import org.wso2.carbon.identity.claim.metadata.mgt.cache.ExternalClaimCache;
+import org.wso2.carbon.identity.claim.metadata.mgt.cache.ExternalClaimCacheKey;
 import org.wso2.carbon.identity.claim.metadata.mgt.exception.ClaimMetadataException;
 import org.wso2.carbon.identity.claim.metadata.mgt.model.ExternalClaim;
 
@@ -37,6 +38,7 @@ public class CacheBackedExternalClaimDAO {
 
     ExternalClaimDAO externalClaimDAO;
     ExternalClaimCache externalClaimCache = ExternalClaimCache.getInstance();
+    ClaimMetadataIndexCache claimMetadataIndexCache = ClaimMetadataIndexCache.getInstance();
 
     public CacheBackedExternalClaimDAO(ExternalClaimDAO externalClaimDAO) {
         this.externalClaimDAO = externalClaimDAO;
@@ -72,6 +74,7 @@ public class CacheBackedExternalClaimDAO {
         String externalClaimDialectURI = externalClaim.getClaimDialectURI();
         ExternalClaimCacheKey cacheKey = new ExternalClaimCacheKey(externalClaimDialectURI);
         externalClaimCache.clearCacheEntry(cacheKey, tenantId);
+        claimMetadataIndexCache.clearClaimMetadataIndex(tenantId);
     }
     public void updateExternalClaim(ExternalClaim externalClaim, int tenantId) throws ClaimMetadataException {
 
@@ -79,6 +82,7 @@ public class CacheBackedExternalClaimDAO {
         String externalClaimDialectURI = externalClaim.getClaimDialectURI();
         ExternalClaimCacheKey cacheKey = new ExternalClaimCacheKey(externalClaimDialectURI);
         externalClaimCache.clearCacheEntry(cacheKey, tenantId);
+        claimMetadataIndexCache.clearClaimMetadataIndex(tenantId);
     }
     public void removeExternalClaim(String externalClaimDialectURI, String externalClaimURI, int tenantId) throws
             ClaimMetadataException {
@@ -86,6 +90,7 @@ public class CacheBackedExternalClaimDAO {
         externalClaimDAO.removeExternalClaim(externalClaimDialectURI, externalClaimURI, tenantId);
         ExternalClaimCacheKey cacheKey = new ExternalClaimCacheKey(externalClaimDialectURI);
         externalClaimCache.clearCacheEntry(cacheKey, tenantId);
+        claimMetadataIndexCache.clearClaimMetadataIndex(tenantId);
     }
 
     public boolean isMappedLocalClaim(String mappedLocalClaimURI, int tenantId) throws
@@ -111,5 +116,6 @@ public class CacheBackedExternalClaimDAO {
 
         ExternalClaimCacheKey cacheKey = new ExternalClaimCacheKey(externalClaimDialectURI);
         externalClaimCache.clearCacheEntry(cacheKey, tenantId);
+        claimMetadataIndexCache.clearClaimMetadataIndex(tenantId);
     }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.identity.claim.metadata.mgt.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.AttributeMapping;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.ExternalClaim;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Covers unit tests for ClaimMetadataIndex class.
+ */
+public class ClaimMetadataIndexTest {
+
+    private static final Log log = LogFactory.getLog(ClaimMetadataIndexTest.class);
+
+    private static final int LOCAL_CLAIM_COUNT = 500;
+    private static final int DIALECT_COUNT = 10;
+    private static final int LOOKUP_ITERATIONS = 20;
+    private static final String LOCAL_CLAIM_URI_PREFIX = "http://wso2.org/claims/claim";
+    private static final String DIALECT_URI_PREFIX = "http://dialect";
+
+    private List<LocalClaim> localClaims;
+    private Map<String, List<ExternalClaim>> externalClaims;
+    private ClaimMetadataIndex claimMetadataIndex;
+
+    @BeforeClass
+    public void setUp() {
+
+        localClaims = new ArrayList<>();
+        for (int i = 0; i < LOCAL_CLAIM_COUNT; i++) {
+            List<AttributeMapping> attributeMappings = new ArrayList<>();
+            attributeMappings.add(new AttributeMapping("PRIMARY", "attribute" + i));
+            localClaims.add(new LocalClaim(LOCAL_CLAIM_URI_PREFIX + i, attributeMappings, new HashMap<>()));
+        }
+
+        externalClaims = new LinkedHashMap<>();
+        for (int d = 0; d < DIALECT_COUNT; d++) {
+            List<ExternalClaim> dialectClaims = new ArrayList<>();
+            for (int i = 0; i < LOCAL_CLAIM_COUNT; i++) {
+                // Every dialect maps the same external claim URIs to different local claims.
+                dialectClaims.add(new ExternalClaim(DIALECT_URI_PREFIX + d, "urn:external:" + i,
+                        LOCAL_CLAIM_URI_PREFIX + ((i + d) % LOCAL_CLAIM_COUNT)));
+            }
+            externalClaims.put(DIALECT_URI_PREFIX + d, dialectClaims);
+        }
+
+        claimMetadataIndex = ClaimMetadataIndex.build(localClaims, externalClaims);
+    }
+
+    @Test
+    public void testGetLocalClaim() {
+
+        Assert.assertEquals(claimMetadataIndex.getLocalClaim(LOCAL_CLAIM_URI_PREFIX + 10).getClaimURI(),
+                LOCAL_CLAIM_URI_PREFIX + 10);
+        Assert.assertEquals(claimMetadataIndex.getLocalClaim("HTTP://WSO2.ORG/CLAIMS/CLAIM10").getClaimURI(),
+                LOCAL_CLAIM_URI_PREFIX + 10);
+        Assert.assertNull(claimMetadataIndex.getLocalClaim("http://wso2.org/claims/unknown"));
+        Assert.assertEquals(claimMetadataIndex.getLocalClaimURIs().size(), LOCAL_CLAIM_COUNT);
+        Assert.assertEquals(claimMetadataIndex.getLocalClaimURIs().get(0), LOCAL_CLAIM_URI_PREFIX + 0);
+    }
+
+    @Test
+    public void testGetMappedLocalClaim() {
+
+        Assert.assertEquals(claimMetadataIndex.getMappedLocalClaim(DIALECT_URI_PREFIX + 3, "urn:external:10")
+                .getClaimURI(), LOCAL_CLAIM_URI_PREFIX + 13);
+        Assert.assertEquals(claimMetadataIndex.getMappedLocalClaim(DIALECT_URI_PREFIX + 3, "URN:EXTERNAL:10")
+                .getClaimURI(), LOCAL_CLAIM_URI_PREFIX + 13);
+        Assert.assertNull(claimMetadataIndex.getMappedLocalClaim(DIALECT_URI_PREFIX + 3, "urn:external:unknown"));
+        Assert.assertNull(claimMetadataIndex.getMappedLocalClaim("http://unknown", "urn:external:10"));
+    }
+
+    @Test
+    public void testResolveLocalClaim() {
+
+        // External claim URIs resolve through the first dialect which defines them.
+        Assert.assertEquals(claimMetadataIndex.resolveLocalClaim("urn:external:10").getClaimURI(),
+                LOCAL_CLAIM_URI_PREFIX + 10);
+        Assert.assertEquals(claimMetadataIndex.resolveLocalClaim(LOCAL_CLAIM_URI_PREFIX + 20).getClaimURI(),
+                LOCAL_CLAIM_URI_PREFIX + 20);
+        Assert.assertNull(claimMetadataIndex.resolveLocalClaim("urn:external:unknown"));
+    }
+
+    @Test
+    public void testExternalClaimWithUnknownLocalClaimIsIgnored() {
+
+        Map<String, List<ExternalClaim>> dialects = new LinkedHashMap<>();
+        dialects.put(DIALECT_URI_PREFIX, Collections.singletonList(new ExternalClaim(DIALECT_URI_PREFIX,
+                "urn:external:orphan", "http://wso2.org/claims/unknown")));
+        ClaimMetadataIndex index = ClaimMetadataIndex.build(localClaims, dialects);
+
+        Assert.assertNull(index.resolveLocalClaim("urn:external:orphan"));
+    }
+
+    @Test
+    public void testAttributeNames() {
+
+        ClaimMetadataIndex index = ClaimMetadataIndex.build(localClaims, externalClaims);
+        Assert.assertNull(index.getAttributeName("primary", LOCAL_CLAIM_URI_PREFIX + 1));
+
+        index.addAttributeName("primary", LOCAL_CLAIM_URI_PREFIX + 1, "attribute1");
+        index.addAttributeName("primary", LOCAL_CLAIM_URI_PREFIX + 2, null);
+
+        Assert.assertEquals(index.getAttributeName("PRIMARY", "HTTP://WSO2.ORG/CLAIMS/CLAIM1"), "attribute1");
+        Assert.assertNull(index.getAttributeName("PRIMARY", LOCAL_CLAIM_URI_PREFIX + 2));
+        Assert.assertNull(index.getAttributeName("SECONDARY", LOCAL_CLAIM_URI_PREFIX + 1));
+    }
+
+    @Test
+    public void testIndexedLookupMatchesLinearScan() {
+
+        long scanTime = 0;
+        long indexTime = 0;
+        for (int iteration = 0; iteration < LOOKUP_ITERATIONS; iteration++) {
+            for (int i = 0; i < LOCAL_CLAIM_COUNT; i++) {
+                String claimURI = "urn:external:" + i;
+
+                long start = System.nanoTime();
+                LocalClaim scanned = resolveByLinearScan(claimURI);
+                scanTime += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                LocalClaim indexed = claimMetadataIndex.resolveLocalClaim(claimURI);
+                indexTime += System.nanoTime() - start;
+
+                Assert.assertSame(indexed, scanned);
+            }
+        }
+
+        // Timings are informational only and not asserted as they depend on the build environment.
+        log.info("Resolved " + LOOKUP_ITERATIONS * LOCAL_CLAIM_COUNT + " external claim URIs over "
+                + LOCAL_CLAIM_COUNT + " local claims and " + DIALECT_COUNT + " dialects. Linear scan: "
+                + scanTime / 1000000 + " ms, index: " + indexTime / 1000000 + " ms.");
+    }
+
+    private LocalClaim resolveByLinearScan(String claimURI) {
+
+        for (LocalClaim localClaim : localClaims) {
+            if (localClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
+                return localClaim;
+            }
+        }
+        for (List<ExternalClaim> dialectClaims : externalClaims.values()) {
+            for (ExternalClaim externalClaim : dialectClaims) {
+                if (externalClaim.getClaimURI().equalsIgnoreCase(claimURI)) {
+                    for (LocalClaim localClaim : localClaims) {
+                        if (localClaim.getClaimURI().equalsIgnoreCase(externalClaim.getMappedLocalClaim())) {
+                            return localClaim;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -112,4 +112,41 @@ public interface CORSManagementService {
      */
     void setCORSConfiguration(CORSConfiguration corsConfiguration, String tenantDomain)
             throws CORSManagementServiceException;
+
+    /**
+     * Check whether a request origin is allowed by the CORS configuration and the CORS origins of a tenant.
+     *
+     * @param origin       Value of the origin header of the request.
+     * @param tenantDomain The tenant domain.
+     * @return {@code true} if the origin is allowed.
+     * @throws CORSManagementServiceException
+     */
+    default boolean isAllowedOrigin(String origin, String tenantDomain) throws CORSManagementServiceException {
+
+        if (getCORSConfiguration(tenantDomain).isAllowAnyOrigin()) {
+            return true;
+        }
+        return getTenantCORSOrigins(tenantDomain).stream()
+                .anyMatch(corsOrigin -> corsOrigin.getOrigin().equals(origin));
+    }
+
+    /**
+     * Check whether a request origin is allowed by the CORS configuration of a tenant and the CORS origins of an
+     * application.
+     *
+     * @param origin        Value of the origin header of the request.
+     * @param applicationId The application ID that the CORS origins belong to.
+     * @param tenantDomain  The tenant domain.
+     * @return {@code true} if the origin is allowed.
+     * @throws CORSManagementServiceException
+     */
+    default boolean isAllowedOrigin(String origin, String applicationId, String tenantDomain)
+            throws CORSManagementServiceException {
+
+        if (getCORSConfiguration(tenantDomain).isAllowAnyOrigin()) {
+            return true;
+        }
+        return getApplicationCORSOrigins(applicationId, tenantDomain).stream()
+                .anyMatch(corsOrigin -> corsOrigin.getOrigin().equals(origin));
+    }
 }
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.cors.mgt.core.internal.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.cors.mgt.core.exception.CORSManagementServiceClientException;
+import org.wso2.carbon.identity.cors.mgt.core.model.CORSConfiguration;
+import org.wso2.carbon.identity.cors.mgt.core.model.CORSOrigin;
+import org.wso2.carbon.identity.cors.mgt.core.model.Origin;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Compiled, immutable view of the CORS origins allowed for a tenant or an application.
+ * <p>
+ * Exact origins are kept in a hash set holding both the configured and the normalized values. When sub domains are
+ * allowed, the normalized suffixes (host and port) of the origins are kept in a trie keyed by the reversed suffix so
+ * that a request origin can be matched by a single right to left walk. Matching an origin that is either allowed
+ * exactly or checked against the trie does not allocate.
+ */
+public class CORSOriginMatcher implements Serializable {
+
+    private static final long serialVersionUID = -2871642081372734591L;
+    private static final Log log = LogFactory.getLog(CORSOriginMatcher.class);
+    private static final String SCHEME_SEPARATOR = "://";
+
+    private final boolean allowAnyOrigin;
+    private final Set<String> origins;
+    private final SuffixNode suffixes;
+
+    private CORSOriginMatcher(boolean allowAnyOrigin, Set<String> origins, SuffixNode suffixes) {
+
+        this.allowAnyOrigin = allowAnyOrigin;
+        this.origins = origins;
+        this.suffixes = suffixes;
+    }
+
+    /**
+     * Compile the matcher of the given CORS configuration and origins.
+     *
+     * @param corsConfiguration CORS configuration of the tenant.
+     * @param corsOrigins       CORS origins of the tenant or the application.
+     * @return Compiled matcher.
+     */
+    public static CORSOriginMatcher build(CORSConfiguration corsConfiguration, List<CORSOrigin> corsOrigins) {
+
+        Set<String> origins = new HashSet<>();
+        SuffixNode suffixes = corsConfiguration.isAllowSubdomains() ? new SuffixNode() : null;
+        for (CORSOrigin corsOrigin : corsOrigins) {
+            String value = corsOrigin.getOrigin();
+            if (value == null) {
+                continue;
+            }
+            origins.add(value);
+
+            Origin origin;
+            try {
+                origin = new Origin(value);
+            } catch (CORSManagementServiceClientException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Stored CORS origin: " + value + " could not be parsed. Only exact matches of the " +
+                            "origin will be allowed.", e);
+                }
+                continue;
+            }
+            if (origin.getScheme() == null) {
+                // The 'null' origin.
+                continue;
+            }
+            String suffix = origin.getSuffix();
+            origins.add(origin.getScheme() + SCHEME_SEPARATOR + suffix);
+            if (suffixes != null) {
+                suffixes.add(suffix, origin.getScheme());
+            }
+        }
+        return new CORSOriginMatcher(corsConfiguration.isAllowAnyOrigin(), origins, suffixes);
+    }
+
+    /**
+     * Check whether the given request origin is allowed.
+     *
+     * @param origin Value of the origin header of the request.
+     * @return {@code true} if the origin is allowed.
+     */
+    public boolean isAllowed(String origin) {
+
+        if (allowAnyOrigin) {
+            return true;
+        }
+        if (origin == null) {
+            return false;
+        }
+        if (origins.contains(origin)) {
+            return true;
+        }
+        if (hasUpperCase(origin) && origins.contains(origin.toLowerCase(Locale.ENGLISH))) {
+            return true;
+        }
+        return suffixes != null && isAllowedSubdomain(origin);
+    }
+
+    /**
+     * Walk the trie from the last character of the request origin towards the scheme. The origin is allowed if an
+     * allowed suffix ends right after a '.' of the request origin and is allowed for the scheme of the request.
+     */
+    private boolean isAllowedSubdomain(String origin) {
+
+        int schemeLength = origin.indexOf(SCHEME_SEPARATOR);
+        if (schemeLength <= 0) {
+            return false;
+        }
+        int start = schemeLength + SCHEME_SEPARATOR.length();
+
+        SuffixNode node = suffixes;
+        for (int i = origin.length() - 1; i > start; i--) {
+            node = node.getChild(Character.toLowerCase(origin.charAt(i)));
+            if (node == null) {
+                return false;
+            }
+            if (node.schemes != null && origin.charAt(i - 1) == '.' && node.hasScheme(origin, schemeLength)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasUpperCase(String value) {
+
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isUpperCase(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Node of the reversed suffix trie. Children are kept in small parallel arrays since the fan out of a node is
+     * low and a linear scan avoids boxing the characters.
+     */
+    private static class SuffixNode implements Serializable {
+
+        private static final long serialVersionUID = 4729358226197614003L;
+
+        private char[] keys = new char[0];
+        private SuffixNode[] children = new SuffixNode[0];
+        private String[] schemes;
+
+        private void add(String suffix, String scheme) {
+
+            SuffixNode node = this;
+            for (int i = suffix.length() - 1; i >= 0; i--) {
+                char key = suffix.charAt(i);
+                SuffixNode child = node.getChild(key);
+                if (child == null) {
+                    child = new SuffixNode();
+                    node.keys = Arrays.copyOf(node.keys, node.keys.length + 1);
+                    node.children = Arrays.copyOf(node.children, node.children.length + 1);
+                    node.keys[node.keys.length - 1] = key;
+                    node.children[node.children.length - 1] = child;
+                }
+                node = child;
+            }
+            if (node.schemes == null) {
+                node.schemes = new String[]{scheme};
+            } else if (!Arrays.asList(node.schemes).contains(scheme)) {
+                node.schemes = Arrays.copyOf(node.schemes, node.schemes.length + 1);
+                node.schemes[node.schemes.length - 1] = scheme;
+            }
+        }
+
+        private SuffixNode getChild(char key) {
+
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private boolean hasScheme(String origin, int schemeLength) {
+
+            for (String scheme : schemes) {
+                if (scheme.length() == schemeLength && origin.regionMatches(true, 0, scheme, 0, schemeLength)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
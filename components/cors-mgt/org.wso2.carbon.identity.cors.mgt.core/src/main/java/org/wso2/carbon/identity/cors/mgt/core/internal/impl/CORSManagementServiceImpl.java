@@ -32,6 +32,9 @@ import org.wso2.carbon.identity.cors.mgt.core.dao.CORSOriginDAO;
 import org.wso2.carbon.identity.cors.mgt.core.exception.CORSManagementServiceClientException;
 import org.wso2.carbon.identity.cors.mgt.core.exception.CORSManagementServiceException;
 import org.wso2.carbon.identity.cors.mgt.core.internal.CORSManagementServiceHolder;
+import org.wso2.carbon.identity.cors.mgt.core.internal.cache.CORSOriginMatcher;
+import org.wso2.carbon.identity.cors.mgt.core.internal.cache.CORSOriginMatcherCache;
+import org.wso2.carbon.identity.cors.mgt.core.internal.cache.CORSOriginMatcherCacheKey;
 import org.wso2.carbon.identity.cors.mgt.core.internal.util.CORSConfigurationUtils;
 import org.wso2.carbon.identity.cors.mgt.core.model.CORSApplication;
 import org.wso2.carbon.identity.cors.mgt.core.model.CORSConfiguration;
@@ -106,6 +109,7 @@ public class CORSManagementServiceImpl implements CORSManagementService {
                     corsOrigin.setOrigin(origin.getValue());
                     return corsOrigin;
                 }).collect(Collectors.toList()), tenantId);
+        clearCORSOriginMatchers(applicationId, tenantId);
     }
 
     /**
@@ -145,6 +149,7 @@ public class CORSManagementServiceImpl implements CORSManagementService {
                     return corsOrigin;
                 }).collect(Collectors.toList()), tenantId
         );
+        clearCORSOriginMatchers(applicationId, tenantId);
     }
 
     /**
@@ -173,6 +178,7 @@ public class CORSManagementServiceImpl implements CORSManagementService {
 
         // Delete the CORS origin application associations.
         getCORSOriginDAO().deleteCORSOrigins(applicationBasicInfo.getApplicationId(), originIds, tenantId);
+        clearCORSOriginMatchers(applicationId, tenantId);
     }
 
     /**
@@ -208,6 +214,70 @@ public class CORSManagementServiceImpl implements CORSManagementService {
         validateTenantDomain(tenantDomain);
 
         getCORSConfigurationDAO().setCORSConfigurationByTenantDomain(corsConfiguration, tenantDomain);
+        // Every matcher of the tenant is compiled with the tenant CORS configuration.
+        CORSOriginMatcherCache.getInstance().clear(tenantDomain);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isAllowedOrigin(String origin, String tenantDomain) throws CORSManagementServiceException {
+
+        return getCORSOriginMatcher(null, tenantDomain).isAllowed(origin);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isAllowedOrigin(String origin, String applicationId, String tenantDomain)
+            throws CORSManagementServiceException {
+
+        // Validate the application ID before looking up the cache so that the matchers are only cached for
+        // existing applications.
+        if (StringUtils.isBlank(applicationId)) {
+            throw handleClientException(ErrorMessages.ERROR_CODE_INVALID_APP_ID, applicationId);
+        }
+        return getCORSOriginMatcher(applicationId, tenantDomain).isAllowed(origin);
+    }
+
+    /**
+     * Get the compiled CORS origin matcher of a tenant or an application, compiling and caching it if needed.
+     *
+     * @param applicationId The application resource ID or {@code null} for the tenant wide matcher.
+     * @param tenantDomain  The tenant domain.
+     * @return The compiled CORS origin matcher.
+     * @throws CORSManagementServiceException
+     */
+    private CORSOriginMatcher getCORSOriginMatcher(String applicationId, String tenantDomain)
+            throws CORSManagementServiceException {
+
+        int tenantId = getTenantId(tenantDomain);
+        CORSOriginMatcherCacheKey cacheKey = new CORSOriginMatcherCacheKey(applicationId);
+        CORSOriginMatcher corsOriginMatcher = CORSOriginMatcherCache.getInstance().getValueFromCache(cacheKey,
+                tenantId);
+        if (corsOriginMatcher != null) {
+            return corsOriginMatcher;
+        }
+
+        List<CORSOrigin> corsOrigins = applicationId == null ? getTenantCORSOrigins(tenantDomain) :
+                getApplicationCORSOrigins(applicationId, tenantDomain);
+        corsOriginMatcher = CORSOriginMatcher.build(getCORSConfiguration(tenantDomain), corsOrigins);
+        CORSOriginMatcherCache.getInstance().addToCache(cacheKey, corsOriginMatcher, tenantId);
+        return corsOriginMatcher;
+    }
+
+    /**
+     * Clear the compiled CORS origin matchers affected by a change of the CORS origins of an application.
+     *
+     * @param applicationId The application resource ID.
+     * @param tenantId      The tenant ID.
+     */
+    private void clearCORSOriginMatchers(String applicationId, int tenantId) {
+
+        CORSOriginMatcherCache.getInstance().clearCacheEntry(new CORSOriginMatcherCacheKey(applicationId), tenantId);
+        CORSOriginMatcherCache.getInstance().clearCacheEntry(new CORSOriginMatcherCacheKey(null), tenantId);
     }
 
     /**
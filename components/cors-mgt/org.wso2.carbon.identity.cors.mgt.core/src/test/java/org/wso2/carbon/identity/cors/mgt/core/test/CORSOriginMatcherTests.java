@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.cors.mgt.core.test;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.cors.mgt.core.internal.cache.CORSOriginMatcher;
+import org.wso2.carbon.identity.cors.mgt.core.model.CORSConfiguration;
+import org.wso2.carbon.identity.cors.mgt.core.model.CORSOrigin;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the compiled CORS origin matcher.
+ */
+public class CORSOriginMatcherTests {
+
+    @Test
+    public void testExactOrigins() {
+
+        CORSOriginMatcher matcher = CORSOriginMatcher.build(createConfiguration(false, false),
+                createOrigins("http://example.com", "https://Example.org:8443"));
+
+        assertTrue(matcher.isAllowed("http://example.com"));
+        assertTrue(matcher.isAllowed("HTTP://EXAMPLE.COM"));
+        assertTrue(matcher.isAllowed("https://example.org:8443"));
+        assertFalse(matcher.isAllowed("https://example.com"));
+        assertFalse(matcher.isAllowed("http://example.com:8080"));
+        assertFalse(matcher.isAllowed("http://sub.example.com"));
+        assertFalse(matcher.isAllowed(null));
+    }
+
+    @Test
+    public void testAnyOrigin() {
+
+        CORSOriginMatcher matcher = CORSOriginMatcher.build(createConfiguration(true, false), createOrigins());
+
+        assertTrue(matcher.isAllowed("http://example.com"));
+    }
+
+    @Test
+    public void testSubdomains() {
+
+        CORSOriginMatcher matcher = CORSOriginMatcher.build(createConfiguration(false, true),
+                createOrigins("https://example.com", "http://example.org:8080"));
+
+        assertTrue(matcher.isAllowed("https://example.com"));
+        assertTrue(matcher.isAllowed("https://sub.example.com"));
+        assertTrue(matcher.isAllowed("https://a.b.EXAMPLE.com"));
+        assertTrue(matcher.isAllowed("http://sub.example.org:8080"));
+        assertFalse(matcher.isAllowed("http://sub.example.com"));
+        assertFalse(matcher.isAllowed("https://badexample.com"));
+        assertFalse(matcher.isAllowed("https://.example.com.evil.org"));
+        assertFalse(matcher.isAllowed("http://sub.example.org"));
+        assertFalse(matcher.isAllowed("sub.example.com"));
+    }
+
+    @Test
+    public void testSubdomainsNotAllowed() {
+
+        CORSOriginMatcher matcher = CORSOriginMatcher.build(createConfiguration(false, false),
+                createOrigins("https://example.com"));
+
+        assertFalse(matcher.isAllowed("https://sub.example.com"));
+    }
+
+    private CORSConfiguration createConfiguration(boolean allowAnyOrigin, boolean allowSubdomains) {
+
+        CORSConfiguration corsConfiguration = new CORSConfiguration();
+        corsConfiguration.setAllowAnyOrigin(allowAnyOrigin);
+        corsConfiguration.setAllowSubdomains(allowSubdomains);
+        return corsConfiguration;
+    }
+
+    private List<CORSOrigin> createOrigins(String... values) {
+
+        List<CORSOrigin> corsOrigins = new ArrayList<>();
+        for (String value : values) {
+            CORSOrigin corsOrigin = new CORSOrigin();
+            corsOrigin.setOrigin(value);
+            corsOrigins.add(corsOrigin);
+        }
+        return corsOrigins;
+    }
+}
@@ -22,6 +22,9 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.application.common.util.IdentityApplicationManagementUtil;
+import org.wso2.carbon.identity.functions.library.mgt.cache.FunctionLibraryCache;
+import org.wso2.carbon.identity.functions.library.mgt.cache.FunctionLibraryCacheEntry;
+import org.wso2.carbon.identity.functions.library.mgt.cache.FunctionLibraryCacheKey;
 import org.wso2.carbon.identity.functions.library.mgt.dao.FunctionLibraryDAO;
 import org.wso2.carbon.identity.functions.library.mgt.dao.impl.FunctionLibraryDAOImpl;
 import org.wso2.carbon.identity.functions.library.mgt.exception.FunctionLibraryManagementException;
@@ -79,6 +82,7 @@ public class FunctionLibraryManagementServiceImpl implements FunctionLibraryMana
                     FunctionLibraryMgtUtil.FUNCTION_LIBRARY_NAME_VALIDATING_REGEX);
         }
         functionLibraryDAO.createFunctionLibrary(functionLibrary, tenantDomain);
+        clearFunctionLibraryCache(functionLibraryName, tenantDomain);
     }
 
     @Override
@@ -92,8 +96,24 @@ public class FunctionLibraryManagementServiceImpl implements FunctionLibraryMana
     public FunctionLibrary getFunctionLibrary(String functionLibraryName, String tenantDomain)
             throws FunctionLibraryManagementException {
 
+        FunctionLibraryCacheKey cacheKey = new FunctionLibraryCacheKey(functionLibraryName);
+        FunctionLibraryCacheEntry cacheEntry = FunctionLibraryCache.getInstance().getValueFromCache(cacheKey,
+                tenantDomain);
+        if (cacheEntry != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Function library: " + functionLibraryName + " of the tenant: " + tenantDomain +
+                        " is retrieved from the cache.");
+            }
+            return cacheEntry.getFunctionLibrary();
+        }
+
         FunctionLibraryDAO functionLibraryDAO = new FunctionLibraryDAOImpl();
-        return functionLibraryDAO.getFunctionLibrary(functionLibraryName, tenantDomain);
+        FunctionLibrary functionLibrary = functionLibraryDAO.getFunctionLibrary(functionLibraryName, tenantDomain);
+        if (functionLibrary != null) {
+            FunctionLibraryCache.getInstance().addToCache(cacheKey, new FunctionLibraryCacheEntry(functionLibrary),
+                    tenantDomain);
+        }
+        return functionLibrary;
     }
 
     @Override
@@ -102,6 +122,7 @@ public class FunctionLibraryManagementServiceImpl implements FunctionLibraryMana
 
         FunctionLibraryDAO functionLibraryDAO = new FunctionLibraryDAOImpl();
         functionLibraryDAO.deleteFunctionLibrary(functionLibraryName, tenantDomain);
+        clearFunctionLibraryCache(functionLibraryName, tenantDomain);
     }
 
     @Override
@@ -126,6 +147,8 @@ public class FunctionLibraryManagementServiceImpl implements FunctionLibraryMana
                     FunctionLibraryMgtUtil.FUNCTION_LIBRARY_NAME_VALIDATING_REGEX);
         }
         functionLibraryDAO.updateFunctionLibrary(oldFunctionLibraryName, functionLibrary, tenantDomain);
+        clearFunctionLibraryCache(oldFunctionLibraryName, tenantDomain);
+        clearFunctionLibraryCache(functionLibraryName, tenantDomain);
     }
 
     @Override
@@ -136,6 +159,18 @@ public class FunctionLibraryManagementServiceImpl implements FunctionLibraryMana
         return functionLibraryDAO.isFunctionLibraryExists(functionLibraryName, tenantDomain);
     }
 
+    /**
+     * Clear the cached function library.
+     *
+     * @param functionLibraryName Name of the function library
+     * @param tenantDomain        Tenant domain
+     */
+    private void clearFunctionLibraryCache(String functionLibraryName, String tenantDomain) {
+
+        FunctionLibraryCache.getInstance().clearCacheEntry(new FunctionLibraryCacheKey(functionLibraryName),
+                tenantDomain);
+    }
+
     /**
      * Check for required attributes.
      *
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.functions.library.mgt.cache;
+
+import org.wso2.carbon.identity.functions.library.mgt.model.FunctionLibrary;
+
+import java.io.Serializable;
+
+/**
+ * Function library cache entry. The entry keeps its own copy of the library so that callers modifying the returned
+ * function library do not change the cached one.
+ */
+public class FunctionLibraryCacheEntry implements Serializable {
+
+    private static final long serialVersionUID = -3406158843672219305L;
+
+    private final String functionLibraryName;
+    private final String description;
+    private final String functionLibraryScript;
+
+    public FunctionLibraryCacheEntry(FunctionLibrary functionLibrary) {
+
+        this.functionLibraryName = functionLibrary.getFunctionLibraryName();
+        this.description = functionLibrary.getDescription();
+        this.functionLibraryScript = functionLibrary.getFunctionLibraryScript();
+    }
+
+    /**
+     * Get a copy of the cached function library.
+     *
+     * @return Function library.
+     */
+    public FunctionLibrary getFunctionLibrary() {
+
+        FunctionLibrary functionLibrary = new FunctionLibrary();
+        functionLibrary.setFunctionLibraryName(functionLibraryName);
+        functionLibrary.setDescription(description);
+        functionLibrary.setFunctionLibraryScript(functionLibraryScript);
+        return functionLibrary;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.functions.library.mgt.cache;
+
+import java.io.Serializable;
+
+/**
+ * Function library cache key. Entries are maintained per tenant, hence the key only holds the library name.
+ */
+public class FunctionLibraryCacheKey implements Serializable {
+
+    private static final long serialVersionUID = 8263170356014462147L;
+
+    private final String functionLibraryName;
+
+    public FunctionLibraryCacheKey(String functionLibraryName) {
+
+        this.functionLibraryName = functionLibraryName;
+    }
+
+    public String getFunctionLibraryName() {
+
+        return functionLibraryName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof FunctionLibraryCacheKey)) {
+            return false;
+        }
+
+        FunctionLibraryCacheKey that = (FunctionLibraryCacheKey) o;
+        return functionLibraryName.equals(that.functionLibraryName);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return functionLibraryName.hashCode();
+    }
+}
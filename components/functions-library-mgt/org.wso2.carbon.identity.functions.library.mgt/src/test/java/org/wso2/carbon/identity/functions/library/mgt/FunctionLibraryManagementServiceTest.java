@@ -20,8 +20,12 @@ package org.wso2.carbon.identity.functions.library.mgt;
 
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+import org.wso2.carbon.identity.functions.library.mgt.cache.FunctionLibraryCache;
+import org.wso2.carbon.identity.functions.library.mgt.cache.FunctionLibraryCacheEntry;
+import org.wso2.carbon.identity.functions.library.mgt.cache.FunctionLibraryCacheKey;
 import org.wso2.carbon.identity.functions.library.mgt.dao.impl.FunctionLibraryDAOImpl;
 import org.wso2.carbon.identity.functions.library.mgt.exception.FunctionLibraryManagementException;
 import org.wso2.carbon.identity.functions.library.mgt.model.FunctionLibrary;
@@ -29,21 +33,55 @@ import org.wso2.carbon.identity.testutil.powermock.PowerMockIdentityBaseTest;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-
+import java.util.Map;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.doAnswer;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 import static org.wso2.carbon.identity.functions.library.mgt.FunctionLibraryMgtUtil.isRegexValidated;
 
-@PrepareForTest({FunctionLibraryManagementServiceImpl.class})
+@PrepareForTest({FunctionLibraryManagementServiceImpl.class, FunctionLibraryCache.class})
 public class FunctionLibraryManagementServiceTest extends PowerMockIdentityBaseTest {
 
     private static final String SAMPLE_TENANT_DOMAIN = "carbon.super";
     private static final String SAMPLE_TENANT_DOMAIN2 = "abc.com";
 
+    private FunctionLibraryCache functionLibraryCache;
+    private Map<String, FunctionLibraryCacheEntry> cachedFunctionLibraries;
+
+    @BeforeMethod
+    public void setUp() {
+
+        // The function library cache is backed by a map so that the tests do not need a realm to resolve tenants.
+        cachedFunctionLibraries = new HashMap<>();
+        functionLibraryCache = mock(FunctionLibraryCache.class);
+        mockStatic(FunctionLibraryCache.class);
+        when(FunctionLibraryCache.getInstance()).thenReturn(functionLibraryCache);
+        when(functionLibraryCache.getValueFromCache(any(FunctionLibraryCacheKey.class), anyString())).thenAnswer(
+                invocation -> cachedFunctionLibraries.get(getCacheKey(invocation.getArguments()[0],
+                        invocation.getArguments()[1])));
+        doAnswer(invocation -> cachedFunctionLibraries.put(getCacheKey(invocation.getArguments()[0],
+                invocation.getArguments()[2]), (FunctionLibraryCacheEntry) invocation.getArguments()[1]))
+                .when(functionLibraryCache).addToCache(any(FunctionLibraryCacheKey.class),
+                        any(FunctionLibraryCacheEntry.class), anyString());
+        doAnswer(invocation -> cachedFunctionLibraries.remove(getCacheKey(invocation.getArguments()[0],
+                invocation.getArguments()[1])))
+                .when(functionLibraryCache).clearCacheEntry(any(FunctionLibraryCacheKey.class), anyString());
+    }
+
     @DataProvider(name = "createFunctionLibraryDataProvider")
     public Object[][] createFunctionLibraryData() {
 
@@ -488,4 +526,114 @@ public class FunctionLibraryManagementServiceTest extends PowerMockIdentityBaseT
         }
     }
 
+    @Test
+    public void testGetFunctionLibraryFromCache() throws Exception {
+
+        FunctionLibrary functionLibrary = getSampleFunctionLibrary("sample21");
+        FunctionLibraryDAOImpl functionLibraryDAO = PowerMockito.mock(FunctionLibraryDAOImpl.class);
+        PowerMockito.whenNew(FunctionLibraryDAOImpl.class).withNoArguments().thenReturn(functionLibraryDAO);
+        when(functionLibraryDAO.getFunctionLibrary("sample21", SAMPLE_TENANT_DOMAIN)).thenReturn(functionLibrary);
+        FunctionLibraryManagementService functionLibraryManagementService =
+                FunctionLibraryManagementServiceImpl.getInstance();
+
+        assertEquals(functionLibraryManagementService.getFunctionLibrary("sample21", SAMPLE_TENANT_DOMAIN),
+                functionLibrary);
+        assertEquals(functionLibraryManagementService.getFunctionLibrary("sample21", SAMPLE_TENANT_DOMAIN),
+                functionLibrary);
+        verify(functionLibraryDAO, times(1)).getFunctionLibrary("sample21", SAMPLE_TENANT_DOMAIN);
+        assertNull(functionLibraryManagementService.getFunctionLibrary("sample21", SAMPLE_TENANT_DOMAIN2),
+                "A function library cached for one tenant should not be visible to another tenant.");
+    }
+
+    @Test
+    public void testUpdateFunctionLibraryInvalidatesCache() throws Exception {
+
+        FunctionLibrary functionLibrary = getSampleFunctionLibrary("sample22");
+        FunctionLibrary updatedFunctionLibrary = getSampleFunctionLibrary("sample22");
+        updatedFunctionLibrary.setFunctionLibraryScript("function updatedFunction22(){}");
+        FunctionLibraryDAOImpl functionLibraryDAO = PowerMockito.mock(FunctionLibraryDAOImpl.class);
+        PowerMockito.whenNew(FunctionLibraryDAOImpl.class).withNoArguments().thenReturn(functionLibraryDAO);
+        when(functionLibraryDAO.getFunctionLibrary("sample22", SAMPLE_TENANT_DOMAIN))
+                .thenReturn(functionLibrary, updatedFunctionLibrary);
+        FunctionLibraryManagementService functionLibraryManagementService =
+                FunctionLibraryManagementServiceImpl.getInstance();
+
+        functionLibraryManagementService.getFunctionLibrary("sample22", SAMPLE_TENANT_DOMAIN);
+        functionLibraryManagementService.updateFunctionLibrary("sample22", updatedFunctionLibrary,
+                SAMPLE_TENANT_DOMAIN);
+
+        assertEquals(functionLibraryManagementService.getFunctionLibrary("sample22", SAMPLE_TENANT_DOMAIN)
+                .getFunctionLibraryScript(), "function updatedFunction22(){}");
+        verify(functionLibraryDAO, times(2)).getFunctionLibrary("sample22", SAMPLE_TENANT_DOMAIN);
+    }
+
+    @Test
+    public void testRenameFunctionLibraryInvalidatesCache() throws Exception {
+
+        FunctionLibrary functionLibrary = getSampleFunctionLibrary("sample23");
+        FunctionLibrary renamedFunctionLibrary = getSampleFunctionLibrary("renamed23");
+        FunctionLibraryDAOImpl functionLibraryDAO = PowerMockito.mock(FunctionLibraryDAOImpl.class);
+        PowerMockito.whenNew(FunctionLibraryDAOImpl.class).withNoArguments().thenReturn(functionLibraryDAO);
+        when(functionLibraryDAO.getFunctionLibrary("sample23", SAMPLE_TENANT_DOMAIN))
+                .thenReturn(functionLibrary, (FunctionLibrary) null);
+        when(functionLibraryDAO.getFunctionLibrary("renamed23", SAMPLE_TENANT_DOMAIN))
+                .thenReturn(renamedFunctionLibrary);
+        FunctionLibraryManagementService functionLibraryManagementService =
+                FunctionLibraryManagementServiceImpl.getInstance();
+
+        functionLibraryManagementService.getFunctionLibrary("sample23", SAMPLE_TENANT_DOMAIN);
+        functionLibraryManagementService.updateFunctionLibrary("sample23", renamedFunctionLibrary,
+                SAMPLE_TENANT_DOMAIN);
+
+        assertNull(functionLibraryManagementService.getFunctionLibrary("sample23", SAMPLE_TENANT_DOMAIN),
+                "The function library should not be served from the cache under its old name.");
+        assertEquals(functionLibraryManagementService.getFunctionLibrary("renamed23", SAMPLE_TENANT_DOMAIN),
+                renamedFunctionLibrary);
+    }
+
+    @Test
+    public void testDeleteFunctionLibraryInvalidatesCache() throws Exception {
+
+        FunctionLibrary functionLibrary = getSampleFunctionLibrary("sample24");
+        FunctionLibraryDAOImpl functionLibraryDAO = PowerMockito.mock(FunctionLibraryDAOImpl.class);
+        PowerMockito.whenNew(FunctionLibraryDAOImpl.class).withNoArguments().thenReturn(functionLibraryDAO);
+        when(functionLibraryDAO.getFunctionLibrary("sample24", SAMPLE_TENANT_DOMAIN))
+                .thenReturn(functionLibrary, (FunctionLibrary) null);
+        FunctionLibraryManagementService functionLibraryManagementService =
+                FunctionLibraryManagementServiceImpl.getInstance();
+
+        functionLibraryManagementService.getFunctionLibrary("sample24", SAMPLE_TENANT_DOMAIN);
+        functionLibraryManagementService.deleteFunctionLibrary("sample24", SAMPLE_TENANT_DOMAIN);
+
+        assertNull(functionLibraryManagementService.getFunctionLibrary("sample24", SAMPLE_TENANT_DOMAIN),
+                "A deleted function library should not be served from the cache.");
+        verify(functionLibraryDAO, times(2)).getFunctionLibrary("sample24", SAMPLE_TENANT_DOMAIN);
+    }
+
+    @Test
+    public void testMissingFunctionLibraryIsNotCached() throws Exception {
+
+        FunctionLibraryDAOImpl functionLibraryDAO = PowerMockito.mock(FunctionLibraryDAOImpl.class);
+        PowerMockito.whenNew(FunctionLibraryDAOImpl.class).withNoArguments().thenReturn(functionLibraryDAO);
+        FunctionLibraryManagementService functionLibraryManagementService =
+                FunctionLibraryManagementServiceImpl.getInstance();
+
+        assertNull(functionLibraryManagementService.getFunctionLibrary("sample25", SAMPLE_TENANT_DOMAIN));
+        verify(functionLibraryCache, never()).addToCache(any(FunctionLibraryCacheKey.class),
+                any(FunctionLibraryCacheEntry.class), anyString());
+    }
+
+    private FunctionLibrary getSampleFunctionLibrary(String functionLibraryName) {
+
+        FunctionLibrary functionLibrary = new FunctionLibrary();
+        functionLibrary.setFunctionLibraryName(functionLibraryName);
+        functionLibrary.setDescription(functionLibraryName);
+        functionLibrary.setFunctionLibraryScript("function " + functionLibraryName + "Function(){}");
+        return functionLibrary;
+    }
+
+    private String getCacheKey(Object cacheKey, Object tenantDomain) {
+
+        return tenantDomain + ":" + ((FunctionLibraryCacheKey) cacheKey).getFunctionLibraryName();
+    }
 }
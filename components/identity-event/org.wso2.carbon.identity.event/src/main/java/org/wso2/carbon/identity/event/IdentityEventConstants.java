@@ -198,6 +198,7 @@ public class IdentityEventConstants {
         public static final String POST_GENERATE_SMS_OTP = "POST_GENERATE_SMS_OTP";
         public static final String POST_VALIDATE_SMS_OTP = "POST_VALIDATE_SMS_OTP";
         public static final String SESSION_EXTENSION = "SESSION_EXTENSION";
+        public static final String SESSIONS_TERMINATED = "SESSIONS_TERMINATED";
 
         // Claim metadata operation related events.
         public static final String PRE_ADD_CLAIM_DIALECT = "PRE_ADD_CLAIM_DIALECT";
@@ -329,6 +330,7 @@ public class IdentityEventConstants {
         public static final String OTP_STATUS = "otp-status";
         public static final String TRACE_ID = "traceId";
         public static final String SESSION_CONTEXT_ID = "sessionContextId";
+        public static final String SESSION_CONTEXT_IDS = "sessionContextIds";
         public static final String LOCAL_CLAIM_URI = "localClaimUri";
         public static final String LOCAL_CLAIM_PROPERTIES = "localClaimProperties";
         public static final String EXTERNAL_CLAIM_URI = "externalClaimUri";
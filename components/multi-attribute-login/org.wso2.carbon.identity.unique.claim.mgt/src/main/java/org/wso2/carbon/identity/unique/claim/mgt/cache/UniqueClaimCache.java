@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.unique.claim.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+import java.util.HashSet;
+
+/**
+ * Caches the URIs of the local claims which are marked as unique, per tenant.
+ */
+public class UniqueClaimCache extends BaseCache<Integer, HashSet<String>> {
+
+    private static final String CACHE_NAME = "UniqueClaimCache";
+    private static final UniqueClaimCache instance = new UniqueClaimCache();
+
+    private UniqueClaimCache() {
+
+        super(CACHE_NAME);
+    }
+
+    public static UniqueClaimCache getInstance() {
+
+        return instance;
+    }
+
+    public HashSet<String> getUniqueClaims(int tenantId) {
+
+        return super.getValueFromCache(tenantId, tenantId);
+    }
+
+    public void addUniqueClaims(int tenantId, HashSet<String> uniqueClaims) {
+
+        super.addToCache(tenantId, uniqueClaims, tenantId);
+    }
+
+    public void clearUniqueClaims(int tenantId) {
+
+        super.clearCacheEntry(tenantId, tenantId);
+    }
+}
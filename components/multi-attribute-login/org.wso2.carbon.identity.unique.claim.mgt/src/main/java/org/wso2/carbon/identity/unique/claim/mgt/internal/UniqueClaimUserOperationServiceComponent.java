@@ -28,6 +28,8 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataManagementService;
+import org.wso2.carbon.identity.claim.metadata.mgt.listener.ClaimMetadataMgtListener;
+import org.wso2.carbon.identity.unique.claim.mgt.listener.UniqueClaimMetadataMgtListener;
 import org.wso2.carbon.identity.unique.claim.mgt.listener.UniqueClaimUserOperationEventListener;
 import org.wso2.carbon.user.core.listener.UserOperationEventListener;
 import org.wso2.carbon.user.core.service.RealmService;
@@ -50,6 +52,8 @@ public class UniqueClaimUserOperationServiceComponent {
         try {
             UniqueClaimUserOperationEventListener listener = new UniqueClaimUserOperationEventListener();
             context.getBundleContext().registerService(UserOperationEventListener.class.getName(), listener, null);
+            context.getBundleContext().registerService(ClaimMetadataMgtListener.class.getName(),
+                    new UniqueClaimMetadataMgtListener(), null);
             if (log.isDebugEnabled()) {
                 log.debug("UniqueClaimUserOperationEventListener bundle activated successfully.");
             }
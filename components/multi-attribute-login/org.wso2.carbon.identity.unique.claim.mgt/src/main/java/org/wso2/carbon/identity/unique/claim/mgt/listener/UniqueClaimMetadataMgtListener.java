@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.unique.claim.mgt.listener;
+
+import org.wso2.carbon.identity.claim.metadata.mgt.exception.ClaimMetadataException;
+import org.wso2.carbon.identity.claim.metadata.mgt.listener.AbstractClaimMetadataMgtListener;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.unique.claim.mgt.cache.UniqueClaimCache;
+
+/**
+ * Internal implementation of {@link AbstractClaimMetadataMgtListener} which invalidates the cached unique claims of
+ * a tenant when the local claims of the tenant are changed.
+ */
+public class UniqueClaimMetadataMgtListener extends AbstractClaimMetadataMgtListener {
+
+    @Override
+    public int getDefaultOrderId() {
+
+        return 30;
+    }
+
+    @Override
+    public boolean doPostAddLocalClaim(LocalClaim localClaim, String tenantDomain) throws ClaimMetadataException {
+
+        clearUniqueClaims(tenantDomain);
+        return true;
+    }
+
+    @Override
+    public boolean doPostUpdateLocalClaim(LocalClaim localClaim, String tenantDomain) throws ClaimMetadataException {
+
+        clearUniqueClaims(tenantDomain);
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteClaim(String claimUri, String tenantDomain) throws ClaimMetadataException {
+
+        clearUniqueClaims(tenantDomain);
+        return true;
+    }
+
+    private void clearUniqueClaims(String tenantDomain) {
+
+        UniqueClaimCache.getInstance().clearUniqueClaims(IdentityTenantUtil.getTenantId(tenantDomain));
+    }
+}
@@ -26,11 +26,14 @@ import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
 import org.wso2.carbon.identity.core.AbstractIdentityUserOperationEventListener;
 import org.wso2.carbon.identity.core.model.IdentityEventListenerConfig;
 import org.wso2.carbon.identity.core.util.IdentityCoreConstants;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.mgt.policy.PolicyViolationException;
+import org.wso2.carbon.identity.unique.claim.mgt.cache.UniqueClaimCache;
 import org.wso2.carbon.identity.unique.claim.mgt.internal.UniqueClaimUserOperationDataHolder;
 import org.wso2.carbon.user.api.Claim;
 import org.wso2.carbon.user.api.UserRealm;
+import org.wso2.carbon.user.core.PaginatedUserStoreManager;
 import org.wso2.carbon.user.core.UserCoreConstants;
 import org.wso2.carbon.user.core.UserStoreClientException;
 import org.wso2.carbon.user.core.UserStoreException;
@@ -40,8 +43,10 @@ import org.wso2.carbon.user.core.util.UserCoreUtil;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A userstore operation event listener to keep the uniqueness of a given set of claims.
@@ -53,6 +58,10 @@ public class UniqueClaimUserOperationEventListener extends AbstractIdentityUserO
     private static final String IS_UNIQUE_CLAIM = "isUnique";
     private static final String SCOPE_WITHIN_USERSTORE = "ScopeWithinUserstore";
     private static final String USERNAME_CLAIM = "http://wso2.org/claims/username";
+    // Two matches are enough to decide whether a claim value is used by another user.
+    private static final int DUPLICATE_CHECK_LIMIT = 2;
+    // Offsets of the paginated user store operations are one based.
+    private static final int DUPLICATE_CHECK_OFFSET = 1;
 
     @Override
     public int getExecutionOrderId() {
@@ -128,35 +137,41 @@ public class UniqueClaimUserOperationEventListener extends AbstractIdentityUserO
 
         String errorMessage = StringUtils.EMPTY;
         String tenantDomain = getTenantDomain(userStoreManager);
+        Set<String> uniqueClaims;
+        try {
+            uniqueClaims = getUniqueClaims(tenantDomain);
+        } catch (ClaimMetadataException e) {
+            log.error("Error while getting the unique claims of tenant : " + tenantDomain + ".", e);
+            return;
+        }
+        if (uniqueClaims.isEmpty() || claims == null) {
+            return;
+        }
         List<String> duplicateClaim = new ArrayList<>();
         Claim claimObject = null;
         for (Map.Entry<String, String> claim : claims.entrySet()) {
-            try {
-                if (isUniqueClaim(claim.getKey(), tenantDomain)) {
-                    try {
-                        claimObject = userStoreManager.getClaimManager().getClaim(claim.getKey());
-                    } catch (org.wso2.carbon.user.api.UserStoreException e) {
-                        log.error("Error while getting claim from claimUri: " + claim.getKey() + ".", e);
-                    }
-                    if (claimObject == null) {
-                        continue;
-                    }
-                    // checks whether allowed login identifiers are equal to the password
-                    if (credential != null && (credential.toString()).equals(claim.getValue())) {
-                        errorMessage = "Password can not be equal to the value defined for " +
-                                claimObject.getDisplayTag() + "!";
-                        throw new UserStoreException(errorMessage, new PolicyViolationException(errorMessage));
-                    }
-                    if (isClaimDuplicated(username, claim.getKey(), claim.getValue(), profile, userStoreManager)) {
-                        String displayTag = claimObject.getDisplayTag();
-                        if (StringUtils.isBlank(displayTag)) {
-                            displayTag = claim.getKey();
-                        }
-                        duplicateClaim.add(displayTag);
+            if (uniqueClaims.contains(claim.getKey())) {
+                try {
+                    claimObject = userStoreManager.getClaimManager().getClaim(claim.getKey());
+                } catch (org.wso2.carbon.user.api.UserStoreException e) {
+                    log.error("Error while getting claim from claimUri: " + claim.getKey() + ".", e);
+                }
+                if (claimObject == null) {
+                    continue;
+                }
+                // checks whether allowed login identifiers are equal to the password
+                if (credential != null && (credential.toString()).equals(claim.getValue())) {
+                    errorMessage = "Password can not be equal to the value defined for " +
+                            claimObject.getDisplayTag() + "!";
+                    throw new UserStoreException(errorMessage, new PolicyViolationException(errorMessage));
+                }
+                if (isClaimDuplicated(username, claim.getKey(), claim.getValue(), profile, userStoreManager)) {
+                    String displayTag = claimObject.getDisplayTag();
+                    if (StringUtils.isBlank(displayTag)) {
+                        displayTag = claim.getKey();
                     }
+                    duplicateClaim.add(displayTag);
                 }
-            } catch (ClaimMetadataException e) {
-                log.error("Error while getting claim metadata for claimUri : " + claim.getKey() + ".", e);
             }
         }
         if (StringUtils.isNotBlank(errorMessage)) {
@@ -177,40 +192,102 @@ public class UniqueClaimUserOperationEventListener extends AbstractIdentityUserO
     private boolean isClaimDuplicated(String username, String claimUri, String claimValue, String profile,
                                       UserStoreManager userStoreManager) throws UserStoreException {
 
-        String domainName = userStoreManager.getRealmConfiguration().getUserStoreProperty(
-                UserCoreConstants.RealmConfig.PROPERTY_DOMAIN_NAME);
-        String[] userList;
+        String domainName = getUserStoreDomain(userStoreManager);
         // Get UserStoreManager from realm since the received one might be for a secondary user store
         UserStoreManager userStoreMgrFromRealm = getUserstoreManager(userStoreManager.getTenantId());
         if (isScopeWithinUserstore()) {
-            String claimValueWithDomain = domainName + UserCoreConstants.DOMAIN_SEPARATOR + claimValue;
-            userList = userStoreMgrFromRealm.getUserList(claimUri, claimValueWithDomain, profile);
-        } else {
-            userList = userStoreMgrFromRealm.getUserList(claimUri, claimValue, profile);
+            String searchValue = domainName + UserCoreConstants.DOMAIN_SEPARATOR + claimValue;
+            return isClaimOfOtherUser(username, domainName,
+                    getUserList(userStoreMgrFromRealm, claimUri, searchValue, profile));
+        }
+        if (!(userStoreMgrFromRealm instanceof PaginatedUserStoreManager)) {
+            return isClaimOfOtherUser(username, domainName,
+                    userStoreMgrFromRealm.getUserList(claimUri, claimValue, profile));
+        }
+        // The paginated search only looks in a single user store, hence search the user stores one by one.
+        for (String userStoreDomain : getUserStoreDomains(userStoreMgrFromRealm)) {
+            String searchValue = userStoreDomain + UserCoreConstants.DOMAIN_SEPARATOR + claimValue;
+            if (isClaimOfOtherUser(username, domainName,
+                    getUserList(userStoreMgrFromRealm, claimUri, searchValue, profile))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String[] getUserList(UserStoreManager userStoreManager, String claimUri, String searchValue,
+                                 String profile) throws UserStoreException {
+
+        if (userStoreManager instanceof PaginatedUserStoreManager) {
+            // Stop the search at the first match other than the user itself instead of listing all the matches.
+            return ((PaginatedUserStoreManager) userStoreManager).getUserList(claimUri, searchValue, profile,
+                    DUPLICATE_CHECK_LIMIT, DUPLICATE_CHECK_OFFSET);
         }
+        return userStoreManager.getUserList(claimUri, searchValue, profile);
+    }
+
+    private boolean isClaimOfOtherUser(String username, String domainName, String[] userList) {
 
+        if (userList == null || userList.length == 0) {
+            return false;
+        }
         if (userList.length == 1) {
             String usernameWithUserStoreDomain = UserCoreUtil.addDomainToName(username, domainName);
-            if (usernameWithUserStoreDomain.equalsIgnoreCase(userList[0])) {
-                return false;
-            }
-        } else if (userList.length == 0) {
-            return false;
+            return !usernameWithUserStoreDomain.equalsIgnoreCase(userList[0]);
         }
         return true;
     }
 
+    private String getUserStoreDomain(UserStoreManager userStoreManager) {
+
+        String userStoreDomain = userStoreManager.getRealmConfiguration().getUserStoreProperty(
+                UserCoreConstants.RealmConfig.PROPERTY_DOMAIN_NAME);
+        return StringUtils.isBlank(userStoreDomain) ? UserCoreConstants.PRIMARY_DEFAULT_DOMAIN_NAME : userStoreDomain;
+    }
+
+    private List<String> getUserStoreDomains(UserStoreManager userStoreManager) {
+
+        List<String> userStoreDomains = new ArrayList<>();
+        UserStoreManager manager = userStoreManager;
+        while (manager != null) {
+            userStoreDomains.add(getUserStoreDomain(manager));
+            manager = manager.getSecondaryUserStoreManager();
+        }
+        return userStoreDomains;
+    }
+
     public boolean isUniqueClaim(String claimUrI, String tenantDomain) throws ClaimMetadataException {
 
+        return getUniqueClaims(tenantDomain).contains(claimUrI);
+    }
+
+    /**
+     * Get the URIs of the local claims marked as unique in the tenant. The claim URIs are cached per tenant and the
+     * cache is invalidated by {@link UniqueClaimMetadataMgtListener} when the local claims are changed.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Set of unique claim URIs.
+     * @throws ClaimMetadataException If an error occurred while retrieving the local claims.
+     */
+    private Set<String> getUniqueClaims(String tenantDomain) throws ClaimMetadataException {
+
+        int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+        UniqueClaimCache uniqueClaimCache = UniqueClaimCache.getInstance();
+        HashSet<String> uniqueClaims = uniqueClaimCache.getUniqueClaims(tenantId);
+        if (uniqueClaims != null) {
+            return uniqueClaims;
+        }
+
+        uniqueClaims = new HashSet<>();
         List<LocalClaim> localClaims = UniqueClaimUserOperationDataHolder.getInstance().
                 getClaimMetadataManagementService().getLocalClaims(tenantDomain);
         for (LocalClaim localClaim : localClaims) {
-            if (localClaim.getClaimURI().equals(claimUrI) &&
-                    Boolean.parseBoolean(localClaim.getClaimProperty(IS_UNIQUE_CLAIM))) {
-                return true;
+            if (Boolean.parseBoolean(localClaim.getClaimProperty(IS_UNIQUE_CLAIM))) {
+                uniqueClaims.add(localClaim.getClaimURI());
             }
         }
-        return false;
+        uniqueClaimCache.addUniqueClaims(tenantId, uniqueClaims);
+        return uniqueClaims;
     }
 
     private void checkUsernameUniqueness(String username, UserStoreManager userStoreManager) throws UserStoreException {
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.unique.claim.mgt.listener;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.unique.claim.mgt.cache.UniqueClaimCache;
+
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertTrue;
+
+@PrepareForTest({IdentityTenantUtil.class, UniqueClaimCache.class})
+public class UniqueClaimMetadataMgtListenerTest extends PowerMockTestCase {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final int TENANT_ID = -1234;
+    private static final String EMAIL_CLAIM_URI = "http://wso2.org/claims/emailaddress";
+
+    private UniqueClaimCache uniqueClaimCache;
+    private UniqueClaimMetadataMgtListener listener;
+
+    @BeforeMethod
+    public void setUp() {
+
+        mockStatic(IdentityTenantUtil.class);
+        when(IdentityTenantUtil.getTenantId(TENANT_DOMAIN)).thenReturn(TENANT_ID);
+        uniqueClaimCache = mock(UniqueClaimCache.class);
+        mockStatic(UniqueClaimCache.class);
+        when(UniqueClaimCache.getInstance()).thenReturn(uniqueClaimCache);
+        listener = new UniqueClaimMetadataMgtListener();
+    }
+
+    @Test
+    public void testClearUniqueClaimsOnAddLocalClaim() throws Exception {
+
+        assertTrue(listener.doPostAddLocalClaim(new LocalClaim(EMAIL_CLAIM_URI), TENANT_DOMAIN));
+        verify(uniqueClaimCache).clearUniqueClaims(TENANT_ID);
+    }
+
+    @Test
+    public void testClearUniqueClaimsOnUpdateLocalClaim() throws Exception {
+
+        assertTrue(listener.doPostUpdateLocalClaim(new LocalClaim(EMAIL_CLAIM_URI), TENANT_DOMAIN));
+        verify(uniqueClaimCache).clearUniqueClaims(TENANT_ID);
+    }
+
+    @Test
+    public void testClearUniqueClaimsOnDeleteClaim() throws Exception {
+
+        assertTrue(listener.doPostDeleteClaim(EMAIL_CLAIM_URI, TENANT_DOMAIN));
+        verify(uniqueClaimCache).clearUniqueClaims(TENANT_ID);
+    }
+}
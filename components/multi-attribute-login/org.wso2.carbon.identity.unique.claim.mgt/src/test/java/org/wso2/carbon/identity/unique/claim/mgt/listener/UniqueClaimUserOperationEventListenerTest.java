@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.unique.claim.mgt.listener;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.claim.metadata.mgt.ClaimMetadataManagementService;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+import org.wso2.carbon.identity.core.model.IdentityEventListenerConfig;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.unique.claim.mgt.cache.UniqueClaimCache;
+import org.wso2.carbon.identity.unique.claim.mgt.internal.UniqueClaimUserOperationDataHolder;
+import org.wso2.carbon.user.api.RealmConfiguration;
+import org.wso2.carbon.user.core.UserCoreConstants;
+import org.wso2.carbon.user.core.UserRealm;
+import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.tenant.TenantManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@PrepareForTest({IdentityUtil.class, IdentityTenantUtil.class, UniqueClaimCache.class, AbstractUserStoreManager.class})
+public class UniqueClaimUserOperationEventListenerTest extends PowerMockTestCase {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final int TENANT_ID = -1234;
+    private static final String SECONDARY_DOMAIN = "SECONDARY";
+    private static final String EMAIL_CLAIM_URI = "http://wso2.org/claims/emailaddress";
+    private static final String COUNTRY_CLAIM_URI = "http://wso2.org/claims/country";
+    private static final String EMAIL = "john@wso2.com";
+    private static final String USERNAME = "john";
+    private static final String SCOPE_WITHIN_USERSTORE = "ScopeWithinUserstore";
+
+    private UniqueClaimUserOperationEventListener listener;
+    private UniqueClaimCache uniqueClaimCache;
+    private ClaimMetadataManagementService claimMetadataManagementService;
+    private AbstractUserStoreManager primaryUserStoreManager;
+    private Properties listenerProperties;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        listenerProperties = new Properties();
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.readEventListenerProperty(anyString(), anyString()))
+                .thenReturn(new IdentityEventListenerConfig("true", 2, null, listenerProperties));
+        mockStatic(IdentityTenantUtil.class);
+        when(IdentityTenantUtil.getTenantId(TENANT_DOMAIN)).thenReturn(TENANT_ID);
+        uniqueClaimCache = mock(UniqueClaimCache.class);
+        mockStatic(UniqueClaimCache.class);
+        when(UniqueClaimCache.getInstance()).thenReturn(uniqueClaimCache);
+
+        Map<String, String> uniqueClaimProperties = new HashMap<>();
+        uniqueClaimProperties.put("isUnique", "true");
+        claimMetadataManagementService = mock(ClaimMetadataManagementService.class);
+        when(claimMetadataManagementService.getLocalClaims(TENANT_DOMAIN)).thenReturn(Arrays.asList(
+                new LocalClaim(EMAIL_CLAIM_URI, new ArrayList<>(), uniqueClaimProperties),
+                new LocalClaim(COUNTRY_CLAIM_URI, new ArrayList<>(), new HashMap<>())));
+        UniqueClaimUserOperationDataHolder.getInstance()
+                .setClaimMetadataManagementService(claimMetadataManagementService);
+
+        primaryUserStoreManager = mockUserStoreManager(null);
+        AbstractUserStoreManager secondaryUserStoreManager = mockUserStoreManager(SECONDARY_DOMAIN);
+        when(primaryUserStoreManager.getSecondaryUserStoreManager()).thenReturn(secondaryUserStoreManager);
+
+        UserRealm userRealm = mock(UserRealm.class);
+        when(userRealm.getUserStoreManager()).thenReturn(primaryUserStoreManager);
+        TenantManager tenantManager = mock(TenantManager.class);
+        when(tenantManager.getDomain(TENANT_ID)).thenReturn(TENANT_DOMAIN);
+        RealmService realmService = mock(RealmService.class);
+        when(realmService.getTenantManager()).thenReturn(tenantManager);
+        when(realmService.getTenantUserRealm(TENANT_ID)).thenReturn(userRealm);
+        UniqueClaimUserOperationDataHolder.getInstance().setRealmService(realmService);
+
+        listener = new UniqueClaimUserOperationEventListener();
+    }
+
+    @Test
+    public void testGetUniqueClaimsOnCacheMiss() throws Exception {
+
+        assertTrue(listener.isUniqueClaim(EMAIL_CLAIM_URI, TENANT_DOMAIN));
+        verify(uniqueClaimCache).addUniqueClaims(TENANT_ID, new HashSet<>(Collections.singleton(EMAIL_CLAIM_URI)));
+    }
+
+    @Test
+    public void testGetUniqueClaimsOnCacheHit() throws Exception {
+
+        when(uniqueClaimCache.getUniqueClaims(TENANT_ID))
+                .thenReturn(new HashSet<>(Collections.singleton(COUNTRY_CLAIM_URI)));
+
+        assertTrue(listener.isUniqueClaim(COUNTRY_CLAIM_URI, TENANT_DOMAIN));
+        assertFalse(listener.isUniqueClaim(EMAIL_CLAIM_URI, TENANT_DOMAIN));
+        verify(claimMetadataManagementService, never()).getLocalClaims(anyString());
+    }
+
+    @Test
+    public void testClaimDuplicatedInSecondaryUserStore() throws Exception {
+
+        when(primaryUserStoreManager.getUserList(EMAIL_CLAIM_URI, SECONDARY_DOMAIN + "/" + EMAIL, null, 2, 1))
+                .thenReturn(new String[]{SECONDARY_DOMAIN + "/alex"});
+
+        assertFalse(listener.doPreSetUserClaimValue(USERNAME, EMAIL_CLAIM_URI, EMAIL, null,
+                primaryUserStoreManager), "A claim value of a user in another user store should be detected.");
+    }
+
+    @Test
+    public void testClaimOfSameUser() throws Exception {
+
+        String primarySearchValue = UserCoreConstants.PRIMARY_DEFAULT_DOMAIN_NAME + "/" + EMAIL;
+        when(primaryUserStoreManager.getUserList(EMAIL_CLAIM_URI, primarySearchValue, null, 2, 1))
+                .thenReturn(new String[]{USERNAME});
+
+        assertTrue(listener.doPreSetUserClaimValue(USERNAME, EMAIL_CLAIM_URI, EMAIL, null, primaryUserStoreManager),
+                "The claim value of the user itself should not be a duplicate.");
+        verify(primaryUserStoreManager).getUserList(EMAIL_CLAIM_URI, primarySearchValue, null, 2, 1);
+        verify(primaryUserStoreManager).getUserList(EMAIL_CLAIM_URI, SECONDARY_DOMAIN + "/" + EMAIL, null, 2, 1);
+    }
+
+    @Test
+    public void testClaimDuplicatedWithinUserStore() throws Exception {
+
+        listenerProperties.put(SCOPE_WITHIN_USERSTORE, "true");
+        String primarySearchValue = UserCoreConstants.PRIMARY_DEFAULT_DOMAIN_NAME + "/" + EMAIL;
+        when(primaryUserStoreManager.getUserList(EMAIL_CLAIM_URI, SECONDARY_DOMAIN + "/" + EMAIL, null, 2, 1))
+                .thenReturn(new String[]{SECONDARY_DOMAIN + "/alex"});
+
+        assertTrue(listener.doPreSetUserClaimValue(USERNAME, EMAIL_CLAIM_URI, EMAIL, null, primaryUserStoreManager),
+                "Claim values of other user stores should be ignored when scoped within the user store.");
+        verify(primaryUserStoreManager).getUserList(EMAIL_CLAIM_URI, primarySearchValue, null, 2, 1);
+        verify(primaryUserStoreManager, never())
+                .getUserList(EMAIL_CLAIM_URI, SECONDARY_DOMAIN + "/" + EMAIL, null, 2, 1);
+    }
+
+    private AbstractUserStoreManager mockUserStoreManager(String domainName) {
+
+        RealmConfiguration realmConfiguration = mock(RealmConfiguration.class);
+        when(realmConfiguration.getUserStoreProperty(UserCoreConstants.RealmConfig.PROPERTY_DOMAIN_NAME))
+                .thenReturn(domainName);
+        AbstractUserStoreManager userStoreManager = mock(AbstractUserStoreManager.class);
+        when(userStoreManager.getRealmConfiguration()).thenReturn(realmConfiguration);
+        when(userStoreManager.getTenantId()).thenReturn(TENANT_ID);
+        return userStoreManager;
+    }
+}
@@ -45,6 +45,7 @@ public class RoleConstants {
     public static final String ZERO_BASED_START_INDEX = "ZERO_BASED_START_INDEX";
     public static final String ONE_BASED_START_INDEX = "ONE_BASED_START_INDEX";
     public static final String END_INDEX = "END_INDEX";
+    public static final String CURSOR = "CURSOR";
     public static final String WILDCARD_CHARACTER = "*";
 
 
@@ -22,6 +22,7 @@ import org.apache.commons.lang.NotImplementedException;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * OSGi service interface which use to manage roles.
@@ -112,6 +113,56 @@ public interface RoleManagementService {
      */
     List<UserBasicInfo> getUserListOfRole(String roleID, String tenantDomain) throws IdentityRoleManagementException;
 
+    /**
+     * Get a page of the user list of the given role. Pages are keyset paginated, hence the cost of retrieving a page
+     * does not depend on its position in the member list.
+     *
+     * @param roleID       Role ID.
+     * @param cursor       Cursor returned with the previous page, or {@code null} to retrieve the first page.
+     * @param limit        Maximum number of users to return.
+     * @param tenantDomain Tenant domain.
+     * @return Page of users.
+     * @throws IdentityRoleManagementException IdentityRoleManagementException.
+     * @throws NotImplementedException         If the method is not implemented.
+     */
+    default RoleMembersPage<UserBasicInfo> getUserListOfRole(String roleID, String cursor, Integer limit,
+            String tenantDomain) throws IdentityRoleManagementException, NotImplementedException {
+
+        throw new NotImplementedException("getUserListOfRole method with pagination is not implemented");
+    }
+
+    /**
+     * Pass every user of the given role to the consumer, page by page, without holding the whole user list in
+     * memory.
+     *
+     * @param roleID       Role ID.
+     * @param pageSize     Number of users to load at a time.
+     * @param consumer     Consumer of the users.
+     * @param tenantDomain Tenant domain.
+     * @throws IdentityRoleManagementException IdentityRoleManagementException.
+     * @throws NotImplementedException         If the method is not implemented.
+     */
+    default void iterateUserListOfRole(String roleID, int pageSize, Consumer<UserBasicInfo> consumer,
+            String tenantDomain) throws IdentityRoleManagementException, NotImplementedException {
+
+        throw new NotImplementedException("iterateUserListOfRole method is not implemented");
+    }
+
+    /**
+     * Get the number of users assigned to the given role without loading the users.
+     *
+     * @param roleID       Role ID.
+     * @param tenantDomain Tenant domain.
+     * @return Number of users.
+     * @throws IdentityRoleManagementException IdentityRoleManagementException.
+     * @throws NotImplementedException         If the method is not implemented.
+     */
+    default int getUserCountOfRole(String roleID, String tenantDomain) throws IdentityRoleManagementException,
+            NotImplementedException {
+
+        throw new NotImplementedException("getUserCountOfRole method is not implemented");
+    }
+
     /**
      * Update the list of users in the given role.
      *
@@ -135,6 +186,56 @@ public interface RoleManagementService {
      */
     List<GroupBasicInfo> getGroupListOfRole(String roleID, String tenantDomain) throws IdentityRoleManagementException;
 
+    /**
+     * Get a page of the group list of the given role. Pages are keyset paginated, hence the cost of retrieving a
+     * page does not depend on its position in the member list.
+     *
+     * @param roleID       Role ID.
+     * @param cursor       Cursor returned with the previous page, or {@code null} to retrieve the first page.
+     * @param limit        Maximum number of groups to return.
+     * @param tenantDomain Tenant domain.
+     * @return Page of groups.
+     * @throws IdentityRoleManagementException IdentityRoleManagementException.
+     * @throws NotImplementedException         If the method is not implemented.
+     */
+    default RoleMembersPage<GroupBasicInfo> getGroupListOfRole(String roleID, String cursor, Integer limit,
+            String tenantDomain) throws IdentityRoleManagementException, NotImplementedException {
+
+        throw new NotImplementedException("getGroupListOfRole method with pagination is not implemented");
+    }
+
+    /**
+     * Pass every group of the given role to the consumer, page by page, without holding the whole group list in
+     * memory.
+     *
+     * @param roleID       Role ID.
+     * @param pageSize     Number of groups to load at a time.
+     * @param consumer     Consumer of the groups.
+     * @param tenantDomain Tenant domain.
+     * @throws IdentityRoleManagementException IdentityRoleManagementException.
+     * @throws NotImplementedException         If the method is not implemented.
+     */
+    default void iterateGroupListOfRole(String roleID, int pageSize, Consumer<GroupBasicInfo> consumer,
+            String tenantDomain) throws IdentityRoleManagementException, NotImplementedException {
+
+        throw new NotImplementedException("iterateGroupListOfRole method is not implemented");
+    }
+
+    /**
+     * Get the number of groups assigned to the given role without loading the groups.
+     *
+     * @param roleID       Role ID.
+     * @param tenantDomain Tenant domain.
+     * @return Number of groups.
+     * @throws IdentityRoleManagementException IdentityRoleManagementException.
+     * @throws NotImplementedException         If the method is not implemented.
+     */
+    default int getGroupCountOfRole(String roleID, String tenantDomain) throws IdentityRoleManagementException,
+            NotImplementedException {
+
+        throw new NotImplementedException("getGroupCountOfRole method is not implemented");
+    }
+
     /**
      * Update the list of groups in the given role.
      *
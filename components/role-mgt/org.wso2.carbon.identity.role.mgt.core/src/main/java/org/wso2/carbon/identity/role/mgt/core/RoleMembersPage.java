@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.role.mgt.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a cursor based page of the members (users or groups) of a role.
+ *
+ * @param <T> Type of the member.
+ */
+public class RoleMembersPage<T extends Entity> {
+
+    private final List<T> members;
+    private final String nextCursor;
+
+    public RoleMembersPage(List<T> members, String nextCursor) {
+
+        this.members = members == null ? Collections.emptyList() : new ArrayList<>(members);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Get the members of the page.
+     *
+     * @return Members of the page.
+     */
+    public List<T> getMembers() {
+
+        return Collections.unmodifiableList(members);
+    }
+
+    /**
+     * Get the cursor which should be sent to retrieve the next page.
+     *
+     * @return Cursor of the next page or {@code null} if this is the last page.
+     */
+    public String getNextCursor() {
+
+        return nextCursor;
+    }
+
+    /**
+     * Check whether there are more pages after this page.
+     *
+     * @return {@code true} if there are more pages.
+     */
+    public boolean hasNext() {
+
+        return nextCursor != null;
+    }
+}
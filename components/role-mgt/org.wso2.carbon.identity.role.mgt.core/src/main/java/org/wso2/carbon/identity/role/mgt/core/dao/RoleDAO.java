@@ -23,6 +23,7 @@ import org.wso2.carbon.identity.role.mgt.core.GroupBasicInfo;
 import org.wso2.carbon.identity.role.mgt.core.IdentityRoleManagementException;
 import org.wso2.carbon.identity.role.mgt.core.Role;
 import org.wso2.carbon.identity.role.mgt.core.RoleBasicInfo;
+import org.wso2.carbon.identity.role.mgt.core.RoleMembersPage;
 import org.wso2.carbon.identity.role.mgt.core.UserBasicInfo;
 
 import java.util.List;
@@ -137,6 +138,29 @@ public interface RoleDAO {
      */
     List<UserBasicInfo> getUserListOfRole(String roleID, String tenantDomain) throws IdentityRoleManagementException;
 
+    /**
+     * Get a page of the user list of the given role. Users are returned in the order they were assigned to the role.
+     *
+     * @param roleID       Role ID.
+     * @param cursor       Cursor returned with the previous page, or {@code null} to retrieve the first page.
+     * @param limit        Maximum number of users to return.
+     * @param tenantDomain Tenant domain.
+     * @return Page of users.
+     * @throws IdentityRoleManagementException IdentityRoleManagementException.
+     */
+    RoleMembersPage<UserBasicInfo> getUserListOfRole(String roleID, String cursor, Integer limit,
+            String tenantDomain) throws IdentityRoleManagementException;
+
+    /**
+     * Get the number of users assigned to the given role without loading the users.
+     *
+     * @param roleID       Role ID.
+     * @param tenantDomain Tenant domain.
+     * @return Number of users.
+     * @throws IdentityRoleManagementException IdentityRoleManagementException.
+     */
+    int getUserCountOfRole(String roleID, String tenantDomain) throws IdentityRoleManagementException;
+
     /**
      * Update the list of users in the given role.
      *
@@ -160,6 +184,30 @@ public interface RoleDAO {
      */
     List<GroupBasicInfo> getGroupListOfRole(String roleID, String tenantDomain) throws IdentityRoleManagementException;
 
+    /**
+     * Get a page of the group list of the given role. Groups are returned in the order they were assigned to the
+     * role.
+     *
+     * @param roleID       Role ID.
+     * @param cursor       Cursor returned with the previous page, or {@code null} to retrieve the first page.
+     * @param limit        Maximum number of groups to return.
+     * @param tenantDomain Tenant domain.
+     * @return Page of groups.
+     * @throws IdentityRoleManagementException IdentityRoleManagementException.
+     */
+    RoleMembersPage<GroupBasicInfo> getGroupListOfRole(String roleID, String cursor, Integer limit,
+            String tenantDomain) throws IdentityRoleManagementException;
+
+    /**
+     * Get the number of groups assigned to the given role without loading the groups.
+     *
+     * @param roleID       Role ID.
+     * @param tenantDomain Tenant domain.
+     * @return Number of groups.
+     * @throws IdentityRoleManagementException IdentityRoleManagementException.
+     */
+    int getGroupCountOfRole(String roleID, String tenantDomain) throws IdentityRoleManagementException;
+
     /**
      * Update the list of groups in the given role.
      *
@@ -41,6 +41,7 @@ import org.wso2.carbon.identity.role.mgt.core.Role;
 import org.wso2.carbon.identity.role.mgt.core.RoleBasicInfo;
 import org.wso2.carbon.identity.role.mgt.core.RoleConstants;
 import org.wso2.carbon.identity.role.mgt.core.RoleConstants.RoleTableColumns;
+import org.wso2.carbon.identity.role.mgt.core.RoleMembersPage;
 import org.wso2.carbon.identity.role.mgt.core.UserBasicInfo;
 import org.wso2.carbon.identity.role.mgt.core.internal.RoleManagementServiceComponentHolder;
 import org.wso2.carbon.identity.role.mgt.core.util.GroupIDResolver;
@@ -81,6 +82,7 @@ import static org.wso2.carbon.identity.role.mgt.core.RoleConstants.Error.INVALID
 import static org.wso2.carbon.identity.role.mgt.core.RoleConstants.Error.INVALID_OFFSET;
 import static org.wso2.carbon.identity.role.mgt.core.RoleConstants.Error.INVALID_REQUEST;
 import static org.wso2.carbon.identity.role.mgt.core.RoleConstants.Error.OPERATION_FORBIDDEN;
+import static org.wso2.carbon.identity.role.mgt.core.RoleConstants.Error.OPERATION_NOT_SUPPORTED;
 import static org.wso2.carbon.identity.role.mgt.core.RoleConstants.Error.ROLE_ALREADY_EXISTS;
 import static org.wso2.carbon.identity.role.mgt.core.RoleConstants.Error.ROLE_NOT_FOUND;
 import static org.wso2.carbon.identity.role.mgt.core.RoleConstants.Error.SORTING_NOT_IMPLEMENTED;
@@ -102,7 +104,14 @@ import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.DELETE_GROUP
 import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.DELETE_ROLE_SQL;
 import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.DELETE_SCIM_ROLE_SQL;
 import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.DELETE_USER_SQL;
+import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_GROUP_COUNT_OF_ROLE_SQL;
 import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_GROUP_LIST_OF_ROLE_SQL;
+import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_GROUP_PAGE_OF_ROLE_DB2;
+import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_GROUP_PAGE_OF_ROLE_INFORMIX;
+import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_GROUP_PAGE_OF_ROLE_MSSQL;
+import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_GROUP_PAGE_OF_ROLE_MYSQL;
+import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_GROUP_PAGE_OF_ROLE_ORACLE;
+import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_GROUP_PAGE_OF_ROLE_POSTGRESQL;
 import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_ROLES_BY_TENANT_AND_ROLE_NAME_DB2;
 import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_ROLES_BY_TENANT_AND_ROLE_NAME_INFORMIX;
 import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_ROLES_BY_TENANT_AND_ROLE_NAME_MSSQL;
@@ -117,7 +126,14 @@ import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_ROLES_BY
 import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_ROLES_BY_TENANT_POSTGRESQL;
 import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_ROLE_ID_BY_NAME_SQL;
 import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_ROLE_NAME_BY_ID_SQL;
+import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_USER_COUNT_OF_ROLE_SQL;
 import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_USER_LIST_OF_ROLE_SQL;
+import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_USER_PAGE_OF_ROLE_DB2;
+import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_USER_PAGE_OF_ROLE_INFORMIX;
+import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_USER_PAGE_OF_ROLE_MSSQL;
+import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_USER_PAGE_OF_ROLE_MYSQL;
+import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_USER_PAGE_OF_ROLE_ORACLE;
+import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.GET_USER_PAGE_OF_ROLE_POSTGRESQL;
 import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.IS_ROLE_EXIST_SQL;
 import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.IS_ROLE_ID_EXIST_SQL;
 import static org.wso2.carbon.identity.role.mgt.core.dao.SQLQueries.REMOVE_GROUP_FROM_ROLE_SQL;
@@ -1125,6 +1141,284 @@ public class RoleDAOImpl implements RoleDAO {
         return groupIDResolver.getIDsByNames(names, tenantDomain);
     }
 
+    @Override
+    public RoleMembersPage<UserBasicInfo> getUserListOfRole(String roleID, String cursor, Integer limit,
+                                                            String tenantDomain)
+            throws IdentityRoleManagementException {
+
+        String roleName = getExistingRoleName(roleID, tenantDomain);
+        if (isEveryoneRole(roleName)) {
+            throw new IdentityRoleManagementClientException(OPERATION_NOT_SUPPORTED.getCode(),
+                    "Paginated user listing is not supported for the everyone role: " + roleName
+                            + ", since all the users are implicitly assigned to it.");
+        }
+        int lastMemberID = resolveCursor(cursor);
+        limit = validateLimit(limit);
+        if (limit == 0) {
+            return new RoleMembersPage<>(Collections.emptyList(), null);
+        }
+        int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+        List<String> disabledDomainName = getDisabledDomainNames();
+        List<UserBasicInfo> userList = new ArrayList<>();
+        int scannedMembers = 0;
+        boolean hasMoreMembers = false;
+
+        try (Connection connection = IdentityDatabaseUtil.getUserDBConnection(false)) {
+            String databaseProductName = connection.getMetaData().getDatabaseProductName();
+            try (NamedPreparedStatement statement = new NamedPreparedStatement(connection,
+                    getDBTypeSpecificUserPageOfRoleQuery(databaseProductName), RoleTableColumns.UM_ID)) {
+                statement.setString(RoleTableColumns.UM_ROLE_NAME, roleName);
+                statement.setInt(RoleTableColumns.UM_TENANT_ID, tenantId);
+                statement.setInt(RoleConstants.CURSOR, lastMemberID);
+                // Fetch one additional row to identify whether there is a next page.
+                statement.setInt(RoleConstants.LIMIT, limit + 1);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        if (scannedMembers == limit) {
+                            hasMoreMembers = true;
+                            break;
+                        }
+                        scannedMembers++;
+                        lastMemberID = resultSet.getInt(1);
+                        String name = resultSet.getString(2);
+                        String domain = resultSet.getString(3);
+                        if (!disabledDomainName.contains(domain)) {
+                            if (StringUtils.isNotEmpty(domain)) {
+                                name = UserCoreUtil.addDomainToName(name, domain);
+                            }
+                            userList.add(new UserBasicInfo(getUserIDByName(name, tenantDomain), name));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            String errorMessage = "Error while getting a page of the user list of role for role name: %s in the "
+                    + "tenantDomain: %s";
+            throw new IdentityRoleManagementServerException(UNEXPECTED_SERVER_ERROR.getCode(),
+                    String.format(errorMessage, roleName, tenantDomain), e);
+        }
+        return new RoleMembersPage<>(userList, hasMoreMembers ? String.valueOf(lastMemberID) : null);
+    }
+
+    @Override
+    public int getUserCountOfRole(String roleID, String tenantDomain) throws IdentityRoleManagementException {
+
+        String roleName = getExistingRoleName(roleID, tenantDomain);
+        if (isEveryoneRole(roleName)) {
+            throw new IdentityRoleManagementClientException(OPERATION_NOT_SUPPORTED.getCode(),
+                    "Counting users is not supported for the everyone role: " + roleName
+                            + ", since all the users are implicitly assigned to it.");
+        }
+        return getMemberCountOfRole(GET_USER_COUNT_OF_ROLE_SQL, roleName, tenantDomain);
+    }
+
+    @Override
+    public RoleMembersPage<GroupBasicInfo> getGroupListOfRole(String roleID, String cursor, Integer limit,
+                                                              String tenantDomain)
+            throws IdentityRoleManagementException {
+
+        String roleName = getExistingRoleName(roleID, tenantDomain);
+        int lastMemberID = resolveCursor(cursor);
+        limit = validateLimit(limit);
+        if (limit == 0) {
+            return new RoleMembersPage<>(Collections.emptyList(), null);
+        }
+        int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+        List<String> disabledDomainName = getDisabledDomainNames();
+        List<String> groupNames = new ArrayList<>();
+        int scannedMembers = 0;
+        boolean hasMoreMembers = false;
+
+        String primaryDomainName = IdentityUtil.getPrimaryDomainName();
+        if (primaryDomainName != null) {
+            primaryDomainName = primaryDomainName.toUpperCase(Locale.ENGLISH);
+        }
+
+        try (Connection connection = IdentityDatabaseUtil.getUserDBConnection(false)) {
+            String databaseProductName = connection.getMetaData().getDatabaseProductName();
+            try (NamedPreparedStatement statement = new NamedPreparedStatement(connection,
+                    getDBTypeSpecificGroupPageOfRoleQuery(databaseProductName), RoleTableColumns.UM_ID)) {
+                statement.setString(RoleTableColumns.UM_ROLE_NAME, roleName);
+                statement.setInt(RoleTableColumns.UM_TENANT_ID, tenantId);
+                statement.setInt(RoleConstants.CURSOR, lastMemberID);
+                // Fetch one additional row to identify whether there is a next page.
+                statement.setInt(RoleConstants.LIMIT, limit + 1);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        if (scannedMembers == limit) {
+                            hasMoreMembers = true;
+                            break;
+                        }
+                        scannedMembers++;
+                        lastMemberID = resultSet.getInt(1);
+                        String name = resultSet.getString(2);
+                        String domain = resultSet.getString(3);
+                        if (!disabledDomainName.contains(domain)) {
+                            if (!StringUtils.equals(primaryDomainName, domain)) {
+                                name = UserCoreUtil.addDomainToName(name, domain);
+                            } else {
+                                name = primaryDomainName + UserCoreConstants.DOMAIN_SEPARATOR + name;
+                            }
+                            groupNames.add(name);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            String errorMessage = "Error while getting a page of the group list of role for role name: %s in the "
+                    + "tenantDomain: %s";
+            throw new IdentityRoleManagementServerException(UNEXPECTED_SERVER_ERROR.getCode(),
+                    String.format(errorMessage, roleName, tenantDomain), e);
+        }
+
+        List<GroupBasicInfo> groupList = new ArrayList<>();
+        Map<String, String> groupNamesToIDs = getGroupIDsByNames(groupNames, tenantDomain);
+        for (String groupName : groupNames) {
+            if (groupNamesToIDs.containsKey(groupName)) {
+                groupList.add(new GroupBasicInfo(groupNamesToIDs.get(groupName), groupName));
+            }
+        }
+        return new RoleMembersPage<>(groupList, hasMoreMembers ? String.valueOf(lastMemberID) : null);
+    }
+
+    @Override
+    public int getGroupCountOfRole(String roleID, String tenantDomain) throws IdentityRoleManagementException {
+
+        String roleName = getExistingRoleName(roleID, tenantDomain);
+        return getMemberCountOfRole(GET_GROUP_COUNT_OF_ROLE_SQL, roleName, tenantDomain);
+    }
+
+    /**
+     * Count the members of the role using the given per domain count query. Members of disabled user stores are
+     * excluded to be consistent with the member listing.
+     *
+     * @param countQuery   Query which returns the domain name and the member count of each domain.
+     * @param roleName     Role name.
+     * @param tenantDomain Tenant domain.
+     * @return Number of members.
+     * @throws IdentityRoleManagementException IdentityRoleManagementException.
+     */
+    private int getMemberCountOfRole(String countQuery, String roleName, String tenantDomain)
+            throws IdentityRoleManagementException {
+
+        int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+        List<String> disabledDomainName = getDisabledDomainNames();
+        int count = 0;
+        try (Connection connection = IdentityDatabaseUtil.getUserDBConnection(false)) {
+            try (NamedPreparedStatement statement = new NamedPreparedStatement(connection, countQuery,
+                    RoleTableColumns.UM_ID)) {
+                statement.setString(RoleTableColumns.UM_ROLE_NAME, roleName);
+                statement.setInt(RoleTableColumns.UM_TENANT_ID, tenantId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        if (!disabledDomainName.contains(resultSet.getString(1))) {
+                            count += resultSet.getInt(2);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            String errorMessage = "Error while counting the members of role for role name: %s in the "
+                    + "tenantDomain: %s";
+            throw new IdentityRoleManagementServerException(UNEXPECTED_SERVER_ERROR.getCode(),
+                    String.format(errorMessage, roleName, tenantDomain), e);
+        }
+        return count;
+    }
+
+    private String getExistingRoleName(String roleID, String tenantDomain) throws IdentityRoleManagementException {
+
+        if (!isExistingRoleID(roleID, tenantDomain)) {
+            throw new IdentityRoleManagementClientException(ROLE_NOT_FOUND.getCode(),
+                    "Role id: " + roleID + " does not exist in the system.");
+        }
+        return getRoleNameByID(roleID, tenantDomain);
+    }
+
+    private boolean isEveryoneRole(String roleName) throws IdentityRoleManagementException {
+
+        try {
+            UserRealm userRealm = CarbonContext.getThreadLocalCarbonContext().getUserRealm();
+            return userRealm != null && UserCoreUtil.isEveryoneRole(roleName, userRealm.getRealmConfiguration());
+        } catch (UserStoreException e) {
+            throw new IdentityRoleManagementServerException(UNEXPECTED_SERVER_ERROR.getCode(),
+                    "Error while getting the realmConfiguration.", e);
+        }
+    }
+
+    /**
+     * Resolve the last returned member row id from the given pagination cursor.
+     *
+     * @param cursor Cursor returned with the previous page.
+     * @return Last returned member row id.
+     * @throws IdentityRoleManagementClientException If the cursor is invalid.
+     */
+    private int resolveCursor(String cursor) throws IdentityRoleManagementClientException {
+
+        if (StringUtils.isBlank(cursor)) {
+            return 0;
+        }
+        try {
+            int lastMemberID = Integer.parseInt(cursor.trim());
+            if (lastMemberID >= 0) {
+                return lastMemberID;
+            }
+        } catch (NumberFormatException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Provided cursor: " + cursor + " is not a number.", e);
+            }
+        }
+        throw new IdentityRoleManagementClientException(INVALID_REQUEST.getCode(), "Invalid cursor: " + cursor);
+    }
+
+    private String getDBTypeSpecificUserPageOfRoleQuery(String databaseProductName)
+            throws IdentityRoleManagementException {
+
+        if (MY_SQL.equals(databaseProductName)
+                || MARIADB.equals(databaseProductName)
+                || H2.equals(databaseProductName)) {
+            return GET_USER_PAGE_OF_ROLE_MYSQL;
+        } else if (ORACLE.equals(databaseProductName)) {
+            return GET_USER_PAGE_OF_ROLE_ORACLE;
+        } else if (MICROSOFT.equals(databaseProductName)) {
+            return GET_USER_PAGE_OF_ROLE_MSSQL;
+        } else if (POSTGRE_SQL.equals(databaseProductName)) {
+            return GET_USER_PAGE_OF_ROLE_POSTGRESQL;
+        } else if (databaseProductName != null && databaseProductName.contains(DB2)) {
+            return GET_USER_PAGE_OF_ROLE_DB2;
+        } else if (INFORMIX.equals(databaseProductName)) {
+            return GET_USER_PAGE_OF_ROLE_INFORMIX;
+        }
+
+        throw new IdentityRoleManagementServerException(UNEXPECTED_SERVER_ERROR.getCode(),
+                "Error while listing users of role from DB. Database driver for " + databaseProductName
+                        + "could not be identified or not supported.");
+    }
+
+    private String getDBTypeSpecificGroupPageOfRoleQuery(String databaseProductName)
+            throws IdentityRoleManagementException {
+
+        if (MY_SQL.equals(databaseProductName)
+                || MARIADB.equals(databaseProductName)
+                || H2.equals(databaseProductName)) {
+            return GET_GROUP_PAGE_OF_ROLE_MYSQL;
+        } else if (ORACLE.equals(databaseProductName)) {
+            return GET_GROUP_PAGE_OF_ROLE_ORACLE;
+        } else if (MICROSOFT.equals(databaseProductName)) {
+            return GET_GROUP_PAGE_OF_ROLE_MSSQL;
+        } else if (POSTGRE_SQL.equals(databaseProductName)) {
+            return GET_GROUP_PAGE_OF_ROLE_POSTGRESQL;
+        } else if (databaseProductName != null && databaseProductName.contains(DB2)) {
+            return GET_GROUP_PAGE_OF_ROLE_DB2;
+        } else if (INFORMIX.equals(databaseProductName)) {
+            return GET_GROUP_PAGE_OF_ROLE_INFORMIX;
+        }
+
+        throw new IdentityRoleManagementServerException(UNEXPECTED_SERVER_ERROR.getCode(),
+                "Error while listing groups of role from DB. Database driver for " + databaseProductName
+                        + "could not be identified or not supported.");
+    }
+
     /**
      * Get the disabled domain names.
      *
@@ -94,6 +94,71 @@ public class SQLQueries {
                     + "UM_TENANT_ID=:UM_TENANT_ID;) AND UM_HYBRID_GROUP_ROLE.UM_TENANT_ID=:UM_TENANT_ID; "
                     + "AND UM_HYBRID_GROUP_ROLE.UM_DOMAIN_ID=UM_DOMAIN.UM_DOMAIN_ID";
 
+    // DB queries to count the members of a role per user store domain.
+    public static final String GET_USER_COUNT_OF_ROLE_SQL =
+            "SELECT UM_DOMAIN_NAME, COUNT(UM_HYBRID_USER_ROLE.UM_ID) FROM UM_HYBRID_USER_ROLE, UM_DOMAIN WHERE "
+                    + "UM_ROLE_ID=(SELECT UM_ID FROM UM_HYBRID_ROLE WHERE UM_ROLE_NAME=:UM_ROLE_NAME; AND "
+                    + "UM_TENANT_ID=:UM_TENANT_ID;) AND UM_HYBRID_USER_ROLE.UM_TENANT_ID=:UM_TENANT_ID; "
+                    + "AND UM_HYBRID_USER_ROLE.UM_DOMAIN_ID=UM_DOMAIN.UM_DOMAIN_ID GROUP BY UM_DOMAIN_NAME";
+
+    public static final String GET_GROUP_COUNT_OF_ROLE_SQL =
+            "SELECT UM_DOMAIN_NAME, COUNT(UM_HYBRID_GROUP_ROLE.UM_ID) FROM UM_HYBRID_GROUP_ROLE, UM_DOMAIN WHERE "
+                    + "UM_ROLE_ID=(SELECT UM_ID FROM UM_HYBRID_ROLE WHERE UM_ROLE_NAME=:UM_ROLE_NAME; AND "
+                    + "UM_TENANT_ID=:UM_TENANT_ID;) AND UM_HYBRID_GROUP_ROLE.UM_TENANT_ID=:UM_TENANT_ID; "
+                    + "AND UM_HYBRID_GROUP_ROLE.UM_DOMAIN_ID=UM_DOMAIN.UM_DOMAIN_ID GROUP BY UM_DOMAIN_NAME";
+
+    // DB queries to list the users of a role using keyset pagination.
+    private static final String GET_USER_PAGE_OF_ROLE_SELECT =
+            "UM_HYBRID_USER_ROLE.UM_ID, UM_USER_NAME, UM_DOMAIN_NAME FROM UM_HYBRID_USER_ROLE, UM_DOMAIN WHERE "
+                    + "UM_ROLE_ID=(SELECT UM_ID FROM UM_HYBRID_ROLE WHERE UM_ROLE_NAME=:UM_ROLE_NAME; AND "
+                    + "UM_TENANT_ID=:UM_TENANT_ID;) AND UM_HYBRID_USER_ROLE.UM_TENANT_ID=:UM_TENANT_ID; "
+                    + "AND UM_HYBRID_USER_ROLE.UM_DOMAIN_ID=UM_DOMAIN.UM_DOMAIN_ID AND "
+                    + "UM_HYBRID_USER_ROLE.UM_ID > :CURSOR; ORDER BY UM_HYBRID_USER_ROLE.UM_ID ASC";
+
+    public static final String GET_USER_PAGE_OF_ROLE_MYSQL = "SELECT " + GET_USER_PAGE_OF_ROLE_SELECT
+            + " LIMIT :LIMIT;";
+
+    public static final String GET_USER_PAGE_OF_ROLE_ORACLE = "SELECT * FROM (SELECT " + GET_USER_PAGE_OF_ROLE_SELECT
+            + ") WHERE rownum <= :LIMIT;";
+
+    public static final String GET_USER_PAGE_OF_ROLE_MSSQL = "SELECT " + GET_USER_PAGE_OF_ROLE_SELECT
+            + " OFFSET 0 ROWS FETCH NEXT :LIMIT; ROWS ONLY";
+
+    public static final String GET_USER_PAGE_OF_ROLE_POSTGRESQL = "SELECT " + GET_USER_PAGE_OF_ROLE_SELECT
+            + " LIMIT :LIMIT;";
+
+    public static final String GET_USER_PAGE_OF_ROLE_DB2 = "SELECT " + GET_USER_PAGE_OF_ROLE_SELECT
+            + " FETCH FIRST :LIMIT; ROWS ONLY";
+
+    public static final String GET_USER_PAGE_OF_ROLE_INFORMIX = "SELECT FIRST :LIMIT; "
+            + GET_USER_PAGE_OF_ROLE_SELECT;
+
+    // DB queries to list the groups of a role using keyset pagination.
+    private static final String GET_GROUP_PAGE_OF_ROLE_SELECT =
+            "UM_HYBRID_GROUP_ROLE.UM_ID, UM_GROUP_NAME, UM_DOMAIN_NAME FROM UM_HYBRID_GROUP_ROLE, UM_DOMAIN WHERE "
+                    + "UM_ROLE_ID=(SELECT UM_ID FROM UM_HYBRID_ROLE WHERE UM_ROLE_NAME=:UM_ROLE_NAME; AND "
+                    + "UM_TENANT_ID=:UM_TENANT_ID;) AND UM_HYBRID_GROUP_ROLE.UM_TENANT_ID=:UM_TENANT_ID; "
+                    + "AND UM_HYBRID_GROUP_ROLE.UM_DOMAIN_ID=UM_DOMAIN.UM_DOMAIN_ID AND "
+                    + "UM_HYBRID_GROUP_ROLE.UM_ID > :CURSOR; ORDER BY UM_HYBRID_GROUP_ROLE.UM_ID ASC";
+
+    public static final String GET_GROUP_PAGE_OF_ROLE_MYSQL = "SELECT " + GET_GROUP_PAGE_OF_ROLE_SELECT
+            + " LIMIT :LIMIT;";
+
+    public static final String GET_GROUP_PAGE_OF_ROLE_ORACLE = "SELECT * FROM (SELECT "
+            + GET_GROUP_PAGE_OF_ROLE_SELECT + ") WHERE rownum <= :LIMIT;";
+
+    public static final String GET_GROUP_PAGE_OF_ROLE_MSSQL = "SELECT " + GET_GROUP_PAGE_OF_ROLE_SELECT
+            + " OFFSET 0 ROWS FETCH NEXT :LIMIT; ROWS ONLY";
+
+    public static final String GET_GROUP_PAGE_OF_ROLE_POSTGRESQL = "SELECT " + GET_GROUP_PAGE_OF_ROLE_SELECT
+            + " LIMIT :LIMIT;";
+
+    public static final String GET_GROUP_PAGE_OF_ROLE_DB2 = "SELECT " + GET_GROUP_PAGE_OF_ROLE_SELECT
+            + " FETCH FIRST :LIMIT; ROWS ONLY";
+
+    public static final String GET_GROUP_PAGE_OF_ROLE_INFORMIX = "SELECT FIRST :LIMIT; "
+            + GET_GROUP_PAGE_OF_ROLE_SELECT;
+
     // DB queries to list roles.
     public static final String GET_ROLES_BY_TENANT_MYSQL = "SELECT UM_ROLE_NAME FROM UM_HYBRID_ROLE WHERE "
             + "UM_TENANT_ID=:UM_TENANT_ID; ORDER BY UM_ID DESC LIMIT :OFFSET;, :LIMIT;";
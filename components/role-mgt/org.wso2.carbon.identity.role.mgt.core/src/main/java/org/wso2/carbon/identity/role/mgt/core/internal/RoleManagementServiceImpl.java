@@ -31,6 +31,7 @@ import org.wso2.carbon.identity.role.mgt.core.Role;
 import org.wso2.carbon.identity.role.mgt.core.RoleBasicInfo;
 import org.wso2.carbon.identity.role.mgt.core.RoleManagementEventPublisherProxy;
 import org.wso2.carbon.identity.role.mgt.core.RoleManagementService;
+import org.wso2.carbon.identity.role.mgt.core.RoleMembersPage;
 import org.wso2.carbon.identity.role.mgt.core.UserBasicInfo;
 import org.wso2.carbon.identity.role.mgt.core.dao.RoleDAO;
 import org.wso2.carbon.identity.role.mgt.core.dao.RoleMgtDAOFactory;
@@ -39,6 +40,7 @@ import org.wso2.carbon.user.core.util.UserCoreUtil;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.wso2.carbon.identity.role.mgt.core.RoleConstants.Error.INVALID_REQUEST;
 
@@ -175,6 +177,37 @@ public class RoleManagementServiceImpl implements RoleManagementService {
         return userBasicInfoList;
     }
 
+    @Override
+    public RoleMembersPage<UserBasicInfo> getUserListOfRole(String roleID, String cursor, Integer limit,
+            String tenantDomain) throws IdentityRoleManagementException {
+
+        RoleMembersPage<UserBasicInfo> userPage = roleDAO.getUserListOfRole(roleID, cursor, limit, tenantDomain);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("%s get a page of users of role of id : %s successfully.",
+                    getUser(tenantDomain), roleID));
+        }
+        return userPage;
+    }
+
+    @Override
+    public void iterateUserListOfRole(String roleID, int pageSize, Consumer<UserBasicInfo> consumer,
+            String tenantDomain) throws IdentityRoleManagementException {
+
+        String cursor = null;
+        do {
+            RoleMembersPage<UserBasicInfo> userPage = roleDAO.getUserListOfRole(roleID, cursor, pageSize,
+                    tenantDomain);
+            userPage.getMembers().forEach(consumer);
+            cursor = userPage.getNextCursor();
+        } while (cursor != null);
+    }
+
+    @Override
+    public int getUserCountOfRole(String roleID, String tenantDomain) throws IdentityRoleManagementException {
+
+        return roleDAO.getUserCountOfRole(roleID, tenantDomain);
+    }
+
     @Override
     public RoleBasicInfo updateUserListOfRole(String roleID, List<String> newUserIDList, List<String> deletedUserIDList,
             String tenantDomain) throws IdentityRoleManagementException {
@@ -212,6 +245,37 @@ public class RoleManagementServiceImpl implements RoleManagementService {
         return groupBasicInfoList;
     }
 
+    @Override
+    public RoleMembersPage<GroupBasicInfo> getGroupListOfRole(String roleID, String cursor, Integer limit,
+            String tenantDomain) throws IdentityRoleManagementException {
+
+        RoleMembersPage<GroupBasicInfo> groupPage = roleDAO.getGroupListOfRole(roleID, cursor, limit, tenantDomain);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("%s get a page of groups of role of id : %s successfully.",
+                    getUser(tenantDomain), roleID));
+        }
+        return groupPage;
+    }
+
+    @Override
+    public void iterateGroupListOfRole(String roleID, int pageSize, Consumer<GroupBasicInfo> consumer,
+            String tenantDomain) throws IdentityRoleManagementException {
+
+        String cursor = null;
+        do {
+            RoleMembersPage<GroupBasicInfo> groupPage = roleDAO.getGroupListOfRole(roleID, cursor, pageSize,
+                    tenantDomain);
+            groupPage.getMembers().forEach(consumer);
+            cursor = groupPage.getNextCursor();
+        } while (cursor != null);
+    }
+
+    @Override
+    public int getGroupCountOfRole(String roleID, String tenantDomain) throws IdentityRoleManagementException {
+
+        return roleDAO.getGroupCountOfRole(roleID, tenantDomain);
+    }
+
     @Override
     public RoleBasicInfo updateGroupListOfRole(String roleID, List<String> newGroupIDList,
             List<String> deletedGroupIDList, String tenantDomain) throws IdentityRoleManagementException {
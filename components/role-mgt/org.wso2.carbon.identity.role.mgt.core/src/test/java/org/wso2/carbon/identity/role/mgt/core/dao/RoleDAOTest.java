@@ -33,6 +33,7 @@ import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.role.mgt.core.GroupBasicInfo;
 import org.wso2.carbon.identity.role.mgt.core.RoleBasicInfo;
+import org.wso2.carbon.identity.role.mgt.core.RoleMembersPage;
 import org.wso2.carbon.identity.role.mgt.core.UserBasicInfo;
 import org.wso2.carbon.identity.role.mgt.core.dao.util.DAOUtils;
 import org.wso2.carbon.user.api.AuthorizationManager;
@@ -369,6 +370,59 @@ public class RoleDAOTest extends PowerMockTestCase {
         }
     }
 
+    @Test
+    public void testGetUserListOfRoleWithPagination() throws Exception {
+
+        try (Connection connection1 = DAOUtils.getConnection(DB_NAME);
+                Connection connection2 = DAOUtils.getConnection(DB_NAME);
+                Connection connection3 = DAOUtils.getConnection(DB_NAME);
+                Connection connection4 = DAOUtils.getConnection(DB_NAME);
+                Connection connection5 = DAOUtils.getConnection(DB_NAME);
+                Connection connection6 = DAOUtils.getConnection(DB_NAME);
+                Connection connection7 = DAOUtils.getConnection(DB_NAME)) {
+
+            roleDAO = spy(RoleMgtDAOFactory.getInstance().getRoleDAO());
+            when(IdentityDatabaseUtil.getUserDBConnection(anyBoolean())).thenReturn(connection1);
+            when(IdentityDatabaseUtil.getDBConnection(anyBoolean())).thenReturn(connection2);
+            RoleBasicInfo role = addRole("role1");
+
+            doReturn(true).when(roleDAO, "isExistingRoleName", anyString(), anyString());
+            doCallRealMethod()
+                    .when(roleDAO, "updateUserListOfRole", anyString(), anyCollection(), anyCollection(), anyString());
+            when(IdentityDatabaseUtil.getUserDBConnection(anyBoolean())).thenReturn(connection3);
+            when(IdentityDatabaseUtil.getDBConnection(anyBoolean())).thenReturn(connection4);
+            mockStatic(IdentityUtil.class);
+            when(IdentityUtil.getPrimaryDomainName()).thenReturn("PRIMARY");
+            doReturn(userNamesList).when(roleDAO, "getUserNamesByIDs", eq(userIDsList), anyString());
+            roleDAO.updateUserListOfRole(role.getId(), userIDsList, null, SAMPLE_TENANT_DOMAIN);
+
+            mockRealmConfiguration();
+
+            mockStatic(UserCoreUtil.class);
+            when(UserCoreUtil.isEveryoneRole(anyString(), any(RealmConfiguration.class))).thenReturn(false);
+            when(IdentityUtil.getMaximumItemPerPage()).thenReturn(IdentityCoreConstants.DEFAULT_MAXIMUM_ITEMS_PRE_PAGE);
+            doReturn(true).when(roleDAO, "isExistingRoleID", eq(role.getId()), anyString());
+            doCallRealMethod().when(UserCoreUtil.class, "addDomainToName", anyString(), anyString());
+            doReturn("userID1").when(roleDAO, "getUserIDByName", eq(userNamesList.get(0)), anyString());
+            doReturn("userID2").when(roleDAO, "getUserIDByName", eq(userNamesList.get(1)), anyString());
+
+            when(IdentityDatabaseUtil.getUserDBConnection(anyBoolean())).thenReturn(connection5);
+            RoleMembersPage<UserBasicInfo> firstPage = roleDAO.getUserListOfRole(role.getId(), null, 1,
+                    SAMPLE_TENANT_DOMAIN);
+            assertEquals(getUserNamesList(firstPage.getMembers()), userNamesList.subList(0, 1));
+            assertTrue(firstPage.hasNext());
+
+            when(IdentityDatabaseUtil.getUserDBConnection(anyBoolean())).thenReturn(connection6);
+            RoleMembersPage<UserBasicInfo> secondPage = roleDAO.getUserListOfRole(role.getId(),
+                    firstPage.getNextCursor(), 1, SAMPLE_TENANT_DOMAIN);
+            assertEquals(getUserNamesList(secondPage.getMembers()), userNamesList.subList(1, 2));
+            assertFalse(secondPage.hasNext());
+
+            when(IdentityDatabaseUtil.getUserDBConnection(anyBoolean())).thenReturn(connection7);
+            assertEquals(roleDAO.getUserCountOfRole(role.getId(), SAMPLE_TENANT_DOMAIN), userNamesList.size());
+        }
+    }
+
     @Test
     public void testGetGroupListOfRole() throws Exception {
 
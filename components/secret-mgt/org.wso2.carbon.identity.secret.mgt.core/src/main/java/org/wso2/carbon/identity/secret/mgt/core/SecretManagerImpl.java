@@ -27,6 +27,7 @@ import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.core.util.CryptoException;
 import org.wso2.carbon.core.util.CryptoUtil;
+import org.wso2.carbon.identity.secret.mgt.core.cache.ResolvedSecretCache;
 import org.wso2.carbon.identity.secret.mgt.core.constant.SecretConstants;
 import org.wso2.carbon.identity.secret.mgt.core.dao.SecretDAO;
 import org.wso2.carbon.identity.secret.mgt.core.exception.SecretManagementClientException;
@@ -153,6 +154,7 @@ public class SecretManagerImpl implements SecretManager {
         SecretType secretType = getSecretType(secretTypeName);
         if (isSecretExist(secretTypeName, secretName)) {
             this.getSecretDAO().deleteSecretByName(secretName, secretType.getId(), getTenantId());
+            ResolvedSecretCache.getInstance().clearResolvedSecretValue(getTenantId(), secretTypeName, secretName);
             if (log.isDebugEnabled()) {
                 log.debug("Secret: " + secretName + " is deleted successfully.");
             }
@@ -170,6 +172,7 @@ public class SecretManagerImpl implements SecretManager {
         }
         if (isSecretExistsById(secretId)) {
             this.getSecretDAO().deleteSecretById(secretId, getTenantId());
+            ResolvedSecretCache.getInstance().clearResolvedSecretValueById(getTenantId(), secretId);
             if (log.isDebugEnabled()) {
                 log.debug("Secret id: " + secretId + " in tenant: " + getTenantDomain() + " deleted successfully.");
             }
@@ -188,6 +191,8 @@ public class SecretManagerImpl implements SecretManager {
         secret.setSecretType(secretTypeName);
         secret.setSecretValue(getEncryptedSecret(secret.getSecretValue(), secret.getSecretName()));
         this.getSecretDAO().replaceSecret(secret);
+        ResolvedSecretCache.getInstance().clearResolvedSecretValue(getTenantId(), secretTypeName,
+                secret.getSecretName());
         if (log.isDebugEnabled()) {
             log.debug(secret.getSecretName() + " secret replaced successfully.");
         }
@@ -205,6 +210,7 @@ public class SecretManagerImpl implements SecretManager {
         } catch (CryptoException e) {
             throw handleServerException(ERROR_CODE_UPDATE_SECRET, value, e);
         }
+        ResolvedSecretCache.getInstance().clearResolvedSecretValue(getTenantId(), secretTypeName, name);
         if (log.isDebugEnabled()) {
             log.debug(secret.getSecretName() + " secret value updated successfully.");
         }
@@ -19,8 +19,10 @@
 package org.wso2.carbon.identity.secret.mgt.core;
 
 import org.apache.commons.codec.Charsets;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.core.util.CryptoException;
 import org.wso2.carbon.core.util.CryptoUtil;
+import org.wso2.carbon.identity.secret.mgt.core.cache.ResolvedSecretCache;
 import org.wso2.carbon.identity.secret.mgt.core.exception.SecretManagementException;
 import org.wso2.carbon.identity.secret.mgt.core.exception.SecretManagementServerException;
 import org.wso2.carbon.identity.secret.mgt.core.model.ResolvedSecret;
@@ -42,10 +44,11 @@ public class SecretResolveManagerImpl implements SecretResolveManager {
     public ResolvedSecret getResolvedSecret(String secretTypeName, String secretName) throws SecretManagementException {
 
         Secret secret = secretManager.getSecret(secretTypeName, secretName);
-        return getResolvedSecret(secret);
+        return getResolvedSecret(secretTypeName, secret);
     }
 
-    private ResolvedSecret getResolvedSecret(Secret secret) throws SecretManagementServerException {
+    private ResolvedSecret getResolvedSecret(String secretTypeName, Secret secret)
+            throws SecretManagementServerException {
 
         ResolvedSecret resolvedSecret = new ResolvedSecret();
         resolvedSecret.setSecretId(secret.getSecretId());
@@ -53,16 +56,38 @@ public class SecretResolveManagerImpl implements SecretResolveManager {
         resolvedSecret.setCreatedTime(secret.getCreatedTime());
         resolvedSecret.setLastModified(secret.getLastModified());
         resolvedSecret.setTenantDomain(secret.getTenantDomain());
-        resolvedSecret.setResolvedSecretValue(getDecryptedSecretValue(secret.getSecretValue(), secret.getSecretName()));
+        resolvedSecret.setResolvedSecretValue(getDecryptedSecretValue(secretTypeName, secret));
         return resolvedSecret;
     }
 
+    private String getDecryptedSecretValue(String secretTypeName, Secret secret)
+            throws SecretManagementServerException {
+
+        ResolvedSecretCache resolvedSecretCache = ResolvedSecretCache.getInstance();
+        if (!resolvedSecretCache.isEnabled()) {
+            return getDecryptedSecretValue(secret.getSecretValue(), secret.getSecretName());
+        }
+
+        int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+        String decryptedValue = resolvedSecretCache.getResolvedSecretValue(tenantId, secretTypeName,
+                secret.getSecretName(), secret.getLastModified(), secret.getSecretValue());
+        if (decryptedValue == null) {
+            decryptedValue = getDecryptedSecretValue(secret.getSecretValue(), secret.getSecretName());
+            resolvedSecretCache.addResolvedSecretValue(tenantId, secretTypeName, secret.getSecretId(),
+                    secret.getSecretName(), secret.getLastModified(), secret.getSecretValue(), decryptedValue);
+        }
+        return decryptedValue;
+    }
+
     private String getDecryptedSecretValue(String secretValue, String name) throws SecretManagementServerException {
 
+        long startTime = System.nanoTime();
         try {
             return decrypt(secretValue);
         } catch (CryptoException e) {
             throw handleServerException(ERROR_CODE_GET_SECRET, name, e);
+        } finally {
+            ResolvedSecretCache.getInstance().recordDecryptLatency(System.nanoTime() - startTime);
         }
     }
 
@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.com).
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.secret.mgt.core.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Node local cache of the decrypted secret values. Decrypted values are never distributed hence this cache is not a
+ * {@link org.wso2.carbon.identity.core.cache.BaseCache}. An entry is only served while the last modified time and the
+ * cipher text of the secret match the ones it was decrypted from. Since the secrets are read through the cluster
+ * invalidated secret caches, an entry is not served once the secret is changed on any node.
+ * <p>
+ * Expired entries are purged periodically, so that decrypted values are not referenced by the cache for longer than
+ * twice the timeout. A hit returns the same value which was cached, hence serving from the cache does not create
+ * further copies of the decrypted value in memory.
+ * <p>
+ * The cache is disabled by default and can be enabled with "SecretManagement.ResolvedSecretCache.Enable" in
+ * identity.xml.
+ */
+public class ResolvedSecretCache {
+
+    private static final Log log = LogFactory.getLog(ResolvedSecretCache.class);
+
+    private static final String ENABLE_PROPERTY = "SecretManagement.ResolvedSecretCache.Enable";
+    private static final String TIMEOUT_PROPERTY = "SecretManagement.ResolvedSecretCache.Timeout";
+    private static final String MAX_ENTRIES_PROPERTY = "SecretManagement.ResolvedSecretCache.MaxEntries";
+    private static final long DEFAULT_TIMEOUT_IN_SECONDS = 60;
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final String KEY_SEPARATOR = "|";
+    // Upper bounds of the decrypt latency histogram buckets in milliseconds.
+    private static final long[] LATENCY_BUCKET_BOUNDS = {1, 5, 10, 50, 100, 500};
+
+    private static volatile ResolvedSecretCache instance;
+
+    private final Map<String, ResolvedSecretCacheEntry> entries = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long timeoutInMillis;
+    private final int maxEntries;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLongArray decryptLatencies = new AtomicLongArray(LATENCY_BUCKET_BOUNDS.length + 1);
+    private final ScheduledExecutorService purgeExecutor;
+
+    private ResolvedSecretCache() {
+
+        this(Boolean.parseBoolean(IdentityUtil.getProperty(ENABLE_PROPERTY)),
+                TimeUnit.SECONDS.toMillis(readPositiveLong(TIMEOUT_PROPERTY, DEFAULT_TIMEOUT_IN_SECONDS)),
+                (int) readPositiveLong(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES));
+    }
+
+    ResolvedSecretCache(boolean enabled, long timeoutInMillis, int maxEntries) {
+
+        this.enabled = enabled;
+        this.timeoutInMillis = timeoutInMillis;
+        this.maxEntries = maxEntries;
+        if (enabled) {
+            purgeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ResolvedSecretCachePurge");
+                thread.setDaemon(true);
+                return thread;
+            });
+            purgeExecutor.scheduleWithFixedDelay(this::purgeExpiredEntries, timeoutInMillis, timeoutInMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            purgeExecutor = null;
+        }
+    }
+
+    public static ResolvedSecretCache getInstance() {
+
+        if (instance == null) {
+            synchronized (ResolvedSecretCache.class) {
+                if (instance == null) {
+                    instance = new ResolvedSecretCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Stop purging the expired entries and remove all the cached values, if the cache has been initialized.
+     */
+    public static void shutdown() {
+
+        synchronized (ResolvedSecretCache.class) {
+            if (instance != null) {
+                instance.close();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Check whether the resolved secret cache is enabled.
+     *
+     * @return {@code true} if the cache is enabled.
+     */
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Get the cached decrypted value of a secret.
+     *
+     * @param tenantId       Tenant id.
+     * @param secretTypeName Secret type name.
+     * @param secretName     Secret name.
+     * @param lastModified   Last modified time of the secret.
+     * @param cipherText     Encrypted value of the secret.
+     * @return Decrypted value or {@code null} if there is no valid cached value.
+     */
+    public String getResolvedSecretValue(int tenantId, String secretTypeName, String secretName, String lastModified,
+                                         String cipherText) {
+
+        if (!enabled) {
+            return null;
+        }
+        String key = buildKey(tenantId, secretTypeName, secretName);
+        ResolvedSecretCacheEntry entry = entries.get(key);
+        if (entry == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis()) || !entry.matches(lastModified, cipherText)) {
+            remove(key, entry);
+            missCount.incrementAndGet();
+            return null;
+        }
+        String value = entry.getValue();
+        if (value == null) {
+            // The entry was removed concurrently.
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return value;
+    }
+
+    /**
+     * Add the decrypted value of a secret to the cache.
+     *
+     * @param tenantId       Tenant id.
+     * @param secretTypeName Secret type name.
+     * @param secretId       Secret id.
+     * @param secretName     Secret name.
+     * @param lastModified   Last modified time of the secret.
+     * @param cipherText     Encrypted value of the secret.
+     * @param value          Decrypted value of the secret.
+     */
+    public void addResolvedSecretValue(int tenantId, String secretTypeName, String secretId, String secretName,
+                                       String lastModified, String cipherText, String value) {
+
+        if (!enabled || value == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            removeExpiredEntries();
+            if (entries.size() >= maxEntries) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Resolved secret cache is full. Secret: " + secretName + " is not cached.");
+                }
+                return;
+            }
+        }
+        ResolvedSecretCacheEntry entry = new ResolvedSecretCacheEntry(tenantId, secretId, lastModified, cipherText,
+                value, System.currentTimeMillis() + timeoutInMillis);
+        ResolvedSecretCacheEntry previous = entries.put(buildKey(tenantId, secretTypeName, secretName), entry);
+        if (previous != null) {
+            previous.clear();
+        }
+    }
+
+    /**
+     * Remove the cached value of a secret.
+     *
+     * @param tenantId       Tenant id.
+     * @param secretTypeName Secret type name.
+     * @param secretName     Secret name.
+     */
+    public void clearResolvedSecretValue(int tenantId, String secretTypeName, String secretName) {
+
+        String key = buildKey(tenantId, secretTypeName, secretName);
+        ResolvedSecretCacheEntry entry = entries.get(key);
+        if (entry != null) {
+            remove(key, entry);
+        }
+    }
+
+    /**
+     * Remove the cached value of a secret by the secret id.
+     *
+     * @param tenantId Tenant id.
+     * @param secretId Secret id.
+     */
+    public void clearResolvedSecretValueById(int tenantId, String secretId) {
+
+        entries.forEach((key, entry) -> {
+            if (entry.getTenantId() == tenantId && StringUtils.equals(entry.getSecretId(), secretId)) {
+                remove(key, entry);
+            }
+        });
+    }
+
+    /**
+     * Remove all the cached values. Should be used when the keys used to encrypt the secrets are rotated.
+     */
+    public void clear() {
+
+        entries.forEach(this::remove);
+    }
+
+    /**
+     * Record the time taken to decrypt a secret.
+     *
+     * @param latencyInNanos Decrypt latency in nanoseconds.
+     */
+    public void recordDecryptLatency(long latencyInNanos) {
+
+        long latencyInMillis = TimeUnit.NANOSECONDS.toMillis(latencyInNanos);
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKET_BOUNDS.length && latencyInMillis > LATENCY_BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        decryptLatencies.incrementAndGet(bucket);
+    }
+
+    public long getHitCount() {
+
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+
+        return missCount.get();
+    }
+
+    /**
+     * Get the ratio of the lookups served from the cache.
+     *
+     * @return Hit ratio between 0 and 1.
+     */
+    public double getHitRatio() {
+
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Get the histogram of the decrypt latencies.
+     *
+     * @return Number of decryptions keyed by the upper bound of the latency bucket in milliseconds. The last bucket
+     * is keyed with "+Inf".
+     */
+    public Map<String, Long> getDecryptLatencyHistogram() {
+
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < LATENCY_BUCKET_BOUNDS.length; i++) {
+            histogram.put(String.valueOf(LATENCY_BUCKET_BOUNDS[i]), decryptLatencies.get(i));
+        }
+        histogram.put("+Inf", decryptLatencies.get(LATENCY_BUCKET_BOUNDS.length));
+        return Collections.unmodifiableMap(histogram);
+    }
+
+    /**
+     * Get the number of the cached values, including the expired values which are not purged yet.
+     *
+     * @return Number of the cached values.
+     */
+    public int size() {
+
+        return entries.size();
+    }
+
+    void close() {
+
+        if (purgeExecutor != null) {
+            purgeExecutor.shutdownNow();
+        }
+        clear();
+    }
+
+    private void purgeExpiredEntries() {
+
+        try {
+            removeExpiredEntries();
+        } catch (RuntimeException e) {
+            // An exception would stop the subsequent purges.
+            log.error("Error while purging the expired entries of the resolved secret cache.", e);
+        }
+    }
+
+    private void removeExpiredEntries() {
+
+        long now = System.currentTimeMillis();
+        entries.forEach((key, entry) -> {
+            if (entry.isExpired(now)) {
+                remove(key, entry);
+            }
+        });
+    }
+
+    private void remove(String key, ResolvedSecretCacheEntry entry) {
+
+        if (entries.remove(key, entry)) {
+            entry.clear();
+        }
+    }
+
+    private String buildKey(int tenantId, String secretTypeName, String secretName) {
+
+        return tenantId + KEY_SEPARATOR + secretTypeName + KEY_SEPARATOR + secretName;
+    }
+
+    private static long readPositiveLong(String property, long defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            long parsedValue = Long.parseLong(value.trim());
+            if (parsedValue > 0) {
+                return parsedValue;
+            }
+        } catch (NumberFormatException e) {
+            // Falls back to the default value below.
+        }
+        log.warn("Invalid value: " + value + " configured for " + property + ". Using the default value: "
+                + defaultValue);
+        return defaultValue;
+    }
+
+    /**
+     * Cached decrypted value of a secret.
+     */
+    private static class ResolvedSecretCacheEntry {
+
+        private final int tenantId;
+        private final String secretId;
+        private final String lastModified;
+        private final String cipherText;
+        private String value;
+        private final long expiryTime;
+
+        private ResolvedSecretCacheEntry(int tenantId, String secretId, String lastModified, String cipherText,
+                                         String value, long expiryTime) {
+
+            this.tenantId = tenantId;
+            this.secretId = secretId;
+            this.lastModified = lastModified;
+            this.cipherText = cipherText;
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+
+        private int getTenantId() {
+
+            return tenantId;
+        }
+
+        private String getSecretId() {
+
+            return secretId;
+        }
+
+        private boolean isExpired(long now) {
+
+            return expiryTime < now;
+        }
+
+        private boolean matches(String lastModified, String cipherText) {
+
+            return StringUtils.equals(this.lastModified, lastModified) && StringUtils.equals(this.cipherText,
+                    cipherText);
+        }
+
+        private synchronized String getValue() {
+
+            return value;
+        }
+
+        private synchronized void clear() {
+
+            // Drops the reference so that the decrypted value can be garbage collected.
+            value = null;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.com).
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.secret.mgt.core.cache;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class ResolvedSecretCacheTest {
+
+    private static final int TENANT_ID = -1234;
+    private static final String SECRET_TYPE = "ADAPTIVE_AUTH_CALL_CHOREO";
+    private static final String SECRET_ID = "secret-id";
+    private static final String SECRET_NAME = "sample-secret";
+    private static final String LAST_MODIFIED = "2022-01-01 00:00:00.0";
+    private static final String CIPHER_TEXT = "cipher-text";
+    private static final String SECRET_VALUE = "secret-value";
+
+    private ResolvedSecretCache cache;
+
+    @AfterMethod
+    public void tearDown() {
+
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    @Test
+    public void testGetResolvedSecretValue() {
+
+        cache = new ResolvedSecretCache(true, 60000, 10);
+        cache.addResolvedSecretValue(TENANT_ID, SECRET_TYPE, SECRET_ID, SECRET_NAME, LAST_MODIFIED, CIPHER_TEXT,
+                SECRET_VALUE);
+
+        assertSame(cache.getResolvedSecretValue(TENANT_ID, SECRET_TYPE, SECRET_NAME, LAST_MODIFIED, CIPHER_TEXT),
+                SECRET_VALUE);
+        assertNull(cache.getResolvedSecretValue(TENANT_ID, SECRET_TYPE, SECRET_NAME, LAST_MODIFIED,
+                "rotated-cipher-text"));
+        assertEquals(cache.size(), 0);
+        assertEquals(cache.getHitCount(), 1);
+        assertEquals(cache.getMissCount(), 1);
+    }
+
+    @Test
+    public void testClearResolvedSecretValue() {
+
+        cache = new ResolvedSecretCache(true, 60000, 10);
+        cache.addResolvedSecretValue(TENANT_ID, SECRET_TYPE, SECRET_ID, SECRET_NAME, LAST_MODIFIED, CIPHER_TEXT,
+                SECRET_VALUE);
+        cache.clearResolvedSecretValueById(TENANT_ID, SECRET_ID);
+
+        assertNull(cache.getResolvedSecretValue(TENANT_ID, SECRET_TYPE, SECRET_NAME, LAST_MODIFIED, CIPHER_TEXT));
+    }
+
+    @Test
+    public void testExpiredValuesArePurged() throws Exception {
+
+        cache = new ResolvedSecretCache(true, 100, 10);
+        cache.addResolvedSecretValue(TENANT_ID, SECRET_TYPE, SECRET_ID, SECRET_NAME, LAST_MODIFIED, CIPHER_TEXT,
+                SECRET_VALUE);
+        assertEquals(cache.size(), 1);
+
+        // Expired values are purged within twice the timeout without being accessed again.
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(cache.size(), 0);
+        assertNull(cache.getResolvedSecretValue(TENANT_ID, SECRET_TYPE, SECRET_NAME, LAST_MODIFIED, CIPHER_TEXT));
+    }
+
+    @Test
+    public void testFullCacheDoesNotAddValues() {
+
+        cache = new ResolvedSecretCache(true, 60000, 1);
+        cache.addResolvedSecretValue(TENANT_ID, SECRET_TYPE, SECRET_ID, SECRET_NAME, LAST_MODIFIED, CIPHER_TEXT,
+                SECRET_VALUE);
+        cache.addResolvedSecretValue(TENANT_ID, SECRET_TYPE, "other-id", "other-secret", LAST_MODIFIED, CIPHER_TEXT,
+                SECRET_VALUE);
+
+        assertEquals(cache.size(), 1);
+        assertNull(cache.getResolvedSecretValue(TENANT_ID, SECRET_TYPE, "other-secret", LAST_MODIFIED, CIPHER_TEXT));
+    }
+
+    @Test
+    public void testDisabledCache() {
+
+        cache = new ResolvedSecretCache(false, 60000, 10);
+        cache.addResolvedSecretValue(TENANT_ID, SECRET_TYPE, SECRET_ID, SECRET_NAME, LAST_MODIFIED, CIPHER_TEXT,
+                SECRET_VALUE);
+
+        assertFalse(cache.isEnabled());
+        assertEquals(cache.size(), 0);
+        assertNull(cache.getResolvedSecretValue(TENANT_ID, SECRET_TYPE, SECRET_NAME, LAST_MODIFIED, CIPHER_TEXT));
+    }
+
+    @Test
+    public void testCloseRemovesValues() {
+
+        cache = new ResolvedSecretCache(true, 60000, 10);
+        cache.addResolvedSecretValue(TENANT_ID, SECRET_TYPE, SECRET_ID, SECRET_NAME, LAST_MODIFIED, CIPHER_TEXT,
+                SECRET_VALUE);
+        cache.close();
+
+        assertTrue(cache.size() == 0);
+    }
+}
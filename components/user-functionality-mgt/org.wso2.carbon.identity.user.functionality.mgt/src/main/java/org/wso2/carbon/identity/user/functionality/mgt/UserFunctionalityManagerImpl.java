@@ -24,6 +24,9 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.user.functionality.mgt.cache.FunctionalityLockStatusCache;
+import org.wso2.carbon.identity.user.functionality.mgt.cache.FunctionalityLockStatusCacheEntry;
+import org.wso2.carbon.identity.user.functionality.mgt.cache.FunctionalityLockStatusCacheKey;
 import org.wso2.carbon.identity.user.functionality.mgt.dao.UserFunctionalityManagerDAO;
 import org.wso2.carbon.identity.user.functionality.mgt.dao.UserFunctionalityPropertyDAO;
 import org.wso2.carbon.identity.user.functionality.mgt.dao.impl.UserFunctionalityManagerDAOImpl;
@@ -51,6 +54,19 @@ public class UserFunctionalityManagerImpl implements UserFunctionalityManager {
     private UserFunctionalityManagerDAO userFunctionalityManagerDAO = new UserFunctionalityManagerDAOImpl();
     private UserFunctionalityPropertyDAO userFunctionalityPropertyDAO = new UserFunctionalityPropertyDAOImpl();
     private static final Log log = LogFactory.getLog(UserFunctionalityManagerImpl.class);
+    private static final int CACHE_WRITE_STRIPE_COUNT = 64;
+    /*
+     * Lock status writes on this node advance the version of the stripe of the mapping. A lock status read from the
+     * database is only cached if no write happened to the stripe during the read, so that a stale read never
+     * overwrites a concurrently written lock.
+     */
+    private static final CacheWriteStripe[] CACHE_WRITE_STRIPES = new CacheWriteStripe[CACHE_WRITE_STRIPE_COUNT];
+
+    static {
+        for (int i = 0; i < CACHE_WRITE_STRIPE_COUNT; i++) {
+            CACHE_WRITE_STRIPES[i] = new CacheWriteStripe();
+        }
+    }
 
     /**
      * {@inheritDoc}
@@ -70,16 +86,30 @@ public class UserFunctionalityManagerImpl implements UserFunctionalityManager {
             throw buildUserNotFoundError();
         }
 
-        FunctionalityLockStatus
-                functionalityLockStatus =
+        FunctionalityLockStatusCacheKey cacheKey = new FunctionalityLockStatusCacheKey(userId,
+                functionalityIdentifier);
+        FunctionalityLockStatusCacheEntry cacheEntry =
+                FunctionalityLockStatusCache.getInstance().getValueFromCache(cacheKey, tenantId);
+        if (cacheEntry != null) {
+            // Expired mappings are removed by the expired lock cleanup task.
+            if (cacheEntry.isExpired(System.currentTimeMillis())) {
+                return FunctionalityLockStatus.UNLOCKED_STATUS;
+            }
+            return cacheEntry.getFunctionalityLockStatus();
+        }
+
+        CacheWriteStripe stripe = getCacheWriteStripe(cacheKey, tenantId);
+        long version = stripe.getVersion();
+        FunctionalityLockStatus functionalityLockStatus =
                 userFunctionalityManagerDAO.getFunctionalityLockStatus(userId, tenantId, functionalityIdentifier);
-        if (functionalityLockStatus == null) {
+        if (functionalityLockStatus == null ||
+                functionalityLockStatus.getUnlockTime() < System.currentTimeMillis()) {
             return FunctionalityLockStatus.UNLOCKED_STATUS;
         }
-        long unlockTime = functionalityLockStatus.getUnlockTime();
-        if (unlockTime < System.currentTimeMillis()) {
-            userFunctionalityManagerDAO.deleteMappingForUser(userId, tenantId, functionalityIdentifier);
-            return FunctionalityLockStatus.UNLOCKED_STATUS;
+        // Only active locks are cached, so that a lock added on any node is seen by the next read.
+        if (functionalityLockStatus.getLockStatus()) {
+            stripe.addToCacheIfNotModified(version, cacheKey,
+                    new FunctionalityLockStatusCacheEntry(functionalityLockStatus), tenantId);
         }
         return functionalityLockStatus;
     }
@@ -161,6 +191,7 @@ public class UserFunctionalityManagerImpl implements UserFunctionalityManager {
                                 functionalityLockReason);
                 userFunctionalityManagerDAO
                         .updateLockStatusForUser(userId, tenantId, functionalityIdentifier, newFunctionalityLockStatus);
+                functionalityLockStatus = newFunctionalityLockStatus;
 
             } else if (oldUnlockTime < unlockTime) {
                 functionalityLockStatus.setLockReasonCode(functionalityLockReasonCode);
@@ -170,11 +201,12 @@ public class UserFunctionalityManagerImpl implements UserFunctionalityManager {
                         .updateLockStatusForUser(userId, tenantId, functionalityIdentifier, functionalityLockStatus);
             }
         } else {
-            FunctionalityLockStatus newFunctionalityLockStatus =
+            functionalityLockStatus =
                     new FunctionalityLockStatus(true, unlockTime, functionalityLockReasonCode, functionalityLockReason);
             userFunctionalityManagerDAO
-                    .addFunctionalityLock(userId, tenantId, functionalityIdentifier, newFunctionalityLockStatus);
+                    .addFunctionalityLock(userId, tenantId, functionalityIdentifier, functionalityLockStatus);
         }
+        clearLockStatusCache(userId, tenantId, functionalityIdentifier);
     }
 
     /**
@@ -194,6 +226,7 @@ public class UserFunctionalityManagerImpl implements UserFunctionalityManager {
             throw buildUserNotFoundError();
         }
         userFunctionalityManagerDAO.deleteMappingForUser(userId, tenantId, functionalityIdentifier);
+        clearLockStatusCache(userId, tenantId, functionalityIdentifier);
     }
 
     /**
@@ -244,6 +277,10 @@ public class UserFunctionalityManagerImpl implements UserFunctionalityManager {
     public void deleteAllMappingsForTenant(int tenantId) throws UserFunctionalityManagementServerException {
 
         userFunctionalityManagerDAO.deleteAllMappingsForTenant(tenantId);
+        for (CacheWriteStripe stripe : CACHE_WRITE_STRIPES) {
+            stripe.advanceVersion();
+        }
+        FunctionalityLockStatusCache.getInstance().clear(tenantId);
     }
 
     /**
@@ -282,6 +319,23 @@ public class UserFunctionalityManagerImpl implements UserFunctionalityManager {
         }
     }
 
+    /**
+     * Clear the cached lock status after it is written to the database. Clearing the entry also makes the other nodes
+     * of the cluster drop their copies of it, and the next read caches the written status.
+     */
+    private void clearLockStatusCache(String userId, int tenantId, String functionalityIdentifier) {
+
+        FunctionalityLockStatusCacheKey cacheKey = new FunctionalityLockStatusCacheKey(userId,
+                functionalityIdentifier);
+        getCacheWriteStripe(cacheKey, tenantId).clearCacheEntry(cacheKey, tenantId);
+    }
+
+    private static CacheWriteStripe getCacheWriteStripe(FunctionalityLockStatusCacheKey cacheKey, int tenantId) {
+
+        int hash = 31 * cacheKey.hashCode() + tenantId;
+        return CACHE_WRITE_STRIPES[(hash ^ (hash >>> 16)) & (CACHE_WRITE_STRIPE_COUNT - 1)];
+    }
+
     private boolean isPerUserFunctionalityLockingEnabled() {
 
         return Boolean.parseBoolean(
@@ -347,4 +401,39 @@ public class UserFunctionalityManagerImpl implements UserFunctionalityManager {
                 UserFunctionalityMgtConstants.ErrorMessages.USER_NOT_FOUND.getCode(),
                 UserFunctionalityMgtConstants.ErrorMessages.USER_NOT_FOUND.getDescription());
     }
+
+    /**
+     * Write version of a group of lock status cache entries.
+     */
+    private static class CacheWriteStripe {
+
+        private long version;
+
+        private synchronized long getVersion() {
+
+            return version;
+        }
+
+        private synchronized void advanceVersion() {
+
+            version++;
+        }
+
+        private synchronized void clearCacheEntry(FunctionalityLockStatusCacheKey cacheKey, int tenantId) {
+
+            version++;
+            FunctionalityLockStatusCache.getInstance().clearCacheEntry(cacheKey, tenantId);
+        }
+
+        private synchronized void addToCacheIfNotModified(long readVersion, FunctionalityLockStatusCacheKey cacheKey,
+                                                          FunctionalityLockStatusCacheEntry cacheEntry,
+                                                          int tenantId) {
+
+            if (version == readVersion) {
+                FunctionalityLockStatusCache.getInstance().addToCache(cacheKey, cacheEntry, tenantId);
+            } else if (log.isDebugEnabled()) {
+                log.debug("Lock status was modified while it was read. Hence it is not cached.");
+            }
+        }
+    }
 }
@@ -24,6 +24,10 @@ package org.wso2.carbon.identity.user.functionality.mgt;
 public class UserFunctionalityMgtConstants {
 
     public static final String ENABLE_PER_USER_FUNCTIONALITY_LOCKING = "EnablePerUserFunctionalityLocking";
+    public static final String EXPIRED_LOCK_CLEANUP_INTERVAL = "UserFunctionalityLockCleanup.Interval";
+    public static final String EXPIRED_LOCK_CLEANUP_BATCH_SIZE = "UserFunctionalityLockCleanup.BatchSize";
+    public static final long DEFAULT_EXPIRED_LOCK_CLEANUP_INTERVAL_IN_MINUTES = 60;
+    public static final int DEFAULT_EXPIRED_LOCK_CLEANUP_BATCH_SIZE = 500;
 
     public static final String ORACLE = "oracle";
 
@@ -47,6 +51,11 @@ public class UserFunctionalityMgtConstants {
                 "DELETE FROM IDN_USER_FUNCTIONALITY_MAPPING WHERE USER_ID=? AND TENANT_ID=? AND FUNCTIONALITY_ID=?";
         public static final String DELETE_ALL_FUNCTIONALITY_MAPPINGS_FOR_TENANT =
                 "DELETE FROM IDN_USER_FUNCTIONALITY_MAPPING WHERE TENANT_ID=?";
+        public static final String GET_EXPIRED_FUNCTIONALITY_MAPPING_IDS =
+                "SELECT ID FROM IDN_USER_FUNCTIONALITY_MAPPING WHERE FUNCTIONALITY_UNLOCK_TIME < ? AND ID > ? " +
+                        "ORDER BY ID";
+        public static final String DELETE_EXPIRED_FUNCTIONALITY_MAPPING =
+                "DELETE FROM IDN_USER_FUNCTIONALITY_MAPPING WHERE ID=? AND FUNCTIONALITY_UNLOCK_TIME < ?";
 
         public static final String INSERT_PROPERTY = "INSERT INTO IDN_USER_FUNCTIONALITY_PROPERTY (ID, USER_ID, " +
                 "TENANT_ID, FUNCTIONALITY_ID, PROPERTY_NAME, PROPERTY_VALUE) VALUES (?,?,?,?,?,?)";
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.functionality.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Cache for the functionality lock status of the users.
+ */
+public class FunctionalityLockStatusCache
+        extends BaseCache<FunctionalityLockStatusCacheKey, FunctionalityLockStatusCacheEntry> {
+
+    private static final String FUNCTIONALITY_LOCK_STATUS_CACHE_NAME = "FunctionalityLockStatusCache";
+
+    private static volatile FunctionalityLockStatusCache instance;
+
+    private FunctionalityLockStatusCache() {
+
+        super(FUNCTIONALITY_LOCK_STATUS_CACHE_NAME);
+    }
+
+    public static FunctionalityLockStatusCache getInstance() {
+
+        if (instance == null) {
+            synchronized (FunctionalityLockStatusCache.class) {
+                if (instance == null) {
+                    instance = new FunctionalityLockStatusCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
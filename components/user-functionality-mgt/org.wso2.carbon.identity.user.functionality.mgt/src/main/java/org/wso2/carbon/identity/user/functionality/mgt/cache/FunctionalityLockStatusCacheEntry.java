@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.functionality.mgt.cache;
+
+import org.wso2.carbon.identity.user.functionality.mgt.model.FunctionalityLockStatus;
+
+import java.io.Serializable;
+
+/**
+ * Functionality lock status cache entry. Only active locks are cached. The unlock time is kept so that the expiry
+ * of a lock is evaluated without reaching the database. Expired entries are left in the database to be removed by
+ * the expired lock cleanup task.
+ */
+public class FunctionalityLockStatusCacheEntry implements Serializable {
+
+    private static final long serialVersionUID = 2871004361298337625L;
+
+    private final boolean lockStatus;
+    private final long unlockTime;
+    private final String lockReasonCode;
+    private final String lockReason;
+
+    public FunctionalityLockStatusCacheEntry(FunctionalityLockStatus functionalityLockStatus) {
+
+        this.lockStatus = functionalityLockStatus.getLockStatus();
+        this.unlockTime = functionalityLockStatus.getUnlockTime();
+        this.lockReasonCode = functionalityLockStatus.getLockReasonCode();
+        this.lockReason = functionalityLockStatus.getLockReason();
+    }
+
+    /**
+     * Check whether the lock status is expired at the given time.
+     *
+     * @param currentTime Current time in milliseconds.
+     * @return {@code true} if the unlock time has passed.
+     */
+    public boolean isExpired(long currentTime) {
+
+        return unlockTime < currentTime;
+    }
+
+    /**
+     * Get a copy of the cached lock status.
+     *
+     * @return Functionality lock status.
+     */
+    public FunctionalityLockStatus getFunctionalityLockStatus() {
+
+        return new FunctionalityLockStatus(lockStatus, unlockTime, lockReasonCode, lockReason);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.functionality.mgt.cache;
+
+import java.io.Serializable;
+
+/**
+ * Functionality lock status cache key. Entries are maintained per tenant, hence the key holds the user id and the
+ * functionality identifier.
+ */
+public class FunctionalityLockStatusCacheKey implements Serializable {
+
+    private static final long serialVersionUID = -6184379201552648315L;
+
+    private final String userId;
+    private final String functionalityIdentifier;
+
+    public FunctionalityLockStatusCacheKey(String userId, String functionalityIdentifier) {
+
+        this.userId = userId;
+        this.functionalityIdentifier = functionalityIdentifier;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof FunctionalityLockStatusCacheKey)) {
+            return false;
+        }
+
+        FunctionalityLockStatusCacheKey that = (FunctionalityLockStatusCacheKey) o;
+        return userId.equals(that.userId) && functionalityIdentifier.equals(that.functionalityIdentifier);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return 31 * userId.hashCode() + functionalityIdentifier.hashCode();
+    }
+}
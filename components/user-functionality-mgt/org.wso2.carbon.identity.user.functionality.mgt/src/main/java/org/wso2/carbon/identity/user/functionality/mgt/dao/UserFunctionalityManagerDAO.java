@@ -86,4 +86,15 @@ public interface UserFunctionalityManagerDAO {
      * @throws UserFunctionalityManagementServerException
      */
     void deleteAllMappingsForTenant(int tenantId) throws UserFunctionalityManagementServerException;
+
+    /**
+     * Deletes the user-functionality mappings which expired before the given time. Expired mappings are read and
+     * deleted in batches, and a mapping which is renewed while the cleanup is in progress is not deleted.
+     *
+     * @param currentTime Time in milliseconds before which the mappings are considered expired.
+     * @param batchSize   Maximum number of mappings read and deleted in a single batch.
+     * @return Number of expired mappings deleted.
+     * @throws UserFunctionalityManagementServerException If error occurs while deleting the expired mappings.
+     */
+    int deleteExpiredMappings(long currentTime, int batchSize) throws UserFunctionalityManagementServerException;
 }
@@ -22,6 +22,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.database.utils.jdbc.JdbcTemplate;
 import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.core.util.JdbcUtils;
 import org.wso2.carbon.identity.user.functionality.mgt.UserFunctionalityManager;
 import org.wso2.carbon.identity.user.functionality.mgt.UserFunctionalityManagerImpl;
@@ -31,9 +32,12 @@ import org.wso2.carbon.identity.user.functionality.mgt.exception.UserFunctionali
 import org.wso2.carbon.identity.user.functionality.mgt.exception.UserFunctionalityManagementServerException;
 import org.wso2.carbon.identity.user.functionality.mgt.model.FunctionalityLockStatus;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.HashMap;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -194,6 +198,74 @@ public class UserFunctionalityManagerDAOImpl implements UserFunctionalityManager
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteExpiredMappings(long currentTime, int batchSize)
+            throws UserFunctionalityManagementServerException {
+
+        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
+        int deletedMappings = 0;
+        String lastMappingId = "";
+        try {
+            // Expired mappings are read in pages of the batch size, keyed by the mapping id.
+            while (true) {
+                String fromMappingId = lastMappingId;
+                List<String> expiredMappingIds = jdbcTemplate.executeQuery(
+                        UserFunctionalityMgtConstants.SqlQueries.GET_EXPIRED_FUNCTIONALITY_MAPPING_IDS,
+                        (resultSet, i) -> resultSet.getString("ID"),
+                        preparedStatement -> {
+                            preparedStatement.setLong(1, currentTime);
+                            preparedStatement.setString(2, fromMappingId);
+                            preparedStatement.setMaxRows(batchSize);
+                        });
+                if (expiredMappingIds.isEmpty()) {
+                    break;
+                }
+                deletedMappings += deleteExpiredMappings(expiredMappingIds, currentTime);
+                if (expiredMappingIds.size() < batchSize) {
+                    break;
+                }
+                lastMappingId = expiredMappingIds.get(expiredMappingIds.size() - 1);
+            }
+            return deletedMappings;
+        } catch (DataAccessException | SQLException e) {
+            String message = "Error occurred while deleting the expired functionality mappings from DB.";
+            if (log.isDebugEnabled()) {
+                log.debug(message, e);
+            }
+            throw new UserFunctionalityManagementServerException(message, e);
+        }
+    }
+
+    private int deleteExpiredMappings(List<String> mappingIds, long currentTime) throws SQLException {
+
+        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(
+                UserFunctionalityMgtConstants.SqlQueries.DELETE_EXPIRED_FUNCTIONALITY_MAPPING)) {
+            for (String mappingId : mappingIds) {
+                preparedStatement.setString(1, mappingId);
+                preparedStatement.setLong(2, currentTime);
+                preparedStatement.addBatch();
+            }
+            int deletedMappings = 0;
+            for (int updateCount : preparedStatement.executeBatch()) {
+                // A mapping renewed after it was read is not deleted, as the delete re-checks the unlock time.
+                if (updateCount > 0 || updateCount == Statement.SUCCESS_NO_INFO) {
+                    deletedMappings++;
+                }
+            }
+            IdentityDatabaseUtil.commitTransaction(connection);
+            return deletedMappings;
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw e;
+        } finally {
+            IdentityDatabaseUtil.closeConnection(connection);
+        }
+    }
+
     private void setPreparedStatementForFunctionality(String userId, int tenantId, String functionalityIdentifier,
                                                       FunctionalityLockStatus functionalityLockStatus,
                                                       PreparedStatement preparedStatement) throws SQLException {
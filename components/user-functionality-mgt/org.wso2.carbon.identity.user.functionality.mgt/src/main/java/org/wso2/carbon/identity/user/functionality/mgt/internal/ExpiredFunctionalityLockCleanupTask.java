@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.functionality.mgt.internal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.user.functionality.mgt.dao.UserFunctionalityManagerDAO;
+import org.wso2.carbon.identity.user.functionality.mgt.dao.impl.UserFunctionalityManagerDAOImpl;
+import org.wso2.carbon.identity.user.functionality.mgt.exception.UserFunctionalityManagementServerException;
+
+/**
+ * Periodic task which removes the expired user-functionality mappings. Lock status checks evaluate the expiry of the
+ * cached lock status in memory, hence the expired mappings are removed here instead of on the request path.
+ */
+public class ExpiredFunctionalityLockCleanupTask implements Runnable {
+
+    private static final Log log = LogFactory.getLog(ExpiredFunctionalityLockCleanupTask.class);
+
+    private final UserFunctionalityManagerDAO userFunctionalityManagerDAO = new UserFunctionalityManagerDAOImpl();
+    private final int batchSize;
+
+    public ExpiredFunctionalityLockCleanupTask(int batchSize) {
+
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run() {
+
+        try {
+            int deletedMappings = userFunctionalityManagerDAO.deleteExpiredMappings(System.currentTimeMillis(),
+                    batchSize);
+            if (log.isDebugEnabled()) {
+                log.debug("Expired functionality lock cleanup processed " + deletedMappings + " mappings.");
+            }
+        } catch (UserFunctionalityManagementServerException e) {
+            log.error("Error while cleaning up the expired functionality locks.", e);
+        } catch (RuntimeException e) {
+            // Do not let an unexpected error cancel the subsequent executions of the task.
+            log.error("Unexpected error while cleaning up the expired functionality locks.", e);
+        }
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.identity.user.functionality.mgt.internal;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.osgi.framework.BundleContext;
@@ -31,10 +32,16 @@ import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
 import org.wso2.carbon.identity.core.util.IdentityCoreInitializedEvent;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.user.functionality.mgt.UserFunctionalityManager;
 import org.wso2.carbon.identity.user.functionality.mgt.UserFunctionalityManagerImpl;
+import org.wso2.carbon.identity.user.functionality.mgt.UserFunctionalityMgtConstants;
 import org.wso2.carbon.user.core.service.RealmService;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 /**
  * OSGi declarative services component which handles registration and un-registration of user functionality management
  * service.
@@ -48,6 +55,7 @@ public class UserFunctionalityManagerServiceComponent {
     private static final Log log = LogFactory.getLog(UserFunctionalityManagerServiceComponent.class);
 
     private ServiceRegistration userFunctionalityMgtService;
+    private ScheduledExecutorService expiredLockCleanupExecutor;
 
     /**
      * Register User Functionality Manager as an OSGi service.
@@ -62,6 +70,10 @@ public class UserFunctionalityManagerServiceComponent {
             UserFunctionalityManager userFunctionalityManager = new UserFunctionalityManagerImpl();
             userFunctionalityMgtService = bundleContext.registerService(UserFunctionalityManager.class,
                     userFunctionalityManager, null);
+            if (Boolean.parseBoolean(
+                    IdentityUtil.getProperty(UserFunctionalityMgtConstants.ENABLE_PER_USER_FUNCTIONALITY_LOCKING))) {
+                startExpiredLockCleanup();
+            }
             if (log.isDebugEnabled()) {
                 log.debug("User Functionality Manager bundle is activated.");
             }
@@ -73,6 +85,9 @@ public class UserFunctionalityManagerServiceComponent {
     @Deactivate
     protected void deactivate(ComponentContext componentContext) {
 
+        if (expiredLockCleanupExecutor != null) {
+            expiredLockCleanupExecutor.shutdownNow();
+        }
         BundleContext bundleContext = componentContext.getBundleContext();
         bundleContext.ungetService(userFunctionalityMgtService.getReference());
         if (log.isDebugEnabled()) {
@@ -80,6 +95,43 @@ public class UserFunctionalityManagerServiceComponent {
         }
     }
 
+    private void startExpiredLockCleanup() {
+
+        long interval = getPositiveProperty(UserFunctionalityMgtConstants.EXPIRED_LOCK_CLEANUP_INTERVAL,
+                UserFunctionalityMgtConstants.DEFAULT_EXPIRED_LOCK_CLEANUP_INTERVAL_IN_MINUTES);
+        int batchSize = (int) getPositiveProperty(UserFunctionalityMgtConstants.EXPIRED_LOCK_CLEANUP_BATCH_SIZE,
+                UserFunctionalityMgtConstants.DEFAULT_EXPIRED_LOCK_CLEANUP_BATCH_SIZE);
+
+        expiredLockCleanupExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "UserFunctionalityLockCleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        expiredLockCleanupExecutor.scheduleWithFixedDelay(new ExpiredFunctionalityLockCleanupTask(batchSize),
+                interval, interval, TimeUnit.MINUTES);
+        if (log.isDebugEnabled()) {
+            log.debug("Expired functionality lock cleanup is scheduled every " + interval + " minutes.");
+        }
+    }
+
+    private long getPositiveProperty(String propertyName, long defaultValue) {
+
+        String value = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                long parsedValue = Long.parseLong(value.trim());
+                if (parsedValue > 0 && parsedValue <= Integer.MAX_VALUE) {
+                    return parsedValue;
+                }
+            } catch (NumberFormatException e) {
+                // Fall back to the default value.
+            }
+            log.warn("Invalid value: " + value + " configured for " + propertyName + ". Using the default value: "
+                    + defaultValue);
+        }
+        return defaultValue;
+    }
+
     @Reference(
             name = "identityCoreInitializedEventService",
             service = IdentityCoreInitializedEvent.class,
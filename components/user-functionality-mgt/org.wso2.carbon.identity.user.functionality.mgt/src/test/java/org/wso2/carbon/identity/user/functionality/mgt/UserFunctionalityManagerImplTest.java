@@ -23,6 +23,7 @@ import org.apache.commons.logging.LogFactory;
 import org.mockito.Mock;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.testng.PowerMockTestCase;
+import org.powermock.reflect.Whitebox;
 import org.testng.IObjectFactory;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -33,6 +34,9 @@ import org.wso2.carbon.context.internal.CarbonContextDataHolder;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.user.functionality.mgt.cache.FunctionalityLockStatusCache;
+import org.wso2.carbon.identity.user.functionality.mgt.cache.FunctionalityLockStatusCacheEntry;
+import org.wso2.carbon.identity.user.functionality.mgt.cache.FunctionalityLockStatusCacheKey;
 import org.wso2.carbon.identity.user.functionality.mgt.dao.UserFunctionalityManagerDAO;
 import org.wso2.carbon.identity.user.functionality.mgt.dao.UserFunctionalityPropertyDAO;
 import org.wso2.carbon.identity.user.functionality.mgt.dao.impl.UserFunctionalityManagerDAOImpl;
@@ -51,16 +55,24 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.sql.DataSource;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.spy;
 import static org.powermock.api.mockito.PowerMockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 @PrepareForTest({IdentityDatabaseUtil.class, CarbonContextDataHolder.class, IdentityUtil.class,
-        IdentityTenantUtil.class, UserFunctionalityManagerComponentDataHolder.class})
+        IdentityTenantUtil.class, UserFunctionalityManagerComponentDataHolder.class,
+        FunctionalityLockStatusCache.class})
 public class UserFunctionalityManagerImplTest extends PowerMockTestCase {
 
     private static final Log log = LogFactory.getLog(UserFunctionalityManagerImplTest.class);
@@ -76,6 +88,8 @@ public class UserFunctionalityManagerImplTest extends PowerMockTestCase {
     private UniqueIDUserStoreManager userStoreManager;
     @Mock
     private UserFunctionalityManagerComponentDataHolder userFunctionalityManagerComponentDataHolder;
+    @Mock
+    private FunctionalityLockStatusCache functionalityLockStatusCache;
 
     @BeforeMethod
     public void setUp() throws Exception {
@@ -86,6 +100,9 @@ public class UserFunctionalityManagerImplTest extends PowerMockTestCase {
         mockStatic(IdentityUtil.class);
         when(IdentityUtil.getProperty(UserFunctionalityMgtConstants.ENABLE_PER_USER_FUNCTIONALITY_LOCKING))
                 .thenReturn("true");
+        // The database is recreated for each test, hence the lock status is always read from the database.
+        mockStatic(FunctionalityLockStatusCache.class);
+        when(FunctionalityLockStatusCache.getInstance()).thenReturn(functionalityLockStatusCache);
 
         try (Connection connection = TestUtils.getConnection()) {
             Connection spyConnection = TestUtils.spyConnection(connection);
@@ -440,12 +457,97 @@ public class UserFunctionalityManagerImplTest extends PowerMockTestCase {
 
     }
 
+    @Test
+    public void testOnlyLockedStatusIsCached() throws Exception {
+
+        mockInMemoryLockStatusCache();
+        try (Connection connection = TestUtils.getConnection()) {
+            mockDataSource(connection);
+            mockIsUserStoreManager("user1");
+
+            assertFalse(userFunctionalityManager.getLockStatus("user1", 1, "FunctionalityType1").getLockStatus());
+            // A lock added without going through this manager is seen, as unlocked statuses are not cached.
+            userFunctionalityManagerDAO.updateLockStatusForUser("user1", 1, "FunctionalityType1",
+                    new FunctionalityLockStatus(true, System.currentTimeMillis() + 300000, "E001", "Lock Reason"));
+            assertTrue(userFunctionalityManager.getLockStatus("user1", 1, "FunctionalityType1").getLockStatus());
+
+            userFunctionalityManager.lock("user1", 1, "FunctionalityType1", 600000, "E002", "Lock Reason 2");
+            assertEquals(userFunctionalityManager.getLockStatus("user1", 1, "FunctionalityType1").getLockReason(),
+                    "Lock Reason 2");
+            // Changes which do not go through the manager are not visible while the lock is cached.
+            userFunctionalityManagerDAO.updateLockStatusForUser("user1", 1, "FunctionalityType1",
+                    new FunctionalityLockStatus(true, System.currentTimeMillis() + 900000, "E003", "Lock Reason 3"));
+            assertEquals(userFunctionalityManager.getLockStatus("user1", 1, "FunctionalityType1").getLockReason(),
+                    "Lock Reason 2");
+
+            userFunctionalityManager.unlock("user1", 1, "FunctionalityType1");
+            assertFalse(userFunctionalityManager.getLockStatus("user1", 1, "FunctionalityType1").getLockStatus());
+        }
+    }
+
+    @Test
+    public void testStaleLockStatusIsNotCachedOverConcurrentUnlock() throws Exception {
+
+        mockInMemoryLockStatusCache();
+        UserFunctionalityManager manager = new UserFunctionalityManagerImpl();
+        UserFunctionalityManagerDAO dao = spy(new UserFunctionalityManagerDAOImpl());
+        Whitebox.setInternalState(manager, "userFunctionalityManagerDAO", dao);
+
+        try (Connection connection = TestUtils.getConnection()) {
+            mockDataSource(connection);
+            mockIsUserStoreManager("user1");
+            manager.lock("user1", 1, "FunctionalityType1", 300000, "E001", "Lock Reason");
+
+            AtomicBoolean unlocked = new AtomicBoolean();
+            // The user is unlocked right after the locked status is read from the database.
+            doAnswer(invocation -> {
+                Object lockStatus = invocation.callRealMethod();
+                if (unlocked.compareAndSet(false, true)) {
+                    manager.unlock("user1", 1, "FunctionalityType1");
+                }
+                return lockStatus;
+            }).when(dao).getFunctionalityLockStatus("user1", 1, "FunctionalityType1");
+
+            assertTrue(manager.getLockStatus("user1", 1, "FunctionalityType1").getLockStatus());
+            assertTrue(unlocked.get());
+            assertFalse(manager.getLockStatus("user1", 1, "FunctionalityType1").getLockStatus());
+        }
+    }
+
     @ObjectFactory
     public IObjectFactory getObjectFactory() {
 
         return new org.powermock.modules.testng.PowerMockObjectFactory();
     }
 
+    private void mockDataSource(Connection connection) throws SQLException {
+
+        DataSource dataSource = mock(DataSource.class);
+        TestUtils.mockDataSource(dataSource);
+        Connection spyConnection = TestUtils.spyConnection(connection);
+        when(dataSource.getConnection()).thenReturn(spyConnection);
+    }
+
+    private void mockInMemoryLockStatusCache() {
+
+        Map<String, FunctionalityLockStatusCacheEntry> cacheEntries = new HashMap<>();
+        FunctionalityLockStatusCache cache = mock(FunctionalityLockStatusCache.class);
+        when(cache.getValueFromCache(any(FunctionalityLockStatusCacheKey.class), anyInt())).thenAnswer(
+                invocation -> cacheEntries.get(getCacheKey(invocation.getArguments())));
+        doAnswer(invocation -> cacheEntries.put(getCacheKey(invocation.getArguments()),
+                (FunctionalityLockStatusCacheEntry) invocation.getArguments()[1]))
+                .when(cache).addToCache(any(FunctionalityLockStatusCacheKey.class),
+                any(FunctionalityLockStatusCacheEntry.class), anyInt());
+        doAnswer(invocation -> cacheEntries.remove(getCacheKey(invocation.getArguments())))
+                .when(cache).clearCacheEntry(any(FunctionalityLockStatusCacheKey.class), anyInt());
+        when(FunctionalityLockStatusCache.getInstance()).thenReturn(cache);
+    }
+
+    private String getCacheKey(Object[] arguments) {
+
+        return arguments[arguments.length - 1] + ":" + arguments[0].hashCode();
+    }
+
     private void mockIsUserStoreManager(String userId) throws UserStoreException {
 
         TestUtils.mockUserFunctionalityManagerComponentDataHolder(userFunctionalityManagerComponentDataHolder);
@@ -44,6 +44,7 @@ import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
 
 @PrepareForTest({IdentityDatabaseUtil.class})
@@ -343,6 +344,40 @@ public class UserFunctionalityManagerDAOImplTest extends PowerMockTestCase {
         }
     }
 
+    @Test
+    public void testDeleteExpiredMappings() {
+
+        DataSource dataSource = mock(DataSource.class);
+        TestUtils.mockDataSource(dataSource);
+        long currentTime = System.currentTimeMillis();
+        try (Connection connection = TestUtils.getConnection()) {
+            Connection spyConnection = TestUtils.spyConnection(connection);
+            when(dataSource.getConnection()).thenReturn(spyConnection);
+            when(IdentityDatabaseUtil.getDBConnection(true)).thenReturn(spyConnection);
+            try {
+                for (int i = 0; i < 5; i++) {
+                    userFunctionalityManagerDAO.addFunctionalityLock("user" + i, 1, "functionality",
+                            new FunctionalityLockStatus(true, currentTime - 1000, "E001", "Expired lock"));
+                }
+                userFunctionalityManagerDAO.addFunctionalityLock("activeUser", 1, "functionality",
+                        new FunctionalityLockStatus(true, currentTime + 300000, "E001", "Active lock"));
+
+                assertEquals(userFunctionalityManagerDAO.deleteExpiredMappings(currentTime, 2), 5);
+
+                for (int i = 0; i < 5; i++) {
+                    assertNull(userFunctionalityManagerDAO.getFunctionalityLockStatus("user" + i, 1,
+                            "functionality"));
+                }
+                assertNotNull(userFunctionalityManagerDAO.getFunctionalityLockStatus("activeUser", 1,
+                        "functionality"));
+            } catch (UserFunctionalityManagementServerException e) {
+                log.error("FunctionalityManagementServer Exception", e);
+            }
+        } catch (SQLException e) {
+            //Mock behaviour. Hence ignored.
+        }
+    }
+
     @ObjectFactory
     public IObjectFactory getObjectFactory() {
 
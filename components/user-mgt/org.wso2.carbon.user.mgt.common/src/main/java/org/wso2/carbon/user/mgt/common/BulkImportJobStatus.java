@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.user.mgt.common;
+
+/**
+ * Status and progress of an asynchronous bulk user import job.
+ */
+public class BulkImportJobStatus {
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_COMPLETED_WITH_ERRORS = "COMPLETED_WITH_ERRORS";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private String jobId;
+    private String userStoreDomain;
+    private String fileName;
+    private String status;
+    private String message;
+    private long submittedTime;
+    private long startTime;
+    private long endTime;
+    private long processedCount;
+    private long successCount;
+    private long failedCount;
+    private long duplicateCount;
+    private double throughput;
+    private String[] duplicateUsers = new String[0];
+    private BulkImportFailure[] failedUsers = new BulkImportFailure[0];
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getUserStoreDomain() {
+        return userStoreDomain;
+    }
+
+    public void setUserStoreDomain(String userStoreDomain) {
+        this.userStoreDomain = userStoreDomain;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * @return One of the STATUS_* values.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public long getSubmittedTime() {
+        return submittedTime;
+    }
+
+    public void setSubmittedTime(long submittedTime) {
+        this.submittedTime = submittedTime;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(long endTime) {
+        this.endTime = endTime;
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public void setProcessedCount(long processedCount) {
+        this.processedCount = processedCount;
+    }
+
+    public long getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(long successCount) {
+        this.successCount = successCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(long failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public long getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    public void setDuplicateCount(long duplicateCount) {
+        this.duplicateCount = duplicateCount;
+    }
+
+    /**
+     * @return Number of processed users per second since the job was started.
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public void setThroughput(double throughput) {
+        this.throughput = throughput;
+    }
+
+    public String[] getDuplicateUsers() {
+        return duplicateUsers;
+    }
+
+    public void setDuplicateUsers(String[] duplicateUsers) {
+        this.duplicateUsers = duplicateUsers;
+    }
+
+    public BulkImportFailure[] getFailedUsers() {
+        return failedUsers;
+    }
+
+    public void setFailedUsers(BulkImportFailure[] failedUsers) {
+        this.failedUsers = failedUsers;
+    }
+}
@@ -34,6 +34,7 @@ import org.wso2.carbon.user.core.UserCoreConstants;
 import org.wso2.carbon.user.core.UserRealm;
 import org.wso2.carbon.user.core.UserStoreException;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
+import org.wso2.carbon.user.mgt.common.BulkImportJobStatus;
 import org.wso2.carbon.user.mgt.common.ClaimValue;
 import org.wso2.carbon.user.mgt.common.FlaggedName;
 import org.wso2.carbon.user.mgt.common.UIPermissionNode;
@@ -570,6 +571,55 @@ public class UserAdmin {
 
     }
 
+    /**
+     * Import the users of the given file asynchronously.
+     *
+     * @param userStoreDomain User store domain the users are imported to.
+     * @param fileName        Name of the CSV or Excel file.
+     * @param handler         Content of the file.
+     * @param defaultPassword Default password.
+     * @return Id of the import job which can be used to track the progress of the import.
+     * @throws UserAdminException If the import job could not be submitted.
+     */
+    public String bulkImportUsersAsync(String userStoreDomain, String fileName, DataHandler handler,
+                                       String defaultPassword) throws UserAdminException {
+
+        if (fileName == null || handler == null) {
+            throw new UserAdminException("Required data not provided");
+        }
+        if (StringUtils.isEmpty(userStoreDomain)) {
+            userStoreDomain = IdentityUtil.getPrimaryDomainName();
+        }
+        try (InputStream inStream = handler.getInputStream()) {
+            return getUserAdminProxy().bulkImportUsersAsync(userStoreDomain, fileName, inStream, defaultPassword);
+        } catch (IOException e) {
+            log.error(e.getMessage(), e);
+            throw new UserAdminException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get the status, progress and failure report of a bulk user import job.
+     *
+     * @param jobId Id of the import job.
+     * @return Status of the job.
+     * @throws UserAdminException If there is no such job.
+     */
+    public BulkImportJobStatus getBulkImportJobStatus(String jobId) throws UserAdminException {
+
+        return getUserAdminProxy().getBulkImportJobStatus(jobId);
+    }
+
+    /**
+     * Get the status of the recent bulk user import jobs.
+     *
+     * @return Status of the jobs, latest first.
+     */
+    public BulkImportJobStatus[] getBulkImportJobs() {
+
+        return getUserAdminProxy().getBulkImportJobs();
+    }
+
     /**
      * @param oldPassword
      * @param newPassword
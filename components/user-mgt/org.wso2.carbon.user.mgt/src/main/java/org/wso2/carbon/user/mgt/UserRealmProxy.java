@@ -46,9 +46,13 @@ import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
 import org.wso2.carbon.user.core.jdbc.JDBCUserStoreManager;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
 import org.wso2.carbon.user.mgt.bulkimport.BulkImportConfig;
+import org.wso2.carbon.user.mgt.bulkimport.BulkImportFileStore;
+import org.wso2.carbon.user.mgt.bulkimport.BulkImportJob;
+import org.wso2.carbon.user.mgt.bulkimport.BulkImportJobManager;
 import org.wso2.carbon.user.mgt.bulkimport.CSVUserBulkImport;
 import org.wso2.carbon.user.mgt.bulkimport.ExcelUserBulkImport;
 import org.wso2.carbon.user.mgt.bulkimport.UserBulkImport;
+import org.wso2.carbon.user.mgt.common.BulkImportJobStatus;
 import org.wso2.carbon.user.mgt.common.ClaimValue;
 import org.wso2.carbon.user.mgt.common.FlaggedName;
 import org.wso2.carbon.user.mgt.common.UIPermissionNode;
@@ -60,6 +64,9 @@ import org.wso2.carbon.user.mgt.permission.ManagementPermissionUtil;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 import org.wso2.carbon.utils.multitenancy.MultitenantUtils;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -68,6 +75,8 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -2211,26 +2220,12 @@ public class UserRealmProxy {
     public void bulkImportUsers(String userStoreDomain, String fileName, InputStream inStream, String defaultPassword)
             throws UserAdminException {
         try {
-            BulkImportConfig config = new BulkImportConfig(inStream, fileName);
-            if (defaultPassword != null && defaultPassword.trim().length() > 0) {
-                config.setDefaultPassword(defaultPassword.trim());
-            }
-            if (StringUtils.isNotEmpty(userStoreDomain)) {
-                config.setUserStoreDomain(userStoreDomain);
-            }
+            BulkImportConfig config = createBulkImportConfig(userStoreDomain, fileName, inStream, defaultPassword);
 
             UserStoreManager userStore = this.realm.getUserStoreManager();
             userStore = userStore.getSecondaryUserStoreManager(userStoreDomain);
 
-            if (fileName.endsWith("csv")) {
-                UserBulkImport csvAdder = new CSVUserBulkImport(config);
-                csvAdder.addUserList(userStore);
-            } else if (fileName.endsWith("xls") || fileName.endsWith("xlsx")) {
-                UserBulkImport excelAdder = new ExcelUserBulkImport(config);
-                excelAdder.addUserList(userStore);
-            } else {
-                throw new UserAdminException("Unsupported format");
-            }
+            createUserBulkImport(config).addUserList(userStore);
         } catch (UserStoreException e) {
             // previously logged so logging not needed
             throw new UserAdminException(e.getMessage(), e);
@@ -2238,6 +2233,144 @@ public class UserRealmProxy {
 
     }
 
+    /**
+     * Import the users of the given file asynchronously. The file is copied to a location readable only by the server
+     * user, so that it can be read once the request is completed. See {@link BulkImportFileStore}.
+     *
+     * @param userStoreDomain User store domain the users are imported to.
+     * @param fileName        Name of the CSV or Excel file.
+     * @param inStream        Content of the file.
+     * @param defaultPassword Default password.
+     * @return Id of the import job.
+     * @throws UserAdminException If the import job could not be submitted.
+     */
+    public String bulkImportUsersAsync(String userStoreDomain, String fileName, InputStream inStream,
+                                       String defaultPassword) throws UserAdminException {
+
+        if (!isSupportedBulkImportFile(fileName)) {
+            throw new UserAdminException("Unsupported format");
+        }
+        UserStoreManager userStore;
+        try {
+            userStore = this.realm.getUserStoreManager().getSecondaryUserStoreManager(userStoreDomain);
+        } catch (UserStoreException e) {
+            throw new UserAdminException(e.getMessage(), e);
+        }
+        if (userStore == null) {
+            throw new UserAdminException("Invalid user store domain: " + userStoreDomain);
+        }
+
+        File sourceFile;
+        try {
+            sourceFile = BulkImportFileStore.store(inStream, fileName);
+        } catch (IOException e) {
+            throw new UserAdminException("Error while reading the bulk user import file: " + fileName, e);
+        }
+
+        BulkImportJob job = new BulkImportJob(UUID.randomUUID().toString(),
+                CarbonContext.getThreadLocalCarbonContext().getTenantId(), userStoreDomain, fileName);
+        boolean submitted = false;
+        try {
+            BulkImportConfig config = createBulkImportConfig(userStoreDomain, fileName, null, defaultPassword);
+            config.setSourceFile(sourceFile);
+            BulkImportJobManager.getInstance().submitJob(job, () -> runBulkImportJob(job, config, userStore));
+            submitted = true;
+        } catch (RejectedExecutionException e) {
+            throw new UserAdminException("Error while submitting the bulk user import job for: " + fileName, e);
+        } finally {
+            // Once submitted, the job deletes the file when it completes.
+            if (!submitted) {
+                BulkImportFileStore.delete(sourceFile);
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Submitted bulk user import job: " + job.getJobId() + " for file: " + fileName);
+        }
+        return job.getJobId();
+    }
+
+    /**
+     * Get the status of a bulk user import job of the current tenant.
+     *
+     * @param jobId Id of the import job.
+     * @return Status of the job.
+     * @throws UserAdminException If there is no such job.
+     */
+    public BulkImportJobStatus getBulkImportJobStatus(String jobId) throws UserAdminException {
+
+        BulkImportJob job = BulkImportJobManager.getInstance().getJob(
+                CarbonContext.getThreadLocalCarbonContext().getTenantId(), jobId);
+        if (job == null) {
+            throw new UserAdminException("Bulk user import job: " + jobId + " is not found");
+        }
+        return job.toStatus();
+    }
+
+    /**
+     * Get the status of the recent bulk user import jobs of the current tenant.
+     *
+     * @return Status of the jobs, latest first.
+     */
+    public BulkImportJobStatus[] getBulkImportJobs() {
+
+        List<BulkImportJobStatus> jobStatuses = new ArrayList<>();
+        for (BulkImportJob job : BulkImportJobManager.getInstance()
+                .getJobs(CarbonContext.getThreadLocalCarbonContext().getTenantId())) {
+            jobStatuses.add(job.toStatus());
+        }
+        return jobStatuses.toArray(new BulkImportJobStatus[0]);
+    }
+
+    private void runBulkImportJob(BulkImportJob job, BulkImportConfig config, UserStoreManager userStore) {
+
+        try (InputStream inStream = new FileInputStream(config.getSourceFile())) {
+            config.setInStream(inStream);
+            UserBulkImport userBulkImport = createUserBulkImport(config);
+            userBulkImport.setJob(job);
+            userBulkImport.addUserList(userStore);
+        } catch (UserAdminException e) {
+            // Duplicate and failed users are reported through the job.
+            if (!job.isFinished()) {
+                log.error("Error while running bulk user import job: " + job.getJobId(), e);
+                job.markFailed(e.getMessage());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Error while running bulk user import job: " + job.getJobId(), e);
+            job.markFailed(e.getMessage());
+        } finally {
+            BulkImportFileStore.delete(config.getSourceFile());
+        }
+    }
+
+    private BulkImportConfig createBulkImportConfig(String userStoreDomain, String fileName, InputStream inStream,
+                                                    String defaultPassword) {
+
+        BulkImportConfig config = new BulkImportConfig(inStream, fileName);
+        if (defaultPassword != null && defaultPassword.trim().length() > 0) {
+            config.setDefaultPassword(defaultPassword.trim());
+        }
+        if (StringUtils.isNotEmpty(userStoreDomain)) {
+            config.setUserStoreDomain(userStoreDomain);
+        }
+        return config;
+    }
+
+    private UserBulkImport createUserBulkImport(BulkImportConfig config) throws UserAdminException {
+
+        String fileName = config.getFileName();
+        if (fileName.endsWith("csv")) {
+            return new CSVUserBulkImport(config);
+        } else if (fileName.endsWith("xls") || fileName.endsWith("xlsx")) {
+            return new ExcelUserBulkImport(config);
+        }
+        throw new UserAdminException("Unsupported format");
+    }
+
+    private boolean isSupportedBulkImportFile(String fileName) {
+
+        return fileName.endsWith("csv") || fileName.endsWith("xls") || fileName.endsWith("xlsx");
+    }
+
 
     public void changePasswordByUser(String userName, String oldPassword, String newPassword)
             throws UserAdminException {
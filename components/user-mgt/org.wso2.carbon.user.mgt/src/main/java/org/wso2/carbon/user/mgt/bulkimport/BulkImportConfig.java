@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.user.mgt.bulkimport;
 
+import java.io.File;
 import java.io.InputStream;
 
 public class BulkImportConfig {
@@ -26,6 +27,7 @@ public class BulkImportConfig {
     private String userStoreDomain;
     private String fileName;
     private String defaultPassword;
+    private File sourceFile;
 
     public BulkImportConfig(InputStream inStream, String fileName) {
         this.inStream = inStream;
@@ -63,4 +65,17 @@ public class BulkImportConfig {
     public void setInStream(InputStream inStream) {
         this.inStream = inStream;
     }
+
+    /**
+     * Get the file the users are imported from, if the import is not read from an in memory stream.
+     *
+     * @return The source file or null.
+     */
+    public File getSourceFile() {
+        return sourceFile;
+    }
+
+    public void setSourceFile(File sourceFile) {
+        this.sourceFile = sourceFile;
+    }
 }
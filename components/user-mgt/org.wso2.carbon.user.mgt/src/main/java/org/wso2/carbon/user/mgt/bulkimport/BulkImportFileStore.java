@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.user.mgt.bulkimport;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.utils.CarbonUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+
+/**
+ * Keeps the files uploaded for asynchronous bulk user imports until their jobs are run.
+ * <p>
+ * The files contain plaintext passwords, hence they are kept in a directory of the server which is accessible only
+ * by the server user, and the files themselves are readable only by the server user. Files left behind by jobs which
+ * did not run before the server stopped are removed when the user management bundle is activated.
+ */
+public class BulkImportFileStore {
+
+    private static final Log log = LogFactory.getLog(BulkImportFileStore.class);
+
+    private static final String IMPORT_DIRECTORY = "bulk-user-import";
+    private static final String FILE_PREFIX = "bulk-user-import-";
+    private static final Set<PosixFilePermission> DIRECTORY_PERMISSIONS = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-------");
+
+    private BulkImportFileStore() {
+
+    }
+
+    /**
+     * Copy the content of an uploaded import file to a file which is readable only by the server user.
+     *
+     * @param inStream Content of the uploaded file.
+     * @param fileName Name of the uploaded file.
+     * @return Stored file.
+     * @throws IOException If the file could not be stored.
+     */
+    public static File store(InputStream inStream, String fileName) throws IOException {
+
+        Path directory = getImportDirectory();
+        String suffix = "-" + new File(fileName).getName();
+        Path file = isPosixSupported() ? Files.createTempFile(directory, FILE_PREFIX, suffix,
+                PosixFilePermissions.asFileAttribute(FILE_PERMISSIONS)) :
+                Files.createTempFile(directory, FILE_PREFIX, suffix);
+        try {
+            Files.copy(inStream, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            delete(file.toFile());
+            throw e;
+        }
+        return file.toFile();
+    }
+
+    /**
+     * Delete a stored import file.
+     *
+     * @param file Stored file.
+     */
+    public static void delete(File file) {
+
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            log.warn("Error while deleting the bulk user import file: " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Remove the import files left behind by the jobs which were not run. Should only be called while there are no
+     * import jobs.
+     */
+    public static void removeStaleFiles() {
+
+        Path directory = Paths.get(CarbonUtils.getCarbonHome(), "tmp", IMPORT_DIRECTORY);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+            for (Path file : files) {
+                delete(file.toFile());
+                if (log.isDebugEnabled()) {
+                    log.debug("Removed the stale bulk user import file: " + file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Error while removing the stale bulk user import files in: " + directory, e);
+        }
+    }
+
+    /**
+     * Get the directory which the import files are stored in, creating it if needed.
+     *
+     * @return Directory of the import files.
+     * @throws IOException If the directory could not be created or restricted to the server user.
+     */
+    static Path getImportDirectory() throws IOException {
+
+        Path directory = Paths.get(CarbonUtils.getCarbonHome(), "tmp", IMPORT_DIRECTORY);
+        if (isPosixSupported()) {
+            FileAttribute<Set<PosixFilePermission>> permissions =
+                    PosixFilePermissions.asFileAttribute(DIRECTORY_PERMISSIONS);
+            Files.createDirectories(directory, permissions);
+            // The directory may have been created earlier with wider permissions.
+            Files.setPosixFilePermissions(directory, DIRECTORY_PERMISSIONS);
+        } else {
+            Files.createDirectories(directory);
+        }
+        return directory;
+    }
+
+    private static boolean isPosixSupported() {
+
+        return FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.user.mgt.bulkimport;
+
+import org.wso2.carbon.user.mgt.common.BulkImportFailure;
+import org.wso2.carbon.user.mgt.common.BulkImportJobStatus;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the progress of a bulk user import. The counters are updated concurrently by the threads adding the users,
+ * while the duplicate and failed users reported back are capped to keep the memory of large imports bounded.
+ */
+public class BulkImportJob {
+
+    private static final int MAX_REPORTED_USERS = 10000;
+
+    private final String jobId;
+    private final int tenantId;
+    private final String userStoreDomain;
+    private final String fileName;
+    private final long submittedTime = System.currentTimeMillis();
+    private final AtomicLong successCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong duplicateCount = new AtomicLong();
+    private final List<String> duplicateUsers = new ArrayList<>();
+    private final Map<String, String> failedUsers = new LinkedHashMap<>();
+    private volatile String status = BulkImportJobStatus.STATUS_QUEUED;
+    private volatile String message;
+    private volatile long startTime;
+    private volatile long endTime;
+
+    public BulkImportJob(String jobId, int tenantId, String userStoreDomain, String fileName) {
+
+        this.jobId = jobId;
+        this.tenantId = tenantId;
+        this.userStoreDomain = userStoreDomain;
+        this.fileName = fileName;
+    }
+
+    public String getJobId() {
+
+        return jobId;
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    public String getUserStoreDomain() {
+
+        return userStoreDomain;
+    }
+
+    public long getSubmittedTime() {
+
+        return submittedTime;
+    }
+
+    public long getSuccessCount() {
+
+        return successCount.get();
+    }
+
+    public long getFailedCount() {
+
+        return failedCount.get();
+    }
+
+    public long getDuplicateCount() {
+
+        return duplicateCount.get();
+    }
+
+    public long getProcessedCount() {
+
+        return successCount.get() + failedCount.get() + duplicateCount.get();
+    }
+
+    public long getEndTime() {
+
+        return endTime;
+    }
+
+    public boolean isFinished() {
+
+        return endTime > 0;
+    }
+
+    /**
+     * Get the duplicate users reported so far.
+     *
+     * @return Copy of the reported duplicate users.
+     */
+    public List<String> getDuplicateUsers() {
+
+        synchronized (duplicateUsers) {
+            return new ArrayList<>(duplicateUsers);
+        }
+    }
+
+    /**
+     * Get the failed users reported so far along with the cause of the failure.
+     *
+     * @return Copy of the reported failed users.
+     */
+    public Map<String, String> getFailedUsers() {
+
+        synchronized (failedUsers) {
+            return new LinkedHashMap<>(failedUsers);
+        }
+    }
+
+    void markStarted() {
+
+        startTime = System.currentTimeMillis();
+        status = BulkImportJobStatus.STATUS_RUNNING;
+    }
+
+    void markCompleted() {
+
+        if (failedCount.get() > 0 || duplicateCount.get() > 0) {
+            status = BulkImportJobStatus.STATUS_COMPLETED_WITH_ERRORS;
+        } else {
+            status = BulkImportJobStatus.STATUS_COMPLETED;
+        }
+        endTime = System.currentTimeMillis();
+    }
+
+    void markFailed(String message) {
+
+        this.message = message;
+        status = BulkImportJobStatus.STATUS_FAILED;
+        endTime = System.currentTimeMillis();
+    }
+
+    void recordSuccess() {
+
+        successCount.incrementAndGet();
+    }
+
+    void recordDuplicate(String userName) {
+
+        duplicateCount.incrementAndGet();
+        synchronized (duplicateUsers) {
+            if (duplicateUsers.size() < MAX_REPORTED_USERS) {
+                duplicateUsers.add(userName);
+            }
+        }
+    }
+
+    void recordFailure(String userName, String cause) {
+
+        failedCount.incrementAndGet();
+        synchronized (failedUsers) {
+            if (failedUsers.size() < MAX_REPORTED_USERS) {
+                failedUsers.put(userName, String.valueOf(cause));
+            }
+        }
+    }
+
+    /**
+     * Build a snapshot of the status of the job.
+     *
+     * @return Status of the job.
+     */
+    public BulkImportJobStatus toStatus() {
+
+        BulkImportJobStatus jobStatus = new BulkImportJobStatus();
+        jobStatus.setJobId(jobId);
+        jobStatus.setUserStoreDomain(userStoreDomain);
+        jobStatus.setFileName(fileName);
+        jobStatus.setStatus(status);
+        jobStatus.setMessage(message);
+        jobStatus.setSubmittedTime(submittedTime);
+        jobStatus.setStartTime(startTime);
+        jobStatus.setEndTime(endTime);
+        jobStatus.setSuccessCount(getSuccessCount());
+        jobStatus.setFailedCount(getFailedCount());
+        jobStatus.setDuplicateCount(getDuplicateCount());
+
+        long processedCount = getProcessedCount();
+        jobStatus.setProcessedCount(processedCount);
+        if (startTime > 0) {
+            long elapsedTime = (endTime > 0 ? endTime : System.currentTimeMillis()) - startTime;
+            jobStatus.setThroughput(elapsedTime > 0 ? processedCount * 1000.0 / elapsedTime : processedCount);
+        }
+
+        jobStatus.setDuplicateUsers(getDuplicateUsers().toArray(new String[0]));
+        List<BulkImportFailure> failures = new ArrayList<>();
+        for (Map.Entry<String, String> failedUser : getFailedUsers().entrySet()) {
+            BulkImportFailure failure = new BulkImportFailure();
+            failure.setUserName(failedUser.getKey());
+            failure.setCause(failedUser.getValue());
+            failures.add(failure);
+        }
+        jobStatus.setFailedUsers(failures.toArray(new BulkImportFailure[0]));
+        return jobStatus;
+    }
+}
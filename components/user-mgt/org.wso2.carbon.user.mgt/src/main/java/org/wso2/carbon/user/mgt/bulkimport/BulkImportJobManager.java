@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.user.mgt.bulkimport;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the bulk user import jobs and the user store operations of the imports.
+ * <p>
+ * Jobs are executed on a small pool of job threads which read the import files and hand over the user store
+ * operations to a shared worker pool. The number of concurrent operations against a single user store domain of a
+ * tenant is bounded, so that a large import does not overload the user store.
+ */
+public class BulkImportJobManager {
+
+    private static final Log log = LogFactory.getLog(BulkImportJobManager.class);
+
+    private static final String JOB_THREAD_POOL_SIZE = "BulkUserImport.JobThreadPoolSize";
+    private static final String WORKER_THREAD_POOL_SIZE = "BulkUserImport.ThreadPoolSize";
+    private static final String MAX_CONCURRENT_OPERATIONS_PER_USER_STORE =
+            "BulkUserImport.MaxConcurrentOperationsPerUserStore";
+    private static final String CHUNK_SIZE = "BulkUserImport.ChunkSize";
+    private static final int DEFAULT_JOB_THREAD_POOL_SIZE = 2;
+    private static final int DEFAULT_WORKER_THREAD_POOL_SIZE = 10;
+    private static final int DEFAULT_MAX_CONCURRENT_OPERATIONS_PER_USER_STORE = 5;
+    private static final int DEFAULT_CHUNK_SIZE = 100;
+    private static final int WORKER_QUEUE_SIZE = 1000;
+    // Finished jobs are kept for a day so that their status and failure reports can be retrieved.
+    private static final long FINISHED_JOB_RETENTION_TIME = TimeUnit.DAYS.toMillis(1);
+
+    private static volatile BulkImportJobManager instance;
+
+    private final ExecutorService jobExecutor;
+    private final ExecutorService workerExecutor;
+    private final int maxConcurrentOperationsPerUserStore;
+    private final int chunkSize;
+    private final Map<String, Semaphore> userStorePermits = new ConcurrentHashMap<>();
+    private final Map<String, BulkImportJob> jobs = new ConcurrentHashMap<>();
+
+    private BulkImportJobManager() {
+
+        int jobThreadPoolSize = readPositiveIntProperty(JOB_THREAD_POOL_SIZE, DEFAULT_JOB_THREAD_POOL_SIZE);
+        int workerThreadPoolSize = readPositiveIntProperty(WORKER_THREAD_POOL_SIZE, DEFAULT_WORKER_THREAD_POOL_SIZE);
+        maxConcurrentOperationsPerUserStore = readPositiveIntProperty(MAX_CONCURRENT_OPERATIONS_PER_USER_STORE,
+                DEFAULT_MAX_CONCURRENT_OPERATIONS_PER_USER_STORE);
+        chunkSize = readPositiveIntProperty(CHUNK_SIZE, DEFAULT_CHUNK_SIZE);
+
+        jobExecutor = new ThreadPoolExecutor(jobThreadPoolSize, jobThreadPoolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new DaemonThreadFactory("BulkUserImportJob"));
+        // Permits bound the in-flight operations, so the caller runs policy is only a safety net.
+        workerExecutor = new ThreadPoolExecutor(workerThreadPoolSize, workerThreadPoolSize, 0L,
+                TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(WORKER_QUEUE_SIZE),
+                new DaemonThreadFactory("BulkUserImportWorker"), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public static BulkImportJobManager getInstance() {
+
+        if (instance == null) {
+            synchronized (BulkImportJobManager.class) {
+                if (instance == null) {
+                    instance = new BulkImportJobManager();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the number of users which are pre-checked and added together.
+     *
+     * @return Chunk size.
+     */
+    public int getChunkSize() {
+
+        return chunkSize;
+    }
+
+    /**
+     * Submit a job to be run asynchronously in the carbon context of the caller.
+     *
+     * @param job  Job to be tracked.
+     * @param task Task which performs the import.
+     * @throws RejectedExecutionException If the job could not be accepted.
+     */
+    public void submitJob(BulkImportJob job, Runnable task) {
+
+        removeExpiredJobs();
+        jobs.put(job.getJobId(), job);
+        Callable<Void> jobTask = inCarbonContext(() -> {
+            task.run();
+            return null;
+        });
+        try {
+            jobExecutor.submit(jobTask);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            throw e;
+        }
+    }
+
+    /**
+     * Get a job of the given tenant.
+     *
+     * @param tenantId Tenant id.
+     * @param jobId    Job id.
+     * @return Job or {@code null} if there is no such job for the tenant.
+     */
+    public BulkImportJob getJob(int tenantId, String jobId) {
+
+        BulkImportJob job = jobs.get(jobId);
+        if (job == null || job.getTenantId() != tenantId) {
+            return null;
+        }
+        return job;
+    }
+
+    /**
+     * Get the jobs of the given tenant, latest first.
+     *
+     * @param tenantId Tenant id.
+     * @return Jobs of the tenant.
+     */
+    public List<BulkImportJob> getJobs(int tenantId) {
+
+        removeExpiredJobs();
+        List<BulkImportJob> tenantJobs = new ArrayList<>();
+        for (BulkImportJob job : jobs.values()) {
+            if (job.getTenantId() == tenantId) {
+                tenantJobs.add(job);
+            }
+        }
+        tenantJobs.sort(Comparator.comparingLong(BulkImportJob::getSubmittedTime).reversed());
+        return tenantJobs;
+    }
+
+    /**
+     * Submit an operation against a user store in the carbon context of the caller. Blocks while the maximum number
+     * of concurrent operations against the user store domain of the tenant are in progress.
+     *
+     * @param tenantId        Tenant id.
+     * @param userStoreDomain User store domain the operation is performed on.
+     * @param operation       Operation.
+     * @return Future of the operation.
+     * @throws InterruptedException If interrupted while waiting for the user store to be available.
+     */
+    <T> Future<T> submitUserStoreOperation(int tenantId, String userStoreDomain, Callable<T> operation)
+            throws InterruptedException {
+
+        Semaphore permits = userStorePermits.computeIfAbsent(tenantId + ":" +
+                        StringUtils.upperCase(userStoreDomain),
+                key -> new Semaphore(maxConcurrentOperationsPerUserStore));
+        permits.acquire();
+        Callable<T> contextAwareOperation = inCarbonContext(operation);
+        try {
+            return workerExecutor.submit(() -> {
+                try {
+                    return contextAwareOperation.call();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Stop accepting jobs and interrupt the running imports, if the job manager has been initialized.
+     */
+    public static void shutdown() {
+
+        synchronized (BulkImportJobManager.class) {
+            if (instance != null) {
+                instance.jobExecutor.shutdownNow();
+                instance.workerExecutor.shutdownNow();
+                instance = null;
+            }
+        }
+    }
+
+    private void removeExpiredJobs() {
+
+        long expiryTime = System.currentTimeMillis() - FINISHED_JOB_RETENTION_TIME;
+        jobs.values().removeIf(job -> job.isFinished() && job.getEndTime() < expiryTime);
+    }
+
+    private <T> Callable<T> inCarbonContext(Callable<T> callable) {
+
+        PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+        String tenantDomain = carbonContext.getTenantDomain();
+        int tenantId = carbonContext.getTenantId();
+        String username = carbonContext.getUsername();
+        return () -> {
+            try {
+                PrivilegedCarbonContext.startTenantFlow();
+                PrivilegedCarbonContext threadLocalCarbonContext = PrivilegedCarbonContext
+                        .getThreadLocalCarbonContext();
+                threadLocalCarbonContext.setTenantDomain(tenantDomain);
+                threadLocalCarbonContext.setTenantId(tenantId);
+                threadLocalCarbonContext.setUsername(username);
+                return callable.call();
+            } finally {
+                PrivilegedCarbonContext.endTenantFlow();
+            }
+        };
+    }
+
+    private static int readPositiveIntProperty(String property, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                int intValue = Integer.parseInt(value.trim());
+                if (intValue > 0) {
+                    return intValue;
+                }
+            } catch (NumberFormatException e) {
+                // Falls through to the warning below.
+            }
+            log.warn("Invalid value: " + value + " configured for " + property + ". Using the default value: "
+                    + defaultValue);
+        }
+        return defaultValue;
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final ThreadFactory defaultThreadFactory = Executors.defaultThreadFactory();
+        private final AtomicInteger threadCount = new AtomicInteger();
+        private final String namePrefix;
+
+        private DaemonThreadFactory(String namePrefix) {
+
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+
+            Thread thread = defaultThreadFactory.newThread(runnable);
+            thread.setName(namePrefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
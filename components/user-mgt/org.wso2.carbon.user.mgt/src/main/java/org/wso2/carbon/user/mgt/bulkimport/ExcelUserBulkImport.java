@@ -18,7 +18,6 @@
 
 package org.wso2.carbon.user.mgt.bulkimport;
 
-import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
@@ -28,12 +27,8 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.wso2.carbon.CarbonConstants;
 import org.wso2.carbon.identity.core.util.IdentityIOStreamUtils;
-import org.wso2.carbon.user.core.UserStoreException;
 import org.wso2.carbon.user.core.UserStoreManager;
-import org.wso2.carbon.user.core.util.UserCoreUtil;
-import org.wso2.carbon.user.mgt.UserMgtConstants;
 import org.wso2.carbon.user.mgt.bulkimport.util.JSONConverter;
 import org.wso2.carbon.user.mgt.common.UserAdminException;
 
@@ -64,59 +59,27 @@ public class ExcelUserBulkImport extends UserBulkImport {
             throw new UserAdminException("The first sheet is empty");
         }
         int limit = sheet.getLastRowNum();
-        boolean isDuplicate = false;
-        boolean fail = false;
-        for (int i = 1; i < limit + 1; i++) {
-            Row row = sheet.getRow(i);
-            Cell cell = row.getCell(0);
-            String userName = cell.getStringCellValue();
-
-            int index;
-            index = userName.indexOf(CarbonConstants.DOMAIN_SEPARATOR);
-            if (index > 0) {
-                String domainFreeName = userName.substring(index + 1);
-                userName = UserCoreUtil.addDomainToName(domainFreeName, userStoreDomain);
-            } else {
-                userName = UserCoreUtil.addDomainToName(userName, userStoreDomain);
-            }
-
-            if (StringUtils.isNotBlank(userName)) {
-                try {
-                    if (!userStore.isExistingUser(userName)) {
-                        userStore.addUser(userName, null, null, null, null, true);
-                        successCount++;
-                        if (log.isDebugEnabled()) {
-                            log.debug("User import successful - Username : " + userName);
-                        }
-                    } else {
-                        duplicateCount++;
-                        duplicateUsers.add(userName);
-                        isDuplicate = true;
-                        log.error("User import unsuccessful - Username : " + userName + " - Error: Duplicate user");
-                        duplicateUsers.add(userName);
-                    }
-                } catch (UserStoreException e) {
-                    fail = true;
-                    failCount++;
-                    log.error("User import unsuccessful - Username : " + userName + " - Error: " +
-                            e.getMessage());
-                    errorUsersMap.put(userName, e.getMessage());
+        // Only the user names are imported from Excel files.
+        int[] rowIndex = {1};
+        LineReader rowReader = () -> {
+            while (rowIndex[0] < limit + 1) {
+                Row row = sheet.getRow(rowIndex[0]++);
+                Cell cell = row != null ? row.getCell(0) : null;
+                if (cell != null) {
+                    return new String[]{cell.getStringCellValue()};
                 }
             }
+            return null;
+        };
+        try {
+            importUsers(rowReader, userStore);
+        } catch (IOException e) {
+            throw new UserAdminException("Error occurred while adding user list", e);
         }
 
-        String summeryLog = super.buildBulkImportSummary();
-        log.info(summeryLog);
-
         JSONConverter jsonConverter = new JSONConverter();
         String importedUsers = jsonConverter.xlsToJSON(sheet);
-        auditLog.info(String.format(UserMgtConstants.AUDIT_LOG_FORMAT, tenantUser, UserMgtConstants.OPERATION_NAME,
-                userStoreDomain, importedUsers, summeryLog));
-
-        if (fail || isDuplicate) {
-            throw new UserAdminException(String.format(UserMgtConstants.ERROR_MESSAGE, successCount, failCount,
-                    duplicateCount));
-        }
+        completeImport(importedUsers);
     }
 
     /**
@@ -21,31 +21,41 @@ package org.wso2.carbon.user.mgt.bulkimport;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.CarbonConstants;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.user.core.UserStoreException;
 import org.wso2.carbon.user.core.UserStoreManager;
+import org.wso2.carbon.user.core.util.UserCoreUtil;
 import org.wso2.carbon.user.mgt.UserMgtConstants;
 import org.wso2.carbon.user.mgt.common.UserAdminException;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * Class to import multiple users to the Identity user store.
  * The users can be added in the format of CSV or Excel format.
+ * <p>
+ * Users are read as a stream and processed in chunks. The existence of the users of a chunk is checked and the new
+ * users are added in parallel, with the number of concurrent operations against a user store bounded by the
+ * {@link BulkImportJobManager}.
  */
 public abstract class UserBulkImport {
 
+    private static final Log log = LogFactory.getLog(UserBulkImport.class);
     static final Log auditLog = CarbonConstants.AUDIT_LOG;
-    static final Map<String, String> errorUsersMap = new HashMap<>();
-    static final List<String> duplicateUsers = new ArrayList<>();
     String userStoreDomain = "";
-    int successCount = 0;
-    int failCount = 0;
-    int duplicateCount = 0;
+    BulkImportJob job;
     String tenantUser = PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername() + "@"
             + PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
 
@@ -57,6 +67,226 @@ public abstract class UserBulkImport {
      */
     public abstract void addUserList(UserStoreManager userStore) throws UserAdminException;
 
+    /**
+     * Set the job which tracks the progress of this import. If not set, the import is tracked by a job which is not
+     * visible through the {@link BulkImportJobManager}.
+     *
+     * @param job : The job tracking the import.
+     */
+    public void setJob(BulkImportJob job) {
+
+        this.job = job;
+    }
+
+    /**
+     * Source of the lines to be imported. Each line contains the user name followed by the optional password and
+     * claims.
+     */
+    interface LineReader {
+
+        /**
+         * @return : The next line or null if there are no more lines.
+         * @throws IOException : Throws if there is any error occurred when reading the next line.
+         */
+        String[] readNext() throws IOException;
+    }
+
+    /**
+     * Import the users read from the given reader.
+     *
+     * @param reader    : The reader of the lines to be imported.
+     * @param userStore : The user store which the users should be imported to.
+     * @throws IOException        : Throws if there is any error occurred when reading the lines.
+     * @throws UserAdminException : Throws if the import was interrupted.
+     */
+    void importUsers(LineReader reader, UserStoreManager userStore) throws IOException, UserAdminException {
+
+        if (job == null) {
+            job = new BulkImportJob(UUID.randomUUID().toString(),
+                    PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId(), userStoreDomain, null);
+        }
+        job.markStarted();
+
+        int chunkSize = BulkImportJobManager.getInstance().getChunkSize();
+        List<String[]> chunk = new ArrayList<>(chunkSize);
+        String[] line = reader.readNext();
+        while (line != null && line.length > 0) {
+            chunk.add(line);
+            if (chunk.size() >= chunkSize) {
+                importChunk(chunk, userStore);
+                chunk.clear();
+            }
+            line = reader.readNext();
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, userStore);
+        }
+    }
+
+    /**
+     * Log the summary of the import and report the duplicate and failed users, if any.
+     *
+     * @param importedUsers : JSON representation of the imported users for the audit log.
+     * @throws UserAdminException : Throws if there were duplicate or failed users.
+     */
+    void completeImport(String importedUsers) throws UserAdminException {
+
+        job.markCompleted();
+        String summaryLog = buildBulkImportSummary();
+        auditLog.info(String.format(UserMgtConstants.AUDIT_LOG_FORMAT, tenantUser,
+                UserMgtConstants.OPERATION_NAME, userStoreDomain, importedUsers, summaryLog));
+        log.info(summaryLog);
+
+        if (job.getFailedCount() > 0 || job.getDuplicateCount() > 0) {
+            throw new UserAdminException(String.format(UserMgtConstants.ERROR_MESSAGE, job.getSuccessCount(),
+                    job.getFailedCount(), job.getDuplicateCount()));
+        }
+    }
+
+    private void importChunk(List<String[]> chunk, UserStoreManager userStore) throws UserAdminException {
+
+        BulkImportJobManager jobManager = BulkImportJobManager.getInstance();
+        Map<String, String[]> users = new LinkedHashMap<>();
+        for (String[] line : chunk) {
+            String userName = getDomainQualifiedUserName(line[0]);
+            if (StringUtils.isBlank(userName)) {
+                continue;
+            }
+            if (users.containsKey(userName)) {
+                reportDuplicate(userName);
+            } else {
+                users.put(userName, line);
+            }
+        }
+
+        try {
+            // Pre-check the existence of the whole chunk before adding any user of it.
+            Map<String, Future<Boolean>> existenceChecks = new LinkedHashMap<>();
+            for (String userName : users.keySet()) {
+                existenceChecks.put(userName, jobManager.submitUserStoreOperation(job.getTenantId(),
+                        userStoreDomain, () -> userStore.isExistingUser(userName)));
+            }
+
+            Map<String, Future<Boolean>> additions = new LinkedHashMap<>();
+            for (Map.Entry<String, Future<Boolean>> existenceCheck : existenceChecks.entrySet()) {
+                String userName = existenceCheck.getKey();
+                try {
+                    if (existenceCheck.getValue().get()) {
+                        reportDuplicate(userName);
+                    } else {
+                        String[] line = users.get(userName);
+                        additions.put(userName, jobManager.submitUserStoreOperation(job.getTenantId(),
+                                userStoreDomain, () -> addUser(userName, line, userStore)));
+                    }
+                } catch (ExecutionException e) {
+                    reportFailure(userName, e.getCause());
+                }
+            }
+
+            for (Map.Entry<String, Future<Boolean>> addition : additions.entrySet()) {
+                String userName = addition.getKey();
+                try {
+                    addition.getValue().get();
+                    job.recordSuccess();
+                    if (log.isDebugEnabled()) {
+                        log.debug("User import successful - Username : " + userName);
+                    }
+                } catch (ExecutionException e) {
+                    reportFailure(userName, e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UserAdminException("Bulk user import was interrupted", e);
+        }
+    }
+
+    /**
+     * Add a single user read from the import file.
+     *
+     * @param userName  : The domain qualified name of the importing user.
+     * @param line      : The line read from the import file.
+     * @param userStore : The user store which the user should be imported to.
+     * @return : Always true, so that the addition can be submitted as a callable.
+     * @throws UserStoreException : Throws when there is any error occurred while adding the user to user store.
+     */
+    private boolean addUser(String userName, String[] line, UserStoreManager userStore) throws UserStoreException {
+
+        if (line.length == 1) {
+            userStore.addUser(userName, null, null, null, null, true);
+        } else {
+            addUserWithClaims(userName, line, userStore);
+        }
+        return true;
+    }
+
+    /**
+     * Method to handle adding users with claim values.
+     *
+     * @param username : The name of the importing user.
+     * @param line : The line read from the CSV file.
+     * @param userStore : The user store which the user should be imported to.
+     * @throws UserStoreException : Throws when there is any error occurred while adding the user to user store.
+     */
+    private void addUserWithClaims(String username, String[] line, UserStoreManager userStore)
+            throws UserStoreException {
+        String roleString = null;
+        String[] roles = null;
+        String password = line[1];
+        Map<String, String> claims = new HashMap<>();
+        for (int i = 2; i < line.length; i++) {
+            if (StringUtils.isNotBlank(line[i])) {
+                String[] claimStrings = line[i].split("=");
+                if (claimStrings.length != 2) {
+                    throw new IllegalArgumentException("Claims and values are not in correct format");
+                } else {
+                    String claimURI = claimStrings[0];
+                    String claimValue = claimStrings[1];
+                    if (claimURI.contains("role")) {
+                        roleString = claimValue;
+                    } else {
+                        if (!claimURI.isEmpty()) {
+                            // Not trimming the claim values as we should not restrict the claim values not to have
+                            // leading or trailing whitespaces.
+                            claims.put(claimURI.trim(), claimValue);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (StringUtils.isNotBlank(roleString)) {
+            roles = roleString.split(":");
+        }
+
+        userStore.addUser(username, password, roles, claims, null, true);
+    }
+
+    private String getDomainQualifiedUserName(String userName) {
+
+        if (userName == null) {
+            return null;
+        }
+        int index = userName.indexOf(CarbonConstants.DOMAIN_SEPARATOR);
+        if (index > 0) {
+            String domainFreeName = userName.substring(index + 1);
+            return UserCoreUtil.addDomainToName(domainFreeName, userStoreDomain);
+        }
+        return UserCoreUtil.addDomainToName(userName, userStoreDomain);
+    }
+
+    private void reportDuplicate(String userName) {
+
+        job.recordDuplicate(userName);
+        log.error("User import unsuccessful - Username : " + userName + " - Error: Duplicate user");
+    }
+
+    private void reportFailure(String userName, Throwable cause) {
+
+        job.recordFailure(userName, cause.getMessage());
+        log.error("User import unsuccessful - Username : " + userName + " - Error: " + cause.getMessage(), cause);
+    }
+
     /**
      * Build the summery log for the bulk user import operation.
      * The structure of the summery would be as follows.
@@ -83,14 +313,14 @@ public abstract class UserBulkImport {
         summaryJson.addProperty(UserMgtConstants.PERFORMED_BY,
                 PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername());
         summaryJson.addProperty(UserMgtConstants.USER_STORE, userStoreDomain);
-        summaryJson.addProperty(UserMgtConstants.SUCCESS_COUNT, successCount);
+        summaryJson.addProperty(UserMgtConstants.SUCCESS_COUNT, job.getSuccessCount());
 
-        if (duplicateCount > 0) {
+        if (job.getDuplicateCount() > 0) {
             duplicateUsersJson = new JsonObject();
             duplicateUsersJsonArray = new JsonArray();
-            duplicateUsersJson.addProperty(UserMgtConstants.COUNT, duplicateCount);
+            duplicateUsersJson.addProperty(UserMgtConstants.COUNT, job.getDuplicateCount());
 
-            for (String user : duplicateUsers) {
+            for (String user : job.getDuplicateUsers()) {
                 JsonPrimitive userJson = new JsonPrimitive(user);
                 duplicateUsersJsonArray.add(userJson);
             }
@@ -99,15 +329,14 @@ public abstract class UserBulkImport {
             summaryJson.add(UserMgtConstants.DUPLICATE_USERS, duplicateUsersJson);
         }
 
-        if (failCount > 0) {
+        if (job.getFailedCount() > 0) {
             errorUsersJson = new JsonObject();
             errorUsersJsonArray = new JsonArray();
-            errorUsersJson.addProperty(UserMgtConstants.COUNT, failCount);
-            for (Object o : errorUsersMap.entrySet()) {
-                Map.Entry pair = (Map.Entry) o;
+            errorUsersJson.addProperty(UserMgtConstants.COUNT, job.getFailedCount());
+            for (Map.Entry<String, String> pair : job.getFailedUsers().entrySet()) {
                 errorUserJson = new JsonObject();
-                errorUserJson.addProperty(UserMgtConstants.NAME, pair.getKey().toString());
-                errorUserJson.addProperty(UserMgtConstants.CAUSE, pair.getValue().toString());
+                errorUserJson.addProperty(UserMgtConstants.NAME, pair.getKey());
+                errorUserJson.addProperty(UserMgtConstants.CAUSE, pair.getValue());
                 errorUsersJsonArray.add(errorUserJson);
             }
             errorUsersJson.add(UserMgtConstants.USERS, errorUsersJsonArray);
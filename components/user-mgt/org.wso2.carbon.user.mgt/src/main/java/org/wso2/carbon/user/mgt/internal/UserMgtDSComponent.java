@@ -37,6 +37,8 @@ import org.wso2.carbon.user.core.listener.UserOperationEventListener;
 import org.wso2.carbon.user.core.service.RealmService;
 import org.wso2.carbon.user.mgt.RolePermissionManagementService;
 import org.wso2.carbon.user.mgt.RolePermissionManagementServiceImpl;
+import org.wso2.carbon.user.mgt.bulkimport.BulkImportFileStore;
+import org.wso2.carbon.user.mgt.bulkimport.BulkImportJobManager;
 import org.wso2.carbon.user.mgt.listeners.PermissionAuthorizationListener;
 import org.wso2.carbon.user.mgt.listeners.UserClaimsAuditLogger;
 import org.wso2.carbon.user.mgt.listeners.UserDeletionEventListener;
@@ -79,6 +81,8 @@ public class UserMgtDSComponent {
         PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
         carbonContext.setTenantDomain(org.wso2.carbon.base.MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
         carbonContext.setTenantId(org.wso2.carbon.base.MultitenantConstants.SUPER_TENANT_ID);
+        // Import files of the jobs which did not run before the server stopped hold plaintext passwords.
+        BulkImportFileStore.removeStaleFiles();
         UserMgtInitializer userMgtInitializer = new UserMgtInitializer();
         try {
             userMgtInitializer.start(ctxt.getBundleContext(), registryService);
@@ -186,6 +190,7 @@ public class UserMgtDSComponent {
 
     @Deactivate
     protected void deactivate(ComponentContext ctxt) {
+        BulkImportJobManager.shutdown();
         log.debug("User Mgt bundle is deactivated ");
     }
 
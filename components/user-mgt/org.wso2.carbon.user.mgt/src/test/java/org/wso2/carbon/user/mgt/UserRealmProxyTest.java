@@ -37,20 +37,38 @@ import org.wso2.carbon.user.core.UserStoreManager;
 import org.wso2.carbon.user.core.claim.ClaimManager;
 import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
 import org.wso2.carbon.user.core.hybrid.HybridRoleManager;
+import org.wso2.carbon.user.mgt.bulkimport.BulkImportFileStore;
+import org.wso2.carbon.user.mgt.common.BulkImportJobStatus;
 import org.wso2.carbon.user.mgt.common.ClaimValue;
 import org.wso2.carbon.user.mgt.common.FlaggedName;
 import org.wso2.carbon.user.mgt.common.UserAdminException;
 import org.wso2.carbon.user.mgt.common.UserRealmInfo;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Matchers.startsWith;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.testng.Assert.assertEquals;
 import static org.wso2.carbon.user.mgt.UserRealmProxy.PERMISSION;
@@ -246,6 +264,94 @@ public class UserRealmProxyTest {
         verify(userStoreManager).updateRoleName("testRole", "testNewRole");
     }
 
+    @Test
+    public void testBulkImportUsersAsync() throws Exception {
+        UserStoreManager importUserStore = mock(UserStoreManager.class);
+        Mockito.when(realm.getUserStoreManager()).thenReturn(userStoreManager);
+        Mockito.when(userStoreManager.getSecondaryUserStoreManager("PRIMARY")).thenReturn(importUserStore);
+        Mockito.when(importUserStore.isExistingUser(anyString())).thenReturn(false);
+
+        String jobId;
+        try (InputStream inStream = getClass().getClassLoader().getResourceAsStream("users.csv")) {
+            jobId = userRealmProxy.bulkImportUsersAsync("PRIMARY", "users.csv", inStream, null);
+        }
+
+        BulkImportJobStatus status = waitForBulkImportJob(jobId);
+        Assert.assertEquals(status.getStatus(), BulkImportJobStatus.STATUS_COMPLETED);
+        Assert.assertEquals(status.getSuccessCount(), 3);
+        verify(importUserStore, times(3)).addUser(startsWith("PRIMARY/testUser"), startsWith("testPassword"),
+                (String[]) isNull(), anyMap(), (String) isNull(), eq(true));
+        Assert.assertTrue(getBulkImportFiles().isEmpty(), "Import file is not removed after the job");
+    }
+
+    @Test
+    public void testBulkImportUsersAsyncWithFailedUsers() throws Exception {
+        UserStoreManager importUserStore = mock(UserStoreManager.class);
+        Mockito.when(realm.getUserStoreManager()).thenReturn(userStoreManager);
+        Mockito.when(userStoreManager.getSecondaryUserStoreManager("FAILING")).thenReturn(importUserStore);
+        Mockito.when(importUserStore.isExistingUser(anyString())).thenThrow(new RuntimeException("Unavailable"));
+
+        String jobId = userRealmProxy.bulkImportUsersAsync("FAILING", "users.csv",
+                new ByteArrayInputStream("UserName,Password\nfailingUser,password".getBytes(StandardCharsets.UTF_8)),
+                null);
+
+        BulkImportJobStatus status = waitForBulkImportJob(jobId);
+        Assert.assertEquals(status.getStatus(), BulkImportJobStatus.STATUS_COMPLETED_WITH_ERRORS);
+        Assert.assertEquals(status.getFailedCount(), 1);
+        verify(importUserStore, never()).addUser(anyString(), anyString(), any(String[].class), anyMap(),
+                anyString(), eq(true));
+        Assert.assertTrue(getBulkImportFiles().isEmpty(), "Import file is not removed after the failed job");
+    }
+
+    @Test
+    public void testStoreBulkImportFile() throws Exception {
+        File file = BulkImportFileStore.store(new ByteArrayInputStream("UserName,Password".getBytes(
+                StandardCharsets.UTF_8)), "../users.csv");
+        try {
+            Assert.assertEquals(file.getParentFile().toPath(), getBulkImportDirectory());
+            if (Files.getFileStore(file.toPath()).supportsFileAttributeView("posix")) {
+                Assert.assertEquals(PosixFilePermissions.toString(Files.getPosixFilePermissions(file.toPath())),
+                        "rw-------");
+                Assert.assertEquals(PosixFilePermissions.toString(Files.getPosixFilePermissions(
+                        getBulkImportDirectory())), "rwx------");
+            }
+        } finally {
+            BulkImportFileStore.removeStaleFiles();
+        }
+        Assert.assertFalse(file.exists(), "Stale import file is not removed");
+    }
+
+    private BulkImportJobStatus waitForBulkImportJob(String jobId) throws Exception {
+        long deadline = System.currentTimeMillis() + 10000;
+        BulkImportJobStatus status = userRealmProxy.getBulkImportJobStatus(jobId);
+        // The import file is deleted right after the job is marked as finished.
+        while ((!isFinished(status) || !getBulkImportFiles().isEmpty()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            status = userRealmProxy.getBulkImportJobStatus(jobId);
+        }
+        Assert.assertTrue(isFinished(status), "Bulk import job did not finish in time");
+        return status;
+    }
+
+    private boolean isFinished(BulkImportJobStatus status) {
+        return !BulkImportJobStatus.STATUS_QUEUED.equals(status.getStatus())
+                && !BulkImportJobStatus.STATUS_RUNNING.equals(status.getStatus());
+    }
+
+    private Path getBulkImportDirectory() {
+        return Paths.get(System.getProperty("carbon.home"), "tmp", "bulk-user-import");
+    }
+
+    private List<Path> getBulkImportFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(getBulkImportDirectory())) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(getBulkImportDirectory())) {
+                stream.forEach(files::add);
+            }
+        }
+        return files;
+    }
+
     private static void startTenantFlow(String tenantDomain) {
         String carbonHome = Paths.get(System.getProperty("user.dir"), "target").toString();
         System.setProperty("carbon.home", carbonHome);
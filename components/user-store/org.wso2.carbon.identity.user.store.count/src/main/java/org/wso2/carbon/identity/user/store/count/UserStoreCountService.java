@@ -17,19 +17,37 @@
  */
 package org.wso2.carbon.identity.user.store.count;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.context.CarbonContext;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.user.store.count.dto.PairDTO;
 import org.wso2.carbon.identity.user.store.count.exception.UserStoreCounterException;
 import org.wso2.carbon.identity.user.store.count.internal.UserStoreCountDSComponent;
+import org.wso2.carbon.identity.user.store.count.internal.UserStoreCountDataHolder;
 import org.wso2.carbon.identity.user.store.count.jdbc.internal.InternalStoreCountConstants;
+import org.wso2.carbon.identity.user.store.count.util.UserStoreCountCache;
 import org.wso2.carbon.identity.user.store.count.util.UserStoreCountUtils;
 import org.wso2.carbon.user.api.UserStoreException;
 import org.wso2.carbon.user.api.UserStoreManager;
 import org.wso2.carbon.user.core.UserCoreConstants;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Service class that expose count functionality for underline user stores on users, roles and claims.
@@ -37,10 +55,17 @@ import java.util.Set;
 public class UserStoreCountService {
 
     private static final Log log = LogFactory.getLog(UserStoreCountService.class);
+    private static final String USER_COUNT = "user";
+    private static final String ROLE_COUNT = "role";
+    private static final String CLAIM_COUNT = "claim";
+    private static final String COUNT_TIMEOUT_PROPERTY = "UserStoreCount.Timeout";
+    private static final long DEFAULT_COUNT_TIMEOUT_IN_MILLIS = 10000L;
     int tenantId = CarbonContext.getThreadLocalCarbonContext().getTenantId();
 
     /**
-     * Get the count of users having a matching user name for the filter
+     * Get the count of users having a matching user name for the filter. Count enabled user store domains are
+     * counted in parallel and a domain which fails or does not respond within the configured timeout is reported
+     * with an error value, without failing the counts of the other domains.
      *
      * @param filter the filter for the user name. Use '*' to have all.
      * @return the number of users matching the filter by each domain
@@ -48,18 +73,22 @@ public class UserStoreCountService {
     public PairDTO[] countUsers(String filter) throws UserStoreCounterException {
 
         Set<String> userStoreDomains = UserStoreCountUtils.getCountEnabledUserStores();
+        Map<String, String> filtersWithDomain = new LinkedHashMap<>();
+        for (String userStoreDomain : userStoreDomains) {
+            filtersWithDomain.put(userStoreDomain, getFilterWithDomain(userStoreDomain, filter));
+        }
+        Map<String, Long> counts = countInDomains(USER_COUNT, UserStoreCountUtils.USERNAME_CLAIM,
+                filtersWithDomain, filterWithDomain -> getUserCountWithClaims(UserStoreCountUtils.USERNAME_CLAIM,
+                        filterWithDomain));
+
         PairDTO[] userCounts = new PairDTO[userStoreDomains.size()];
         int i = 0;
-
         for (String userStoreDomain : userStoreDomains) {
-            String filterWithDomain = getFilterWithDomain(userStoreDomain, filter);
-            long count = -1L;
-            try {
-                count = getUserCountWithClaims(UserStoreCountUtils.USERNAME_CLAIM, filterWithDomain);
+            Long count = counts.get(userStoreDomain);
+            if (count != null) {
                 userCounts[i] = new PairDTO(userStoreDomain, Long.toString(count));
-            } catch (UserStoreCounterException e) {
+            } else {
                 userCounts[i] = new PairDTO(userStoreDomain, "Error while getting user count");
-                log.error("Error while getting user count from user store domain : " + userStoreDomain, e);
             }
             i++;
         }
@@ -67,7 +96,8 @@ public class UserStoreCountService {
     }
 
     /**
-     * Get the count of roles having a matching role name for the filter
+     * Get the count of roles having a matching role name for the filter. Domains are counted in parallel as in
+     * {@link #countUsers(String)}.
      *
      * @param filter the filter for the role name. Use '*' to have all.
      * @return the number of roles matching the filter by each domain
@@ -75,35 +105,34 @@ public class UserStoreCountService {
     public PairDTO[] countRoles(String filter) throws UserStoreCounterException {
 
         Set<String> userStoreDomains = UserStoreCountUtils.getCountEnabledUserStores();
-        // Add 2 more for the counts of Internal, Application domains.
-        PairDTO[] roleCounts = new PairDTO[userStoreDomains.size() + 2];
-        int i = 0;
-
+        Map<String, String> filtersWithDomain = new LinkedHashMap<>();
         for (String userStoreDomain : userStoreDomains) {
-            long count = -1L;
-            String filterWithDomain = getFilterWithDomain(userStoreDomain, filter);
-            try {
-                count = getRoleCount(filterWithDomain);
-                roleCounts[i] = new PairDTO(userStoreDomain, Long.toString(count));
-            } catch (UserStoreCounterException e) {
-                roleCounts[i] = new PairDTO(userStoreDomain, "Error while getting role count");
-                log.error("Error while getting role count from user store domain : " + userStoreDomain, e);
+            filtersWithDomain.put(userStoreDomain, getFilterWithDomain(userStoreDomain, filter));
+        }
+        // Add the counts of Internal, Application domains.
+        filtersWithDomain.put(UserCoreConstants.INTERNAL_DOMAIN,
+                getFilterWithDomain(UserCoreConstants.INTERNAL_DOMAIN, filter));
+        filtersWithDomain.put(InternalStoreCountConstants.APPLICATION_DOMAIN,
+                getFilterWithDomain(InternalStoreCountConstants.APPLICATION_DOMAIN, filter));
+        Map<String, Long> counts = countInDomains(ROLE_COUNT, null, filtersWithDomain, this::getRoleCount);
+
+        PairDTO[] roleCounts = new PairDTO[filtersWithDomain.size()];
+        int i = 0;
+        for (String domain : filtersWithDomain.keySet()) {
+            Long count = counts.get(domain);
+            if (count != null) {
+                roleCounts[i] = new PairDTO(domain, Long.toString(count));
+            } else {
+                roleCounts[i] = new PairDTO(domain, "Error while getting role count");
             }
             i++;
         }
-        String internalDomainFilter = UserCoreConstants.INTERNAL_DOMAIN + UserCoreConstants.DOMAIN_SEPARATOR + filter;
-        String applicationDomainFilter = InternalStoreCountConstants.APPLICATION_DOMAIN +
-                UserCoreConstants.DOMAIN_SEPARATOR + filter;
-        roleCounts[i] = new PairDTO(UserCoreConstants.INTERNAL_DOMAIN, String.valueOf(
-                getRoleCount(internalDomainFilter)));
-        roleCounts[++i] = new PairDTO(InternalStoreCountConstants.APPLICATION_DOMAIN, String.valueOf(
-                getRoleCount(applicationDomainFilter)));
-
         return roleCounts;
     }
 
     /**
-     * Get the count of users having claim values matching the given filter for the given claim URI
+     * Get the count of users having claim values matching the given filter for the given claim URI. Domains are
+     * counted in parallel as in {@link #countUsers(String)}.
      *
      * @param claimURI    the claim URI
      * @param valueFilter filter for the claim values
@@ -112,24 +141,68 @@ public class UserStoreCountService {
     public PairDTO[] countClaim(String claimURI, String valueFilter) throws UserStoreCounterException {
 
         Set<String> userStoreDomains = UserStoreCountUtils.getCountEnabledUserStores();
+        Map<String, String> filtersWithDomain = new LinkedHashMap<>();
+        for (String userStoreDomain : userStoreDomains) {
+            filtersWithDomain.put(userStoreDomain, getFilterWithDomain(userStoreDomain, valueFilter));
+        }
+        Map<String, Long> counts = countInDomains(CLAIM_COUNT, claimURI, filtersWithDomain,
+                filterWithDomain -> getUserCountWithClaims(claimURI, filterWithDomain));
+
         PairDTO[] claimCounts = new PairDTO[userStoreDomains.size()];
         int i = 0;
-
         for (String userStoreDomain : userStoreDomains) {
-            long count = -1L;
-            String filterWithDomain = getFilterWithDomain(userStoreDomain, valueFilter);
-            try {
-                count = getUserCountWithClaims(claimURI, filterWithDomain);
-            } catch (UserStoreCounterException e) {
-                log.error("Error while getting user count with claim : " + claimURI + ", from user store domain : "
-                        + userStoreDomain, e);
-            }
-            claimCounts[i] = new PairDTO(userStoreDomain, Long.toString(count));
+            Long count = counts.get(userStoreDomain);
+            claimCounts[i] = new PairDTO(userStoreDomain, Long.toString(count != null ? count : -1L));
             i++;
         }
         return claimCounts;
     }
 
+    /**
+     * Get the cached counts of users having a matching user name for the filter, without querying the user
+     * stores. Only the domains having a valid cached count are returned.
+     *
+     * @param filter the filter for the user name. Use '*' to have all.
+     * @return the cached number of users matching the filter by each domain
+     * @throws UserStoreCounterException if the count enabled user store domains could not be resolved
+     */
+    public PairDTO[] getCachedUserCounts(String filter) throws UserStoreCounterException {
+
+        return getCachedCounts(USER_COUNT, UserStoreCountUtils.USERNAME_CLAIM,
+                UserStoreCountUtils.getCountEnabledUserStores(), filter);
+    }
+
+    /**
+     * Get the cached counts of roles having a matching role name for the filter, without querying the user
+     * stores. Only the domains having a valid cached count are returned.
+     *
+     * @param filter the filter for the role name. Use '*' to have all.
+     * @return the cached number of roles matching the filter by each domain
+     * @throws UserStoreCounterException if the count enabled user store domains could not be resolved
+     */
+    public PairDTO[] getCachedRoleCounts(String filter) throws UserStoreCounterException {
+
+        Set<String> domains = new LinkedHashSet<>(UserStoreCountUtils.getCountEnabledUserStores());
+        domains.add(UserCoreConstants.INTERNAL_DOMAIN);
+        domains.add(InternalStoreCountConstants.APPLICATION_DOMAIN);
+        return getCachedCounts(ROLE_COUNT, null, domains, filter);
+    }
+
+    /**
+     * Get the cached counts of users having claim values matching the given filter for the given claim URI,
+     * without querying the user stores. Only the domains having a valid cached count are returned.
+     *
+     * @param claimURI    the claim URI
+     * @param valueFilter filter for the claim values
+     * @return the cached number of users matching the given claim and filter by each domain
+     * @throws UserStoreCounterException if the count enabled user store domains could not be resolved
+     */
+    public PairDTO[] getCachedClaimCounts(String claimURI, String valueFilter) throws UserStoreCounterException {
+
+        return getCachedCounts(CLAIM_COUNT, claimURI, UserStoreCountUtils.getCountEnabledUserStores(),
+                valueFilter);
+    }
+
     /**
      * Get the count of users having a matching user name for the filter
      *
@@ -236,6 +309,106 @@ public class UserStoreCountService {
         }
     }
 
+    /**
+     * Count in the given domains in parallel using the count executor. Each domain is given the configured timeout
+     * measured from the start of the fan-out. Counts are served from and added to the count cache.
+     *
+     * @param countType         Type of the count.
+     * @param claimURI          Claim URI used to count, if any.
+     * @param filtersWithDomain Domain qualified filters keyed by the domain.
+     * @param counter           Counter for a single domain.
+     * @return Counts keyed by the domain. Domains which failed or timed out are not included.
+     */
+    private Map<String, Long> countInDomains(String countType, String claimURI, Map<String, String> filtersWithDomain,
+                                             DomainCounter counter) {
+
+        UserStoreCountCache countCache = UserStoreCountCache.getInstance();
+        Map<String, Long> counts = new HashMap<>();
+        Map<String, Future<Long>> pendingCounts = new LinkedHashMap<>();
+        ExecutorService countExecutor = UserStoreCountDataHolder.getInstance().getCountExecutor();
+
+        for (Map.Entry<String, String> entry : filtersWithDomain.entrySet()) {
+            String domain = entry.getKey();
+            String filterWithDomain = entry.getValue();
+            Long cachedCount = countCache.getCount(tenantId, countType, claimURI, filterWithDomain);
+            if (cachedCount != null) {
+                counts.put(domain, cachedCount);
+                continue;
+            }
+            Callable<Long> countTask = () -> countInTenantFlow(counter, filterWithDomain);
+            if (countExecutor == null) {
+                // Count sequentially if the executor is not available.
+                FutureTask<Long> futureTask = new FutureTask<>(countTask);
+                futureTask.run();
+                pendingCounts.put(domain, futureTask);
+            } else {
+                // A saturated executor runs the count on the calling thread.
+                pendingCounts.put(domain, countExecutor.submit(countTask));
+            }
+        }
+
+        long deadline = System.currentTimeMillis() + getCountTimeout();
+        for (Map.Entry<String, Future<Long>> entry : pendingCounts.entrySet()) {
+            String domain = entry.getKey();
+            Future<Long> pendingCount = entry.getValue();
+            try {
+                long count = pendingCount.get(Math.max(deadline - System.currentTimeMillis(), 0),
+                        TimeUnit.MILLISECONDS);
+                counts.put(domain, count);
+                countCache.addCount(tenantId, countType, claimURI, filtersWithDomain.get(domain), count);
+            } catch (TimeoutException e) {
+                pendingCount.cancel(true);
+                log.error("Timed out while getting " + countType + " count from user store domain : " + domain);
+            } catch (InterruptedException e) {
+                pendingCount.cancel(true);
+                Thread.currentThread().interrupt();
+                log.error("Interrupted while getting " + countType + " count from user store domain : " + domain);
+            } catch (ExecutionException e) {
+                log.error("Error while getting " + countType + " count from user store domain : " + domain,
+                        e.getCause());
+            }
+        }
+        return counts;
+    }
+
+    private long countInTenantFlow(DomainCounter counter, String filterWithDomain) throws UserStoreCounterException {
+
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(tenantId, true);
+            return counter.count(filterWithDomain);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    private PairDTO[] getCachedCounts(String countType, String claimURI, Set<String> domains, String filter) {
+
+        UserStoreCountCache countCache = UserStoreCountCache.getInstance();
+        List<PairDTO> cachedCounts = new ArrayList<>();
+        for (String domain : domains) {
+            Long count = countCache.getCount(tenantId, countType, claimURI, getFilterWithDomain(domain, filter));
+            if (count != null) {
+                cachedCounts.add(new PairDTO(domain, Long.toString(count)));
+            }
+        }
+        return cachedCounts.toArray(new PairDTO[0]);
+    }
+
+    private long getCountTimeout() {
+
+        String timeout = IdentityUtil.getProperty(COUNT_TIMEOUT_PROPERTY);
+        if (StringUtils.isNotBlank(timeout)) {
+            try {
+                return Long.parseLong(timeout.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value: " + timeout + " configured for " + COUNT_TIMEOUT_PROPERTY
+                        + ". Using the default value: " + DEFAULT_COUNT_TIMEOUT_IN_MILLIS);
+            }
+        }
+        return DEFAULT_COUNT_TIMEOUT_IN_MILLIS;
+    }
+
     private String getFilterWithDomain(String domain, String filter) {
 
         return domain + UserCoreConstants.DOMAIN_SEPARATOR + filter;
@@ -253,4 +426,13 @@ public class UserStoreCountService {
             throw new UserStoreCounterException("Error while retrieving userStoreManager");
         }
     }
+
+    /**
+     * Counts in a single user store domain.
+     */
+    @FunctionalInterface
+    private interface DomainCounter {
+
+        long count(String filterWithDomain) throws UserStoreCounterException;
+    }
 }
@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.identity.user.store.count.internal;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.osgi.framework.BundleContext;
@@ -28,12 +29,20 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.identity.core.util.IdentityCoreInitializedEvent;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.user.store.count.AbstractCountRetrieverFactory;
 import org.wso2.carbon.identity.user.store.count.exception.UserStoreCounterException;
 import org.wso2.carbon.identity.user.store.count.jdbc.JDBCCountRetrieverFactory;
 import org.wso2.carbon.identity.user.store.count.jdbc.internal.InternalCountRetrieverFactory;
+import org.wso2.carbon.identity.user.store.count.util.UserStoreCountCache;
 import org.wso2.carbon.user.core.service.RealmService;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * User store count OSGi service component.
  */
@@ -44,6 +53,10 @@ import org.wso2.carbon.user.core.service.RealmService;
 public class UserStoreCountDSComponent {
 
     private static final Log log = LogFactory.getLog(UserStoreCountDSComponent.class);
+    private static final String THREAD_POOL_SIZE_PROPERTY = "UserStoreCount.ThreadPoolSize";
+    private static final String QUEUE_SIZE_PROPERTY = "UserStoreCount.QueueSize";
+    private static final int DEFAULT_THREAD_POOL_SIZE = 5;
+    private static final int DEFAULT_QUEUE_SIZE = 100;
 
     public static RealmService getRealmService() {
         return UserStoreCountDataHolder.getInstance().getRealmService();
@@ -102,6 +115,8 @@ public class UserStoreCountDSComponent {
         } else {
             log.error("Identity User Store Count -  JDBCUserStoreCountRetriever could not be registered.");
         }
+
+        UserStoreCountDataHolder.getInstance().setCountExecutor(createCountExecutor());
     }
 
     protected void deactivate(ComponentContext ctxt) {
@@ -110,6 +125,55 @@ public class UserStoreCountDSComponent {
         }
 
         UserStoreCountDataHolder.getInstance().setBundleContext(null);
+        ExecutorService countExecutor = UserStoreCountDataHolder.getInstance().getCountExecutor();
+        UserStoreCountDataHolder.getInstance().setCountExecutor(null);
+        if (countExecutor != null) {
+            countExecutor.shutdownNow();
+        }
+        UserStoreCountCache.getInstance().clear();
+    }
+
+    /**
+     * Create the bounded executor used to count in the user store domains in parallel. When the queue is full the
+     * count runs on the calling thread, so a saturated pool degrades to the sequential behaviour.
+     *
+     * @return Executor for the user store counts.
+     */
+    private ExecutorService createCountExecutor() {
+
+        int poolSize = getPositiveIntProperty(THREAD_POOL_SIZE_PROPERTY, DEFAULT_THREAD_POOL_SIZE);
+        int queueSize = getPositiveIntProperty(QUEUE_SIZE_PROPERTY, DEFAULT_QUEUE_SIZE);
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "UserStoreCountWorker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        if (log.isDebugEnabled()) {
+            log.debug("User store count executor initialized with pool size: " + poolSize + " and queue size: "
+                    + queueSize);
+        }
+        return executor;
+    }
+
+    private int getPositiveIntProperty(String propertyName, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                int intValue = Integer.parseInt(value.trim());
+                if (intValue > 0) {
+                    return intValue;
+                }
+            } catch (NumberFormatException e) {
+                // Fall back to the default value below.
+            }
+            log.warn("Invalid value: " + value + " configured for " + propertyName + ". Using the default value: "
+                    + defaultValue);
+        }
+        return defaultValue;
     }
 
     @Reference(
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.identity.user.store.count.util;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short lived, node local cache of the counts retrieved from the user stores. Counts are cached per tenant, count
+ * type, claim and domain qualified filter so that frequently polled views such as dashboards do not hit the user
+ * stores on every request.
+ * <p>
+ * The cache is disabled unless a positive UserStoreCount.CacheTimeout is configured, as a cached count may be stale
+ * by up to the configured timeout.
+ */
+public class UserStoreCountCache {
+
+    private static final Log log = LogFactory.getLog(UserStoreCountCache.class);
+    private static final String CACHE_TIMEOUT_PROPERTY = "UserStoreCount.CacheTimeout";
+    private static final long DEFAULT_CACHE_TIMEOUT_IN_SECONDS = 0;
+    private static final int MAX_ENTRIES = 10000;
+    private static final String KEY_SEPARATOR = "|";
+
+    private static volatile UserStoreCountCache instance;
+
+    private final Map<String, CountEntry> counts = new ConcurrentHashMap<>();
+    private final long timeoutInMillis;
+
+    private UserStoreCountCache() {
+
+        long timeoutInSeconds = DEFAULT_CACHE_TIMEOUT_IN_SECONDS;
+        String timeout = IdentityUtil.getProperty(CACHE_TIMEOUT_PROPERTY);
+        if (StringUtils.isNotBlank(timeout)) {
+            try {
+                timeoutInSeconds = Long.parseLong(timeout.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value: " + timeout + " configured for " + CACHE_TIMEOUT_PROPERTY
+                        + ". Using the default value: " + DEFAULT_CACHE_TIMEOUT_IN_SECONDS);
+            }
+        }
+        this.timeoutInMillis = TimeUnit.SECONDS.toMillis(Math.max(timeoutInSeconds, 0));
+    }
+
+    public static UserStoreCountCache getInstance() {
+
+        if (instance == null) {
+            synchronized (UserStoreCountCache.class) {
+                if (instance == null) {
+                    instance = new UserStoreCountCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Check whether count caching is enabled.
+     *
+     * @return {@code true} if a positive cache timeout is configured.
+     */
+    public boolean isEnabled() {
+
+        return timeoutInMillis > 0;
+    }
+
+    /**
+     * Get the cached count.
+     *
+     * @param tenantId         Tenant id.
+     * @param countType        Type of the count. i.e users, roles or claim.
+     * @param claimURI         Claim URI of claim counts, {@code null} otherwise.
+     * @param filterWithDomain Domain qualified filter.
+     * @return Cached count or {@code null} if there is no valid cached count.
+     */
+    public Long getCount(int tenantId, String countType, String claimURI, String filterWithDomain) {
+
+        if (!isEnabled()) {
+            return null;
+        }
+        String key = buildKey(tenantId, countType, claimURI, filterWithDomain);
+        CountEntry entry = counts.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiryTime < System.currentTimeMillis()) {
+            counts.remove(key, entry);
+            return null;
+        }
+        return entry.count;
+    }
+
+    /**
+     * Add a count to the cache.
+     *
+     * @param tenantId         Tenant id.
+     * @param countType        Type of the count. i.e users, roles or claim.
+     * @param claimURI         Claim URI of claim counts, {@code null} otherwise.
+     * @param filterWithDomain Domain qualified filter.
+     * @param count            Count retrieved from the user store.
+     */
+    public void addCount(int tenantId, String countType, String claimURI, String filterWithDomain, long count) {
+
+        if (!isEnabled()) {
+            return;
+        }
+        if (counts.size() >= MAX_ENTRIES) {
+            removeExpiredEntries();
+            if (counts.size() >= MAX_ENTRIES) {
+                if (log.isDebugEnabled()) {
+                    log.debug("User store count cache is full. Count of filter: " + filterWithDomain
+                            + " is not cached.");
+                }
+                return;
+            }
+        }
+        counts.put(buildKey(tenantId, countType, claimURI, filterWithDomain),
+                new CountEntry(count, System.currentTimeMillis() + timeoutInMillis));
+    }
+
+    /**
+     * Clear all the cached counts.
+     */
+    public void clear() {
+
+        counts.clear();
+    }
+
+    private void removeExpiredEntries() {
+
+        long now = System.currentTimeMillis();
+        counts.entrySet().removeIf(entry -> entry.getValue().expiryTime < now);
+    }
+
+    private String buildKey(int tenantId, String countType, String claimURI, String filterWithDomain) {
+
+        return tenantId + KEY_SEPARATOR + countType + KEY_SEPARATOR + StringUtils.defaultString(claimURI)
+                + KEY_SEPARATOR + filterWithDomain;
+    }
+
+    private static class CountEntry {
+
+        private final long count;
+        private final long expiryTime;
+
+        private CountEntry(long count, long expiryTime) {
+
+            this.count = count;
+            this.expiryTime = expiryTime;
+        }
+    }
+}